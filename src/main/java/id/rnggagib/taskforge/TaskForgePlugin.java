@@ -6,16 +6,23 @@ import org.bukkit.Bukkit;
 import org.bukkit.plugin.RegisteredServiceProvider;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import id.rnggagib.taskforge.antiexploit.PlacedBlockTracker;
 import id.rnggagib.taskforge.commands.JobsCommand;
 import id.rnggagib.taskforge.commands.TaskForgeAdminCommand;
 import id.rnggagib.taskforge.config.ConfigManager;
 import id.rnggagib.taskforge.database.DatabaseManager;
+import id.rnggagib.taskforge.gui.BaseGUI;
+import id.rnggagib.taskforge.gui.IconCache;
+import id.rnggagib.taskforge.listeners.GUIListener;
 import id.rnggagib.taskforge.listeners.JobListener;
 import id.rnggagib.taskforge.managers.JobManager;
+import id.rnggagib.taskforge.managers.LeaderboardManager;
 import id.rnggagib.taskforge.managers.NotificationManager;
 import id.rnggagib.taskforge.managers.PlayerDataManager;
 import id.rnggagib.taskforge.managers.SalaryManager;
+import id.rnggagib.taskforge.managers.StatsManager;
 import id.rnggagib.taskforge.managers.BoosterManager;
+import id.rnggagib.taskforge.managers.DirectPayManager;
 import id.rnggagib.taskforge.placeholders.TaskForgePlaceholderExpansion;
 import net.milkbowl.vault.economy.Economy;
 
@@ -35,7 +42,12 @@ public class TaskForgePlugin extends JavaPlugin {
     private PlayerDataManager playerDataManager;
     private NotificationManager notificationManager;
     private SalaryManager salaryManager;
+    private DirectPayManager directPayManager;
+    private StatsManager statsManager;
     private BoosterManager boosterManager;
+    private LeaderboardManager leaderboardManager;
+    private PlacedBlockTracker placedBlockTracker;
+    private IconCache iconCache;
     
     // Economy integration
     private Economy economy = null;
@@ -78,11 +90,24 @@ public class TaskForgePlugin extends JavaPlugin {
     public void onDisable() {
         LOGGER.info("TaskForge is shutting down...");
         
+        // The saves below may wait for room in the database queue
+        if (databaseManager != null) {
+            databaseManager.prepareShutdown();
+        }
+        
+        // Close open menus so no GUI outlives the plugin
+        BaseGUI.closeAll();
+        
         // Shutdown salary manager
         if (salaryManager != null) {
             salaryManager.shutdown();
         }
         
+        // Deposit coalesced direct payments
+        if (directPayManager != null) {
+            directPayManager.shutdown();
+        }
+        
         // Clean up notifications
         if (notificationManager != null) {
             notificationManager.shutdown();
@@ -93,6 +118,16 @@ public class TaskForgePlugin extends JavaPlugin {
             playerDataManager.saveAllPlayerData();
         }
         
+        // Flush pending player stats
+        if (statsManager != null) {
+            statsManager.shutdown();
+        }
+        
+        // Write placed block markers to disk
+        if (placedBlockTracker != null) {
+            placedBlockTracker.shutdown();
+        }
+        
         // Close database connection
         if (databaseManager != null) {
             databaseManager.closeConnection();
@@ -158,14 +193,40 @@ public class TaskForgePlugin extends JavaPlugin {
             playerDataManager = new PlayerDataManager(this);
             notificationManager = new NotificationManager(this);
             salaryManager = new SalaryManager(this);
+            directPayManager = new DirectPayManager(this);
+            statsManager = new StatsManager(this);
             boosterManager = new BoosterManager();
+            leaderboardManager = new LeaderboardManager(this);
+            placedBlockTracker = new PlacedBlockTracker(this);
+            iconCache = new IconCache(this);
             
             // Load jobs from configuration
             jobManager.loadJobsFromConfig();
             
+            // Build GUI and job head icons in the background
+            iconCache.prefetch();
+            
             // Initialize salary manager
             salaryManager.initialize();
             
+            // Start coalescing direct payments
+            directPayManager.initialize();
+            
+            // Start notification deadlines
+            notificationManager.initialize();
+            
+            // Start batched stats writes
+            statsManager.initialize();
+            
+            // Start write-behind of job progress
+            playerDataManager.initialize();
+            
+            // Seed leaderboards in the background
+            leaderboardManager.initialize();
+            
+            // Open placed block store
+            placedBlockTracker.initialize();
+            
             LOGGER.info("Managers initialized successfully.");
         } catch (Exception e) {
             LOGGER.severe("Failed to initialize managers: " + e.getMessage());
@@ -187,6 +248,7 @@ public class TaskForgePlugin extends JavaPlugin {
      */
     private void registerListeners() {
         getServer().getPluginManager().registerEvents(new JobListener(this), this);
+        getServer().getPluginManager().registerEvents(new GUIListener(this), this);
         LOGGER.info("Event listeners registered successfully.");
     }
     
@@ -211,10 +273,10 @@ public class TaskForgePlugin extends JavaPlugin {
             String cooldownString = configManager.getJobLeaveCooldown();
             long cooldownDuration = id.rnggagib.taskforge.utils.TimeUtils.parseTimeToMillis(cooldownString);
             
-            // Schedule cleanup task to run every hour (72000 ticks)
-            Bukkit.getScheduler().runTaskTimerAsynchronously(this, () -> {
+            // Schedule cleanup task to run every hour (72000 ticks); the cache is pruned on the main thread
+            Bukkit.getScheduler().runTaskTimer(this, () -> {
                 try {
-                    databaseManager.cleanupExpiredCooldowns(cooldownDuration);
+                    playerDataManager.cleanupExpiredCooldowns(cooldownDuration);
                 } catch (Exception e) {
                     LOGGER.warning("Error during cooldown cleanup: " + e.getMessage());
                 }
@@ -253,10 +315,30 @@ public class TaskForgePlugin extends JavaPlugin {
         return salaryManager;
     }
     
+    public DirectPayManager getDirectPayManager() {
+        return directPayManager;
+    }
+    
+    public StatsManager getStatsManager() {
+        return statsManager;
+    }
+    
     public BoosterManager getBoosterManager() {
         return boosterManager;
     }
     
+    public LeaderboardManager getLeaderboardManager() {
+        return leaderboardManager;
+    }
+    
+    public PlacedBlockTracker getPlacedBlockTracker() {
+        return placedBlockTracker;
+    }
+    
+    public IconCache getIconCache() {
+        return iconCache;
+    }
+    
     public Economy getEconomy() {
         return economy;
     }
@@ -276,6 +358,15 @@ public class TaskForgePlugin extends JavaPlugin {
             // Reload jobs
             jobManager.loadJobsFromConfig();
             
+            // Rebuild head icons for the reloaded jobs
+            iconCache.prefetch();
+            
+            // Re-schedule placed block expiry if the natural time changed
+            placedBlockTracker.reloadSettings();
+            
+            // Start the salary system if it was enabled by this reload
+            salaryManager.reloadSettings();
+            
             LOGGER.info("Plugin reloaded successfully.");
         } catch (Exception e) {
             LOGGER.severe("Failed to reload plugin: " + e.getMessage());
@@ -0,0 +1,274 @@
+package id.rnggagib.taskforge.antiexploit;
+
+import java.util.Arrays;
+
+/**
+ * Placed-block markers of a single chunk, stored in primitive open-addressing arrays
+ * Keys pack the block position inside the chunk into an int, values are placement timestamps
+ */
+public class ChunkShard {
+    
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 16;
+    private static final int[] NO_REMOVALS = new int[0];
+    
+    // Y is stored with this offset so negative heights pack into 12 bits
+    private static final int Y_OFFSET = 2048;
+    
+    private int[] keys;
+    private long[] times;
+    private int size;
+    
+    // Persistence state - changed since last save / disk markers merged in
+    private boolean dirty;
+    private boolean complete;
+    
+    // Positions removed before the disk markers were merged in, so the disk copy cannot bring them back
+    private int[] removed = NO_REMOVALS;
+    private int removedCount;
+    
+    // Expiry wheel entries pointing at this shard, and whether the tracker has let go of it
+    private int wheelEntries;
+    private boolean released;
+    
+    public ChunkShard() {
+        allocate(MIN_CAPACITY);
+    }
+    
+    /**
+     * Pack block coordinates into a key local to their chunk
+     */
+    public static int pack(int x, int y, int z) {
+        return ((y + Y_OFFSET) & 0xFFF) << 8 | (z & 15) << 4 | (x & 15);
+    }
+    
+    /**
+     * Record a placement time for a packed position
+     */
+    public void put(int key, long time) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                times[slot] = time;
+                dirty = true;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        
+        keys[slot] = key;
+        times[slot] = time;
+        size++;
+        dirty = true;
+    }
+    
+    /**
+     * Record a placement time unless the position is already tracked
+     */
+    public boolean putIfAbsent(int key, long time) {
+        if (get(key) != 0L) {
+            return false;
+        }
+        put(key, time);
+        return true;
+    }
+    
+    /**
+     * Get the placement time for a packed position, or 0 if not tracked
+     */
+    public long get(int key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return times[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0L;
+    }
+    
+    /**
+     * Remove a packed position
+     */
+    public boolean remove(int key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                deleteSlot(slot, mask);
+                size--;
+                dirty = true;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+    
+    /**
+     * Remove a packed position if it was placed before the cutoff
+     * Expired markers are also skipped on disk, so this does not mark the shard dirty
+     */
+    public boolean expire(int key, long cutoff) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                if (times[slot] >= cutoff) {
+                    return false;
+                }
+                deleteSlot(slot, mask);
+                if (--size == 0 && keys.length > MIN_CAPACITY) {
+                    allocate(MIN_CAPACITY);
+                }
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+    
+    /**
+     * Remember a position removed while the disk markers are still being read
+     */
+    void addRemoved(int key) {
+        if (wasRemoved(key)) {
+            return;
+        }
+        if (removedCount == removed.length) {
+            removed = Arrays.copyOf(removed, Math.max(4, removedCount * 2));
+        }
+        removed[removedCount++] = key;
+        dirty = true;
+    }
+    
+    /**
+     * Check if a position was removed while the disk markers were being read
+     */
+    boolean wasRemoved(int key) {
+        for (int i = 0; i < removedCount; i++) {
+            if (removed[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Positions removed while the disk markers were being read
+     */
+    int[] copyRemoved() {
+        return Arrays.copyOf(removed, removedCount);
+    }
+    
+    /**
+     * Forget the removals once the disk markers are merged in and this shard is the complete set
+     */
+    void clearRemoved() {
+        removed = NO_REMOVALS;
+        removedCount = 0;
+    }
+    
+    /**
+     * Drop all entries and shrink, used when the shard leaves the tracker
+     */
+    public void release() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+        dirty = false;
+        clearRemoved();
+        released = true;
+    }
+    
+    /**
+     * Copy all entries into parallel arrays sized {@link #size()}
+     */
+    public void copyEntries(int[] keysOut, long[] timesOut) {
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                keysOut[n] = keys[i];
+                timesOut[n] = times[i];
+                n++;
+            }
+        }
+    }
+    
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int capacity() { return keys.length; }
+    public boolean isDirty() { return dirty; }
+    public boolean isComplete() { return complete; }
+    
+    public boolean isReleased() { return released; }
+    
+    public void setDirty(boolean dirty) { this.dirty = dirty; }
+    public void setComplete(boolean complete) { this.complete = complete; }
+    
+    int getWheelEntries() { return wheelEntries; }
+    void addWheelEntries(int delta) { wheelEntries += delta; }
+    
+    /**
+     * Approximate heap footprint of this shard (object headers plus both arrays)
+     */
+    public long estimateMemoryBytes() {
+        return 24L + (16L + 4L * keys.length) + (16L + 8L * times.length) + 4L * removed.length;
+    }
+    
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+    
+    private static int capacityFor(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+    
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        times = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+    
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        long[] oldTimes = times;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldTimes[i]);
+            }
+        }
+    }
+    
+    /**
+     * Backward-shift deletion so probe chains stay intact without tombstones
+     */
+    private void deleteSlot(int slot, int mask) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slot(keys[next], mask);
+            boolean movable = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                keys[hole] = keys[next];
+                times[hole] = times[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        times[hole] = 0L;
+    }
+}
@@ -0,0 +1,219 @@
+package id.rnggagib.taskforge.antiexploit;
+
+import java.util.Arrays;
+
+/**
+ * Timing wheel of placed block markers, bucketed by the slot in which they expire
+ * Advancing only visits buckets that are due, so expiring a batch costs time
+ * proportional to that batch instead of to everything tracked
+ * Not thread-safe - all calls must come from the main server thread
+ */
+class ExpiryWheel {
+    
+    // Number of past buckets whose expiry counts are kept for /tfa antiexploit
+    static final int HISTORY_SIZE = 10;
+    
+    // Entries of released shards are purged once there are at least this many and they make up half the wheel
+    private static final int MIN_PURGE = 1024;
+    
+    private final long slotMillis;
+    private final long naturalTimeMillis;
+    private final Bucket[] buckets;
+    
+    // Absolute slot number (time / slotMillis) of the next bucket to expire
+    private long cursor;
+    private long scheduled;
+    private long totalExpired;
+    // Scheduled entries whose shard has been released
+    private long stale;
+    
+    // Ring of recently expired buckets
+    private final long[] historySlots = new long[HISTORY_SIZE];
+    private final int[] historyExpired = new int[HISTORY_SIZE];
+    private int historyCount;
+    
+    ExpiryWheel(long naturalTimeMillis, long slotMillis, long now) {
+        if (naturalTimeMillis <= 0 || slotMillis <= 0) {
+            throw new IllegalArgumentException("natural time " + naturalTimeMillis + "ms and slot " + slotMillis + "ms must be positive");
+        }
+        this.slotMillis = slotMillis;
+        this.naturalTimeMillis = naturalTimeMillis;
+        // Every expiry lies within [now, now + naturalTime], so the wheel never wraps onto a live bucket
+        this.buckets = new Bucket[(int) (naturalTimeMillis / slotMillis) + 2];
+        this.cursor = now / slotMillis;
+    }
+    
+    /**
+     * Markers expiring in one slot, as parallel arrays of shard and packed position
+     */
+    private static final class Bucket {
+        private static final int INITIAL_CAPACITY = 16;
+        
+        private ChunkShard[] shards = new ChunkShard[INITIAL_CAPACITY];
+        private int[] keys = new int[INITIAL_CAPACITY];
+        private int size;
+        
+        /**
+         * Drop entries of released shards, returning how many were dropped
+         */
+        int purgeReleased() {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!shards[i].isReleased()) {
+                    shards[kept] = shards[i];
+                    keys[kept] = keys[i];
+                    kept++;
+                }
+            }
+            int purged = size - kept;
+            Arrays.fill(shards, kept, size, null);
+            size = kept;
+            if (keys.length > INITIAL_CAPACITY && size < keys.length / 4) {
+                int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+                shards = Arrays.copyOf(shards, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+            }
+            return purged;
+        }
+        
+        void add(ChunkShard shard, int key) {
+            if (size == keys.length) {
+                shards = Arrays.copyOf(shards, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            shards[size] = shard;
+            keys[size] = key;
+            size++;
+        }
+    }
+    
+    /**
+     * Schedule a marker to expire naturalTime after it was placed
+     * A marker that is placed again keeps its old entry; that one is skipped when it fires
+     * Returns markers expired while catching up with a cursor that fell behind
+     */
+    int schedule(ChunkShard shard, int key, long placedTime) {
+        long slot = Math.max(cursor, (placedTime + naturalTimeMillis) / slotMillis);
+        
+        // Lagging ticks left the cursor too far behind - fire the buckets this slot would land on
+        int expired = 0;
+        if (slot - cursor >= buckets.length) {
+            expired = advance((slot - buckets.length + 2) * slotMillis);
+        }
+        
+        int index = (int) (slot % buckets.length);
+        
+        Bucket bucket = buckets[index];
+        if (bucket == null) {
+            bucket = new Bucket();
+            buckets[index] = bucket;
+        }
+        bucket.add(shard, key);
+        shard.addWheelEntries(1);
+        scheduled++;
+        return expired;
+    }
+    
+    /**
+     * Expire every bucket whose slot has fully passed
+     */
+    int advance(long now) {
+        long cutoff = now - naturalTimeMillis;
+        long lastDue = now / slotMillis - 1;
+        int expired = 0;
+        
+        for (; cursor <= lastDue; cursor++) {
+            int index = (int) (cursor % buckets.length);
+            Bucket bucket = buckets[index];
+            if (bucket == null) continue;
+            buckets[index] = null;
+            
+            int bucketExpired = 0;
+            for (int i = 0; i < bucket.size; i++) {
+                ChunkShard shard = bucket.shards[i];
+                shard.addWheelEntries(-1);
+                if (shard.isReleased()) {
+                    stale--;
+                } else if (shard.expire(bucket.keys[i], cutoff)) {
+                    bucketExpired++;
+                }
+            }
+            
+            scheduled -= bucket.size;
+            expired += bucketExpired;
+            recordHistory(cursor, bucketExpired);
+        }
+        
+        totalExpired += expired;
+        return expired;
+    }
+    
+    /**
+     * Note that a shard left the tracker; its entries are purged in bulk once enough have piled up,
+     * so chunk load and unload churn cannot keep dropped shards and their entries alive
+     */
+    void released(ChunkShard shard) {
+        stale += shard.getWheelEntries();
+        if (stale >= MIN_PURGE && stale * 2 >= scheduled) {
+            purgeReleased();
+        }
+    }
+    
+    private void purgeReleased() {
+        for (Bucket bucket : buckets) {
+            if (bucket != null) {
+                scheduled -= bucket.purgeReleased();
+            }
+        }
+        stale = 0;
+    }
+    
+    long getNaturalTimeMillis() { return naturalTimeMillis; }
+    long getScheduledCount() { return scheduled; }
+    long getTotalExpired() { return totalExpired; }
+    
+    /**
+     * Number of entries waiting in each upcoming bucket, soonest first
+     */
+    int[] getUpcomingBucketSizes() {
+        int[] sizes = new int[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            Bucket bucket = buckets[(int) ((cursor + i) % buckets.length)];
+            sizes[i] = bucket != null ? bucket.size : 0;
+        }
+        return sizes;
+    }
+    
+    /**
+     * Start time and expired count of recent buckets, newest first
+     */
+    long[][] getHistory() {
+        int count = Math.min(historyCount, HISTORY_SIZE);
+        long[][] history = new long[count][];
+        for (int i = 0; i < count; i++) {
+            int index = (historyCount - 1 - i) % HISTORY_SIZE;
+            history[i] = new long[] { historySlots[index] * slotMillis, historyExpired[index] };
+        }
+        return history;
+    }
+    
+    /**
+     * Approximate heap used by the buckets
+     */
+    long estimateMemoryBytes() {
+        long bytes = 16L + buckets.length * 4L;
+        for (Bucket bucket : buckets) {
+            if (bucket != null) {
+                bytes += 32 + bucket.keys.length * 8L;
+            }
+        }
+        return bytes;
+    }
+    
+    private void recordHistory(long slot, int expired) {
+        int index = historyCount % HISTORY_SIZE;
+        historySlots[index] = slot;
+        historyExpired[index] = expired;
+        historyCount++;
+    }
+}
@@ -0,0 +1,420 @@
+package id.rnggagib.taskforge.antiexploit;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Disk store for placed block markers, one binary file per 32x32 chunk region
+ * All file access runs in order on a single IO thread, so a chunk load always
+ * sees every save queued before it
+ *
+ * File layout (big-endian):
+ *   int magic, int version
+ *   1024 x (int offset, int count) - chunk index, offset 0 = no markers
+ *   count x (int packed position, long placed time) per chunk
+ */
+public class PlacedBlockStore {
+    
+    private static final int MAGIC = 0x54465042; // "TFPB"
+    private static final int VERSION = 1;
+    private static final int CHUNKS_PER_REGION = 32 * 32;
+    private static final int HEADER_BYTES = 8;
+    private static final int INDEX_BYTES = CHUNKS_PER_REGION * 8;
+    private static final int DATA_START = HEADER_BYTES + INDEX_BYTES;
+    private static final int ENTRY_BYTES = Integer.BYTES + Long.BYTES;
+    
+    private final File baseFolder;
+    private final Logger logger;
+    private final ExecutorService ioExecutor;
+    
+    // Chunk snapshots waiting to be written, grouped by region file - guarded by itself
+    private final Map<Path, Map<Integer, ChunkData>> pendingWrites = new HashMap<>();
+    
+    // Metrics
+    private final AtomicLong chunksLoaded = new AtomicLong();
+    private final AtomicLong regionsWritten = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong expiredOnDisk = new AtomicLong();
+    
+    public PlacedBlockStore(File baseFolder, Logger logger) {
+        this.baseFolder = baseFolder;
+        this.logger = logger;
+        this.ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TaskForge-PlacedBlockIO");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Markers of one chunk, as parallel arrays
+     * A complete snapshot replaces what is on disk, a partial one is merged over it after deleting
+     * the positions it lists as removed
+     */
+    public static final class ChunkData {
+        private static final int[] NO_REMOVALS = new int[0];
+        
+        private final int[] keys;
+        private final long[] times;
+        private final int[] removed;
+        private final boolean complete;
+        
+        public ChunkData(int[] keys, long[] times, boolean complete) {
+            this(keys, times, NO_REMOVALS, complete);
+        }
+        
+        public ChunkData(int[] keys, long[] times, int[] removed, boolean complete) {
+            this.keys = keys;
+            this.times = times;
+            this.removed = removed;
+            this.complete = complete;
+        }
+        
+        public int[] getKeys() { return keys; }
+        public long[] getTimes() { return times; }
+        public int size() { return keys.length; }
+    }
+    
+    /**
+     * Read a chunk's markers on the IO thread
+     * Markers placed before the cutoff are skipped; the callback runs on the IO thread
+     */
+    public void loadChunk(UUID worldId, int chunkX, int chunkZ, long cutoff, Consumer<ChunkData> callback) {
+        ioExecutor.execute(() -> {
+            ChunkData data = readChunk(regionPath(worldId, chunkX, chunkZ), chunkIndex(chunkX, chunkZ), cutoff);
+            chunksLoaded.incrementAndGet();
+            callback.accept(data);
+        });
+    }
+    
+    /**
+     * Queue a chunk snapshot to be written
+     * Snapshots of the same region are coalesced into one file rewrite
+     */
+    public void saveChunk(UUID worldId, int chunkX, int chunkZ, ChunkData data, long cutoff) {
+        Path path = regionPath(worldId, chunkX, chunkZ);
+        int index = chunkIndex(chunkX, chunkZ);
+        
+        synchronized (pendingWrites) {
+            Map<Integer, ChunkData> region = pendingWrites.get(path);
+            boolean schedule = region == null;
+            if (region == null) {
+                region = new HashMap<>();
+                pendingWrites.put(path, region);
+            }
+            
+            ChunkData previous = region.get(index);
+            region.put(index, previous != null && !data.complete ? overlay(previous, data) : data);
+            
+            if (schedule) {
+                ioExecutor.execute(() -> flushRegion(path, cutoff));
+            }
+        }
+    }
+    
+    /**
+     * Delete region files that were last written before the cutoff
+     * Every marker in such a file is older than the cutoff, so nothing is lost
+     */
+    public void pruneExpiredRegions(long cutoff) {
+        ioExecutor.execute(() -> {
+            File[] worldFolders = baseFolder.listFiles(File::isDirectory);
+            if (worldFolders == null) {
+                return;
+            }
+            
+            int deleted = 0;
+            for (File worldFolder : worldFolders) {
+                File[] regions = worldFolder.listFiles((dir, name) -> name.endsWith(".tfb"));
+                if (regions == null) continue;
+                
+                for (File region : regions) {
+                    if (region.lastModified() < cutoff && region.delete()) {
+                        deleted++;
+                    }
+                }
+            }
+            
+            if (deleted > 0) {
+                logger.info("[Anti-Exploit] Removed " + deleted + " expired placed block region files");
+            }
+        });
+    }
+    
+    /**
+     * Write everything queued and stop the IO thread
+     */
+    public void shutdown() {
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for placed block data to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public long getChunksLoaded() { return chunksLoaded.get(); }
+    public long getRegionsWritten() { return regionsWritten.get(); }
+    public long getBytesWritten() { return bytesWritten.get(); }
+    public long getExpiredOnDisk() { return expiredOnDisk.get(); }
+    
+    public int getPendingRegionCount() {
+        synchronized (pendingWrites) {
+            return pendingWrites.size();
+        }
+    }
+    
+    private Path regionPath(UUID worldId, int chunkX, int chunkZ) {
+        String name = "r." + (chunkX >> 5) + "." + (chunkZ >> 5) + ".tfb";
+        return new File(new File(baseFolder, worldId.toString()), name).toPath();
+    }
+    
+    private static int chunkIndex(int chunkX, int chunkZ) {
+        return (chunkX & 31) | ((chunkZ & 31) << 5);
+    }
+    
+    /**
+     * Read one chunk with two positional reads - the index slot and its entries
+     */
+    private ChunkData readChunk(Path path, int index, long cutoff) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                logger.warning("Ignoring unreadable placed block file " + path.getFileName());
+                return empty();
+            }
+            
+            ByteBuffer slot = ByteBuffer.allocate(8);
+            readFully(channel, slot, HEADER_BYTES + index * 8L);
+            int offset = slot.getInt(0);
+            int count = slot.getInt(4);
+            if (offset == 0 || count <= 0) {
+                return empty();
+            }
+            if (offset < DATA_START || offset + (long) count * ENTRY_BYTES > channel.size()) {
+                logger.warning("Ignoring corrupt chunk entry in placed block file " + path.getFileName());
+                return empty();
+            }
+            
+            ByteBuffer entries = ByteBuffer.allocate(count * ENTRY_BYTES);
+            readFully(channel, entries, offset);
+            entries.flip();
+            return decode(entries, count, cutoff, true);
+        } catch (NoSuchFileException e) {
+            return empty();
+        } catch (IOException e) {
+            logger.severe("Failed to read placed block data: " + e.getMessage());
+            return empty();
+        }
+    }
+    
+    /**
+     * Rewrite a region file with its queued snapshots applied
+     * Expired markers of every chunk in the region are dropped on the way
+     */
+    private void flushRegion(Path path, long cutoff) {
+        Map<Integer, ChunkData> updates;
+        synchronized (pendingWrites) {
+            updates = pendingWrites.remove(path);
+        }
+        if (updates == null || updates.isEmpty()) {
+            return;
+        }
+        
+        try {
+            ChunkData[] chunks = readRegion(path, cutoff);
+            for (Map.Entry<Integer, ChunkData> update : updates.entrySet()) {
+                int index = update.getKey();
+                ChunkData data = update.getValue();
+                ChunkData merged = data.complete || chunks[index] == null ? data : overlay(chunks[index], data);
+                chunks[index] = withoutExpired(merged, cutoff);
+            }
+            
+            writeRegion(path, chunks);
+        } catch (IOException e) {
+            logger.severe("Failed to write placed block data: " + e.getMessage());
+        }
+    }
+    
+    private ChunkData[] readRegion(Path path, long cutoff) throws IOException {
+        ChunkData[] chunks = new ChunkData[CHUNKS_PER_REGION];
+        
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) channel.size());
+            readFully(channel, buffer, 0);
+        } catch (NoSuchFileException e) {
+            return chunks;
+        }
+        
+        if (buffer.capacity() < DATA_START || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            logger.warning("Replacing unreadable placed block file " + path.getFileName());
+            return chunks;
+        }
+        
+        for (int index = 0; index < CHUNKS_PER_REGION; index++) {
+            int offset = buffer.getInt(HEADER_BYTES + index * 8);
+            int count = buffer.getInt(HEADER_BYTES + index * 8 + 4);
+            if (offset == 0 || count <= 0) continue;
+            if (offset < DATA_START || offset + (long) count * ENTRY_BYTES > buffer.capacity()) continue;
+            
+            ByteBuffer entries = buffer.duplicate();
+            entries.position(offset);
+            chunks[index] = decode(entries, count, cutoff, false);
+        }
+        
+        return chunks;
+    }
+    
+    private void writeRegion(Path path, ChunkData[] chunks) throws IOException {
+        int totalEntries = 0;
+        for (ChunkData chunk : chunks) {
+            if (chunk != null) {
+                totalEntries += chunk.size();
+            }
+        }
+        
+        if (totalEntries == 0) {
+            Files.deleteIfExists(path);
+            return;
+        }
+        
+        ByteBuffer buffer = ByteBuffer.allocate(DATA_START + totalEntries * ENTRY_BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        
+        int offset = DATA_START;
+        for (ChunkData chunk : chunks) {
+            int count = chunk != null ? chunk.size() : 0;
+            buffer.putInt(count > 0 ? offset : 0).putInt(count);
+            offset += count * ENTRY_BYTES;
+        }
+        
+        for (ChunkData chunk : chunks) {
+            if (chunk == null) continue;
+            for (int i = 0; i < chunk.size(); i++) {
+                buffer.putInt(chunk.keys[i]).putLong(chunk.times[i]);
+            }
+        }
+        buffer.flip();
+        
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        
+        regionsWritten.incrementAndGet();
+        bytesWritten.addAndGet(buffer.limit());
+    }
+    
+    private ChunkData decode(ByteBuffer entries, int count, long cutoff, boolean complete) {
+        int[] keys = new int[count];
+        long[] times = new long[count];
+        int kept = 0;
+        
+        for (int i = 0; i < count; i++) {
+            int key = entries.getInt();
+            long time = entries.getLong();
+            if (time >= cutoff) {
+                keys[kept] = key;
+                times[kept] = time;
+                kept++;
+            }
+        }
+        
+        if (kept < count) {
+            expiredOnDisk.addAndGet(count - kept);
+            return new ChunkData(Arrays.copyOf(keys, kept), Arrays.copyOf(times, kept), complete);
+        }
+        return new ChunkData(keys, times, complete);
+    }
+    
+    /**
+     * Merge a partial snapshot over a base - removals of the snapshot are applied first, then its entries win
+     * The result keeps the removals of both, for when it is merged over the disk copy in turn
+     */
+    private static ChunkData overlay(ChunkData base, ChunkData top) {
+        ChunkShard merged = new ChunkShard();
+        for (int i = 0; i < base.size(); i++) {
+            merged.put(base.keys[i], base.times[i]);
+        }
+        for (int key : top.removed) {
+            merged.remove(key);
+        }
+        for (int i = 0; i < top.size(); i++) {
+            merged.put(top.keys[i], top.times[i]);
+        }
+        
+        int[] keys = new int[merged.size()];
+        long[] times = new long[merged.size()];
+        merged.copyEntries(keys, times);
+        
+        int[] removed = base.removed;
+        if (top.removed.length > 0) {
+            removed = Arrays.copyOf(base.removed, base.removed.length + top.removed.length);
+            System.arraycopy(top.removed, 0, removed, base.removed.length, top.removed.length);
+        }
+        return new ChunkData(keys, times, removed, base.complete);
+    }
+    
+    private ChunkData withoutExpired(ChunkData data, long cutoff) {
+        int kept = 0;
+        for (int i = 0; i < data.size(); i++) {
+            if (data.times[i] >= cutoff) {
+                data.keys[kept] = data.keys[i];
+                data.times[kept] = data.times[i];
+                kept++;
+            }
+        }
+        
+        if (kept == data.size()) {
+            return data;
+        }
+        expiredOnDisk.addAndGet(data.size() - kept);
+        return new ChunkData(Arrays.copyOf(data.keys, kept), Arrays.copyOf(data.times, kept), data.removed, data.complete);
+    }
+    
+    private static ChunkData empty() {
+        return new ChunkData(new int[0], new long[0], true);
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of placed block file");
+            }
+        }
+    }
+}
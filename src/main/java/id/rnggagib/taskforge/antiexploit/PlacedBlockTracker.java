@@ -0,0 +1,409 @@
+package id.rnggagib.taskforge.antiexploit;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+
+/**
+ * Tracks blocks placed by players, sharded by world and chunk
+ * When persistence is enabled only loaded chunks are kept in memory, the rest
+ * lives in {@link PlacedBlockStore} region files
+ * Markers expire through an {@link ExpiryWheel} instead of periodic full sweeps
+ * Not thread-safe - all calls must come from the main server thread
+ */
+public class PlacedBlockTracker {
+    
+    // Approximate cost of one shard slot in the per-world map (node + boxed chunk key)
+    static final int SHARD_MAP_ENTRY_BYTES = 56;
+    
+    // Width of one expiry bucket, the wheel is advanced once per bucket
+    private static final long EXPIRY_SLOT_MILLIS = 60 * 1000L;
+    private static final long EXPIRY_SLOT_TICKS = 20L * 60;
+    
+    private final TaskForgePlugin plugin;
+    private final Map<UUID, Map<Long, ChunkShard>> worlds = new HashMap<>();
+    
+    // Cached anti_exploit.natural_time_minutes, refreshed on reload
+    private long naturalTimeMillis;
+    private ExpiryWheel wheel;
+    private BukkitTask expiryTask;
+    private long liveEntries;
+    
+    // Null when markers are memory-only
+    private PlacedBlockStore store;
+    
+    public PlacedBlockTracker(TaskForgePlugin plugin) {
+        this.plugin = plugin;
+        this.naturalTimeMillis = plugin.getConfigManager().getNaturalTimeMillis();
+        this.wheel = new ExpiryWheel(naturalTimeMillis, EXPIRY_SLOT_MILLIS, System.currentTimeMillis());
+    }
+    
+    /**
+     * Start expiring markers, open the disk store and load markers of chunks that are already loaded
+     */
+    public void initialize() {
+        expiryTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                expireDue();
+            }
+        }.runTaskTimer(plugin, EXPIRY_SLOT_TICKS, EXPIRY_SLOT_TICKS);
+        
+        if (!plugin.getConfigManager().isPlacedBlockPersistenceEnabled()) {
+            return;
+        }
+        
+        store = new PlacedBlockStore(new File(plugin.getDataFolder(), "placed_blocks"), plugin.getLogger());
+        store.pruneExpiredRegions(getCutoff());
+        
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                loadChunk(chunk);
+            }
+        }
+    }
+    
+    /**
+     * Save all markers and close the disk store
+     */
+    public void shutdown() {
+        if (expiryTask != null) {
+            expiryTask.cancel();
+            expiryTask = null;
+        }
+        
+        if (store == null) {
+            return;
+        }
+        
+        for (Map.Entry<UUID, Map<Long, ChunkShard>> world : worlds.entrySet()) {
+            saveShards(world.getKey(), world.getValue());
+        }
+        store.shutdown();
+        store = null;
+    }
+    
+    /**
+     * Pick up a changed natural time after a config reload
+     * Scheduled expiries depend on it, so the wheel is rebuilt from the live markers
+     */
+    public void reloadSettings() {
+        long configured = plugin.getConfigManager().getNaturalTimeMillis();
+        if (configured == naturalTimeMillis) {
+            return;
+        }
+        
+        naturalTimeMillis = configured;
+        wheel = new ExpiryWheel(naturalTimeMillis, EXPIRY_SLOT_MILLIS, System.currentTimeMillis());
+        
+        // Nothing can expire here - the new cursor starts at the current slot
+        for (Map<Long, ChunkShard> shards : worlds.values()) {
+            for (ChunkShard shard : shards.values()) {
+                shard.addWheelEntries(-shard.getWheelEntries());
+                int[] keys = new int[shard.size()];
+                long[] times = new long[shard.size()];
+                shard.copyEntries(keys, times);
+                for (int i = 0; i < keys.length; i++) {
+                    wheel.schedule(shard, keys[i], times[i]);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Build a chunk key from chunk coordinates
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Mark a block as placed at the given time
+     */
+    public void markPlaced(Block block, long time) {
+        Map<Long, ChunkShard> shards = worlds.computeIfAbsent(block.getWorld().getUID(), k -> new HashMap<>());
+        long key = chunkKey(block.getX() >> 4, block.getZ() >> 4);
+        
+        ChunkShard shard = shards.get(key);
+        if (shard == null) {
+            // Reads create a shard up front, so without one the chunk has no markers on disk
+            shard = new ChunkShard();
+            shard.setComplete(true);
+            shards.put(key, shard);
+        }
+        
+        int packed = ChunkShard.pack(block.getX(), block.getY(), block.getZ());
+        int before = shard.size();
+        shard.put(packed, time);
+        liveEntries += shard.size() - before;
+        liveEntries -= wheel.schedule(shard, packed, time);
+    }
+    
+    /**
+     * Get when a block was placed, or 0 if it is not tracked
+     */
+    public long getPlacedTime(Block block) {
+        ChunkShard shard = getShard(block);
+        return shard != null ? shard.get(ChunkShard.pack(block.getX(), block.getY(), block.getZ())) : 0L;
+    }
+    
+    /**
+     * Check if a placement time is old enough for the block to count as natural
+     */
+    public boolean isNatural(long placedTime, long now) {
+        return placedTime == 0L || now - placedTime >= naturalTimeMillis;
+    }
+    
+    /**
+     * Stop tracking a block
+     * Its wheel entry stays behind and is skipped when the bucket fires; while the chunk's markers
+     * are still being read the removal is remembered, so the disk copy cannot bring the marker back
+     */
+    public void remove(Block block) {
+        ChunkShard shard = getShard(block);
+        if (shard == null) {
+            return;
+        }
+        
+        int packed = ChunkShard.pack(block.getX(), block.getY(), block.getZ());
+        if (shard.remove(packed)) {
+            liveEntries--;
+        }
+        if (store != null && !shard.isComplete()) {
+            shard.addRemoved(packed);
+        }
+    }
+    
+    /**
+     * Read a loaded chunk's markers from disk
+     * Markers placed while the read is in flight are kept over the ones on disk, and markers
+     * removed meanwhile stay removed; an incomplete shard stands for the read until it finishes
+     */
+    public void loadChunk(Chunk chunk) {
+        if (store == null) {
+            return;
+        }
+        
+        UUID worldId = chunk.getWorld().getUID();
+        int chunkX = chunk.getX();
+        int chunkZ = chunk.getZ();
+        ChunkShard pending = worlds.computeIfAbsent(worldId, k -> new HashMap<>())
+                                   .computeIfAbsent(chunkKey(chunkX, chunkZ), k -> new ChunkShard());
+        if (pending.isComplete()) {
+            return; // Already merged with the disk copy
+        }
+        
+        store.loadChunk(worldId, chunkX, chunkZ, getCutoff(), data -> {
+            if (!plugin.isEnabled()) {
+                return;
+            }
+            Bukkit.getScheduler().runTask(plugin, () -> applyLoaded(chunk, worldId, chunkX, chunkZ, pending, data));
+        });
+    }
+    
+    /**
+     * Write back and drop all markers of an unloaded chunk
+     */
+    public void unloadChunk(Chunk chunk) {
+        UUID worldId = chunk.getWorld().getUID();
+        Map<Long, ChunkShard> shards = worlds.get(worldId);
+        if (shards == null) {
+            return;
+        }
+        
+        ChunkShard shard = shards.remove(chunkKey(chunk.getX(), chunk.getZ()));
+        if (shard != null) {
+            saveShard(worldId, chunk.getX(), chunk.getZ(), shard, getCutoff());
+            releaseShard(shard);
+        }
+    }
+    
+    /**
+     * Write back changed markers of a world that is being saved
+     */
+    public void saveWorld(World world) {
+        Map<Long, ChunkShard> shards = worlds.get(world.getUID());
+        if (shards != null) {
+            saveShards(world.getUID(), shards);
+        }
+    }
+    
+    /**
+     * Write back and drop all markers of an unloaded world
+     */
+    public void unloadWorld(World world) {
+        Map<Long, ChunkShard> shards = worlds.remove(world.getUID());
+        if (shards != null) {
+            saveShards(world.getUID(), shards);
+            shards.values().forEach(this::releaseShard);
+        }
+    }
+    
+    /**
+     * Expire the markers of every wheel bucket that is due
+     */
+    public int expireDue() {
+        int expired = wheel.advance(System.currentTimeMillis());
+        liveEntries -= expired;
+        
+        if (expired > 0 && plugin.getConfigManager().getSettings().isAntiExploitDebug()) {
+            plugin.getLogger().info("[Anti-Exploit] Expired " + expired + " placed block entries");
+        }
+        return expired;
+    }
+    
+    /**
+     * Remove all markers
+     */
+    public void clear() {
+        for (Map<Long, ChunkShard> shards : worlds.values()) {
+            shards.values().forEach(this::releaseShard);
+        }
+        worlds.clear();
+    }
+    
+    /**
+     * Get number of tracked blocks
+     */
+    public long getEntryCount() {
+        return liveEntries;
+    }
+    
+    /**
+     * Get number of wheel entries not yet fired, including ones for removed blocks
+     */
+    public long getScheduledExpiryCount() {
+        return wheel.getScheduledCount();
+    }
+    
+    /**
+     * Get number of markers expired by the wheel since startup or the last reload
+     */
+    public long getTotalExpired() {
+        return wheel.getTotalExpired();
+    }
+    
+    /**
+     * Get number of entries waiting in each upcoming expiry bucket, soonest first
+     */
+    public int[] getUpcomingExpiryBuckets() {
+        return wheel.getUpcomingBucketSizes();
+    }
+    
+    /**
+     * Get bucket start time and expired count of recently fired buckets, newest first
+     */
+    public long[][] getRecentExpiries() {
+        return wheel.getHistory();
+    }
+    
+    public long getNaturalTimeMillis() {
+        return naturalTimeMillis;
+    }
+    
+    /**
+     * Get number of chunk shards in memory
+     */
+    public int getShardCount() {
+        int count = 0;
+        for (Map<Long, ChunkShard> shards : worlds.values()) {
+            count += shards.size();
+        }
+        return count;
+    }
+    
+    /**
+     * Approximate heap used by all shards
+     */
+    public long estimateMemoryBytes() {
+        long bytes = 0;
+        for (Map<Long, ChunkShard> shards : worlds.values()) {
+            for (ChunkShard shard : shards.values()) {
+                bytes += shard.estimateMemoryBytes() + SHARD_MAP_ENTRY_BYTES;
+            }
+        }
+        return bytes + wheel.estimateMemoryBytes();
+    }
+    
+    /**
+     * Get the disk store, or null when markers are memory-only
+     */
+    public PlacedBlockStore getStore() {
+        return store;
+    }
+    
+    private long getCutoff() {
+        return System.currentTimeMillis() - naturalTimeMillis;
+    }
+    
+    private void applyLoaded(Chunk chunk, UUID worldId, int chunkX, int chunkZ, ChunkShard shard, PlacedBlockStore.ChunkData data) {
+        Map<Long, ChunkShard> shards = worlds.get(worldId);
+        long key = chunkKey(chunkX, chunkZ);
+        if (!chunk.isLoaded() || shards == null || shards.get(key) != shard) {
+            return; // Unloaded before the read finished - the data stays on disk, and a later read owns the chunk
+        }
+        
+        // Entries placed before the read finished are newer than the disk copy, entries removed are gone
+        boolean dirty = shard.isDirty();
+        int[] keys = data.getKeys();
+        long[] times = data.getTimes();
+        for (int i = 0; i < keys.length; i++) {
+            if (!shard.wasRemoved(keys[i]) && shard.putIfAbsent(keys[i], times[i])) {
+                liveEntries++;
+                liveEntries -= wheel.schedule(shard, keys[i], times[i]);
+            }
+        }
+        shard.setDirty(dirty);
+        shard.setComplete(true);
+        // The next save replaces the disk copy as a whole, which drops the removed markers there too
+        shard.clearRemoved();
+        
+        if (shard.isEmpty() && !shard.isDirty()) {
+            // Nothing to track or write, so the chunk needs no shard
+            shards.remove(key);
+            releaseShard(shard);
+        }
+    }
+    
+    private void saveShards(UUID worldId, Map<Long, ChunkShard> shards) {
+        long cutoff = getCutoff();
+        for (Map.Entry<Long, ChunkShard> entry : shards.entrySet()) {
+            long key = entry.getKey();
+            saveShard(worldId, (int) (key >> 32), (int) key, entry.getValue(), cutoff);
+        }
+    }
+    
+    private void saveShard(UUID worldId, int chunkX, int chunkZ, ChunkShard shard, long cutoff) {
+        if (store == null || !shard.isDirty()) {
+            return;
+        }
+        
+        int[] keys = new int[shard.size()];
+        long[] times = new long[shard.size()];
+        shard.copyEntries(keys, times);
+        store.saveChunk(worldId, chunkX, chunkZ,
+                        new PlacedBlockStore.ChunkData(keys, times, shard.copyRemoved(), shard.isComplete()), cutoff);
+        shard.setDirty(false);
+    }
+    
+    private void releaseShard(ChunkShard shard) {
+        liveEntries -= shard.size();
+        shard.release();
+        wheel.released(shard);
+    }
+    
+    private ChunkShard getShard(Block block) {
+        Map<Long, ChunkShard> shards = worlds.get(block.getWorld().getUID());
+        return shards != null ? shards.get(chunkKey(block.getX() >> 4, block.getZ() >> 4)) : null;
+    }
+}
@@ -1,6 +1,7 @@
 package id.rnggagib.taskforge.commands;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -11,7 +12,14 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.config.ConfigManager;
 import id.rnggagib.taskforge.gui.JobsGUI;
+import id.rnggagib.taskforge.gui.ObjectivesGUI;
+import id.rnggagib.taskforge.jobs.Job;
+import id.rnggagib.taskforge.jobs.Leaderboard;
+import id.rnggagib.taskforge.jobs.ObjectiveCatalog;
+import id.rnggagib.taskforge.managers.LeaderboardManager;
+import id.rnggagib.taskforge.managers.LeaderboardManager.Metric;
 import id.rnggagib.taskforge.utils.TimeUtils;
 
 /**
@@ -19,6 +27,8 @@ import id.rnggagib.taskforge.utils.TimeUtils;
  */
 public class JobsCommand implements CommandExecutor, TabCompleter {
     
+    private static final int LEADERBOARD_PAGE_SIZE = 10;
+    
     private final TaskForgePlugin plugin;
     
     public JobsCommand(TaskForgePlugin plugin) {
@@ -28,7 +38,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!(sender instanceof Player)) {
-            sender.sendMessage(plugin.getConfigManager().getMessage("player_only"));
+            sender.sendMessage(plugin.getConfigManager().getMessage(sender, "player_only"));
             return true;
         }
         
@@ -50,7 +60,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
                 
             case "join":
                 if (args.length < 2) {
-                    player.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + " /jobs join <job>");
+                    player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "invalid_usage") + " /jobs join <job>");
                     return true;
                 }
                 joinJob(player, args[1]);
@@ -58,7 +68,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
                 
             case "leave":
                 if (args.length < 2) {
-                    player.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + " /jobs leave <job>");
+                    player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "invalid_usage") + " /jobs leave <job>");
                     return true;
                 }
                 leaveJob(player, args[1]);
@@ -71,16 +81,20 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
                 
             case "top":
             case "leaderboard":
-                if (args.length >= 2) {
-                    showLeaderboard(player, args[1]);
-                } else {
-                    showGeneralLeaderboard(player);
-                }
+                showLeaderboard(player, args);
                 break;
                 
+            case "objectives":
+                if (args.length < 2) {
+                    player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "invalid_usage") + " /jobs objectives <job> [name]");
+                    return true;
+                }
+                openObjectives(player, args[1], String.join(" ", Arrays.copyOfRange(args, 2, args.length)));
+                break;
+            
             case "toggle":
                 if (args.length < 2) {
-                    player.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + " /jobs toggle <particle|title>");
+                    player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "invalid_usage") + " /jobs toggle <particle|title>");
                     return true;
                 }
                 toggleFeature(player, args[1]);
@@ -101,19 +115,32 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
         new JobsGUI(plugin, player).open();
     }
     
+    /**
+     * Open the objectives of a job, optionally searched by name
+     */
+    private void openObjectives(Player player, String jobName, String search) {
+        Job job = plugin.getJobManager().getJob(jobName);
+        if (job == null) {
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "job_not_found"));
+            return;
+        }
+        
+        new ObjectivesGUI(plugin, player, job, null, search).open();
+    }
+    
     /**
      * Handle joining a job
      */
     private void joinJob(Player player, String jobName) {
         // Check if job exists
         if (!plugin.getJobManager().jobExists(jobName)) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_not_found"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "job_not_found"));
             return;
         }
         
         // Check if already has job
         if (plugin.getPlayerDataManager().hasJob(player.getUniqueId(), jobName)) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_already_joined"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "job_already_joined"));
             return;
         }
         
@@ -121,7 +148,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
         Set<String> playerJobs = plugin.getPlayerDataManager().getPlayerJobs(player.getUniqueId());
         int maxJobs = plugin.getConfigManager().getMaxJobs();
         if (playerJobs.size() >= maxJobs) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("max_jobs_reached"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "max_jobs_reached"));
             return;
         }
         
@@ -129,13 +156,13 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
         if (plugin.getPlayerDataManager().joinJob(player.getUniqueId(), jobName)) {
             // Record the join timestamp for cooldown tracking
             if (plugin.getConfigManager().isJobCooldownEnabled()) {
-                plugin.getDatabaseManager().recordJobJoin(player.getUniqueId(), jobName);
+                plugin.getPlayerDataManager().recordJobJoin(player.getUniqueId(), jobName);
             }
             
-            String message = plugin.getConfigManager().getPrefixedMessage("job_joined", "job", jobName);
+            String message = plugin.getConfigManager().getPrefixedMessage(player, "job_joined", "job", jobName);
             player.sendMessage(message);
         } else {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("error_occurred"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "error_occurred"));
         }
     }
     
@@ -144,7 +171,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
      */
     private void leaveJob(Player player, String jobName) {
         if (!plugin.getPlayerDataManager().hasJob(player.getUniqueId(), jobName)) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_not_joined"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "job_not_joined"));
             return;
         }
         
@@ -159,13 +186,13 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
         if (plugin.getPlayerDataManager().leaveJob(player.getUniqueId(), jobName)) {
             // Remove the join timestamp since the job is left
             if (plugin.getConfigManager().isJobCooldownEnabled()) {
-                plugin.getDatabaseManager().removeJobCooldown(player.getUniqueId(), jobName);
+                plugin.getPlayerDataManager().removeJobCooldown(player.getUniqueId(), jobName);
             }
             
-            String message = plugin.getConfigManager().getPrefixedMessage("job_left", "job", jobName);
+            String message = plugin.getConfigManager().getPrefixedMessage(player, "job_left", "job", jobName);
             player.sendMessage(message);
         } else {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("error_occurred"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "error_occurred"));
         }
     }
     
@@ -176,7 +203,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
         Set<String> playerJobs = plugin.getPlayerDataManager().getPlayerJobs(player.getUniqueId());
         
         if (playerJobs.isEmpty()) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("no_jobs"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "no_jobs"));
             return;
         }
         
@@ -197,24 +224,98 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
     }
     
     /**
-     * Show leaderboard for a specific job
+     * Show a page of a leaderboard: /jobs top [job] [level|money|actions] [page]
+     * Without a job the overall board is shown, ranked by totals across all jobs
      */
-    private void showLeaderboard(Player player, String jobName) {
-        if (!plugin.getJobManager().jobExists(jobName)) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_not_found"));
+    private void showLeaderboard(Player player, String[] args) {
+        String jobName = null;
+        Metric metric = Metric.LEVEL;
+        int page = 1;
+        
+        for (int i = 1; i < args.length; i++) {
+            Metric parsed = parseMetric(args[i]);
+            if (parsed != null) {
+                metric = parsed;
+            } else if (args[i].matches("\\d{1,6}")) {
+                page = Math.max(1, Integer.parseInt(args[i]));
+            } else if (!"all".equalsIgnoreCase(args[i])) {
+                if (!plugin.getJobManager().jobExists(args[i])) {
+                    player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "job_not_found"));
+                    return;
+                }
+                jobName = args[i];
+            }
+        }
+        
+        ConfigManager config = plugin.getConfigManager();
+        LeaderboardManager leaderboards = plugin.getLeaderboardManager();
+        if (!leaderboards.isLoaded()) {
+            player.sendMessage(config.getPrefixedMessage(player, "leaderboard_loading"));
             return;
         }
         
-        // This would be implemented to show top players for the job
-        player.sendMessage(plugin.getConfigManager().getPrefixedMessage("feature_not_implemented"));
+        Leaderboard board = leaderboards.getLeaderboard(jobName, metric);
+        int pages = Math.max(1, (board.size() + LEADERBOARD_PAGE_SIZE - 1) / LEADERBOARD_PAGE_SIZE);
+        page = Math.min(page, pages);
+        
+        String title = jobName != null ? config.translateColorCodes(plugin.getJobManager().getJob(jobName).getDisplayName())
+                                       : config.getMessage(player, "leaderboard_all_jobs");
+        player.sendMessage(config.getPrefixedMessage(player, "leaderboard_header",
+                                                     "board", title, "metric", getMetricName(player, metric)));
+        
+        List<Leaderboard.Entry> entries = board.getRange((page - 1) * LEADERBOARD_PAGE_SIZE + 1, LEADERBOARD_PAGE_SIZE);
+        if (entries.isEmpty()) {
+            player.sendMessage(config.getPrefixedMessage(player, "leaderboard_empty"));
+        }
+        for (Leaderboard.Entry entry : entries) {
+            sendLeaderboardEntry(player, metric, entry);
+        }
+        
+        // The player's own rank, with their neighbours when they are not on this page
+        Leaderboard.Entry own = board.get(player.getUniqueId());
+        if (own == null) {
+            player.sendMessage(config.getPrefixedMessage(player, "leaderboard_not_ranked"));
+        } else if (entries.isEmpty() || own.getRank() < entries.get(0).getRank()
+                   || own.getRank() > entries.get(entries.size() - 1).getRank()) {
+            player.sendMessage(config.getPrefixedMessage(player, "leaderboard_around_you"));
+            for (Leaderboard.Entry entry : board.getAround(player.getUniqueId(), 2)) {
+                sendLeaderboardEntry(player, metric, entry);
+            }
+        }
+        
+        String next = "/jobs top " + (jobName != null ? jobName : "all") + " " + metric.name().toLowerCase() + " " + (page + 1);
+        player.sendMessage(config.getPrefixedMessage(player, page < pages ? "leaderboard_footer_next" : "leaderboard_footer",
+                                                     "page", String.valueOf(page), "pages", String.valueOf(pages),
+                                                     "rank", own != null ? "#" + own.getRank() : "-",
+                                                     "total", String.valueOf(board.size()), "command", next));
     }
     
     /**
-     * Show general leaderboard
+     * Send one leaderboard line, highlighting the viewing player
      */
-    private void showGeneralLeaderboard(Player player) {
-        // This would be implemented to show overall top players
-        player.sendMessage(plugin.getConfigManager().getPrefixedMessage("feature_not_implemented"));
+    private void sendLeaderboardEntry(Player player, Metric metric, Leaderboard.Entry entry) {
+        ConfigManager config = plugin.getConfigManager();
+        String path = entry.getPlayerUUID().equals(player.getUniqueId()) ? "leaderboard_entry_self" : "leaderboard_entry";
+        player.sendMessage(config.getMessage(player, path,
+                                             "rank", String.valueOf(entry.getRank()),
+                                             "player", plugin.getLeaderboardManager().getName(entry.getPlayerUUID()),
+                                             "score", config.translateColorCodes(plugin.getLeaderboardManager().formatScore(metric, entry))));
+    }
+    
+    /**
+     * Parse a leaderboard metric argument, null if it is not one
+     */
+    private Metric parseMetric(String arg) {
+        for (Metric metric : Metric.values()) {
+            if (metric.name().equalsIgnoreCase(arg)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+    
+    private String getMetricName(Player player, Metric metric) {
+        return plugin.getConfigManager().getMessage(player, "leaderboard_metric_" + metric.name().toLowerCase());
     }
     
     /**
@@ -222,7 +323,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
      */
     private void toggleFeature(Player player, String feature) {
         // This would be implemented to toggle player preferences
-        player.sendMessage(plugin.getConfigManager().getPrefixedMessage("feature_not_implemented"));
+        player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "feature_not_implemented"));
     }
     
     /**
@@ -235,7 +336,8 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
         player.sendMessage(plugin.getConfigManager().translateColorCodes("&e/jobs join <job> &8- &7Join a job"));
         player.sendMessage(plugin.getConfigManager().translateColorCodes("&e/jobs leave <job> &8- &7Leave a job"));
         player.sendMessage(plugin.getConfigManager().translateColorCodes("&e/jobs stats &8- &7View your job statistics"));
-        player.sendMessage(plugin.getConfigManager().translateColorCodes("&e/jobs top [job] &8- &7View leaderboards"));
+        player.sendMessage(plugin.getConfigManager().translateColorCodes("&e/jobs top [job] [level|money|actions] [page] &8- &7View leaderboards"));
+        player.sendMessage(plugin.getConfigManager().translateColorCodes("&e/jobs objectives <job> [name] &8- &7Browse or search objectives"));
         player.sendMessage(plugin.getConfigManager().translateColorCodes("&e/jobs toggle <feature> &8- &7Toggle cosmetic features"));
     }
     
@@ -265,7 +367,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
      * @return true if on cooldown, false otherwise
      */
     private boolean isJobOnCooldown(Player player, String jobName) {
-        long joinTimestamp = plugin.getDatabaseManager().getJobJoinTimestamp(player.getUniqueId(), jobName);
+        long joinTimestamp = plugin.getPlayerDataManager().getJobJoinTimestamp(player.getUniqueId(), jobName);
         
         // No join record (shouldn't happen if player has the job)
         if (joinTimestamp == 0) {
@@ -285,7 +387,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
         long remainingTime = TimeUtils.getRemainingCooldown(joinTimestamp, cooldownDuration);
         String remainingTimeFormatted = TimeUtils.formatTime(remainingTime);
         
-        String message = plugin.getConfigManager().getPrefixedMessage("job_leave_cooldown", 
+        String message = plugin.getConfigManager().getPrefixedMessage(player, "job_leave_cooldown", 
                                                                       "time", remainingTimeFormatted,
                                                                       "job", jobName);
         player.sendMessage(message);
@@ -299,7 +401,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
         
         if (args.length == 1) {
             // First argument - subcommands
-            String[] subCommands = {"browse", "join", "leave", "stats", "top", "toggle"};
+            String[] subCommands = {"browse", "join", "leave", "stats", "top", "objectives", "toggle"};
             for (String subCommand : subCommands) {
                 if (subCommand.toLowerCase().startsWith(args[0].toLowerCase())) {
                     completions.add(subCommand);
@@ -308,7 +410,7 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
         } else if (args.length == 2) {
             String subCommand = args[0].toLowerCase();
             
-            if ("join".equals(subCommand) || "top".equals(subCommand)) {
+            if ("join".equals(subCommand) || "top".equals(subCommand) || "objectives".equals(subCommand)) {
                 // Job names
                 for (String jobName : plugin.getJobManager().getJobNames()) {
                     if (jobName.toLowerCase().startsWith(args[1].toLowerCase())) {
@@ -335,6 +437,20 @@ public class JobsCommand implements CommandExecutor, TabCompleter {
                     }
                 }
             }
+        } else if (args.length >= 3 && "top".equalsIgnoreCase(args[0])) {
+            // Metrics after the job
+            for (Metric metric : Metric.values()) {
+                String option = metric.name().toLowerCase();
+                if (option.startsWith(args[args.length - 1].toLowerCase())) {
+                    completions.add(option);
+                }
+            }
+        } else if (args.length >= 3 && "objectives".equalsIgnoreCase(args[0])) {
+            // Words of objective names, from the job's search index
+            ObjectiveCatalog catalog = plugin.getJobManager().getObjectiveCatalog(args[1]);
+            if (catalog != null) {
+                completions.addAll(catalog.completeWord(args[args.length - 1], 50));
+            }
         }
         
         return completions;
@@ -12,6 +12,12 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.antiexploit.PlacedBlockStore;
+import id.rnggagib.taskforge.antiexploit.PlacedBlockTracker;
+import id.rnggagib.taskforge.database.DatabaseExecutor;
+import id.rnggagib.taskforge.database.SalaryLedger;
+import id.rnggagib.taskforge.managers.DirectPayManager;
+import id.rnggagib.taskforge.managers.PlayerDataManager;
 import id.rnggagib.taskforge.utils.TimeUtils;
 
 /**
@@ -28,7 +34,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
         if (!sender.hasPermission("taskforge.admin")) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("no_permission"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "no_permission"));
             return true;
         }
         
@@ -46,7 +52,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
                 
             case "setlevel":
                 if (args.length < 4) {
-                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                      " /taskforgeadmin setlevel <player> <job> <level>");
                     return true;
                 }
@@ -55,7 +61,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
                 
             case "addexp":
                 if (args.length < 4) {
-                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                      " /taskforgeadmin addexp <player> <job> <amount>");
                     return true;
                 }
@@ -64,7 +70,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
                 
             case "resetjob":
                 if (args.length < 3) {
-                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                      " /taskforgeadmin resetjob <player> <job>");
                     return true;
                 }
@@ -73,7 +79,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
                 
             case "info":
                 if (args.length < 2) {
-                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                      " /taskforgeadmin info <player>");
                     return true;
                 }
@@ -82,7 +88,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
                 
             case "clearcooldown":
                 if (args.length < 3) {
-                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                      " /taskforgeadmin clearcooldown <player> <job>");
                     return true;
                 }
@@ -91,7 +97,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
                 
             case "checkcooldown":
                 if (args.length < 3) {
-                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                      " /taskforgeadmin checkcooldown <player> <job>");
                     return true;
                 }
@@ -114,6 +120,14 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
                 handleBoosterCommand(sender, args);
                 break;
                 
+            case "antiexploit":
+                showAntiExploitInfo(sender);
+                break;
+            
+            case "dbstats":
+                showDatabaseStats(sender);
+                break;
+            
             default:
                 showHelp(sender);
                 break;
@@ -128,9 +142,9 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
     private void reloadPlugin(CommandSender sender) {
         try {
             plugin.reloadPlugin();
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("config_reloaded"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "config_reloaded"));
         } catch (Exception e) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("error_occurred"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "error_occurred"));
             plugin.getLogger().severe("Failed to reload plugin: " + e.getMessage());
         }
     }
@@ -142,13 +156,13 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         // Find player
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
         // Check if job exists
         if (!plugin.getJobManager().jobExists(jobName)) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "job_not_found"));
             return;
         }
         
@@ -157,11 +171,11 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         try {
             level = Integer.parseInt(levelString);
             if (level < 1) {
-                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_number"));
+                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_number"));
                 return;
             }
         } catch (NumberFormatException e) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_number"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_number"));
             return;
         }
         
@@ -173,13 +187,13 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         }
         
         // Calculate required experience for the level
-        double requiredExp = calculateExpForLevel(level);
+        double requiredExp = plugin.getPlayerDataManager().getExperienceForLevel(jobName, level);
         
         // Set the experience to match the level
         plugin.getPlayerDataManager().addJobExperience(playerUUID, jobName, 
                                                       requiredExp - plugin.getPlayerDataManager().getJobExperience(playerUUID, jobName));
         
-        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("level_set", 
+        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "level_set", 
                                                                        "player", playerName,
                                                                        "job", jobName,
                                                                        "level", String.valueOf(level)));
@@ -192,13 +206,13 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         // Find player
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
         // Check if job exists
         if (!plugin.getJobManager().jobExists(jobName)) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "job_not_found"));
             return;
         }
         
@@ -207,7 +221,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         try {
             exp = Double.parseDouble(expString);
         } catch (NumberFormatException e) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_number"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_number"));
             return;
         }
         
@@ -221,7 +235,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         // Add experience
         plugin.getPlayerDataManager().addJobExperience(playerUUID, jobName, exp);
         
-        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("exp_added", 
+        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "exp_added", 
                                                                        "player", playerName,
                                                                        "job", jobName,
                                                                        "exp", String.valueOf(exp)));
@@ -234,13 +248,13 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         // Find player
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
         // Check if job exists
         if (!plugin.getJobManager().jobExists(jobName)) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "job_not_found"));
             return;
         }
         
@@ -248,7 +262,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         
         // Check if player has the job
         if (!plugin.getPlayerDataManager().hasJob(playerUUID, jobName)) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_not_joined"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "job_not_joined"));
             return;
         }
         
@@ -256,7 +270,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         plugin.getPlayerDataManager().leaveJob(playerUUID, jobName);
         plugin.getPlayerDataManager().joinJob(playerUUID, jobName);
         
-        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_reset", 
+        sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "job_reset", 
                                                                        "player", playerName,
                                                                        "job", jobName));
     }
@@ -267,7 +281,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
     private void showPlayerInfo(CommandSender sender, String playerName) {
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
@@ -287,18 +301,84 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
     }
     
     /**
-     * Calculate total experience required for a specific level
+     * Show placed-block tracker statistics, including its approximate memory per entry
      */
-    private double calculateExpForLevel(int targetLevel) {
-        double baseExp = plugin.getConfigManager().getBaseExp();
-        double multiplier = plugin.getConfigManager().getLevelingMultiplier();
-        double totalExp = 0;
+    private void showAntiExploitInfo(CommandSender sender) {
+        PlacedBlockTracker tracker = plugin.getPlacedBlockTracker();
+        long entries = tracker.getEntryCount();
+        long bytes = tracker.estimateMemoryBytes();
+        double bytesPerEntry = entries > 0 ? (double) bytes / entries : 0.0;
+        
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&6&l=== Anti-Exploit Tracker ==="));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eTracked Blocks: &a" + entries));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eChunk Shards: &a" + tracker.getShardCount()));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eMemory: &a~" + (bytes / 1024) + " KB &7(" + 
+                          String.format("%.1f", bytesPerEntry) + " bytes/entry)"));
+        
+        // Expiry wheel
+        int[] upcoming = tracker.getUpcomingExpiryBuckets();
+        StringBuilder nextBuckets = new StringBuilder();
+        for (int i = 0; i < Math.min(5, upcoming.length); i++) {
+            nextBuckets.append(i > 0 ? ", " : "").append(upcoming[i]);
+        }
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eScheduled Expiries: &a" + tracker.getScheduledExpiryCount() + 
+                          " &7(next minutes: " + nextBuckets + ")"));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eExpired: &a" + tracker.getTotalExpired()));
+        for (long[] bucket : tracker.getRecentExpiries()) {
+            long minutesAgo = (System.currentTimeMillis() - bucket[0]) / 60000;
+            sender.sendMessage(plugin.getConfigManager().translateColorCodes("&7  " + minutesAgo + "m ago: &a" + bucket[1] + " expired"));
+        }
         
-        for (int i = 1; i < targetLevel; i++) {
-            totalExp += baseExp * Math.pow(multiplier, i - 1);
+        PlacedBlockStore store = tracker.getStore();
+        if (store == null) {
+            sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eDisk Store: &cdisabled"));
+            return;
+        }
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eChunks Loaded From Disk: &a" + store.getChunksLoaded()));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eRegion Writes: &a" + store.getRegionsWritten() + 
+                          " &7(" + (store.getBytesWritten() / 1024) + " KB, " + store.getPendingRegionCount() + " pending)"));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eExpired On Disk: &a" + store.getExpiredOnDisk()));
+    }
+    
+    /**
+     * Show write-behind statistics
+     */
+    private void showDatabaseStats(CommandSender sender) {
+        PlayerDataManager playerData = plugin.getPlayerDataManager();
+        long flushes = playerData.getFlushCount();
+        double rowsPerFlush = flushes > 0 ? (double) playerData.getRowsWritten() / flushes : 0.0;
+        
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&6&l=== Database Write-Behind ==="));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eDirty Players: &a" + playerData.getDirtyPlayerCount()));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eProgress Flushes: &a" + flushes));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eProgress Rows Written: &a" + playerData.getRowsWritten() + 
+                          " &7(last: " + playerData.getLastFlushRows() + ", avg: " + String.format("%.1f", rowsPerFlush) + "/flush)"));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&ePending Stats Entries: &a" + plugin.getStatsManager().getPendingCount()));
+        
+        SalaryLedger ledger = plugin.getSalaryManager().getLedger();
+        if (ledger != null) {
+            sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eSalary Journal Records: &a" + ledger.getRecordsAppended() + 
+                              " &7(" + ledger.getRecordsReplayed() + " replayed at startup)"));
+            sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eSalary Compactions: &a" + ledger.getCompactions() + 
+                              " &7(" + ledger.getRowsCompacted() + " rows)"));
         }
         
-        return totalExp;
+        DatabaseExecutor executor = plugin.getDatabaseManager().getExecutor();
+        if (executor != null) {
+            sender.sendMessage(plugin.getConfigManager().translateColorCodes("&6&l=== Database Thread ==="));
+            sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eQueued Writes: &a" + executor.getQueueDepth() + 
+                              " / " + executor.getCapacity() + " &7(peak: " + executor.getMaxQueueDepth() + ", when full: " + 
+                              executor.getQueueFullPolicy().name().toLowerCase() + ")"));
+            sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eWrites: &a" + executor.getWritesCompleted() + 
+                              " &7in " + executor.getTransactions() + " transactions (last: " + executor.getLastBatchSize() + ")"));
+            sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eWrite Latency: &a" + 
+                              String.format("%.1fms avg, %.1fms max", executor.getAverageWriteLatencyMillis(), executor.getMaxWriteLatencyMillis())));
+            sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eReads: &a" + executor.getReadsCompleted() + 
+                              " &7(" + String.format("%.1fms avg", executor.getAverageReadLatencyMillis()) + 
+                              (executor.isReadFanOut() ? ", parallel" : ", on the database thread") + ")"));
+            sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eWrites Merged: &a" + executor.getWritesSuperseded() + 
+                              " &7| &eDropped: &a" + executor.getWritesDropped() + " &7| &eBusy Retries: &a" + executor.getBusyRetries()));
+        }
     }
     
     /**
@@ -316,6 +396,8 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(plugin.getConfigManager().translateColorCodes("&e/taskforgeadmin booster &8- &7Booster system commands"));
         sender.sendMessage(plugin.getConfigManager().translateColorCodes("&e/taskforgeadmin clearcooldown <player> <job> &8- &7Clear job cooldown"));
         sender.sendMessage(plugin.getConfigManager().translateColorCodes("&e/taskforgeadmin checkcooldown <player> <job> &8- &7Check job cooldown"));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&e/taskforgeadmin antiexploit &8- &7Show placed-block tracker statistics"));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&e/taskforgeadmin dbstats &8- &7Show database write-behind statistics"));
     }
     
     /**
@@ -326,17 +408,17 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         
         if (!offlinePlayer.hasPlayedBefore()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
         if (!plugin.getJobManager().jobExists(jobName)) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "job_not_found"));
             return;
         }
         
-        // Remove cooldown from database
-        plugin.getDatabaseManager().removeJobCooldown(offlinePlayer.getUniqueId(), jobName);
+        // Remove cooldown from memory and database
+        plugin.getPlayerDataManager().removeJobCooldown(offlinePlayer.getUniqueId(), jobName);
         
         sender.sendMessage(plugin.getConfigManager().getPrefix() + 
                           "&aCleared job cooldown for &e" + playerName + "&a in job &e" + jobName + "&a!");
@@ -350,12 +432,12 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         
         if (!offlinePlayer.hasPlayedBefore()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
         if (!plugin.getJobManager().jobExists(jobName)) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("job_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "job_not_found"));
             return;
         }
         
@@ -366,7 +448,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        long joinTimestamp = plugin.getDatabaseManager().getJobJoinTimestamp(offlinePlayer.getUniqueId(), jobName);
+        long joinTimestamp = plugin.getPlayerDataManager().getJobJoinTimestamp(offlinePlayer.getUniqueId(), jobName);
         
         if (joinTimestamp == 0) {
             sender.sendMessage(plugin.getConfigManager().getPrefix() + 
@@ -400,7 +482,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         
         if (args.length == 1) {
             // First argument - subcommands
-            String[] subCommands = {"reload", "setlevel", "addexp", "resetjob", "info", "clearcooldown", "checkcooldown", "salary", "booster"};
+            String[] subCommands = {"reload", "setlevel", "addexp", "resetjob", "info", "clearcooldown", "checkcooldown", "salary", "booster", "antiexploit", "dbstats"};
             for (String subCommand : subCommands) {
                 if (subCommand.toLowerCase().startsWith(args[0].toLowerCase())) {
                     completions.add(subCommand);
@@ -599,7 +681,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
                 
             case "payout":
                 if (args.length < 3) {
-                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                      " /taskforgeadmin salary payout <player>");
                     return;
                 }
@@ -608,7 +690,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
                 
             case "check":
                 if (args.length < 3) {
-                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                      " /taskforgeadmin salary check <player>");
                     return;
                 }
@@ -636,7 +718,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
      */
     private void showSalaryInfo(CommandSender sender) {
         boolean enabled = plugin.getSalaryManager().isSalarySystemEnabled();
-        int intervalMinutes = plugin.getConfigManager().getConfig().getInt("salary_system.payout_interval_minutes", 5);
+        int intervalMinutes = plugin.getConfigManager().getSettings().getSalaryPayoutIntervalMinutes();
         double totalPending = plugin.getSalaryManager().getTotalPendingSalaries();
         int pendingPlayers = plugin.getSalaryManager().getPendingPlayersCount();
         
@@ -645,6 +727,13 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage(plugin.getConfigManager().translateColorCodes("&ePayout Interval: &a" + intervalMinutes + " minutes"));
         sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eTotal Pending: &a$" + String.format("%.2f", totalPending)));
         sender.sendMessage(plugin.getConfigManager().translateColorCodes("&ePlayers with Pending Salary: &a" + pendingPlayers));
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eOffline Payouts: " + 
+                          (plugin.getConfigManager().getSettings().isSalaryOfflinePayouts() ? "&aEnabled" : "&cDisabled") + 
+                          " &7(" + plugin.getSalaryManager().getOfflinePayoutQueueSize() + " queued)"));
+        
+        DirectPayManager directPay = plugin.getDirectPayManager();
+        sender.sendMessage(plugin.getConfigManager().translateColorCodes("&eDirect Payments: &a" + directPay.getPaymentsCoalesced() + 
+                          " &7coalesced into &a" + directPay.getDepositsMade() + " &7deposits (" + directPay.getPendingCount() + " open)"));
     }
     
     /**
@@ -655,7 +744,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         @SuppressWarnings("deprecation")
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
@@ -692,7 +781,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         @SuppressWarnings("deprecation")
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
@@ -706,6 +795,12 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage(plugin.getConfigManager().getPrefix() + 
                               "&e" + playerName + "&a has &e$" + String.format("%.2f", pendingAmount) + "&a pending.");
         }
+        
+        int ticksUntilPayout = plugin.getSalaryManager().getTicksUntilPayout(playerUUID);
+        if (ticksUntilPayout >= 0) {
+            sender.sendMessage(plugin.getConfigManager().getPrefix() + plugin.getConfigManager().translateColorCodes(
+                              "&aNext payout in &e" + (ticksUntilPayout / 20) + "s&a."));
+        }
     }
     
     /**
@@ -722,7 +817,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         switch (subCommand) {
             case "player":
                 if (args.length < 5) {
-                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                      " /taskforgeadmin booster player <multiplier> <playerName> <type>");
                     return;
                 }
@@ -731,7 +826,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
                 
             case "global":
                 if (args.length < 4) {
-                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                    sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                      " /taskforgeadmin booster global <multiplier> <type>");
                     return;
                 }
@@ -785,11 +880,11 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         try {
             multiplier = Double.parseDouble(multiplierString);
             if (multiplier < 0) {
-                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_number"));
+                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_number"));
                 return;
             }
         } catch (NumberFormatException e) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_number"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_number"));
             return;
         }
         
@@ -797,7 +892,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         @SuppressWarnings("deprecation")
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
@@ -818,11 +913,11 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         try {
             multiplier = Double.parseDouble(multiplierString);
             if (multiplier < 0) {
-                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_number"));
+                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_number"));
                 return;
             }
         } catch (NumberFormatException e) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_number"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_number"));
             return;
         }
         
@@ -846,14 +941,14 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         
         if ("player".equals(target)) {
             if (args.length < 5) {
-                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                  " /taskforgeadmin booster remove player <playerName> <type>");
                 return;
             }
             removePlayerBooster(sender, args[3], args[4]);
         } else if ("global".equals(target)) {
             if (args.length < 4) {
-                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                  " /taskforgeadmin booster remove global <type>");
                 return;
             }
@@ -871,7 +966,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         @SuppressWarnings("deprecation")
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
@@ -902,7 +997,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
             @SuppressWarnings("deprecation")
             OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
             if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
-                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
                 return;
             }
             
@@ -949,7 +1044,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         
         if ("player".equals(target)) {
             if (args.length < 4) {
-                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("invalid_usage") + 
+                sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "invalid_usage") + 
                                  " /taskforgeadmin booster clear player <playerName>");
                 return;
             }
@@ -969,7 +1064,7 @@ public class TaskForgeAdminCommand implements CommandExecutor, TabCompleter {
         @SuppressWarnings("deprecation")
         OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
         if (!offlinePlayer.hasPlayedBefore() && !offlinePlayer.isOnline()) {
-            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage("player_not_found"));
+            sender.sendMessage(plugin.getConfigManager().getPrefixedMessage(sender, "player_not_found"));
             return;
         }
         
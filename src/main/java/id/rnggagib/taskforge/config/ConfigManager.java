@@ -3,13 +3,19 @@ package id.rnggagib.taskforge.config;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.logging.Logger;
 
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.jobs.LevelCurve;
 
 /**
  * Manages plugin configuration files
@@ -19,8 +25,14 @@ public class ConfigManager {
     private final TaskForgePlugin plugin;
     private final Logger logger;
     
-    private FileConfiguration config;
-    private FileConfiguration jobsConfig;
+    private volatile FileConfiguration config;
+    private volatile FileConfiguration jobsConfig;
+    
+    // Typed snapshot of config, replaced as a whole on reload
+    private volatile Settings settings;
+    
+    // Compiled messages, replaced together with the settings on reload
+    private volatile MessageBundle messages;
     
     public ConfigManager(TaskForgePlugin plugin) {
         this.plugin = plugin;
@@ -39,9 +51,18 @@ public class ConfigManager {
         // Save default jobs folder
         saveDefaultJobsFolder();
         
-        // Load configuration files
-        loadConfig();
-        loadJobsConfig();
+        // Load configuration files and build the snapshot before publishing anything
+        FileConfiguration loadedConfig = loadConfig();
+        FileConfiguration loadedJobsConfig = loadJobsConfig();
+        Settings loadedSettings = new Settings(loadedConfig, loadLevelCurve(loadedConfig));
+        MessageBundle loadedMessages = MessageBundle.load(loadedConfig.getConfigurationSection("settings.language"),
+                                                          loadBundledLanguage(),
+                                                          new File(plugin.getDataFolder(), "lang"), logger);
+        
+        config = loadedConfig;
+        jobsConfig = loadedJobsConfig;
+        settings = loadedSettings;
+        messages = loadedMessages;
         
         logger.info("Configuration files loaded successfully.");
     }
@@ -49,17 +70,32 @@ public class ConfigManager {
     /**
      * Load main config.yml file
      */
-    private void loadConfig() {
+    private FileConfiguration loadConfig() {
         File configFile = new File(plugin.getDataFolder(), "config.yml");
-        config = YamlConfiguration.loadConfiguration(configFile);
+        return YamlConfiguration.loadConfiguration(configFile);
+    }
+    
+    /**
+     * Load the messages of the config.yml shipped in the plugin jar, which fill in keys missing from an older config
+     */
+    private ConfigurationSection loadBundledLanguage() {
+        try (InputStream inputStream = plugin.getResource("config.yml")) {
+            if (inputStream != null) {
+                return YamlConfiguration.loadConfiguration(new InputStreamReader(inputStream, StandardCharsets.UTF_8))
+                        .getConfigurationSection("settings.language");
+            }
+        } catch (IOException e) {
+            logger.severe("Failed to read default config.yml: " + e.getMessage());
+        }
+        return null;
     }
     
     /**
      * Load jobs.yml file
      */
-    private void loadJobsConfig() {
+    private FileConfiguration loadJobsConfig() {
         File jobsFile = new File(plugin.getDataFolder(), "jobs.yml");
-        jobsConfig = YamlConfiguration.loadConfiguration(jobsFile);
+        return YamlConfiguration.loadConfiguration(jobsFile);
     }
     
     /**
@@ -156,6 +192,13 @@ public class ConfigManager {
         return config;
     }
     
+    /**
+     * Get the current settings snapshot
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+    
     /**
      * Get jobs configuration
      */
@@ -163,49 +206,82 @@ public class ConfigManager {
         return jobsConfig;
     }
     
+    /**
+     * Get the compiled messages
+     */
+    public MessageBundle getMessages() {
+        return messages;
+    }
+    
     /**
      * Get a message from config with color codes translated
      */
     public String getMessage(String path) {
-        String message = config.getString("settings.language." + path, "Message not found: " + path);
-        return translateColorCodes(message);
+        return messages.get(path).render();
     }
     
     /**
      * Get a message from config with placeholders replaced
      */
     public String getMessage(String path, String... placeholders) {
-        String message = getMessage(path);
-        
-        // Replace placeholders
-        for (int i = 0; i < placeholders.length; i += 2) {
-            if (i + 1 < placeholders.length) {
-                message = message.replace("%" + placeholders[i] + "%", placeholders[i + 1]);
-            }
-        }
-        
-        return message;
+        return messages.get(path).render(placeholders);
+    }
+    
+    /**
+     * Get a message in the recipient's language with placeholders replaced
+     */
+    public String getMessage(CommandSender recipient, String path, String... placeholders) {
+        return getTemplate(recipient, path).render(placeholders);
     }
     
     /**
      * Get prefix from config
      */
     public String getPrefix() {
-        return translateColorCodes(config.getString("settings.prefix", "&8[&bTaskForge&8] &r"));
+        return settings.getPrefix();
     }
     
     /**
      * Get prefixed message
      */
     public String getPrefixedMessage(String path) {
-        return getPrefix() + getMessage(path);
+        return messages.get(path).renderPrefixed(getPrefix());
     }
     
     /**
      * Get prefixed message with placeholders
      */
     public String getPrefixedMessage(String path, String... placeholders) {
-        return getPrefix() + getMessage(path, placeholders);
+        return messages.get(path).renderPrefixed(getPrefix(), placeholders);
+    }
+    
+    /**
+     * Get prefixed message in the recipient's language with placeholders replaced
+     */
+    public String getPrefixedMessage(CommandSender recipient, String path, String... placeholders) {
+        return getTemplate(recipient, path).renderPrefixed(getPrefix(), placeholders);
+    }
+    
+    /**
+     * Get the template of a message in the recipient's language; the console gets config.yml's
+     */
+    private MessageTemplate getTemplate(CommandSender recipient, String path) {
+        if (recipient instanceof Player) {
+            return messages.get(((Player) recipient).getLocale(), path);
+        }
+        return messages.get(path);
+    }
+    
+    /**
+     * Compile the global level curve, falling back to the default curve if the leveling section is invalid
+     */
+    private LevelCurve loadLevelCurve(FileConfiguration loadedConfig) {
+        try {
+            return LevelCurve.fromConfig(loadedConfig.getConfigurationSection("leveling"));
+        } catch (IllegalArgumentException e) {
+            logger.severe("Invalid leveling configuration, using the default curve: " + e.getMessage());
+            return LevelCurve.fromConfig(null);
+        }
     }
     
     /**
@@ -220,97 +296,132 @@ public class ConfigManager {
      * Get base EXP required for leveling
      */
     public double getBaseExp() {
-        return config.getDouble("leveling.base_exp", 100.0);
+        return settings.getBaseExp();
     }
     
     /**
      * Get leveling multiplier
      */
     public double getLevelingMultiplier() {
-        return config.getDouble("leveling.multiplier", 1.2);
+        return settings.getLevelingMultiplier();
     }
     
     /**
      * Get maximum level
      */
     public int getMaxLevel() {
-        return config.getInt("leveling.max_level", 100);
+        return settings.getMaxLevel();
+    }
+    
+    /**
+     * Check if job money goes to pending salaries instead of being paid directly
+     */
+    public boolean isSalarySystemEnabled() {
+        return settings.isSalaryEnabled();
     }
     
     /**
      * Get maximum jobs a player can join
      */
     public int getMaxJobs() {
-        return config.getInt("settings.max_jobs", 3);
+        return settings.getMaxJobs();
     }
     
     /**
      * Check if a feature is enabled
      */
     public boolean isFeatureEnabled(String feature) {
-        return config.getBoolean("settings.features." + feature, true);
+        return settings.isFeatureEnabled(feature);
     }
     
     /**
      * Get database type
      */
     public String getDatabaseType() {
-        return config.getString("database.type", "SQLITE").toUpperCase();
+        return settings.getDatabaseType();
     }
     
     /**
      * Get SQLite file name
      */
     public String getSQLiteFileName() {
-        return config.getString("database.sqlite_file", "taskforge.db");
+        return settings.getSQLiteFileName();
+    }
+    
+    /**
+     * Get interval in seconds between batched player stats writes
+     */
+    public int getStatsFlushIntervalSeconds() {
+        return settings.getStatsFlushIntervalSeconds();
     }
     
     /**
      * Check if economy is enabled
      */
     public boolean isEconomyEnabled() {
-        return config.getBoolean("economy.enabled", true);
+        return settings.isEconomyEnabled();
     }
     
     /**
      * Get currency symbol
      */
     public String getCurrencySymbol() {
-        return config.getString("economy.currency_symbol", "$");
+        return settings.getCurrencySymbol();
     }
     
     /**
      * Check if debug is enabled
      */
     public boolean isDebugEnabled() {
-        return config.getBoolean("debug.enabled", false);
+        return settings.isDebugEnabled();
     }
     
     /**
      * Check if action logging is enabled
      */
     public boolean isActionLoggingEnabled() {
-        return config.getBoolean("debug.log_actions", false);
+        return settings.isActionLogging();
+    }
+    
+    /**
+     * Check if anti-exploit protection is enabled
+     */
+    public boolean isAntiExploitEnabled() {
+        return settings.isAntiExploitEnabled();
+    }
+    
+    /**
+     * Get time in milliseconds before a placed block counts as natural again
+     */
+    public long getNaturalTimeMillis() {
+        return settings.getNaturalTimeMillis();
+    }
+    
+    /**
+     * Check if placed block markers are saved to disk
+     */
+    public boolean isPlacedBlockPersistenceEnabled() {
+        return settings.isPersistPlacedBlocks();
     }
     
     /**
      * Check if job cooldown is enabled
      */
     public boolean isJobCooldownEnabled() {
-        return config.getBoolean("settings.job_cooldown.enabled", true);
+        return settings.isJobCooldownEnabled();
     }
     
     /**
      * Get job leave cooldown time string
      */
     public String getJobLeaveCooldown() {
-        return config.getString("settings.job_cooldown.leave_cooldown", "1h");
+        return settings.getJobLeaveCooldown();
     }
     
     /**
      * Check if remaining time should be shown in cooldown messages
      */
     public boolean shouldShowRemainingTime() {
-        return config.getBoolean("settings.job_cooldown.show_remaining_time", true);
+        return settings.isShowRemainingTime();
     }
 }
@@ -0,0 +1,104 @@
+package id.rnggagib.taskforge.config;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * Compiled messages of settings.language plus optional per-locale overrides
+ * Keys missing from the server's config.yml, such as messages added in an update, come from the bundled config.yml
+ * Locale files live in the lang folder, named after the client locale (lang/de_de.yml) or just the
+ * language (lang/de.yml), with the same keys as settings.language; missing keys fall back to config.yml
+ * Built once per load and published together with the settings snapshot
+ */
+public final class MessageBundle {
+    
+    private final Map<String, MessageTemplate> defaults;
+    private final Map<String, Map<String, MessageTemplate>> locales;
+    
+    private MessageBundle(Map<String, MessageTemplate> defaults, Map<String, Map<String, MessageTemplate>> locales) {
+        this.defaults = defaults;
+        this.locales = locales;
+    }
+    
+    /**
+     * Compile the language section of config.yml over the bundled one, and every locale file in langFolder
+     */
+    static MessageBundle load(ConfigurationSection language, ConfigurationSection bundledLanguage, File langFolder, Logger logger) {
+        Map<String, MessageTemplate> defaults = new HashMap<>(compileSection(bundledLanguage));
+        defaults.putAll(compileSection(language));
+        
+        Map<String, Map<String, MessageTemplate>> locales = new HashMap<>();
+        File[] files = langFolder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files != null) {
+            for (File file : files) {
+                String locale = file.getName().substring(0, file.getName().length() - 4).toLowerCase(Locale.ROOT);
+                Map<String, MessageTemplate> messages = compileSection(YamlConfiguration.loadConfiguration(file));
+                if (messages.isEmpty()) {
+                    logger.warning("Language file lang/" + file.getName() + " has no messages");
+                    continue;
+                }
+                locales.put(locale, messages);
+            }
+        }
+        
+        if (!locales.isEmpty()) {
+            logger.info("Loaded " + locales.size() + " language files: " + String.join(", ", locales.keySet()));
+        }
+        return new MessageBundle(Collections.unmodifiableMap(defaults), locales);
+    }
+    
+    private static Map<String, MessageTemplate> compileSection(ConfigurationSection section) {
+        Map<String, MessageTemplate> messages = new HashMap<>();
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                if (section.isString(key)) {
+                    messages.put(key, MessageTemplate.compile(section.getString(key)));
+                }
+            }
+        }
+        return Collections.unmodifiableMap(messages);
+    }
+    
+    /**
+     * Get the default (config.yml) template of a message
+     */
+    public MessageTemplate get(String path) {
+        MessageTemplate template = defaults.get(path);
+        return template != null ? template : missing(path);
+    }
+    
+    /**
+     * Get the template of a message for a client locale such as "de_de", falling back to
+     * the plain language ("de") and then to config.yml
+     */
+    public MessageTemplate get(String locale, String path) {
+        if (locale != null && !locales.isEmpty()) {
+            String key = locale.toLowerCase(Locale.ROOT);
+            MessageTemplate template = lookup(key, path);
+            if (template != null) return template;
+            
+            int separator = key.indexOf('_');
+            if (separator > 0) {
+                template = lookup(key.substring(0, separator), path);
+                if (template != null) return template;
+            }
+        }
+        return get(path);
+    }
+    
+    private MessageTemplate lookup(String locale, String path) {
+        Map<String, MessageTemplate> messages = locales.get(locale);
+        return messages != null ? messages.get(path) : null;
+    }
+    
+    private static MessageTemplate missing(String path) {
+        return MessageTemplate.compile("Message not found: " + path);
+    }
+}
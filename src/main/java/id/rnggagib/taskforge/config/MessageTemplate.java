@@ -0,0 +1,173 @@
+package id.rnggagib.taskforge.config;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Message compiled once when the config loads: literal text with color codes already
+ * translated, split around %name% placeholder slots
+ * Rendering appends the literals and the values of the slots into a StringBuilder, so no
+ * regex, format string or intermediate strings are involved per call
+ */
+public final class MessageTemplate {
+    
+    // Reused by render(String...) on each thread; messages are short, so the buffer stays small
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+    
+    // literals.length == slots.length + 1; the output is literals[0] slot[0] literals[1] ... literals[n]
+    private final String[] literals;
+    private final String[] slots;
+    private final int literalLength;
+    
+    private MessageTemplate(String[] literals, String[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+    
+    /**
+     * Compile a raw config message, translating & color codes
+     * A % that does not start a %name% placeholder (letters, digits, _ and -) stays literal text
+     */
+    public static MessageTemplate compile(String raw) {
+        String text = raw == null ? "" : raw.replace('&', '§');
+        
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        
+        int pos = 0;
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            int end = c == '%' ? placeholderEnd(text, pos) : -1;
+            if (end < 0) {
+                literal.append(c);
+                pos++;
+                continue;
+            }
+            
+            literals.add(literal.toString());
+            literal.setLength(0);
+            slots.add(text.substring(pos + 1, end));
+            pos = end + 1;
+        }
+        literals.add(literal.toString());
+        
+        return new MessageTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]));
+    }
+    
+    /**
+     * Index of the % closing a placeholder opened at start, -1 if there is none
+     */
+    private static int placeholderEnd(String text, int start) {
+        int pos = start + 1;
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c == '%') {
+                return pos > start + 1 ? pos : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return -1;
+            }
+            pos++;
+        }
+        return -1;
+    }
+    
+    /**
+     * Append the message to out, filling slots from key/value pairs
+     * Slots without a value are written back as %name%
+     */
+    public StringBuilder render(StringBuilder out, String... placeholders) {
+        out.ensureCapacity(out.length() + literalLength + slots.length * 8);
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String value = lookup(slots[i], placeholders);
+            if (value != null) {
+                out.append(value);
+            } else {
+                out.append('%').append(slots[i]).append('%');
+            }
+            out.append(literals[i + 1]);
+        }
+        return out;
+    }
+    
+    /**
+     * Render the message into a string, using a buffer reused per thread
+     */
+    public String render(String... placeholders) {
+        if (slots.length == 0) return literals[0];
+        
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        return render(out, placeholders).toString();
+    }
+    
+    /**
+     * Render the message after a prefix, using a buffer reused per thread
+     */
+    public String renderPrefixed(String prefix, String... placeholders) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        out.append(prefix);
+        return render(out, placeholders).toString();
+    }
+    
+    /**
+     * Check if the message has no placeholder slots
+     */
+    public boolean isConstant() {
+        return slots.length == 0;
+    }
+    
+    private static String lookup(String slot, String[] placeholders) {
+        // Messages take a handful of placeholders, a linear scan beats hashing here
+        for (int i = 0; i + 1 < placeholders.length; i += 2) {
+            if (slot.equals(placeholders[i])) {
+                return placeholders[i + 1];
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Append a number with a fixed count of decimals (0 to 3), rounding half up like String.format
+     */
+    public static StringBuilder appendFixed(StringBuilder out, double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= 1e15 || decimals < 0 || decimals > 3) {
+            // Outside the fast path's range - let the formatter handle it
+            return out.append(String.format("%." + decimals + "f", value));
+        }
+        
+        long scale = decimals == 0 ? 1 : decimals == 1 ? 10 : decimals == 2 ? 100 : 1000;
+        double shifted = Math.abs(value) * scale;
+        double half = shifted - Math.floor(shifted) - 0.5;
+        if (half > -1e-6 && half < 1e-6) {
+            // Close to a tie: String.format rounds the shortest decimal form of the value (0.145 -> 0.15),
+            // which the binary product above cannot tell apart from 0.14499...
+            return out.append(BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
+        }
+        long scaled = Math.round(shifted);
+        if (value < 0 && scaled != 0) {
+            out.append('-');
+        }
+        
+        out.append(scaled / scale);
+        if (decimals > 0) {
+            out.append('.');
+            long fraction = scaled % scale;
+            for (long digit = scale / 10; digit > 0; digit /= 10) {
+                out.append((char) ('0' + fraction / digit % 10));
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,214 @@
+package id.rnggagib.taskforge.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.bukkit.boss.BarColor;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import id.rnggagib.taskforge.database.DatabaseExecutor.QueueFullPolicy;
+import id.rnggagib.taskforge.jobs.LevelCurve;
+
+/**
+ * Immutable snapshot of the config.yml values read on hot paths
+ * Built once per load and published as a whole, so readers never see a half-reloaded config
+ * Callers that read several values for one event should fetch the snapshot once
+ */
+public final class Settings {
+    
+    // General
+    private final String prefix;
+    private final int maxJobs;
+    private final Map<String, Boolean> features;
+    
+    // Leveling
+    private final double baseExp;
+    private final double levelingMultiplier;
+    private final int maxLevel;
+    private final LevelCurve levelCurve;
+    
+    // Database
+    private final String databaseType;
+    private final String sqliteFileName;
+    private final int statsFlushIntervalSeconds;
+    private final int progressFlushIntervalSeconds;
+    private final int databaseQueueCapacity;
+    private final QueueFullPolicy databaseQueueFullPolicy;
+    private final int databaseReadConnections;
+    
+    // Economy
+    private final boolean economyEnabled;
+    private final String currencySymbol;
+    private final long directPayWindowTicks;
+    
+    // Notifications
+    private final String notificationType;
+    private final long bossBarDisplayTimeMs;
+    private final long accumulationTimeMs;
+    private final BarColor bossBarColor;
+    private final boolean bossBarLevelProgress;
+    
+    // Salary system
+    private final boolean salaryEnabled;
+    private final int salaryPayoutIntervalMinutes;
+    private final boolean salaryNotifications;
+    private final String salaryNotificationType;
+    private final MessageTemplate salaryPayoutMessage;
+    private final int salaryLedgerCompactIntervalSeconds;
+    private final boolean salaryOfflinePayouts;
+    private final int salaryOfflinePayoutsPerTick;
+    
+    // Anti-exploit
+    private final boolean antiExploitEnabled;
+    private final long naturalTimeMillis;
+    private final boolean antiExploitDebug;
+    private final boolean persistPlacedBlocks;
+    
+    // Debug
+    private final boolean debugEnabled;
+    private final boolean actionLogging;
+    
+    // Job cooldown
+    private final boolean jobCooldownEnabled;
+    private final String jobLeaveCooldown;
+    private final boolean showRemainingTime;
+    
+    Settings(FileConfiguration config, LevelCurve levelCurve) {
+        this.prefix = config.getString("settings.prefix", "&8[&bTaskForge&8] &r").replace('&', '§');
+        this.maxJobs = config.getInt("settings.max_jobs", 3);
+        this.features = readFeatures(config.getConfigurationSection("settings.features"));
+        
+        this.baseExp = config.getDouble("leveling.base_exp", 100.0);
+        this.levelingMultiplier = config.getDouble("leveling.multiplier", 1.2);
+        this.maxLevel = config.getInt("leveling.max_level", 100);
+        this.levelCurve = levelCurve;
+        
+        this.databaseType = config.getString("database.type", "SQLITE").toUpperCase();
+        this.sqliteFileName = config.getString("database.sqlite_file", "taskforge.db");
+        this.statsFlushIntervalSeconds = Math.max(1, config.getInt("database.stats_flush_interval_seconds", 30));
+        this.progressFlushIntervalSeconds = Math.max(1, config.getInt("database.progress_flush_interval_seconds", 15));
+        this.databaseQueueCapacity = Math.max(64, config.getInt("database.queue_capacity", 10000));
+        this.databaseQueueFullPolicy = readQueueFullPolicy(config.getString("database.queue_full_policy", "DROP_OLDEST_STATS"));
+        this.databaseReadConnections = Math.max(0, Math.min(16, config.getInt("database.read_connections", 0)));
+        
+        this.economyEnabled = config.getBoolean("economy.enabled", true);
+        this.currencySymbol = config.getString("economy.currency_symbol", "$");
+        this.directPayWindowTicks = readDirectPayWindowTicks(config.getInt("economy.direct_pay_window_ms", 500));
+        
+        this.notificationType = config.getString("notifications.type", "bossbar");
+        this.bossBarDisplayTimeMs = config.getInt("notifications.bossbar.display_time", 3) * 1000L;
+        this.accumulationTimeMs = config.getInt("notifications.bossbar.accumulation_time", 2) * 1000L;
+        this.bossBarColor = readBarColor(config.getString("notifications.bossbar.color", "GREEN"));
+        this.bossBarLevelProgress = "level".equalsIgnoreCase(config.getString("notifications.bossbar.progress", "full"));
+        
+        this.salaryEnabled = config.getBoolean("salary_system.enabled", true);
+        this.salaryPayoutIntervalMinutes = config.getInt("salary_system.payout_interval_minutes", 5);
+        this.salaryNotifications = config.getBoolean("salary_system.notifications", true);
+        this.salaryNotificationType = config.getString("salary_system.notification_type", "chat");
+        this.salaryPayoutMessage = MessageTemplate.compile(config.getString("salary_system.payout_message", "&a💰 Salary Payout: &e%amount%"));
+        this.salaryLedgerCompactIntervalSeconds = Math.max(1, config.getInt("salary_system.ledger_compact_interval_seconds", 60));
+        this.salaryOfflinePayouts = config.getBoolean("salary_system.offline_payouts", false);
+        this.salaryOfflinePayoutsPerTick = Math.max(1, config.getInt("salary_system.offline_payouts_per_tick", 10));
+        
+        this.antiExploitEnabled = config.getBoolean("anti_exploit.enabled", true);
+        this.naturalTimeMillis = Math.max(1, config.getInt("anti_exploit.natural_time_minutes", 30)) * 60 * 1000L;
+        this.antiExploitDebug = config.getBoolean("anti_exploit.debug_messages", false);
+        this.persistPlacedBlocks = config.getBoolean("anti_exploit.persist_placed_blocks", true);
+        
+        this.debugEnabled = config.getBoolean("debug.enabled", false);
+        this.actionLogging = config.getBoolean("debug.log_actions", false);
+        
+        this.jobCooldownEnabled = config.getBoolean("settings.job_cooldown.enabled", true);
+        this.jobLeaveCooldown = config.getString("settings.job_cooldown.leave_cooldown", "1h");
+        this.showRemainingTime = config.getBoolean("settings.job_cooldown.show_remaining_time", true);
+    }
+    
+    private static Map<String, Boolean> readFeatures(ConfigurationSection section) {
+        Map<String, Boolean> features = new HashMap<>();
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                features.put(key, section.getBoolean(key, true));
+            }
+        }
+        return Collections.unmodifiableMap(features);
+    }
+    
+    private static long readDirectPayWindowTicks(int windowMs) {
+        if (windowMs <= 0) return 0;
+        int clampedMs = Math.max(250, Math.min(10000, windowMs));
+        return (clampedMs + 49) / 50;
+    }
+    
+    private static QueueFullPolicy readQueueFullPolicy(String name) {
+        try {
+            return QueueFullPolicy.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return QueueFullPolicy.DROP_OLDEST_STATS;
+        }
+    }
+    
+    private static BarColor readBarColor(String name) {
+        try {
+            return BarColor.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return BarColor.GREEN;
+        }
+    }
+    
+    /**
+     * Check if a feature is enabled, features missing from the config count as enabled
+     */
+    public boolean isFeatureEnabled(String feature) {
+        return features.getOrDefault(feature, true);
+    }
+    
+    public String getPrefix() { return prefix; }
+    public int getMaxJobs() { return maxJobs; }
+    
+    public double getBaseExp() { return baseExp; }
+    public double getLevelingMultiplier() { return levelingMultiplier; }
+    public int getMaxLevel() { return maxLevel; }
+    public LevelCurve getLevelCurve() { return levelCurve; }
+    
+    public String getDatabaseType() { return databaseType; }
+    public String getSQLiteFileName() { return sqliteFileName; }
+    public int getStatsFlushIntervalSeconds() { return statsFlushIntervalSeconds; }
+    public int getProgressFlushIntervalSeconds() { return progressFlushIntervalSeconds; }
+    public int getDatabaseQueueCapacity() { return databaseQueueCapacity; }
+    public QueueFullPolicy getDatabaseQueueFullPolicy() { return databaseQueueFullPolicy; }
+    public int getDatabaseReadConnections() { return databaseReadConnections; }
+    
+    public boolean isEconomyEnabled() { return economyEnabled; }
+    public String getCurrencySymbol() { return currencySymbol; }
+    public long getDirectPayWindowTicks() { return directPayWindowTicks; }
+    
+    public String getNotificationType() { return notificationType; }
+    public boolean isChatNotifications() { return "chat".equalsIgnoreCase(notificationType); }
+    public long getBossBarDisplayTimeMs() { return bossBarDisplayTimeMs; }
+    public long getAccumulationTimeMs() { return accumulationTimeMs; }
+    public BarColor getBossBarColor() { return bossBarColor; }
+    public boolean isBossBarLevelProgress() { return bossBarLevelProgress; }
+    
+    public boolean isSalaryEnabled() { return salaryEnabled; }
+    public int getSalaryPayoutIntervalMinutes() { return salaryPayoutIntervalMinutes; }
+    public boolean isSalaryNotifications() { return salaryNotifications; }
+    public String getSalaryNotificationType() { return salaryNotificationType; }
+    public MessageTemplate getSalaryPayoutMessage() { return salaryPayoutMessage; }
+    public int getSalaryLedgerCompactIntervalSeconds() { return salaryLedgerCompactIntervalSeconds; }
+    public boolean isSalaryOfflinePayouts() { return salaryOfflinePayouts; }
+    public int getSalaryOfflinePayoutsPerTick() { return salaryOfflinePayoutsPerTick; }
+    
+    public boolean isAntiExploitEnabled() { return antiExploitEnabled; }
+    public long getNaturalTimeMillis() { return naturalTimeMillis; }
+    public boolean isAntiExploitDebug() { return antiExploitDebug; }
+    public boolean isPersistPlacedBlocks() { return persistPlacedBlocks; }
+    
+    public boolean isDebugEnabled() { return debugEnabled; }
+    public boolean isActionLogging() { return actionLogging; }
+    
+    public boolean isJobCooldownEnabled() { return jobCooldownEnabled; }
+    public String getJobLeaveCooldown() { return jobLeaveCooldown; }
+    public boolean isShowRemainingTime() { return showRemainingTime; }
+}
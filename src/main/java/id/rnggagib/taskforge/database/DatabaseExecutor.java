@@ -0,0 +1,688 @@
+package id.rnggagib.taskforge.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Runs all database work on one dedicated thread that owns the connection
+ * Writes wait in a bounded queue and are committed in batches, one transaction per batch with a
+ * savepoint per write, so a failing write is rolled back alone; a keyed write takes over the queue
+ * position of a queued write with the same key. A full queue never blocks the server thread, and
+ * work queued from the database thread itself runs inline. Reads run on the same thread in queue
+ * order, or with read fan-out enabled on their own read-only connections, one virtual thread per
+ * read where the runtime has them; reads that must see queued writes always take the queue
+ * Work that throws fails its own future only, the thread keeps running
+ * SQLITE_BUSY and SQLITE_LOCKED are retried with exponential backoff
+ */
+public class DatabaseExecutor {
+    
+    /**
+     * What a write does when the queue is full
+     */
+    public enum QueueFullPolicy {
+        BLOCK,             // wait for room; a thread that may not wait (the server thread) has the write rejected
+        DROP_OLDEST_STATS  // discard the oldest queued stats write, then as BLOCK if there is none
+    }
+    
+    /**
+     * Database work run with a connection
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+    
+    /**
+     * Opens a new connection
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+    
+    private static final int MAX_BATCH = 512;
+    private static final int MAX_ATTEMPTS = 6;
+    private static final long INITIAL_BACKOFF_MS = 10;
+    private static final long MAX_BACKOFF_MS = 500;
+    
+    private final Logger logger;
+    private final ConnectionFactory writeConnections;
+    private final int capacity;
+    private final QueueFullPolicy fullPolicy;
+    // False on threads that must not wait for room, such as the server thread outside shutdown
+    private final BooleanSupplier mayWait;
+    private final Thread worker;
+    
+    // Queue of operations; writes count against capacity, reads and superseded writes do not
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Deque<Operation<?>> queue = new ArrayDeque<>();
+    private final Map<String, Operation<?>> queuedByKey = new HashMap<>();
+    private int queuedWrites;
+    private boolean running = true;
+    // Set once a full queue has been reported, cleared when it has room again
+    private boolean fullReported;
+    
+    // Owned by the worker thread
+    private Connection connection;
+    
+    // Read fan-out, null when reads go through the queue
+    private final ExecutorService readExecutor;
+    private final BlockingQueue<Connection> readConnections;
+    
+    // Metrics
+    private final AtomicLong writesCompleted = new AtomicLong();
+    private final AtomicLong readsCompleted = new AtomicLong();
+    private final AtomicLong writesSuperseded = new AtomicLong();
+    private final AtomicLong writesDropped = new AtomicLong();
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong busyRetries = new AtomicLong();
+    private final AtomicLong writeLatencyNanos = new AtomicLong();
+    private final AtomicLong readLatencyNanos = new AtomicLong();
+    private volatile long maxWriteLatencyNanos;
+    private volatile int maxQueueDepth;
+    private volatile int lastBatchSize;
+    
+    /**
+     * Start the executor with an open write connection
+     * readConnectionCount above 0 enables read fan-out on that many read-only connections
+     * mayWait tells whether the calling thread may wait for room in a full queue
+     */
+    public DatabaseExecutor(Logger logger, ConnectionFactory writeConnections, ConnectionFactory readConnectionFactory,
+                            int capacity, QueueFullPolicy fullPolicy, BooleanSupplier mayWait,
+                            int readConnectionCount) throws SQLException {
+        this.logger = logger;
+        this.writeConnections = writeConnections;
+        this.capacity = Math.max(1, capacity);
+        this.fullPolicy = fullPolicy;
+        this.mayWait = mayWait;
+        this.connection = writeConnections.open();
+        
+        if (readConnectionCount > 0) {
+            this.readConnections = new ArrayBlockingQueue<>(readConnectionCount);
+            for (int i = 0; i < readConnectionCount; i++) {
+                readConnections.add(readConnectionFactory.open());
+            }
+            this.readExecutor = createReadExecutor(readConnectionCount);
+        } else {
+            this.readConnections = null;
+            this.readExecutor = null;
+        }
+        
+        this.worker = new Thread(this::runWorker, "TaskForge-Database");
+        worker.setDaemon(true);
+        worker.start();
+    }
+    
+    /**
+     * Queue a write; it is committed with the writes queued around it
+     * A write with a key replaces the work of a queued write with the same key, keeping its queue position;
+     * the older write's future completes with the newer one. Droppable writes may be discarded when the
+     * queue is full, and a write that finds no room under the queue-full policy fails with a
+     * RejectedExecutionException. A write from the database thread itself runs at once
+     */
+    public <T> CompletableFuture<T> write(String key, boolean droppable, SqlWork<T> work) {
+        Operation<T> operation = new Operation<>(work, true, droppable);
+        if (Thread.currentThread() == worker) {
+            runInline(operation);
+            return operation.future;
+        }
+        
+        lock.lock();
+        try {
+            if (!running) {
+                operation.future.completeExceptionally(new RejectedExecutionException("Database executor is shut down"));
+                return operation.future;
+            }
+            
+            // Replacing a queued write adds nothing to the backlog, so it needs no room
+            Operation<?> previous = key != null ? queuedByKey.get(key) : null;
+            if (previous != null) {
+                previous.supersede(operation);
+                writesSuperseded.incrementAndGet();
+                return operation.future;
+            }
+            
+            if (!makeRoom()) {
+                writesDropped.incrementAndGet();
+                operation.future.completeExceptionally(new RejectedExecutionException("Database queue full"));
+                return operation.future;
+            }
+            
+            if (key != null) {
+                queuedByKey.put(key, operation);
+                operation.key = key;
+            }
+            
+            queue.addLast(operation);
+            queuedWrites++;
+            maxQueueDepth = Math.max(maxQueueDepth, queuedWrites);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        return operation.future;
+    }
+    
+    /**
+     * Run a read, after the writes queued before it unless read fan-out is enabled
+     * For bulk reads that may miss writes still in the queue
+     */
+    public <T> CompletableFuture<T> read(SqlWork<T> work) {
+        if (readExecutor == null) {
+            return readInOrder(work);
+        }
+        
+        Operation<T> operation = new Operation<>(work, false, false);
+        try {
+            readExecutor.execute(() -> runRead(operation));
+        } catch (RejectedExecutionException e) {
+            operation.future.completeExceptionally(e);
+        }
+        return operation.future;
+    }
+    
+    /**
+     * Run a read on the database thread after the writes queued before it, even with read fan-out
+     * For reads that must see a player's pending writes, such as loading them again after a quick rejoin
+     */
+    public <T> CompletableFuture<T> readInOrder(SqlWork<T> work) {
+        Operation<T> operation = new Operation<>(work, false, false);
+        if (Thread.currentThread() == worker) {
+            runInline(operation);
+            return operation.future;
+        }
+        
+        lock.lock();
+        try {
+            if (!running) {
+                operation.future.completeExceptionally(new RejectedExecutionException("Database executor is shut down"));
+                return operation.future;
+            }
+            queue.addLast(operation);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        return operation.future;
+    }
+    
+    /**
+     * Wait for room in the queue as the policy allows; the caller holds the lock
+     * Returns false if the write must be rejected
+     */
+    private boolean makeRoom() {
+        while (queuedWrites >= capacity && running) {
+            if (fullPolicy == QueueFullPolicy.DROP_OLDEST_STATS && dropOldestDroppable()) {
+                continue;
+            }
+            if (mayWait.getAsBoolean()) {
+                notFull.awaitUninterruptibly();
+                continue;
+            }
+            
+            if (!fullReported) {
+                fullReported = true;
+                logger.warning("Database queue is full (" + capacity + " writes), rejecting writes until it drains");
+            }
+            return false;
+        }
+        return running;
+    }
+    
+    /**
+     * Run work queued from the database thread itself, inside whatever it is running now
+     */
+    private void runInline(Operation<?> operation) {
+        try {
+            operation.complete(operation.work.run(getWriteConnection()));
+        } catch (SQLException | RuntimeException e) {
+            operation.future.completeExceptionally(e);
+        }
+    }
+    
+    /**
+     * Stop accepting work, finish everything queued and close the connections
+     */
+    public void shutdown(long timeoutSeconds) {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(timeoutSeconds));
+            if (readExecutor != null) {
+                readExecutor.shutdown();
+                readExecutor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            logger.severe("Database executor did not finish within " + timeoutSeconds + "s; " + getQueueDepth() + " writes lost");
+        }
+        
+        if (readConnections != null) {
+            for (Connection readConnection : readConnections) {
+                closeQuietly(readConnection);
+            }
+        }
+    }
+    
+    private void runWorker() {
+        try {
+            processQueue();
+        } catch (Throwable t) {
+            logger.severe("Database thread stopped unexpectedly: " + t);
+        } finally {
+            // Nothing runs queued work from here on, so fail it instead of leaving writers blocked
+            failRemaining();
+            closeQuietly(connection);
+        }
+    }
+    
+    private void processQueue() {
+        List<Operation<?>> batch = new ArrayList<>();
+        while (true) {
+            Operation<?> read = null;
+            lock.lock();
+            try {
+                while (queue.isEmpty() && running) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (queue.isEmpty()) break;
+                
+                // Take consecutive writes as one batch, or a single read
+                if (!queue.peekFirst().write) {
+                    read = queue.pollFirst();
+                } else {
+                    while (!queue.isEmpty() && queue.peekFirst().write && batch.size() < MAX_BATCH) {
+                        Operation<?> operation = queue.pollFirst();
+                        if (operation.key != null) {
+                            queuedByKey.remove(operation.key, operation);
+                        }
+                        batch.add(operation);
+                    }
+                    queuedWrites -= batch.size();
+                    if (queuedWrites < capacity) {
+                        fullReported = false;
+                    }
+                    notFull.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+            
+            try {
+                if (read != null) {
+                    runQueuedRead(read);
+                } else if (!batch.isEmpty()) {
+                    runBatch(batch);
+                }
+            } catch (RuntimeException e) {
+                // A bug outside the work itself must not stop the thread; fail what did not complete
+                logger.severe("Database thread failed to run queued work: " + e);
+                if (read != null) {
+                    read.future.completeExceptionally(e);
+                }
+                for (Operation<?> operation : batch) {
+                    operation.future.completeExceptionally(e);
+                }
+            }
+            batch.clear();
+        }
+    }
+    
+    /**
+     * Stop accepting work and fail everything still queued
+     */
+    private void failRemaining() {
+        RejectedExecutionException stopped = new RejectedExecutionException("Database thread stopped");
+        lock.lock();
+        try {
+            running = false;
+            for (Operation<?> operation : queue) {
+                operation.future.completeExceptionally(stopped);
+            }
+            queue.clear();
+            queuedByKey.clear();
+            queuedWrites = 0;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Commit a batch of writes in one transaction, each in its own savepoint
+     */
+    private void runBatch(List<Operation<?>> batch) {
+        lastBatchSize = batch.size();
+        Object[] results = new Object[batch.size()];
+        Exception[] failures = new Exception[batch.size()];
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Connection conn = getWriteConnection();
+                conn.setAutoCommit(false);
+                try {
+                    for (int i = 0; i < batch.size(); i++) {
+                        failures[i] = null;
+                        Savepoint savepoint = conn.setSavepoint();
+                        try {
+                            results[i] = batch.get(i).work.run(conn);
+                            conn.releaseSavepoint(savepoint);
+                        } catch (SQLException e) {
+                            if (isBusy(e)) throw e;
+                            conn.rollback(savepoint);
+                            failures[i] = e;
+                        } catch (RuntimeException e) {
+                            // A bug in one write fails that write only
+                            conn.rollback(savepoint);
+                            failures[i] = e;
+                        }
+                    }
+                    conn.commit();
+                } catch (SQLException e) {
+                    rollbackQuietly(conn);
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+                break;
+            } catch (SQLException e) {
+                if (!retry(e, attempt)) {
+                    for (Operation<?> operation : batch) {
+                        operation.future.completeExceptionally(e);
+                    }
+                    writesCompleted.addAndGet(batch.size());
+                    return;
+                }
+            }
+        }
+        transactions.incrementAndGet();
+        
+        long now = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            Operation<?> operation = batch.get(i);
+            long latency = now - operation.queuedAt;
+            writeLatencyNanos.addAndGet(latency);
+            maxWriteLatencyNanos = Math.max(maxWriteLatencyNanos, latency);
+            
+            if (failures[i] != null) {
+                operation.future.completeExceptionally(failures[i]);
+            } else {
+                operation.complete(results[i]);
+            }
+        }
+        writesCompleted.addAndGet(batch.size());
+    }
+    
+    private void runQueuedRead(Operation<?> operation) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = operation.work.run(getWriteConnection());
+                completeRead(operation, result);
+                return;
+            } catch (SQLException e) {
+                if (!retry(e, attempt)) {
+                    failRead(operation, e);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                failRead(operation, e);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Run a read on a pooled read-only connection (read fan-out)
+     */
+    private void runRead(Operation<?> operation) {
+        Connection readConnection;
+        try {
+            readConnection = readConnections.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            operation.future.completeExceptionally(e);
+            return;
+        }
+        
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    completeRead(operation, operation.work.run(readConnection));
+                    return;
+                } catch (SQLException e) {
+                    if (!retry(e, attempt)) {
+                        failRead(operation, e);
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    failRead(operation, e);
+                    return;
+                }
+            }
+        } finally {
+            readConnections.add(readConnection);
+        }
+    }
+    
+    private void completeRead(Operation<?> operation, Object result) {
+        readLatencyNanos.addAndGet(System.nanoTime() - operation.queuedAt);
+        readsCompleted.incrementAndGet();
+        operation.complete(result);
+    }
+    
+    private void failRead(Operation<?> operation, Exception e) {
+        readsCompleted.incrementAndGet();
+        operation.future.completeExceptionally(e);
+    }
+    
+    /**
+     * Check whether a failed attempt should be retried, sleeping for its backoff if so
+     */
+    private boolean retry(SQLException e, int attempt) {
+        if (!isBusy(e) || attempt >= MAX_ATTEMPTS) {
+            return false;
+        }
+        busyRetries.incrementAndGet();
+        try {
+            Thread.sleep(Math.min(MAX_BACKOFF_MS, INITIAL_BACKOFF_MS << (attempt - 1)));
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * SQLITE_BUSY (5) or SQLITE_LOCKED (6), including their extended codes
+     */
+    private static boolean isBusy(SQLException e) {
+        int primaryCode = e.getErrorCode() & 0xff;
+        if (primaryCode == 5 || primaryCode == 6) {
+            return true;
+        }
+        String message = e.getMessage();
+        return message != null && (message.contains("SQLITE_BUSY") || message.contains("SQLITE_LOCKED"));
+    }
+    
+    /**
+     * Get the write connection, reopening it between operations if it was closed
+     */
+    private Connection getWriteConnection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            logger.warning("Database connection was closed, reconnecting");
+            connection = writeConnections.open();
+        }
+        return connection;
+    }
+    
+    /**
+     * Discard the oldest queued droppable write; the caller holds the lock
+     */
+    private boolean dropOldestDroppable() {
+        Iterator<Operation<?>> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            Operation<?> operation = iterator.next();
+            if (operation.droppable) {
+                iterator.remove();
+                if (operation.key != null) {
+                    queuedByKey.remove(operation.key, operation);
+                }
+                queuedWrites--;
+                writesDropped.incrementAndGet();
+                operation.future.completeExceptionally(new RejectedExecutionException("Dropped: database queue full"));
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Virtual thread per read where the runtime has them (Java 21+), else a small fixed pool
+     */
+    private ExecutorService createReadExecutor(int threads) {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            logger.info("Database reads fan out on virtual threads over " + threads + " read connections");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            logger.info("Database reads fan out on " + threads + " threads (virtual threads need Java 21)");
+            return Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "TaskForge-DatabaseRead");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    private void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            logger.severe("Failed to roll back database batch: " + e.getMessage());
+        }
+    }
+    
+    private void closeQuietly(Connection conn) {
+        if (conn == null) return;
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            logger.severe("Failed to close database connection: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Get the number of writes waiting in the queue
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return queuedWrites;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getCapacity() { return capacity; }
+    public QueueFullPolicy getQueueFullPolicy() { return fullPolicy; }
+    public boolean isReadFanOut() { return readExecutor != null; }
+    public int getMaxQueueDepth() { return maxQueueDepth; }
+    public int getLastBatchSize() { return lastBatchSize; }
+    public long getWritesCompleted() { return writesCompleted.get(); }
+    public long getReadsCompleted() { return readsCompleted.get(); }
+    public long getWritesSuperseded() { return writesSuperseded.get(); }
+    public long getWritesDropped() { return writesDropped.get(); }
+    public long getTransactions() { return transactions.get(); }
+    public long getBusyRetries() { return busyRetries.get(); }
+    public double getMaxWriteLatencyMillis() { return maxWriteLatencyNanos / 1_000_000.0; }
+    
+    /**
+     * Average time from queueing a write to its commit, in milliseconds
+     */
+    public double getAverageWriteLatencyMillis() {
+        long completed = writesCompleted.get();
+        return completed > 0 ? writeLatencyNanos.get() / 1_000_000.0 / completed : 0.0;
+    }
+    
+    /**
+     * Average time from requesting a read to its result, in milliseconds
+     */
+    public double getAverageReadLatencyMillis() {
+        long completed = readsCompleted.get();
+        return completed > 0 ? readLatencyNanos.get() / 1_000_000.0 / completed : 0.0;
+    }
+    
+    /**
+     * One queued read or write and the future of its result
+     */
+    private static final class Operation<T> {
+        private final boolean write;
+        private final boolean droppable;
+        private final long queuedAt = System.nanoTime();
+        
+        // Replaced by a superseding write while queued; guarded by the queue lock until taken off the queue
+        private SqlWork<T> work;
+        private CompletableFuture<T> future = new CompletableFuture<>();
+        private String key;
+        
+        private Operation(SqlWork<T> work, boolean write, boolean droppable) {
+            this.work = work;
+            this.write = write;
+            this.droppable = droppable;
+        }
+        
+        @SuppressWarnings("unchecked")
+        private void complete(Object result) {
+            future.complete((T) result);
+        }
+        
+        /**
+         * Run a newer write with the same key in this write's place; this write's own future
+         * completes when the newer one does
+         */
+        @SuppressWarnings("unchecked")
+        private void supersede(Operation<?> newer) {
+            CompletableFuture<T> older = future;
+            work = (SqlWork<T>) newer.work;
+            future = (CompletableFuture<T>) newer.future;
+            newer.future.whenComplete((result, error) -> {
+                if (error != null) {
+                    older.completeExceptionally(error);
+                } else {
+                    older.complete(null);
+                }
+            });
+        }
+    }
+}
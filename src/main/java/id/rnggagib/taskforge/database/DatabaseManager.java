@@ -7,21 +7,41 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Logger;
 
+import org.bukkit.Bukkit;
+
 import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.config.Settings;
 
 /**
  * Manages database connections and operations
+ * Every operation is queued on the DatabaseExecutor, which owns the connection; results come back
+ * as futures, and a failed operation is logged and completes with the value a missing row would give
+ * Reads of one player's rows run in order with the queued writes; only bulk reads use read fan-out
  */
 public class DatabaseManager {
     
     private final TaskForgePlugin plugin;
     private final Logger logger;
-    private Connection connection;
+    private DatabaseExecutor executor;
+    // Set for plugin shutdown, when the server thread may wait for room in the queue
+    private volatile boolean shuttingDown;
+    
+    // The last queued stats flush; later flushes are merged into it until it starts
+    private final Object statsLock = new Object();
+    private StatsBatch queuedStats;
+    // Player/job rows added or removed since queuedStats was queued; their deltas must not run before that
+    private final Set<String> statsFences = new HashSet<>();
     
     public DatabaseManager(TaskForgePlugin plugin) {
         this.plugin = plugin;
@@ -33,18 +53,30 @@ public class DatabaseManager {
      */
     public void initializeDatabase() throws SQLException {
         // Create database connection
-        createConnection();
+        String url = getDatabaseUrl();
+        Settings settings = plugin.getConfigManager().getSettings();
+        executor = new DatabaseExecutor(logger, () -> openConnection(url, false), () -> openConnection(url, true),
+                                        settings.getDatabaseQueueCapacity(), settings.getDatabaseQueueFullPolicy(),
+                                        () -> shuttingDown || !Bukkit.isPrimaryThread(), settings.getDatabaseReadConnections());
+        logger.info("Connected to SQLite database: " + plugin.getConfigManager().getSQLiteFileName());
         
         // Create tables
-        createTables();
+        try {
+            executor.write(null, false, conn -> {
+                createTables(conn);
+                return null;
+            }).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof SQLException ? (SQLException) e.getCause() : new SQLException(e.getCause());
+        }
         
         logger.info("Database initialized successfully.");
     }
     
     /**
-     * Create database connection
+     * Get the JDBC url of the configured database
      */
-    private void createConnection() throws SQLException {
+    private String getDatabaseUrl() throws SQLException {
         String databaseType = plugin.getConfigManager().getDatabaseType();
         
         if ("SQLITE".equals(databaseType)) {
@@ -56,19 +88,31 @@ public class DatabaseManager {
             
             String fileName = plugin.getConfigManager().getSQLiteFileName();
             File databaseFile = new File(dataFolder, fileName);
-            String url = "jdbc:sqlite:" + databaseFile.getAbsolutePath();
-            
-            connection = DriverManager.getConnection(url);
-            logger.info("Connected to SQLite database: " + fileName);
+            return "jdbc:sqlite:" + databaseFile.getAbsolutePath();
         } else {
             throw new SQLException("Unsupported database type: " + databaseType);
         }
     }
     
+    /**
+     * Open a connection; read connections need WAL, which lets them read while the database thread writes
+     */
+    private Connection openConnection(String url, boolean readOnly) throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        if (readOnly) {
+            conn.setReadOnly(true);
+        } else if (plugin.getConfigManager().getSettings().getDatabaseReadConnections() > 0) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA journal_mode=WAL");
+            }
+        }
+        return conn;
+    }
+    
     /**
      * Create necessary database tables
      */
-    private void createTables() throws SQLException {
+    private void createTables(Connection conn) throws SQLException {
         // Player jobs table
         String createPlayerJobsTable = 
             "CREATE TABLE IF NOT EXISTS player_jobs (" +
@@ -122,359 +166,523 @@ public class DatabaseManager {
             "last_updated INTEGER DEFAULT (strftime('%s', 'now'))" +
             ")";
         
-        try (Statement stmt = connection.createStatement()) {
+        // Journal generation already compacted into pending_salaries
+        String createSalaryLedgerTable = 
+            "CREATE TABLE IF NOT EXISTS salary_ledger (" +
+            "id INTEGER PRIMARY KEY CHECK (id = 1)," +
+            "generation INTEGER NOT NULL" +
+            ")";
+        
+        try (Statement stmt = conn.createStatement()) {
             stmt.execute(createPlayerJobsTable);
             stmt.execute(createPlayerStatsTable);
             stmt.execute(createPlayerSettingsTable);
             stmt.execute(createJobCooldownsTable);
             stmt.execute(createPendingSalariesTable);
+            stmt.execute(createSalaryLedgerTable);
+            
+            // Ranking reads of a job by level and experience
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_player_jobs_rank ON player_jobs (job_name, level DESC, experience DESC)");
             logger.info("Database tables created successfully.");
         }
     }
     
     /**
-     * Get database connection
+     * Let the final saves of plugin shutdown wait for room in a full queue, even on the server thread
      */
-    public Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                createConnection();
-            }
-        } catch (SQLException e) {
-            logger.severe("Failed to get database connection: " + e.getMessage());
-        }
-        return connection;
+    public void prepareShutdown() {
+        shuttingDown = true;
     }
     
     /**
-     * Close database connection
+     * Finish queued work and close the connections
      */
     public void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                logger.info("Database connection closed.");
-            } catch (SQLException e) {
-                logger.severe("Failed to close database connection: " + e.getMessage());
-            }
+        if (executor != null) {
+            executor.shutdown(30);
+            logger.info("Database connection closed.");
         }
     }
     
+    /**
+     * Get the executor that runs database work, for its metrics
+     */
+    public DatabaseExecutor getExecutor() {
+        return executor;
+    }
+    
+    /**
+     * Log a failed operation and complete with the fallback value instead
+     */
+    private <T> CompletableFuture<T> logFailure(CompletableFuture<T> future, String action, T fallback) {
+        return future.exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            logger.severe("Failed to " + action + ": " + cause.getMessage());
+            return fallback;
+        });
+    }
+    
     /**
      * Load player's job data from database
      */
-    public Map<String, PlayerJobData> loadPlayerJobData(UUID playerUUID) {
-        Map<String, PlayerJobData> jobData = new HashMap<>();
-        
+    public CompletableFuture<Map<String, PlayerJobData>> loadPlayerJobData(UUID playerUUID) {
         String query = "SELECT job_name, level, experience FROM player_jobs WHERE player_uuid = ?";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(query)) {
-            stmt.setString(1, playerUUID.toString());
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    String jobName = rs.getString("job_name");
-                    int level = rs.getInt("level");
-                    double experience = rs.getDouble("experience");
-                    
-                    jobData.put(jobName, new PlayerJobData(jobName, level, experience));
+        return logFailure(executor.readInOrder(conn -> {
+            Map<String, PlayerJobData> jobData = new HashMap<>();
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setString(1, playerUUID.toString());
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        String jobName = rs.getString("job_name");
+                        int level = rs.getInt("level");
+                        double experience = rs.getDouble("experience");
+                        
+                        jobData.put(jobName, new PlayerJobData(jobName, level, experience));
+                    }
                 }
             }
-        } catch (SQLException e) {
-            logger.severe("Failed to load player job data for " + playerUUID + ": " + e.getMessage());
-        }
-        
-        return jobData;
+            return jobData;
+        }), "load player job data for " + playerUUID, new HashMap<>());
     }
     
     /**
-     * Save player's job data to database
+     * Write job progress rows, committed with the writes queued around them
+     * Rows are updated in place, so a job removed in the meantime is not recreated
+     * Completes with the number of rows written
      */
-    public void savePlayerJobData(UUID playerUUID, String jobName, int level, double experience) {
-        String query = "INSERT OR REPLACE INTO player_jobs (player_uuid, job_name, level, experience) VALUES (?, ?, ?, ?)";
-        
-        try (PreparedStatement stmt = getConnection().prepareStatement(query)) {
-            stmt.setString(1, playerUUID.toString());
-            stmt.setString(2, jobName);
-            stmt.setInt(3, level);
-            stmt.setDouble(4, experience);
-            
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            logger.severe("Failed to save player job data for " + playerUUID + ": " + e.getMessage());
-        }
+    public CompletableFuture<Integer> flushPlayerJobData(Map<UUID, List<PlayerJobData>> progress) {
+        String query = "UPDATE player_jobs SET level = ?, experience = ? WHERE player_uuid = ? AND job_name = ?";
+        
+        return logFailure(executor.write(null, false, conn -> {
+            int rows = 0;
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                for (Map.Entry<UUID, List<PlayerJobData>> playerEntry : progress.entrySet()) {
+                    String playerUUID = playerEntry.getKey().toString();
+                    
+                    for (PlayerJobData data : playerEntry.getValue()) {
+                        stmt.setInt(1, data.getLevel());
+                        stmt.setDouble(2, data.getExperience());
+                        stmt.setString(3, playerUUID);
+                        stmt.setString(4, data.getJobName());
+                        stmt.addBatch();
+                        rows++;
+                    }
+                }
+                
+                stmt.executeBatch();
+            }
+            return rows;
+        }), "flush player job data", 0);
     }
     
     /**
      * Add job to player
      */
-    public void addPlayerJob(UUID playerUUID, String jobName) {
+    public CompletableFuture<Void> addPlayerJob(UUID playerUUID, String jobName) {
         String query = "INSERT OR IGNORE INTO player_jobs (player_uuid, job_name, level, experience) VALUES (?, ?, 1, 0.0)";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(query)) {
-            stmt.setString(1, playerUUID.toString());
-            stmt.setString(2, jobName);
-            
-            stmt.executeUpdate();
-            
-            // Also initialize stats
-            initializePlayerStats(playerUUID, jobName);
-        } catch (SQLException e) {
-            logger.severe("Failed to add job " + jobName + " for player " + playerUUID + ": " + e.getMessage());
+        synchronized (statsLock) {
+            fenceStats(playerUUID, jobName);
+            return logFailure(executor.write(null, false, conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                    stmt.setString(1, playerUUID.toString());
+                    stmt.setString(2, jobName);
+                    
+                    stmt.executeUpdate();
+                }
+                
+                // Also initialize stats
+                initializePlayerStats(conn, playerUUID, jobName);
+                return null;
+            }), "add job " + jobName + " for player " + playerUUID, null);
         }
     }
     
     /**
      * Remove job from player
      */
-    public void removePlayerJob(UUID playerUUID, String jobName) {
+    public CompletableFuture<Void> removePlayerJob(UUID playerUUID, String jobName) {
         String deleteJobQuery = "DELETE FROM player_jobs WHERE player_uuid = ? AND job_name = ?";
         String deleteStatsQuery = "DELETE FROM player_stats WHERE player_uuid = ? AND job_name = ?";
         
-        try (PreparedStatement stmt1 = getConnection().prepareStatement(deleteJobQuery);
-             PreparedStatement stmt2 = getConnection().prepareStatement(deleteStatsQuery)) {
-            
-            stmt1.setString(1, playerUUID.toString());
-            stmt1.setString(2, jobName);
-            stmt1.executeUpdate();
-            
-            stmt2.setString(1, playerUUID.toString());
-            stmt2.setString(2, jobName);
-            stmt2.executeUpdate();
-            
-        } catch (SQLException e) {
-            logger.severe("Failed to remove job " + jobName + " for player " + playerUUID + ": " + e.getMessage());
+        synchronized (statsLock) {
+            fenceStats(playerUUID, jobName);
+            return logFailure(executor.write(null, false, conn -> {
+                try (PreparedStatement stmt1 = conn.prepareStatement(deleteJobQuery);
+                     PreparedStatement stmt2 = conn.prepareStatement(deleteStatsQuery)) {
+                    
+                    stmt1.setString(1, playerUUID.toString());
+                    stmt1.setString(2, jobName);
+                    stmt1.executeUpdate();
+                    
+                    stmt2.setString(1, playerUUID.toString());
+                    stmt2.setString(2, jobName);
+                    stmt2.executeUpdate();
+                }
+                return null;
+            }), "remove job " + jobName + " for player " + playerUUID, null);
         }
     }
     
     /**
      * Initialize player stats for a job
      */
-    private void initializePlayerStats(UUID playerUUID, String jobName) {
+    private void initializePlayerStats(Connection conn, UUID playerUUID, String jobName) throws SQLException {
         String query = "INSERT OR IGNORE INTO player_stats (player_uuid, job_name) VALUES (?, ?)";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(query)) {
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setString(1, playerUUID.toString());
             stmt.setString(2, jobName);
             stmt.executeUpdate();
-        } catch (SQLException e) {
-            logger.severe("Failed to initialize stats for " + playerUUID + " job " + jobName + ": " + e.getMessage());
         }
     }
     
     /**
-     * Update player statistics
+     * Apply accumulated stat deltas, committed with the writes queued around them
+     * Deltas are merged into a stats flush that is still queued, which then covers both, unless a job of
+     * theirs was added or removed after that flush was queued; then they start a new flush behind it.
+     * The flush may be dropped when the queue is full and the DROP_OLDEST_STATS policy is set
+     * Completes with the number of rows written
      */
-    public void updatePlayerStats(UUID playerUUID, String jobName, double moneyEarned, double expEarned) {
+    public CompletableFuture<Integer> flushPlayerStats(Map<UUID, Map<String, PlayerStatsDelta>> deltas) {
+        synchronized (statsLock) {
+            StatsBatch queued = queuedStats;
+            if (queued != null && !isFenced(deltas) && queued.merge(deltas)) {
+                return queued.result;
+            }
+            
+            StatsBatch batch = new StatsBatch();
+            batch.merge(deltas);
+            queuedStats = batch;
+            statsFences.clear();
+            
+            // Queued under the lock, so no job join or leave can be queued between creating the batch and queueing it
+            batch.result = logFailure(executor.write(null, true, conn -> {
+                batch.close();
+                return writeStats(conn, batch.deltas);
+            }).whenComplete((rows, error) -> batch.close()), "flush player stats", 0);
+            return batch.result;
+        }
+    }
+    
+    /**
+     * Keep the deltas of a player's job out of the queued stats flush; the caller holds statsLock
+     */
+    private void fenceStats(UUID playerUUID, String jobName) {
+        if (queuedStats != null) {
+            statsFences.add(playerUUID + ":" + jobName.toLowerCase());
+        }
+    }
+    
+    private boolean isFenced(Map<UUID, Map<String, PlayerStatsDelta>> deltas) {
+        if (statsFences.isEmpty()) return false;
+        for (Map.Entry<UUID, Map<String, PlayerStatsDelta>> playerEntry : deltas.entrySet()) {
+            for (String jobName : playerEntry.getValue().keySet()) {
+                if (statsFences.contains(playerEntry.getKey() + ":" + jobName.toLowerCase())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static void mergeStats(Map<UUID, Map<String, PlayerStatsDelta>> into, Map<UUID, Map<String, PlayerStatsDelta>> deltas) {
+        for (Map.Entry<UUID, Map<String, PlayerStatsDelta>> playerEntry : deltas.entrySet()) {
+            Map<String, PlayerStatsDelta> jobs = into.computeIfAbsent(playerEntry.getKey(), k -> new HashMap<>());
+            for (Map.Entry<String, PlayerStatsDelta> jobEntry : playerEntry.getValue().entrySet()) {
+                PlayerStatsDelta delta = jobEntry.getValue();
+                jobs.merge(jobEntry.getKey(),
+                           new PlayerStatsDelta(delta.getMoneyEarned(), delta.getExpEarned(), delta.getActionsCompleted()),
+                           PlayerStatsDelta::add);
+            }
+        }
+    }
+    
+    private int writeStats(Connection conn, Map<UUID, Map<String, PlayerStatsDelta>> deltas) throws SQLException {
+        // UPDATE only: the row is created by addPlayerJob, and deltas queued behind removePlayerJob must not bring it back
         String query = "UPDATE player_stats SET total_money_earned = total_money_earned + ?, " +
-                      "total_exp_earned = total_exp_earned + ?, actions_completed = actions_completed + 1 " +
+                      "total_exp_earned = total_exp_earned + ?, actions_completed = actions_completed + ? " +
                       "WHERE player_uuid = ? AND job_name = ?";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(query)) {
-            stmt.setDouble(1, moneyEarned);
-            stmt.setDouble(2, expEarned);
-            stmt.setString(3, playerUUID.toString());
-            stmt.setString(4, jobName);
+        int rows = 0;
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            for (Map.Entry<UUID, Map<String, PlayerStatsDelta>> playerEntry : deltas.entrySet()) {
+                String playerUUID = playerEntry.getKey().toString();
+                
+                for (Map.Entry<String, PlayerStatsDelta> jobEntry : playerEntry.getValue().entrySet()) {
+                    PlayerStatsDelta delta = jobEntry.getValue();
+                    stmt.setDouble(1, delta.getMoneyEarned());
+                    stmt.setDouble(2, delta.getExpEarned());
+                    stmt.setInt(3, delta.getActionsCompleted());
+                    stmt.setString(4, playerUUID);
+                    stmt.setString(5, jobEntry.getKey());
+                    stmt.addBatch();
+                }
+            }
             
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            logger.severe("Failed to update stats for " + playerUUID + " job " + jobName + ": " + e.getMessage());
+            for (int updated : stmt.executeBatch()) {
+                if (updated > 0) {
+                    rows++;
+                }
+            }
         }
+        return rows;
     }
     
     /**
      * Get total money earned by player in a specific job
      */
-    public double getPlayerEarnings(UUID playerUUID, String jobName) {
+    public CompletableFuture<Double> getPlayerEarnings(UUID playerUUID, String jobName) {
         String query = "SELECT total_money_earned FROM player_stats WHERE player_uuid = ? AND job_name = ?";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(query)) {
-            stmt.setString(1, playerUUID.toString());
-            stmt.setString(2, jobName);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getDouble("total_money_earned");
+        return logFailure(executor.readInOrder(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setString(1, playerUUID.toString());
+                stmt.setString(2, jobName);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getDouble("total_money_earned") : 0.0;
                 }
             }
-        } catch (SQLException e) {
-            logger.severe("Failed to get player earnings for " + playerUUID + " job " + jobName + ": " + e.getMessage());
-        }
-        
-        return 0.0;
+        }), "get player earnings for " + playerUUID + " job " + jobName, 0.0);
     }
     
     /**
-     * Get top players for a specific job
+     * Load the progress of every player in every job, grouped by player (leaderboard seeding)
      */
-    public Map<String, Integer> getTopPlayers(String jobName, int limit) {
-        Map<String, Integer> topPlayers = new HashMap<>();
+    public CompletableFuture<Map<UUID, List<PlayerJobData>>> loadAllJobProgress() {
+        String query = "SELECT player_uuid, job_name, level, experience FROM player_jobs";
         
-        String query = "SELECT player_uuid, level FROM player_jobs WHERE job_name = ? ORDER BY level DESC, experience DESC LIMIT ?";
+        return logFailure(executor.read(conn -> {
+            Map<UUID, List<PlayerJobData>> progress = new HashMap<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(query)) {
+                while (rs.next()) {
+                    UUID playerUUID = parseUUID(rs.getString("player_uuid"));
+                    progress.computeIfAbsent(playerUUID, k -> new ArrayList<>())
+                            .add(new PlayerJobData(rs.getString("job_name"), rs.getInt("level"), rs.getDouble("experience")));
+                }
+            }
+            return progress;
+        }), "load job progress", new HashMap<>());
+    }
+    
+    /**
+     * Load the stat totals of every player in every job, grouped by player (leaderboard seeding)
+     */
+    public CompletableFuture<Map<UUID, Map<String, PlayerStatsDelta>>> loadAllPlayerStats() {
+        String query = "SELECT player_uuid, job_name, total_money_earned, total_exp_earned, actions_completed FROM player_stats";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(query)) {
-            stmt.setString(1, jobName);
-            stmt.setInt(2, limit);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
+        return logFailure(executor.read(conn -> {
+            Map<UUID, Map<String, PlayerStatsDelta>> stats = new HashMap<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(query)) {
                 while (rs.next()) {
-                    String playerUUID = rs.getString("player_uuid");
-                    int level = rs.getInt("level");
-                    topPlayers.put(playerUUID, level);
+                    UUID playerUUID = parseUUID(rs.getString("player_uuid"));
+                    stats.computeIfAbsent(playerUUID, k -> new HashMap<>())
+                         .put(rs.getString("job_name"), new PlayerStatsDelta(rs.getDouble("total_money_earned"),
+                              rs.getDouble("total_exp_earned"), rs.getInt("actions_completed")));
                 }
             }
-        } catch (SQLException e) {
-            logger.severe("Failed to get top players for job " + jobName + ": " + e.getMessage());
+            return stats;
+        }), "load player stats", new HashMap<>());
+    }
+    
+    /**
+     * Parse a stored UUID, failing the read like an SQL error if it is malformed
+     */
+    private static UUID parseUUID(String value) throws SQLException {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Invalid player UUID: " + value, e);
         }
-        
-        return topPlayers;
     }
     
     /**
      * Record job join timestamp for cooldown tracking
+     * Replaces a queued join record or removal of the same player and job
      */
-    public void recordJobJoin(UUID playerUUID, String jobName) {
+    public CompletableFuture<Void> recordJobJoin(UUID playerUUID, String jobName, long timestamp) {
         String sql = "INSERT OR REPLACE INTO job_cooldowns (player_uuid, job_name, join_timestamp) VALUES (?, ?, ?)";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(sql)) {
-            stmt.setString(1, playerUUID.toString());
-            stmt.setString(2, jobName.toLowerCase());
-            stmt.setLong(3, System.currentTimeMillis());
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            logger.severe("Failed to record job join for " + playerUUID + ": " + e.getMessage());
-        }
+        return logFailure(executor.write("cooldown:" + playerUUID + ":" + jobName.toLowerCase(), false, conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, playerUUID.toString());
+                stmt.setString(2, jobName.toLowerCase());
+                stmt.setLong(3, timestamp);
+                stmt.executeUpdate();
+            }
+            return null;
+        }), "record job join for " + playerUUID, null);
     }
     
     /**
-     * Get job join timestamp for cooldown checking
+     * Load all job join timestamps of a player, by job name
      */
-    public long getJobJoinTimestamp(UUID playerUUID, String jobName) {
+    public CompletableFuture<Map<String, Long>> loadJobJoinTimestamps(UUID playerUUID) {
+        String sql = "SELECT job_name, join_timestamp FROM job_cooldowns WHERE player_uuid = ?";
+        
+        return logFailure(executor.readInOrder(conn -> {
+            Map<String, Long> timestamps = new HashMap<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, playerUUID.toString());
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        timestamps.put(rs.getString("job_name"), rs.getLong("join_timestamp"));
+                    }
+                }
+            }
+            return timestamps;
+        }), "load job join timestamps for " + playerUUID, new HashMap<>());
+    }
+    
+    /**
+     * Get job join timestamp for cooldown checking, 0 if there is none
+     */
+    public CompletableFuture<Long> getJobJoinTimestamp(UUID playerUUID, String jobName) {
         String sql = "SELECT join_timestamp FROM job_cooldowns WHERE player_uuid = ? AND job_name = ?";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(sql)) {
-            stmt.setString(1, playerUUID.toString());
-            stmt.setString(2, jobName.toLowerCase());
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getLong("join_timestamp");
+        return logFailure(executor.readInOrder(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, playerUUID.toString());
+                stmt.setString(2, jobName.toLowerCase());
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getLong("join_timestamp") : 0L;
                 }
             }
-        } catch (SQLException e) {
-            logger.severe("Failed to get job join timestamp for " + playerUUID + ": " + e.getMessage());
-        }
-        
-        return 0; // No timestamp found
+        }), "get job join timestamp for " + playerUUID, 0L);
     }
     
     /**
      * Remove job cooldown record (when cooldown expires or for cleanup)
+     * Replaces a queued join record or removal of the same player and job
      */
-    public void removeJobCooldown(UUID playerUUID, String jobName) {
+    public CompletableFuture<Void> removeJobCooldown(UUID playerUUID, String jobName) {
         String sql = "DELETE FROM job_cooldowns WHERE player_uuid = ? AND job_name = ?";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(sql)) {
-            stmt.setString(1, playerUUID.toString());
-            stmt.setString(2, jobName.toLowerCase());
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            logger.severe("Failed to remove job cooldown for " + playerUUID + ": " + e.getMessage());
-        }
+        return logFailure(executor.write("cooldown:" + playerUUID + ":" + jobName.toLowerCase(), false, conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, playerUUID.toString());
+                stmt.setString(2, jobName.toLowerCase());
+                stmt.executeUpdate();
+            }
+            return null;
+        }), "remove job cooldown for " + playerUUID, null);
     }
     
     /**
      * Clean up expired job cooldowns
      */
-    public void cleanupExpiredCooldowns(long cooldownDuration) {
+    public CompletableFuture<Integer> cleanupExpiredCooldowns(long cooldownDuration) {
         long expiredBefore = System.currentTimeMillis() - cooldownDuration;
         String sql = "DELETE FROM job_cooldowns WHERE join_timestamp < ?";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(sql)) {
-            stmt.setLong(1, expiredBefore);
-            int deleted = stmt.executeUpdate();
-            if (deleted > 0) {
-                logger.info("Cleaned up " + deleted + " expired job cooldowns.");
+        return logFailure(executor.write("cooldown-cleanup", false, conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, expiredBefore);
+                int deleted = stmt.executeUpdate();
+                if (deleted > 0) {
+                    logger.info("Cleaned up " + deleted + " expired job cooldowns.");
+                }
+                return deleted;
             }
-        } catch (SQLException e) {
-            logger.severe("Failed to cleanup expired cooldowns: " + e.getMessage());
-        }
-    }
-    
-    /**
-     * Save pending salary for a player
-     */
-    public void savePendingSalary(UUID playerUUID, double amount) {
-        String sql = "INSERT OR REPLACE INTO pending_salaries (player_uuid, amount, last_updated) VALUES (?, ?, ?)";
-        
-        try (PreparedStatement stmt = getConnection().prepareStatement(sql)) {
-            stmt.setString(1, playerUUID.toString());
-            stmt.setDouble(2, amount);
-            stmt.setLong(3, System.currentTimeMillis() / 1000); // Unix timestamp
-            
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            logger.severe("Failed to save pending salary for " + playerUUID + ": " + e.getMessage());
-        }
+        }), "cleanup expired cooldowns", 0);
     }
     
     /**
      * Load pending salary for a player
      */
-    public double loadPendingSalary(UUID playerUUID) {
+    public CompletableFuture<Double> loadPendingSalary(UUID playerUUID) {
         String sql = "SELECT amount FROM pending_salaries WHERE player_uuid = ?";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(sql)) {
-            stmt.setString(1, playerUUID.toString());
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getDouble("amount");
+        return logFailure(executor.readInOrder(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, playerUUID.toString());
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getDouble("amount") : 0.0;
                 }
             }
-        } catch (SQLException e) {
-            logger.severe("Failed to load pending salary for " + playerUUID + ": " + e.getMessage());
-        }
-        
-        return 0.0;
+        }), "load pending salary for " + playerUUID, 0.0);
     }
     
     /**
      * Load all pending salaries
      */
-    public Map<UUID, Double> loadAllPendingSalaries() {
-        Map<UUID, Double> pendingSalaries = new HashMap<>();
+    public CompletableFuture<Map<UUID, Double>> loadAllPendingSalaries() {
         String sql = "SELECT player_uuid, amount FROM pending_salaries WHERE amount > 0";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                UUID playerUUID = UUID.fromString(rs.getString("player_uuid"));
-                double amount = rs.getDouble("amount");
-                pendingSalaries.put(playerUUID, amount);
+        return logFailure(executor.read(conn -> {
+            Map<UUID, Double> pendingSalaries = new HashMap<>();
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                
+                while (rs.next()) {
+                    UUID playerUUID = parseUUID(rs.getString("player_uuid"));
+                    double amount = rs.getDouble("amount");
+                    pendingSalaries.put(playerUUID, amount);
+                }
             }
-        } catch (SQLException e) {
-            logger.severe("Failed to load all pending salaries: " + e.getMessage());
-        }
-        
-        return pendingSalaries;
+            return pendingSalaries;
+        }), "load all pending salaries", new HashMap<>());
     }
     
     /**
-     * Delete pending salary for a player (after payout)
+     * Load the salary journal generation last compacted into pending_salaries, 0 if none
      */
-    public void deletePendingSalary(UUID playerUUID) {
-        String sql = "DELETE FROM pending_salaries WHERE player_uuid = ?";
+    public CompletableFuture<Long> loadSalaryLedgerGeneration() {
+        String sql = "SELECT generation FROM salary_ledger WHERE id = 1";
         
-        try (PreparedStatement stmt = getConnection().prepareStatement(sql)) {
-            stmt.setString(1, playerUUID.toString());
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            logger.severe("Failed to delete pending salary for " + playerUUID + ": " + e.getMessage());
-        }
+        return logFailure(executor.read(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong("generation") : 0L;
+            }
+        }), "load salary ledger generation", 0L);
     }
-
+    
+    /**
+     * Write compacted salary balances and the journal generation they cover, committed together
+     * Balances of zero or less delete the row; completes with false if nothing was written
+     */
+    public CompletableFuture<Boolean> compactPendingSalaries(Map<UUID, Double> balances, long generation) {
+        String upsert = "INSERT OR REPLACE INTO pending_salaries (player_uuid, amount, last_updated) VALUES (?, ?, ?)";
+        String delete = "DELETE FROM pending_salaries WHERE player_uuid = ?";
+        String checkpoint = "INSERT OR REPLACE INTO salary_ledger (id, generation) VALUES (1, ?)";
+        
+        long now = System.currentTimeMillis() / 1000;
+        
+        return logFailure(executor.write(null, false, conn -> {
+            try (PreparedStatement upsertStmt = conn.prepareStatement(upsert);
+                 PreparedStatement deleteStmt = conn.prepareStatement(delete);
+                 PreparedStatement checkpointStmt = conn.prepareStatement(checkpoint)) {
+                for (Map.Entry<UUID, Double> entry : balances.entrySet()) {
+                    if (entry.getValue() > 0) {
+                        upsertStmt.setString(1, entry.getKey().toString());
+                        upsertStmt.setDouble(2, entry.getValue());
+                        upsertStmt.setLong(3, now);
+                        upsertStmt.addBatch();
+                    } else {
+                        deleteStmt.setString(1, entry.getKey().toString());
+                        deleteStmt.addBatch();
+                    }
+                }
+                
+                upsertStmt.executeBatch();
+                deleteStmt.executeBatch();
+                
+                checkpointStmt.setLong(1, generation);
+                checkpointStmt.executeUpdate();
+            }
+            return true;
+        }), "compact pending salaries (" + balances.size() + " players)", false);
+    }
+    
     /**
      * Data class for player job information
      */
@@ -496,4 +704,49 @@ public class DatabaseManager {
         public void setLevel(int level) { this.level = level; }
         public void setExperience(double experience) { this.experience = experience; }
     }
+    
+    /**
+     * Stats deltas of one queued flush; merging stops once the flush starts or is dropped
+     */
+    private static final class StatsBatch {
+        private final Map<UUID, Map<String, PlayerStatsDelta>> deltas = new HashMap<>();
+        private CompletableFuture<Integer> result;
+        private boolean closed;
+        
+        synchronized boolean merge(Map<UUID, Map<String, PlayerStatsDelta>> more) {
+            if (closed) return false;
+            mergeStats(deltas, more);
+            return true;
+        }
+        
+        synchronized void close() {
+            closed = true;
+        }
+    }
+    
+    /**
+     * Accumulated stat changes for a player in a job, waiting to be written
+     */
+    public static class PlayerStatsDelta {
+        private double moneyEarned;
+        private double expEarned;
+        private int actionsCompleted;
+        
+        public PlayerStatsDelta(double moneyEarned, double expEarned, int actionsCompleted) {
+            this.moneyEarned = moneyEarned;
+            this.expEarned = expEarned;
+            this.actionsCompleted = actionsCompleted;
+        }
+        
+        public double getMoneyEarned() { return moneyEarned; }
+        public double getExpEarned() { return expEarned; }
+        public int getActionsCompleted() { return actionsCompleted; }
+        
+        public PlayerStatsDelta add(PlayerStatsDelta other) {
+            this.moneyEarned += other.moneyEarned;
+            this.expEarned += other.expEarned;
+            this.actionsCompleted += other.actionsCompleted;
+            return this;
+        }
+    }
 }
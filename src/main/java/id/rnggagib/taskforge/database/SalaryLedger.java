@@ -0,0 +1,352 @@
+package id.rnggagib.taskforge.database;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of salary credits and payouts
+ * Records are encoded on the main thread into a memory buffer and appended to the journal
+ * file by a single IO thread, so crediting a salary never touches the database
+ * Compaction writes the balances changed since the last one into pending_salaries together
+ * with the journal generation they cover, then starts a new journal file; on startup a journal
+ * newer than that checkpoint is replayed over the table
+ *
+ * File layout (big-endian):
+ *   int magic, int version, long generation
+ *   n x (byte type, long uuid msb, long uuid lsb, double amount, int crc32 of the preceding 25 bytes)
+ */
+public class SalaryLedger {
+    
+    private static final int MAGIC = 0x5446534C; // "TFSL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_DATA_BYTES = 1 + 16 + 8;
+    private static final int RECORD_BYTES = RECORD_DATA_BYTES + 4;
+    
+    private static final byte TYPE_CREDIT = 1;
+    private static final byte TYPE_CLEAR = 2;
+    
+    private final Path journalPath;
+    private final DatabaseManager databaseManager;
+    private final Logger logger;
+    private final ExecutorService ioExecutor;
+    
+    // Records encoded on the main thread, waiting for the IO thread - guarded by bufferLock
+    private final Object bufferLock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocate(RECORD_BYTES * 256);
+    private ByteBuffer spare = ByteBuffer.allocate(RECORD_BYTES * 256);
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final CRC32 crc = new CRC32();
+    
+    // Owned by the IO thread after open()
+    private FileChannel channel;
+    private long generation;
+    private long validLength;
+    private final Map<UUID, Double> balances = new HashMap<>();
+    private final Set<UUID> changed = new HashSet<>();
+    
+    // Metrics
+    private final AtomicLong recordsAppended = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    private final AtomicLong rowsCompacted = new AtomicLong();
+    private volatile int recordsReplayed;
+    
+    public SalaryLedger(File dataFolder, DatabaseManager databaseManager, Logger logger) {
+        this.journalPath = new File(dataFolder, "salary.journal").toPath();
+        this.databaseManager = databaseManager;
+        this.logger = logger;
+        this.ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TaskForge-SalaryLedger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Load pending salaries, replay a journal left behind by a crash and start a new journal
+     * Runs on the calling thread; returns the balances to pay out
+     */
+    public Map<UUID, Double> open() {
+        long checkpoint = databaseManager.loadSalaryLedgerGeneration().join();
+        balances.putAll(databaseManager.loadAllPendingSalaries().join());
+        generation = checkpoint;
+        
+        try {
+            long journalGeneration = replay(checkpoint);
+            generation = Math.max(checkpoint, journalGeneration);
+            if (recordsReplayed > 0) {
+                logger.warning("Recovered " + recordsReplayed + " salary records from an unclean shutdown");
+                compact();
+            }
+            
+            if (changed.isEmpty()) {
+                startJournal(generation + 1);
+            } else {
+                // Recovered records are not in the database yet - keep appending to their journal
+                channel = FileChannel.open(journalPath, StandardOpenOption.WRITE);
+                channel.truncate(validLength);
+                channel.position(validLength);
+            }
+        } catch (IOException e) {
+            logger.severe("Failed to open salary journal: " + e.getMessage());
+        }
+        
+        return new HashMap<>(balances);
+    }
+    
+    /**
+     * Record a salary credit
+     */
+    public void credit(UUID playerUUID, double amount) {
+        append(TYPE_CREDIT, playerUUID, amount);
+    }
+    
+    /**
+     * Record that a player's pending salary was paid out
+     */
+    public void clear(UUID playerUUID) {
+        append(TYPE_CLEAR, playerUUID, 0.0);
+    }
+    
+    /**
+     * Write changed balances to the database and start a new journal, on the IO thread
+     */
+    public void compactAsync() {
+        ioExecutor.execute(this::compact);
+    }
+    
+    /**
+     * Write everything queued, compact and stop the IO thread
+     */
+    public void shutdown() {
+        ioExecutor.execute(() -> {
+            compact();
+            closeChannel();
+        });
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for the salary journal to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public long getRecordsAppended() { return recordsAppended.get(); }
+    public long getCompactions() { return compactions.get(); }
+    public long getRowsCompacted() { return rowsCompacted.get(); }
+    public int getRecordsReplayed() { return recordsReplayed; }
+    
+    private void append(byte type, UUID playerUUID, double amount) {
+        synchronized (bufferLock) {
+            if (pending.remaining() < RECORD_BYTES) {
+                ByteBuffer grown = ByteBuffer.allocate(pending.capacity() * 2);
+                pending.flip();
+                grown.put(pending);
+                pending = grown;
+            }
+            
+            int start = pending.position();
+            pending.put(type)
+                   .putLong(playerUUID.getMostSignificantBits())
+                   .putLong(playerUUID.getLeastSignificantBits())
+                   .putDouble(amount);
+            crc.reset();
+            crc.update(pending.array(), start, RECORD_DATA_BYTES);
+            pending.putInt((int) crc.getValue());
+        }
+        
+        recordsAppended.incrementAndGet();
+        if (drainScheduled.compareAndSet(false, true)) {
+            ioExecutor.execute(this::drain);
+        }
+    }
+    
+    /**
+     * Append buffered records to the journal and apply them to the IO thread's balances
+     */
+    private void drain() {
+        drainScheduled.set(false);
+        
+        ByteBuffer records;
+        synchronized (bufferLock) {
+            if (pending.position() == 0) return;
+            records = pending;
+            pending = spare.capacity() >= records.capacity() ? spare : ByteBuffer.allocate(records.capacity());
+            spare = null;
+        }
+        
+        records.flip();
+        try {
+            if (channel != null) {
+                while (records.hasRemaining()) {
+                    channel.write(records);
+                }
+            }
+        } catch (IOException e) {
+            logger.severe("Failed to append to salary journal: " + e.getMessage());
+        }
+        
+        records.rewind();
+        while (records.remaining() >= RECORD_BYTES) {
+            applyRecord(records);
+        }
+        
+        records.clear();
+        synchronized (bufferLock) {
+            spare = records;
+        }
+    }
+    
+    /**
+     * Write changed balances and the covered generation in one transaction, then rotate the journal
+     * If the database write fails the journal is kept and keeps growing until the next attempt
+     */
+    private void compact() {
+        drain();
+        if (changed.isEmpty()) return;
+        
+        Map<UUID, Double> rows = new HashMap<>();
+        for (UUID playerUUID : changed) {
+            rows.put(playerUUID, balances.getOrDefault(playerUUID, 0.0));
+        }
+        
+        if (!databaseManager.compactPendingSalaries(rows, generation).join()) {
+            return;
+        }
+        changed.clear();
+        compactions.incrementAndGet();
+        rowsCompacted.addAndGet(rows.size());
+        
+        // Only roll over a journal that is actually in use; open() starts its own afterwards
+        if (channel != null) {
+            try {
+                startJournal(generation + 1);
+            } catch (IOException e) {
+                logger.severe("Failed to start new salary journal: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Replace the journal with an empty one of the given generation and append to it from now on
+     */
+    private void startJournal(long newGeneration) throws IOException {
+        closeChannel();
+        
+        Path tmp = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(newGeneration);
+        header.flip();
+        
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            out.force(true);
+        }
+        
+        try {
+            Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        
+        channel = FileChannel.open(journalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        generation = newGeneration;
+    }
+    
+    /**
+     * Apply the journal's records if it is newer than the database checkpoint
+     * Reading stops at the first torn or corrupt record; returns the journal's generation
+     */
+    private long replay(long checkpoint) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel in = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) in.size());
+            while (buffer.hasRemaining() && in.read(buffer) >= 0) {
+                // Keep reading until the buffer is full or the file ends
+            }
+        } catch (NoSuchFileException e) {
+            return checkpoint;
+        }
+        buffer.flip();
+        
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            logger.warning("Ignoring unreadable salary journal");
+            return checkpoint;
+        }
+        
+        long journalGeneration = buffer.getLong();
+        if (journalGeneration <= checkpoint) {
+            // Already compacted into the database before the journal could be rolled over
+            return checkpoint;
+        }
+        
+        int replayed = 0;
+        validLength = buffer.position();
+        while (buffer.remaining() >= RECORD_BYTES) {
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), RECORD_DATA_BYTES);
+            if (buffer.getInt(buffer.position() + RECORD_DATA_BYTES) != (int) crc.getValue()) {
+                logger.warning("Salary journal has a corrupt record after " + replayed + " records, ignoring the rest");
+                break;
+            }
+            applyRecord(buffer);
+            replayed++;
+            validLength = buffer.position();
+        }
+        
+        recordsReplayed = replayed;
+        return journalGeneration;
+    }
+    
+    /**
+     * Apply the record at the buffer's position and move past it
+     */
+    private void applyRecord(ByteBuffer buffer) {
+        byte type = buffer.get();
+        UUID playerUUID = new UUID(buffer.getLong(), buffer.getLong());
+        double amount = buffer.getDouble();
+        buffer.getInt();
+        
+        if (type == TYPE_CREDIT) {
+            balances.merge(playerUUID, amount, Double::sum);
+        } else {
+            balances.remove(playerUUID);
+        }
+        changed.add(playerUUID);
+    }
+    
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.severe("Failed to close salary journal: " + e.getMessage());
+        }
+        channel = null;
+    }
+}
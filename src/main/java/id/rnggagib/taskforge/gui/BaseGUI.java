@@ -0,0 +1,37 @@
+package id.rnggagib.taskforge.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.InventoryHolder;
+
+/**
+ * Base of every TaskForge menu
+ * A GUI is the holder of its own inventory, so GUIListener finds the owning instance from the
+ * inventory of an event; nothing is registered per GUI and a closed GUI is simply garbage collected
+ */
+public abstract class BaseGUI implements InventoryHolder {
+    
+    /**
+     * Handle a click in this GUI's inventory; the event is already cancelled
+     */
+    public abstract void handleClick(InventoryClickEvent event);
+    
+    /**
+     * Called when the viewer closes this GUI, including when another GUI replaces it
+     */
+    public void handleClose(Player player) {
+        // Nothing to release by default
+    }
+    
+    /**
+     * Close every open TaskForge GUI (plugin disable)
+     */
+    public static void closeAll() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (player.getOpenInventory().getTopInventory().getHolder() instanceof BaseGUI) {
+                player.closeInventory();
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package id.rnggagib.taskforge.gui;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.profile.PlayerProfile;
+import org.bukkit.profile.PlayerTextures;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.jobs.Job;
+
+/**
+ * Shared cache of the player head icons used by the GUIs
+ * Heads are keyed by their config value: "hdb:ID" for a HeadDatabase head, otherwise a texture
+ * value (base64 profile property, skin URL or texture hash)
+ * Every known head is built once off the main thread at startup and reload; GUIs get clones
+ */
+public class IconCache {
+    
+    // HeadDatabase icons used by the GUIs themselves
+    private static final String[] GUI_ICONS = {
+        "hdb:67690", "hdb:109620", "hdb:69026", "hdb:69025", "hdb:54233", "hdb:51667", "hdb:6258",
+        "hdb:15641", "hdb:48927", "hdb:66374", "hdb:8254", "hdb:8255", "hdb:94736"
+    };
+    
+    private static final String TEXTURE_URL = "http://textures.minecraft.net/texture/";
+    
+    private final TaskForgePlugin plugin;
+    
+    // Built heads by config value; never handed out directly
+    private final Map<String, ItemStack> heads = new ConcurrentHashMap<>();
+    
+    // HeadDatabaseAPI instance and its getItemHead(String), looked up once
+    private volatile Object headDatabaseApi;
+    private volatile MethodHandle getItemHead;
+    
+    public IconCache(TaskForgePlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Look up HeadDatabase and build every GUI and job head in the background
+     * Called on startup and reload, after the jobs are loaded
+     */
+    public void prefetch() {
+        if (getItemHead == null) {
+            hookHeadDatabase();
+        }
+        
+        Set<String> keys = new LinkedHashSet<>();
+        if (isHeadDatabaseAvailable()) {
+            for (String icon : GUI_ICONS) {
+                keys.add(icon);
+            }
+        }
+        for (Job job : plugin.getJobManager().getAllJobs().values()) {
+            String texture = job.getPlayerHeadTexture();
+            if (texture != null && !texture.isEmpty()) {
+                keys.add(texture);
+            }
+        }
+        
+        // Textures of removed jobs are dropped; the new ones are built below
+        heads.keySet().retainAll(keys);
+        
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            int built = 0;
+            for (String key : keys) {
+                if (!heads.containsKey(key) && build(key) != null) {
+                    built++;
+                }
+            }
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Prefetched " + built + " head icons");
+            }
+        });
+    }
+    
+    /**
+     * Check if HeadDatabase heads can be used
+     */
+    public boolean isHeadDatabaseAvailable() {
+        Plugin headDbPlugin = Bukkit.getPluginManager().getPlugin("HeadDatabase");
+        return getItemHead != null && headDbPlugin != null && headDbPlugin.isEnabled();
+    }
+    
+    /**
+     * Get a copy of the head for a config value, building and caching it on first use
+     * Returns a plain player head when the value is empty or cannot be resolved
+     */
+    public ItemStack getHead(String textureOrId) {
+        if (textureOrId == null || textureOrId.isEmpty()) {
+            return new ItemStack(Material.PLAYER_HEAD);
+        }
+        
+        ItemStack head = heads.get(textureOrId);
+        if (head == null) {
+            head = build(textureOrId);
+        }
+        return head != null ? head.clone() : new ItemStack(Material.PLAYER_HEAD);
+    }
+    
+    /**
+     * Get number of cached heads
+     */
+    public int getCachedCount() {
+        return heads.size();
+    }
+    
+    /**
+     * Build and cache one head, null if it cannot be built right now
+     * HeadDatabase misses are not cached: its heads only become available once it has loaded its database
+     */
+    private ItemStack build(String key) {
+        ItemStack head;
+        if (key.startsWith("hdb:")) {
+            head = isHeadDatabaseAvailable() ? getHeadDatabaseHead(key.substring(4)) : null;
+        } else {
+            head = createTexturedHead(key);
+        }
+        
+        if (head != null) {
+            heads.put(key, head);
+        }
+        return head;
+    }
+    
+    /**
+     * Find HeadDatabaseAPI and cache a handle to getItemHead(String)
+     */
+    private void hookHeadDatabase() {
+        if (Bukkit.getPluginManager().getPlugin("HeadDatabase") == null) return;
+        
+        try {
+            Class<?> apiClass = Class.forName("me.arcaniax.hdb.api.HeadDatabaseAPI");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            headDatabaseApi = lookup.findConstructor(apiClass, MethodType.methodType(void.class)).invoke();
+            getItemHead = lookup.findVirtual(apiClass, "getItemHead", MethodType.methodType(ItemStack.class, String.class))
+                                .bindTo(headDatabaseApi);
+        } catch (Throwable e) {
+            plugin.getLogger().warning("Failed to hook into HeadDatabase, using default icons: " + e.getMessage());
+        }
+    }
+    
+    private ItemStack getHeadDatabaseHead(String headId) {
+        try {
+            return (ItemStack) getItemHead.invokeExact(headId);
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Build a vanilla head with a skin through the PlayerProfile API
+     */
+    private ItemStack createTexturedHead(String texture) {
+        ItemStack head = new ItemStack(Material.PLAYER_HEAD);
+        try {
+            URL skin = new URL(resolveSkinUrl(texture));
+            
+            // Same texture, same profile id, so identical icons stack and compare equal
+            UUID profileId = UUID.nameUUIDFromBytes(texture.getBytes(StandardCharsets.UTF_8));
+            PlayerProfile profile = Bukkit.createPlayerProfile(profileId, null);
+            PlayerTextures textures = profile.getTextures();
+            textures.setSkin(skin);
+            profile.setTextures(textures);
+            
+            SkullMeta meta = (SkullMeta) head.getItemMeta();
+            if (meta != null) {
+                meta.setOwnerProfile(profile);
+                head.setItemMeta(meta);
+            }
+        } catch (Exception e) {
+            // Unusable texture - keep the plain head
+        }
+        return head;
+    }
+    
+    /**
+     * Turn a texture value into a skin URL
+     * Accepts a URL, a bare texture hash or a base64 "textures" property value
+     */
+    private static String resolveSkinUrl(String texture) {
+        if (texture.startsWith("http://") || texture.startsWith("https://")) {
+            return texture;
+        }
+        if (texture.matches("[0-9a-fA-F]{32,}")) {
+            return TEXTURE_URL + texture;
+        }
+        
+        String json = new String(Base64.getDecoder().decode(texture), StandardCharsets.UTF_8);
+        int key = json.indexOf("\"url\"");
+        if (key < 0) {
+            throw new IllegalArgumentException("texture value has no skin url");
+        }
+        int start = json.indexOf('"', json.indexOf(':', key) + 1) + 1;
+        int end = start > 0 ? json.indexOf('"', start) : -1;
+        if (end < 0) {
+            throw new IllegalArgumentException("texture value has no skin url");
+        }
+        return json.substring(start, end);
+    }
+}
@@ -2,88 +2,68 @@ package id.rnggagib.taskforge.gui;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
-import java.lang.reflect.Method;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.inventory.meta.SkullMeta;
-import org.bukkit.plugin.Plugin;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
 import id.rnggagib.taskforge.jobs.Job;
+import id.rnggagib.taskforge.jobs.Leaderboard;
+import id.rnggagib.taskforge.managers.LeaderboardManager;
+import id.rnggagib.taskforge.managers.LeaderboardManager.Metric;
 import id.rnggagib.taskforge.utils.TimeUtils;
 
 /**
  * Professional Job Detail Hub GUI - Modern interface for job management
  */
-public class JobDetailGUI implements Listener {
+public class JobDetailGUI extends ModelGUI {
     
-    private final TaskForgePlugin plugin;
-    private final Player player;
     private final Job job;
     private final JobsGUI parentGUI;
-    private final Inventory inventory;
-    private boolean headDatabaseAvailable = false;
     
     public JobDetailGUI(TaskForgePlugin plugin, Player player, Job job, JobsGUI parentGUI) {
-        this.plugin = plugin;
-        this.player = player;
+        super(plugin, player, 54, plugin.getConfigManager().translateColorCodes(
+            "&8" + job.getDisplayName() + " &8- &eJob Hub"));
         this.job = job;
         this.parentGUI = parentGUI;
-        
-        // Check HeadDatabase availability
-        Plugin headDbPlugin = Bukkit.getPluginManager().getPlugin("HeadDatabase");
-        this.headDatabaseAvailable = headDbPlugin != null && headDbPlugin.isEnabled();
-        
-        String title = plugin.getConfigManager().translateColorCodes(
-            "&8" + job.getDisplayName() + " &8- &eJob Hub");
-        
-        this.inventory = Bukkit.createInventory(null, 54, title);
-        
-        // Register event listener
-        Bukkit.getPluginManager().registerEvents(this, plugin);
-        
-        setupGUI();
     }
     
     /**
-     * Setup the professional job hub GUI with enhanced design
+     * Build the professional job hub GUI with enhanced design
      */
-    private void setupGUI() {
-        // Clear inventory
-        inventory.clear();
+    @Override
+    protected ItemStack[] buildModel(PlayerSnapshot snapshot) {
+        ItemStack[] slots = new ItemStack[inventory.getSize()];
         
         // Fill professional background
-        fillProfessionalBackground();
+        fillProfessionalBackground(slots);
         
         // Header with job info
-        setupHeaderSection();
+        setupHeaderSection(slots);
         
         // Main information display
-        setupMainInfo();
+        setupMainInfo(slots, snapshot);
         
         // Action buttons with HeadDatabase
-        setupActionButtons();
+        setupActionButtons(slots, snapshot);
         
         // Quick access navigation
-        setupQuickAccess();
+        setupQuickAccess(slots);
+        setupLeaderboardButton(slots, snapshot);
         
         // Navigation with HeadDatabase
-        setupNavigation();
+        setupNavigation(slots);
+        
+        return slots;
     }
     
     /**
      * Fill background with professional glass panes layout
      */
-    private void fillProfessionalBackground() {
+    private void fillProfessionalBackground(ItemStack[] slots) {
         ItemStack background = createBackgroundItem();
         ItemStack accent = createAccentItem();
         
@@ -91,28 +71,28 @@ public class JobDetailGUI implements Listener {
         for (int i = 0; i < 9; i++) {
             if (i != 4) { // Leave slot 4 for job header
                 if (i == 1 || i == 7) {
-                    inventory.setItem(i, accent);
+                    slots[i] = accent;
                 } else {
-                    inventory.setItem(i, background);
+                    slots[i] = background;
                 }
             }
         }
         
         // Side borders
-        inventory.setItem(9, background);
-        inventory.setItem(17, background);
-        inventory.setItem(18, background); 
-        inventory.setItem(26, background);
-        inventory.setItem(27, background); 
-        inventory.setItem(35, background);
+        slots[9] = background;
+        slots[17] = background;
+        slots[18] = background; 
+        slots[26] = background;
+        slots[27] = background; 
+        slots[35] = background;
         
         // Bottom section - leave space for navigation
         for (int i = 36; i < 45; i++) {
             if (i != 38 && i != 40 && i != 42) { // Leave space for nav buttons
                 if (i == 37 || i == 39 || i == 41 || i == 43) {
-                    inventory.setItem(i, accent);
+                    slots[i] = accent;
                 } else {
-                    inventory.setItem(i, background);
+                    slots[i] = background;
                 }
             }
         }
@@ -120,9 +100,9 @@ public class JobDetailGUI implements Listener {
         // Fill last row completely with panes
         for (int i = 45; i < 54; i++) {
             if (i == 46 || i == 48 || i == 50 || i == 52) {
-                inventory.setItem(i, accent);
+                slots[i] = accent;
             } else {
-                inventory.setItem(i, background);
+                slots[i] = background;
             }
         }
     }
@@ -156,11 +136,11 @@ public class JobDetailGUI implements Listener {
     /**
      * Setup header section with job information
      */
-    private void setupHeaderSection() {
+    private void setupHeaderSection(ItemStack[] slots) {
         // Try to use job's custom head or fallback to material icon
         ItemStack jobIcon;
         if (job.getPlayerHeadTexture() != null && !job.getPlayerHeadTexture().isEmpty()) {
-            jobIcon = createPlayerHead(job.getPlayerHeadTexture());
+            jobIcon = plugin.getIconCache().getHead(job.getPlayerHeadTexture());
         } else {
             jobIcon = new ItemStack(job.getItemIcon());
         }
@@ -178,17 +158,17 @@ public class JobDetailGUI implements Listener {
             meta.setLore(lore);
             jobIcon.setItemMeta(meta);
         }
-        inventory.setItem(4, jobIcon);
+        slots[4] = jobIcon;
     }
     
     /**
      * Setup main information display with enhanced layout
      */
-    private void setupMainInfo() {
+    private void setupMainInfo(ItemStack[] slots, PlayerSnapshot snapshot) {
         // Player progress (center position)
         ItemStack progressItem;
-        if (headDatabaseAvailable) {
-            progressItem = createPlayerHead("hdb:51667"); // Stats/chart icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            progressItem = plugin.getIconCache().getHead("hdb:51667"); // Stats/chart icon
         } else {
             progressItem = new ItemStack(Material.EXPERIENCE_BOTTLE);
         }
@@ -199,10 +179,11 @@ public class JobDetailGUI implements Listener {
             
             List<String> lore = new ArrayList<>();
             
-            if (plugin.getPlayerDataManager().hasJob(player.getUniqueId(), job.getName())) {
-                int level = plugin.getPlayerDataManager().getJobLevel(player.getUniqueId(), job.getName());
-                double exp = plugin.getPlayerDataManager().getJobExperience(player.getUniqueId(), job.getName());
-                double progress = plugin.getPlayerDataManager().getLevelProgress(player.getUniqueId(), job.getName());
+            PlayerSnapshot.JobState state = snapshot.getJob(job.getName());
+            if (state != null) {
+                int level = state.getLevel();
+                double exp = state.getExperience();
+                double progress = state.getProgress();
                 
                 lore.add(plugin.getConfigManager().translateColorCodes("&7Status: &a&lJOINED"));
                 lore.add("");
@@ -230,20 +211,20 @@ public class JobDetailGUI implements Listener {
             progMeta.setLore(lore);
             progressItem.setItemMeta(progMeta);
         }
-        inventory.setItem(13, progressItem);
+        slots[13] = progressItem;
     }
     
     /**
      * Setup action buttons using HeadDatabase for enhanced appearance
      */
-    private void setupActionButtons() {
-        boolean hasJob = plugin.getPlayerDataManager().hasJob(player.getUniqueId(), job.getName());
+    private void setupActionButtons(ItemStack[] slots, PlayerSnapshot snapshot) {
+        PlayerSnapshot.JobState state = snapshot.getJob(job.getName());
         
-        if (hasJob) {
+        if (state != null) {
             // Leave button with HeadDatabase and cooldown check
             ItemStack leaveButton;
-            if (headDatabaseAvailable) {
-                leaveButton = createPlayerHead("hdb:69026"); // Red X or exit icon
+            if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+                leaveButton = plugin.getIconCache().getHead("hdb:69026"); // Red X or exit icon
             } else {
                 leaveButton = new ItemStack(Material.RED_CONCRETE);
             }
@@ -251,7 +232,7 @@ public class JobDetailGUI implements Listener {
             ItemMeta meta = leaveButton.getItemMeta();
             if (meta != null) {
                 // Check cooldown status
-                long joinTimestamp = plugin.getDatabaseManager().getJobJoinTimestamp(player.getUniqueId(), job.getName());
+                long joinTimestamp = state.getJoinTimestamp();
                 boolean canLeave = true;
                 String remainingTimeFormatted = "";
                 
@@ -289,12 +270,12 @@ public class JobDetailGUI implements Listener {
                 
                 leaveButton.setItemMeta(meta);
             }
-            inventory.setItem(10, leaveButton);
+            slots[10] = leaveButton;
             
             // Stats button with HeadDatabase
             ItemStack statsButton;
-            if (headDatabaseAvailable) {
-                statsButton = createPlayerHead("hdb:6258"); // Chart/analytics icon
+            if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+                statsButton = plugin.getIconCache().getHead("hdb:6258"); // Chart/analytics icon
             } else {
                 statsButton = new ItemStack(Material.BOOK);
             }
@@ -311,13 +292,13 @@ public class JobDetailGUI implements Listener {
                 meta.setLore(lore);
                 statsButton.setItemMeta(meta);
             }
-            inventory.setItem(16, statsButton);
+            slots[16] = statsButton;
             
         } else {
             // Join button with HeadDatabase
             ItemStack joinButton;
-            if (headDatabaseAvailable) {
-                joinButton = createPlayerHead("hdb:15641"); // Green plus or check icon
+            if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+                joinButton = plugin.getIconCache().getHead("hdb:15641"); // Green plus or check icon
             } else {
                 joinButton = new ItemStack(Material.GREEN_CONCRETE);
             }
@@ -332,7 +313,7 @@ public class JobDetailGUI implements Listener {
                 lore.add("");
                 
                 // Check if player can join more jobs
-                int currentJobs = plugin.getPlayerDataManager().getPlayerJobs(player.getUniqueId()).size();
+                int currentJobs = snapshot.getJobCount();
                 int maxJobs = plugin.getConfigManager().getMaxJobs();
                 if (currentJobs >= maxJobs) {
                     lore.add(plugin.getConfigManager().translateColorCodes("&c&lCANNOT JOIN: &7Max jobs reached (" + currentJobs + "/" + maxJobs + ")"));
@@ -345,18 +326,18 @@ public class JobDetailGUI implements Listener {
                 meta.setLore(lore);
                 joinButton.setItemMeta(meta);
             }
-            inventory.setItem(13, joinButton);
+            slots[13] = joinButton;
         }
     }
     
     /**
      * Setup quick access navigation buttons with HeadDatabase
      */
-    private void setupQuickAccess() {
+    private void setupQuickAccess(ItemStack[] slots) {
         // Objectives button with HeadDatabase
         ItemStack objectivesButton;
-        if (headDatabaseAvailable) {
-            objectivesButton = createPlayerHead("hdb:48927"); // Target/bullseye icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            objectivesButton = plugin.getIconCache().getHead("hdb:48927"); // Target/bullseye icon
         } else {
             objectivesButton = new ItemStack(Material.TARGET);
         }
@@ -376,12 +357,12 @@ public class JobDetailGUI implements Listener {
             meta.setLore(lore);
             objectivesButton.setItemMeta(meta);
         }
-        inventory.setItem(20, objectivesButton);
+        slots[20] = objectivesButton;
         
         // Level rewards button with HeadDatabase
         ItemStack rewardsButton;
-        if (headDatabaseAvailable) {
-            rewardsButton = createPlayerHead("hdb:66374"); // Treasure chest icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            rewardsButton = plugin.getIconCache().getHead("hdb:66374"); // Treasure chest icon
         } else {
             rewardsButton = new ItemStack(Material.CHEST);
         }
@@ -402,13 +383,41 @@ public class JobDetailGUI implements Listener {
             meta.setLore(lore);
             rewardsButton.setItemMeta(meta);
         }
-        inventory.setItem(24, rewardsButton);
+        slots[24] = rewardsButton;
+    }
+    
+    /**
+     * Setup the leaderboard button with the top players and the player's rank
+     */
+    private void setupLeaderboardButton(ItemStack[] slots, PlayerSnapshot snapshot) {
+        LeaderboardManager leaderboards = plugin.getLeaderboardManager();
+        Leaderboard board = leaderboards.getLeaderboard(job.getName(), Metric.LEVEL);
+        
+        ItemStack leaderboardButton = new ItemStack(Material.GOLDEN_HELMET);
+        ItemMeta meta = leaderboardButton.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(plugin.getConfigManager().translateColorCodes("&e&l👑 &eLeaderboard"));
+            List<String> lore = new ArrayList<>();
+            lore.add("");
+            for (Leaderboard.Entry entry : board.getRange(1, 3)) {
+                lore.add(plugin.getConfigManager().translateColorCodes("&e#" + entry.getRank() + " &f"
+                    + leaderboards.getName(entry.getPlayerUUID()) + " &8- " + leaderboards.formatScore(Metric.LEVEL, entry)));
+            }
+            int rank = board.getRank(snapshot.getUuid());
+            lore.add(plugin.getConfigManager().translateColorCodes("&7Your Rank: &e" + (rank > 0 ? "#" + rank : "-")
+                + " &7of &e" + board.size()));
+            lore.add("");
+            lore.add(plugin.getConfigManager().translateColorCodes("&e▶ Click to view the leaderboard"));
+            meta.setLore(lore);
+            leaderboardButton.setItemMeta(meta);
+        }
+        slots[22] = leaderboardButton;
     }
     
     /**
      * Setup quick information panels
      */
-    private void setupQuickInfoPanels() {
+    private void setupQuickInfoPanels(ItemStack[] slots) {
         // Quick objectives overview
         ItemStack quickObjectives = new ItemStack(Material.PAPER);
         ItemMeta meta = quickObjectives.getItemMeta();
@@ -422,7 +431,7 @@ public class JobDetailGUI implements Listener {
             meta.setLore(lore);
             quickObjectives.setItemMeta(meta);
         }
-        inventory.setItem(29, quickObjectives);
+        slots[29] = quickObjectives;
         
         // Quick rewards overview
         ItemStack quickRewards = new ItemStack(Material.GOLD_INGOT);
@@ -438,17 +447,17 @@ public class JobDetailGUI implements Listener {
             meta.setLore(lore);
             quickRewards.setItemMeta(meta);
         }
-        inventory.setItem(33, quickRewards);
+        slots[33] = quickRewards;
     }
     
     /**
      * Setup navigation buttons with HeadDatabase
      */
-    private void setupNavigation() {
+    private void setupNavigation(ItemStack[] slots) {
         // Back button with HeadDatabase
         ItemStack backButton;
-        if (headDatabaseAvailable) {
-            backButton = createPlayerHead("hdb:69026"); // Back arrow as requested
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            backButton = plugin.getIconCache().getHead("hdb:69026"); // Back arrow as requested
         } else {
             backButton = new ItemStack(Material.ARROW);
         }
@@ -465,12 +474,12 @@ public class JobDetailGUI implements Listener {
             meta.setLore(lore);
             backButton.setItemMeta(meta);
         }
-        inventory.setItem(38, backButton);
+        slots[38] = backButton;
         
         // Refresh button with HeadDatabase
         ItemStack refreshButton;
-        if (headDatabaseAvailable) {
-            refreshButton = createPlayerHead("hdb:67690"); // Refresh icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            refreshButton = plugin.getIconCache().getHead("hdb:67690"); // Refresh icon
         } else {
             refreshButton = new ItemStack(Material.LIME_DYE);
         }
@@ -487,12 +496,12 @@ public class JobDetailGUI implements Listener {
             meta.setLore(lore);
             refreshButton.setItemMeta(meta);
         }
-        inventory.setItem(40, refreshButton);
+        slots[40] = refreshButton;
         
         // Close button with HeadDatabase
         ItemStack closeButton;
-        if (headDatabaseAvailable) {
-            closeButton = createPlayerHead("hdb:69026"); // Close X icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            closeButton = plugin.getIconCache().getHead("hdb:69026"); // Close X icon
         } else {
             closeButton = new ItemStack(Material.BARRIER);
         }
@@ -509,7 +518,7 @@ public class JobDetailGUI implements Listener {
             meta.setLore(lore);
             closeButton.setItemMeta(meta);
         }
-        inventory.setItem(42, closeButton);
+        slots[42] = closeButton;
     }
     
     /**
@@ -538,19 +547,11 @@ public class JobDetailGUI implements Listener {
         return count;
     }
     
-    /**
-     * Open the GUI for the player
-     */
-    public void open() {
-        player.openInventory(inventory);
-    }
-    
     /**
      * Handle inventory clicks
      */
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
+    @Override
+    public void handleClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player)) return;
         
         event.setCancelled(true); // Prevent item movement
@@ -570,7 +571,7 @@ public class JobDetailGUI implements Listener {
         }
         
         if (slot == 40) { // Refresh button
-            setupGUI(); // Refresh the GUI
+            refresh(); // Rebuild from fresh player data
             return;
         }
         
@@ -584,6 +585,11 @@ public class JobDetailGUI implements Listener {
             return;
         }
         
+        if (slot == 22) { // Leaderboard button
+            new LeaderboardGUI(plugin, player, job, this).open();
+            return;
+        }
+        
         if (slot == 24) { // Level rewards button
             new LevelRewardsGUI(plugin, player, job, this).open();
             return;
@@ -614,25 +620,25 @@ public class JobDetailGUI implements Listener {
      */
     private void handleJoinJob() {
         // Check max jobs limit
-        int currentJobs = plugin.getPlayerDataManager().getPlayerJobs(player.getUniqueId()).size();
+        int currentJobs = plugin.getPlayerDataManager().getJobCount(player.getUniqueId());
         int maxJobs = plugin.getConfigManager().getMaxJobs();
         
         if (currentJobs >= maxJobs) {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("max_jobs_reached"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "max_jobs_reached"));
             return;
         }
         
         if (plugin.getPlayerDataManager().joinJob(player.getUniqueId(), job.getName())) {
             // Record join timestamp for cooldown
-            plugin.getDatabaseManager().recordJobJoin(player.getUniqueId(), job.getName());
+            plugin.getPlayerDataManager().recordJobJoin(player.getUniqueId(), job.getName());
             
-            String message = plugin.getConfigManager().getPrefixedMessage("job_joined", "job", job.getName());
+            String message = plugin.getConfigManager().getPrefixedMessage(player, "job_joined", "job", job.getName());
             player.sendMessage(message);
             
             // Refresh GUI
-            setupGUI();
+            refresh();
         } else {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("error_occurred"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "error_occurred"));
         }
     }
     
@@ -641,7 +647,7 @@ public class JobDetailGUI implements Listener {
      */
     private void handleLeaveJob() {
         // Check join-to-leave cooldown
-        long joinTimestamp = plugin.getDatabaseManager().getJobJoinTimestamp(player.getUniqueId(), job.getName());
+        long joinTimestamp = plugin.getPlayerDataManager().getJobJoinTimestamp(player.getUniqueId(), job.getName());
         
         if (joinTimestamp > 0) {
             String cooldownString = plugin.getConfigManager().getJobLeaveCooldown();
@@ -652,7 +658,7 @@ public class JobDetailGUI implements Listener {
                 long remainingTime = TimeUtils.getRemainingCooldown(joinTimestamp, cooldownDuration);
                 String remainingTimeFormatted = TimeUtils.formatTime(remainingTime);
                 
-                String cooldownMessage = plugin.getConfigManager().getMessage("job_leave_cooldown", "time", remainingTimeFormatted);
+                String cooldownMessage = plugin.getConfigManager().getMessage(player, "job_leave_cooldown", "time", remainingTimeFormatted);
                 player.sendMessage(cooldownMessage);
                 return;
             }
@@ -660,13 +666,13 @@ public class JobDetailGUI implements Listener {
         
         // Proceed with leaving the job
         if (plugin.getPlayerDataManager().leaveJob(player.getUniqueId(), job.getName())) {
-            String message = plugin.getConfigManager().getPrefixedMessage("job_left", "job", job.getName());
+            String message = plugin.getConfigManager().getPrefixedMessage(player, "job_left", "job", job.getName());
             player.sendMessage(message);
             
             // Refresh GUI
-            setupGUI();
+            refresh();
         } else {
-            player.sendMessage(plugin.getConfigManager().getPrefixedMessage("error_occurred"));
+            player.sendMessage(plugin.getConfigManager().getPrefixedMessage(player, "error_occurred"));
         }
     }
     
@@ -684,7 +690,7 @@ public class JobDetailGUI implements Listener {
             int level = plugin.getPlayerDataManager().getJobLevel(player.getUniqueId(), job.getName());
             double exp = plugin.getPlayerDataManager().getJobExperience(player.getUniqueId(), job.getName());
             double progress = plugin.getPlayerDataManager().getLevelProgress(player.getUniqueId(), job.getName());
-            double nextLevelExp = plugin.getPlayerDataManager().getExpRequiredForNextLevel(level);
+            double nextLevelExp = plugin.getPlayerDataManager().getExpRequiredForNextLevel(job.getName(), level);
             
             String progressBar = createProgressBar(progress, 20);
             
@@ -721,89 +727,4 @@ public class JobDetailGUI implements Listener {
         bar.append("&8]");
         return plugin.getConfigManager().translateColorCodes(bar.toString());
     }
-    
-    /**
-     * Create a player head from texture value or HeadDatabase ID
-     * Supports both HeadDatabase format (hdb:ID) and texture values
-     */
-    private ItemStack createPlayerHead(String textureOrId) {
-        if (textureOrId == null || textureOrId.isEmpty()) {
-            return new ItemStack(Material.PLAYER_HEAD);
-        }
-        
-        // Check if it's a HeadDatabase ID
-        if (textureOrId.startsWith("hdb:") && headDatabaseAvailable) {
-            try {
-                String headId = textureOrId.substring(4); // Remove "hdb:" prefix
-                return getHeadDatabaseHead(headId);
-            } catch (Exception e) {
-                // Fallback to vanilla player head if HeadDatabase fails
-                return new ItemStack(Material.PLAYER_HEAD);
-            }
-        }
-        
-        // Create vanilla player head with texture
-        ItemStack head = new ItemStack(Material.PLAYER_HEAD);
-        SkullMeta meta = (SkullMeta) head.getItemMeta();
-        
-        if (meta != null) {
-            try {
-                // Try to set texture via player profile (for texture values)
-                UUID randomUuid = UUID.randomUUID();
-                setPlayerHeadTexture(meta, textureOrId, randomUuid);
-            } catch (Exception e) {
-                // If texture setting fails, just return basic player head
-            }
-            
-            head.setItemMeta(meta);
-        }
-        
-        return head;
-    }
-    
-    /**
-     * Get head from HeadDatabase plugin using reflection
-     */
-    private ItemStack getHeadDatabaseHead(String headId) throws Exception {
-        Plugin headDbPlugin = Bukkit.getPluginManager().getPlugin("HeadDatabase");
-        if (headDbPlugin == null) {
-            throw new Exception("HeadDatabase not found");
-        }
-        
-        // Get HeadDatabaseAPI instance
-        Class<?> apiClass = Class.forName("me.arcaniax.hdb.api.HeadDatabaseAPI");
-        Object api = apiClass.getDeclaredConstructor().newInstance();
-        
-        // Call getItemHead(String id) method
-        Method getItemHeadMethod = apiClass.getMethod("getItemHead", String.class);
-        ItemStack head = (ItemStack) getItemHeadMethod.invoke(api, headId);
-        
-        return head != null ? head : new ItemStack(Material.PLAYER_HEAD);
-    }
-    
-    /**
-     * Set player head texture using reflection for compatibility
-     */
-    private void setPlayerHeadTexture(SkullMeta meta, String texture, UUID uuid) throws Exception {
-        // Create GameProfile
-        Class<?> gameProfileClass = Class.forName("com.mojang.authlib.GameProfile");
-        java.lang.reflect.Constructor<?> gameProfileConstructor = gameProfileClass.getConstructor(UUID.class, String.class);
-        Object gameProfile = gameProfileConstructor.newInstance(uuid, "");
-        
-        // Create Property for texture
-        Class<?> propertyClass = Class.forName("com.mojang.authlib.properties.Property");
-        java.lang.reflect.Constructor<?> propertyConstructor = propertyClass.getConstructor(String.class, String.class);
-        Object property = propertyConstructor.newInstance("textures", texture);
-        
-        // Add property to profile
-        Method getPropertiesMethod = gameProfileClass.getMethod("getProperties");
-        Object properties = getPropertiesMethod.invoke(gameProfile);
-        Method putMethod = properties.getClass().getMethod("put", Object.class, Object.class);
-        putMethod.invoke(properties, "textures", property);
-        
-        // Set profile to skull meta using reflection
-        java.lang.reflect.Field profileField = meta.getClass().getDeclaredField("profile");
-        profileField.setAccessible(true);
-        profileField.set(meta, gameProfile);
-    }
 }
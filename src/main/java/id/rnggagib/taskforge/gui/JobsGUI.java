@@ -3,22 +3,12 @@ package id.rnggagib.taskforge.gui;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.lang.reflect.Constructor;
 
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.inventory.meta.SkullMeta;
-import org.bukkit.plugin.Plugin;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
 import id.rnggagib.taskforge.jobs.Job;
@@ -30,56 +20,39 @@ import id.rnggagib.taskforge.utils.TimeUtils;
 /**
  * Professional Jobs Browser GUI - Main hub for job discovery and management
  */
-public class JobsGUI implements Listener {
-    
-    private final TaskForgePlugin plugin;
-    private final Player player;
-    private final Inventory inventory;
-    private boolean headDatabaseAvailable = false;
+public class JobsGUI extends ModelGUI {
     
     public JobsGUI(TaskForgePlugin plugin, Player player) {
-        this.plugin = plugin;
-        this.player = player;
-        
-        // Check if HeadDatabase is available
-        Plugin headDbPlugin = Bukkit.getPluginManager().getPlugin("HeadDatabase");
-        headDatabaseAvailable = headDbPlugin != null && headDbPlugin.isEnabled();
-        
-        String title = plugin.getConfigManager().translateColorCodes(
-            "&8⚒ &eTaskForge &8⚒ &7Jobs Browser");
-        
-        this.inventory = Bukkit.createInventory(null, 54, title);
-        
-        // Register event listener
-        Bukkit.getPluginManager().registerEvents(this, plugin);
-        
-        setupGUI();
+        super(plugin, player, 54, plugin.getConfigManager().translateColorCodes(
+            "&8⚒ &eTaskForge &8⚒ &7Jobs Browser"));
     }
     
     /**
-     * Setup the professional jobs browser GUI with compact design
+     * Build the professional jobs browser GUI with compact design
      */
-    private void setupGUI() {
-        // Clear inventory
-        inventory.clear();
+    @Override
+    protected ItemStack[] buildModel(PlayerSnapshot snapshot) {
+        ItemStack[] slots = new ItemStack[inventory.getSize()];
         
         // Fill decorative background for compact design
-        fillCompactBackground();
+        fillCompactBackground(slots);
         
         // Add header info panel
-        setupHeaderInfo();
+        setupHeaderInfo(slots, snapshot);
         
         // Setup job slots in compact grid
-        setupJobSlots();
+        setupJobSlots(slots, snapshot);
         
         // Add navigation and utility buttons
-        setupNavigationButtons();
+        setupNavigationButtons(slots, snapshot);
+        
+        return slots;
     }
     
     /**
      * Fill background with decorative glass panes for compact design
      */
-    private void fillCompactBackground() {
+    private void fillCompactBackground(ItemStack[] slots) {
         ItemStack background = createBackgroundItem();
         ItemStack accent = createAccentItem();
         
@@ -88,26 +61,26 @@ public class JobsGUI implements Listener {
         for (int i = 0; i < 9; i++) {
             if (i != 4) { // Leave slot 4 for player info
                 if (i == 1 || i == 7) {
-                    inventory.setItem(i, accent);
+                    slots[i] = accent;
                 } else {
-                    inventory.setItem(i, background);
+                    slots[i] = background;
                 }
             }
         }
         
         // Middle section borders (left and right edges only)
-        inventory.setItem(9, background);
-        inventory.setItem(17, background);
-        inventory.setItem(18, background); 
-        inventory.setItem(26, background);
+        slots[9] = background;
+        slots[17] = background;
+        slots[18] = background; 
+        slots[26] = background;
         
         // Bottom section - leave space for navigation
         for (int i = 36; i < 45; i++) {
             if (i != 38 && i != 39 && i != 40 && i != 42) { // Leave space for nav buttons
                 if (i == 37 || i == 41 || i == 43) {
-                    inventory.setItem(i, accent);
+                    slots[i] = accent;
                 } else {
-                    inventory.setItem(i, background);
+                    slots[i] = background;
                 }
             }
         }
@@ -115,18 +88,18 @@ public class JobsGUI implements Listener {
         // Fill last row completely with panes
         for (int i = 45; i < 54; i++) {
             if (i == 46 || i == 48 || i == 50 || i == 52) {
-                inventory.setItem(i, accent);
+                slots[i] = accent;
             } else {
-                inventory.setItem(i, background);
+                slots[i] = background;
             }
         }
         
         // Add separator line between jobs and navigation
         for (int i = 27; i < 36; i++) {
             if (i == 30 || i == 32) {
-                inventory.setItem(i, accent);
+                slots[i] = accent;
             } else {
-                inventory.setItem(i, background);
+                slots[i] = background;
             }
         }
     }
@@ -173,22 +146,22 @@ public class JobsGUI implements Listener {
     /**
      * Setup header information panel
      */
-    private void setupHeaderInfo() {
+    private void setupHeaderInfo(ItemStack[] slots, PlayerSnapshot snapshot) {
         // Player stats summary
-        ItemStack playerInfo = createPlayerInfoItem();
-        inventory.setItem(4, playerInfo);
+        ItemStack playerInfo = createPlayerInfoItem(snapshot);
+        slots[4] = playerInfo;
     }
     
     /**
      * Create player information display item
      */
-    private ItemStack createPlayerInfoItem() {
+    private ItemStack createPlayerInfoItem(PlayerSnapshot snapshot) {
         ItemStack item = new ItemStack(Material.PLAYER_HEAD);
         ItemMeta meta = item.getItemMeta();
         
         if (meta != null) {
             meta.setDisplayName(plugin.getConfigManager().translateColorCodes(
-                "&e&l⚑ " + player.getName() + "'s Job Overview"));
+                "&e&l⚑ " + snapshot.getName() + "'s Job Overview"));
             
             List<String> lore = new ArrayList<>();
             lore.add("");
@@ -199,9 +172,10 @@ public class JobsGUI implements Listener {
             Map<String, Job> allJobs = plugin.getJobManager().getAllJobs();
             
             for (Job job : allJobs.values()) {
-                if (plugin.getPlayerDataManager().hasJob(player.getUniqueId(), job.getName())) {
+                PlayerSnapshot.JobState state = snapshot.getJob(job.getName());
+                if (state != null) {
                     activeJobs++;
-                    totalLevel += plugin.getPlayerDataManager().getJobLevel(player.getUniqueId(), job.getName());
+                    totalLevel += state.getLevel();
                 }
             }
             
@@ -223,7 +197,7 @@ public class JobsGUI implements Listener {
     /**
      * Setup job slots in optimized grid layout
      */
-    private void setupJobSlots() {
+    private void setupJobSlots(ItemStack[] slots, PlayerSnapshot snapshot) {
         Map<String, Job> jobs = plugin.getJobManager().getAllJobs();
         
         // Optimized layout for jobs - 2 rows, more slots used efficiently
@@ -240,49 +214,49 @@ public class JobsGUI implements Listener {
         for (Job job : jobs.values()) {
             if (slotIndex >= jobSlots.length) break; // Max 12 jobs displayed
             
-            ItemStack jobItem = createJobItem(job);
-            inventory.setItem(jobSlots[slotIndex], jobItem);
+            ItemStack jobItem = createJobItem(job, snapshot);
+            slots[jobSlots[slotIndex]] = jobItem;
             slotIndex++;
         }
         
         // Add visual separators in the center slots for balance
         if (jobs.size() <= 12) { // Only add separators if we have space
             ItemStack separator = createSeparatorItem();
-            inventory.setItem(13, separator); // Center of top row
-            inventory.setItem(22, separator); // Center of bottom row
+            slots[13] = separator; // Center of top row
+            slots[22] = separator; // Center of bottom row
         }
     }
     
     /**
      * Setup navigation and utility buttons with HeadDatabase heads
      */
-    private void setupNavigationButtons() {
+    private void setupNavigationButtons(ItemStack[] slots, PlayerSnapshot snapshot) {
         // Refresh button (slot 38 - bottom left area)
         ItemStack refreshItem = createRefreshButton();
-        inventory.setItem(38, refreshItem);
+        slots[38] = refreshItem;
         
         // Salary button (slot 39 - left center)
-        ItemStack salaryItem = createSalaryButton();
-        inventory.setItem(39, salaryItem);
+        ItemStack salaryItem = createSalaryButton(snapshot);
+        slots[39] = salaryItem;
         
         // Help button (slot 40 - bottom center)
         ItemStack helpItem = createHelpButton();
-        inventory.setItem(40, helpItem);
+        slots[40] = helpItem;
         
         // Close button (slot 42 - bottom right area)
         ItemStack closeItem = createCloseButton();
-        inventory.setItem(42, closeItem);
+        slots[42] = closeItem;
     }
     
     /**
      * Create an enhanced item representing a job
      */
-    private ItemStack createJobItem(Job job) {
+    private ItemStack createJobItem(Job job, PlayerSnapshot snapshot) {
         ItemStack item;
         
         // Try to use player head if texture is provided
         if (job.getPlayerHeadTexture() != null && !job.getPlayerHeadTexture().isEmpty()) {
-            item = createPlayerHead(job.getPlayerHeadTexture());
+            item = plugin.getIconCache().getHead(job.getPlayerHeadTexture());
         } else {
             // Fallback to material icon
             item = new ItemStack(job.getItemIcon());
@@ -290,7 +264,8 @@ public class JobsGUI implements Listener {
         
         ItemMeta meta = item.getItemMeta();
         if (meta != null) {
-            boolean hasJob = plugin.getPlayerDataManager().hasJob(player.getUniqueId(), job.getName());
+            PlayerSnapshot.JobState state = snapshot.getJob(job.getName());
+            boolean hasJob = state != null;
             
             // Enhanced display name with status indicators
             String statusIcon = hasJob ? "&a&l✓ " : "&7▶ ";
@@ -306,9 +281,9 @@ public class JobsGUI implements Listener {
             
             // Status section
             if (hasJob) {
-                int level = plugin.getPlayerDataManager().getJobLevel(player.getUniqueId(), job.getName());
-                double exp = plugin.getPlayerDataManager().getJobExperience(player.getUniqueId(), job.getName());
-                double progress = plugin.getPlayerDataManager().getLevelProgress(player.getUniqueId(), job.getName());
+                int level = state.getLevel();
+                double exp = state.getExperience();
+                double progress = state.getProgress();
                 
                 lore.add(plugin.getConfigManager().translateColorCodes("&a&l⚡ ACTIVE JOB"));
                 lore.add(plugin.getConfigManager().translateColorCodes("&8├ &7Level: &e&l" + level));
@@ -317,7 +292,7 @@ public class JobsGUI implements Listener {
                     createProgressBar(progress, 10) + " &a" + String.format("%.1f%%", progress * 100)));
                 
                 // Add cooldown information
-                long joinTimestamp = plugin.getDatabaseManager().getJobJoinTimestamp(player.getUniqueId(), job.getName());
+                long joinTimestamp = state.getJoinTimestamp();
                 if (joinTimestamp > 0) {
                     String cooldownString = plugin.getConfigManager().getJobLeaveCooldown();
                     long cooldownDuration = TimeUtils.parseTimeToMillis(cooldownString);
@@ -414,8 +389,8 @@ public class JobsGUI implements Listener {
         ItemStack item;
         
         // Try to use HeadDatabase for refresh icon
-        if (headDatabaseAvailable) {
-            item = createPlayerHead("hdb:67690"); // Refresh/reload icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            item = plugin.getIconCache().getHead("hdb:67690"); // Refresh/reload icon
         } else {
             item = new ItemStack(Material.EMERALD);
         }
@@ -445,8 +420,8 @@ public class JobsGUI implements Listener {
         ItemStack item;
         
         // Try to use HeadDatabase for help icon
-        if (headDatabaseAvailable) {
-            item = createPlayerHead("hdb:109620"); // Question mark icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            item = plugin.getIconCache().getHead("hdb:109620"); // Question mark icon
         } else {
             item = new ItemStack(Material.BOOK);
         }
@@ -482,8 +457,8 @@ public class JobsGUI implements Listener {
         ItemStack item;
         
         // Try to use HeadDatabase for close icon
-        if (headDatabaseAvailable) {
-            item = createPlayerHead("hdb:69026"); // Red X close icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            item = plugin.getIconCache().getHead("hdb:69026"); // Red X close icon
         } else {
             item = new ItemStack(Material.BARRIER);
         }
@@ -509,12 +484,12 @@ public class JobsGUI implements Listener {
     /**
      * Create salary button using HeadDatabase
      */
-    private ItemStack createSalaryButton() {
+    private ItemStack createSalaryButton(PlayerSnapshot snapshot) {
         ItemStack item;
         
         // Try to use HeadDatabase for salary icon (hdb:54233)
-        if (headDatabaseAvailable) {
-            item = createPlayerHead("hdb:54233"); // Money/coin icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            item = plugin.getIconCache().getHead("hdb:54233"); // Money/coin icon
         } else {
             item = new ItemStack(Material.GOLD_INGOT);
         }
@@ -527,14 +502,14 @@ public class JobsGUI implements Listener {
             lore.add("");
             
             // Get pending salary if salary system is enabled
-            if (plugin.getSalaryManager() != null) {
-                double pendingSalary = plugin.getSalaryManager().getPendingSalary(player.getUniqueId());
+            if (snapshot.isSalaryEnabled()) {
+                double pendingSalary = snapshot.getPendingSalary();
                 
                 lore.add(plugin.getConfigManager().translateColorCodes("&e&l💰 SALARY STATUS"));
                 lore.add(plugin.getConfigManager().translateColorCodes("&8├ &7Pending Salary: &a$" + String.format("%.2f", pendingSalary)));
                 
                 // Get payout interval information
-                int intervalMinutes = plugin.getConfigManager().getConfig().getInt("salary.payout_interval_minutes", 60);
+                int intervalMinutes = plugin.getConfigManager().getSettings().getSalaryPayoutIntervalMinutes();
                 lore.add(plugin.getConfigManager().translateColorCodes("&8├ &7Payout Interval: &b" + intervalMinutes + " minutes"));
                 
                 // Show status
@@ -563,19 +538,11 @@ public class JobsGUI implements Listener {
         return item;
     }
     
-    /**
-     * Open the GUI for the player
-     */
-    public void open() {
-        player.openInventory(inventory);
-    }
-    
     /**
      * Handle inventory clicks with enhanced navigation
      */
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
+    @Override
+    public void handleClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player)) return;
         
         event.setCancelled(true); // Prevent item movement
@@ -590,7 +557,7 @@ public class JobsGUI implements Listener {
         
         // Handle navigation buttons
         if (slot == 38) { // Refresh button
-            setupGUI(); // Refresh the GUI
+            refresh(); // Rebuild from fresh player data
             return;
         }
         
@@ -690,89 +657,4 @@ public class JobsGUI implements Listener {
                 return actionType.toString().toLowerCase().replace("_", " ") + " " + target.toString().toLowerCase().replace("_", " ");
         }
     }
-    
-    /**
-     * Create a player head from texture value or HeadDatabase ID
-     * Supports both HeadDatabase format (hdb:ID) and texture values
-     */
-    private ItemStack createPlayerHead(String textureOrId) {
-        if (textureOrId == null || textureOrId.isEmpty()) {
-            return new ItemStack(Material.PLAYER_HEAD);
-        }
-        
-        // Check if it's a HeadDatabase ID
-        if (textureOrId.startsWith("hdb:") && headDatabaseAvailable) {
-            try {
-                String headId = textureOrId.substring(4); // Remove "hdb:" prefix
-                return getHeadDatabaseHead(headId);
-            } catch (Exception e) {
-                // Fallback to vanilla player head if HeadDatabase fails
-                return new ItemStack(Material.PLAYER_HEAD);
-            }
-        }
-        
-        // Create vanilla player head with texture
-        ItemStack head = new ItemStack(Material.PLAYER_HEAD);
-        SkullMeta meta = (SkullMeta) head.getItemMeta();
-        
-        if (meta != null) {
-            try {
-                // Try to set texture via player profile (for texture values)
-                UUID randomUuid = UUID.randomUUID();
-                setPlayerHeadTexture(meta, textureOrId, randomUuid);
-            } catch (Exception e) {
-                // If texture setting fails, just return basic player head
-            }
-            
-            head.setItemMeta(meta);
-        }
-        
-        return head;
-    }
-    
-    /**
-     * Get head from HeadDatabase plugin using reflection
-     */
-    private ItemStack getHeadDatabaseHead(String headId) throws Exception {
-        Plugin headDbPlugin = Bukkit.getPluginManager().getPlugin("HeadDatabase");
-        if (headDbPlugin == null) {
-            throw new Exception("HeadDatabase not found");
-        }
-        
-        // Get HeadDatabaseAPI instance
-        Class<?> apiClass = Class.forName("me.arcaniax.hdb.api.HeadDatabaseAPI");
-        Object api = apiClass.getDeclaredConstructor().newInstance();
-        
-        // Call getItemHead(String id) method
-        Method getItemHeadMethod = apiClass.getMethod("getItemHead", String.class);
-        ItemStack head = (ItemStack) getItemHeadMethod.invoke(api, headId);
-        
-        return head != null ? head : new ItemStack(Material.PLAYER_HEAD);
-    }
-    
-    /**
-     * Set player head texture using reflection for compatibility
-     */
-    private void setPlayerHeadTexture(SkullMeta meta, String texture, UUID uuid) throws Exception {
-        // Create GameProfile
-        Class<?> gameProfileClass = Class.forName("com.mojang.authlib.GameProfile");
-        Constructor<?> gameProfileConstructor = gameProfileClass.getConstructor(UUID.class, String.class);
-        Object gameProfile = gameProfileConstructor.newInstance(uuid, "");
-        
-        // Create Property for texture
-        Class<?> propertyClass = Class.forName("com.mojang.authlib.properties.Property");
-        Constructor<?> propertyConstructor = propertyClass.getConstructor(String.class, String.class);
-        Object property = propertyConstructor.newInstance("textures", texture);
-        
-        // Add property to profile
-        Method getPropertiesMethod = gameProfileClass.getMethod("getProperties");
-        Object properties = getPropertiesMethod.invoke(gameProfile);
-        Method putMethod = properties.getClass().getMethod("put", Object.class, Object.class);
-        putMethod.invoke(properties, "textures", property);
-        
-        // Set profile to skull meta using reflection
-        Field profileField = meta.getClass().getDeclaredField("profile");
-        profileField.setAccessible(true);
-        profileField.set(meta, gameProfile);
-    }
 }
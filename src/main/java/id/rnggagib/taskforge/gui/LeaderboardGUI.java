@@ -0,0 +1,233 @@
+package id.rnggagib.taskforge.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.jobs.Job;
+import id.rnggagib.taskforge.jobs.Leaderboard;
+import id.rnggagib.taskforge.managers.LeaderboardManager;
+import id.rnggagib.taskforge.managers.LeaderboardManager.Metric;
+
+/**
+ * Leaderboard GUI - ranked players of a job by level, money earned or actions
+ * Pages are read from the in-memory leaderboards, so building one never touches the database
+ */
+public class LeaderboardGUI extends ModelGUI {
+    
+    private final Job job;
+    private final JobDetailGUI parentGUI;
+    
+    // Current view, read by the async builder
+    private volatile Metric metric = Metric.LEVEL;
+    private volatile int currentPage = 0;
+    
+    public LeaderboardGUI(TaskForgePlugin plugin, Player player, Job job, JobDetailGUI parentGUI) {
+        super(plugin, player, 54, plugin.getConfigManager().translateColorCodes(
+            "&8" + job.getDisplayName() + " &8- &eLeaderboard"));
+        this.job = job;
+        this.parentGUI = parentGUI;
+    }
+    
+    /**
+     * Build the leaderboard page for the current metric
+     */
+    @Override
+    protected ItemStack[] buildModel(PlayerSnapshot snapshot) {
+        ItemStack[] slots = new ItemStack[inventory.getSize()];
+        Leaderboard board = getBoard();
+        
+        // Fill background
+        ItemStack background = createItem(Material.GRAY_STAINED_GLASS_PANE, " ", new ArrayList<>());
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = background;
+        }
+        
+        int totalPages = getTotalPages(board);
+        int page = Math.min(currentPage, totalPages - 1);
+        
+        // Title item (with page info)
+        List<String> lore = new ArrayList<>();
+        lore.add(plugin.getConfigManager().translateColorCodes("&7Ranked by: &f" + getMetricName(metric)));
+        lore.add(plugin.getConfigManager().translateColorCodes("&7Ranked players: &f" + board.size()));
+        lore.add("");
+        lore.add(plugin.getConfigManager().translateColorCodes("&e&lPage: &f" + (page + 1) + " / " + totalPages));
+        if (!plugin.getLeaderboardManager().isLoaded()) {
+            lore.add("");
+            lore.add(plugin.getConfigManager().translateColorCodes("&7Leaderboards are still loading..."));
+        }
+        slots[4] = createItem(Material.NETHER_STAR, "&6&l" + job.getDisplayName() + " TOP PLAYERS", lore);
+        
+        // Ranked players of this page
+        List<Leaderboard.Entry> entries = board.getRange(page * ObjectivePages.PER_PAGE + 1, ObjectivePages.PER_PAGE);
+        for (int i = 0; i < entries.size(); i++) {
+            slots[ObjectivePages.DISPLAY_SLOTS[i]] = createEntryItem(entries.get(i), snapshot.getUuid());
+        }
+        
+        setupNavigation(slots, board, page, totalPages, snapshot);
+        
+        return slots;
+    }
+    
+    /**
+     * Setup page, metric, own rank and exit buttons
+     */
+    private void setupNavigation(ItemStack[] slots, Leaderboard board, int page, int totalPages, PlayerSnapshot snapshot) {
+        List<String> lore = new ArrayList<>();
+        
+        // Previous page button (slot 0)
+        if (page > 0) {
+            lore.add(plugin.getConfigManager().translateColorCodes("&7Go to page " + page));
+            slots[0] = createItem(Material.ARROW, "&e&l← Previous Page", lore);
+        }
+        
+        // Next page button (slot 8)
+        if (page < totalPages - 1) {
+            lore = new ArrayList<>();
+            lore.add(plugin.getConfigManager().translateColorCodes("&7Go to page " + (page + 2)));
+            slots[8] = createItem(Material.SPECTRAL_ARROW, "&e&lNext Page →", lore);
+        }
+        
+        // Back button (slot 45)
+        lore = new ArrayList<>();
+        lore.add(plugin.getConfigManager().translateColorCodes("&7Return to " + job.getDisplayName() + " hub"));
+        slots[45] = createItem(Material.ARROW, "&c&l← &cBack to Job Hub", lore);
+        
+        // Metric button (slot 47)
+        lore = new ArrayList<>();
+        lore.add("");
+        for (Metric option : Metric.values()) {
+            String marker = option == metric ? "&a▶ " : "&8- ";
+            lore.add(plugin.getConfigManager().translateColorCodes(marker + "&7" + getMetricName(option)));
+        }
+        lore.add("");
+        lore.add(plugin.getConfigManager().translateColorCodes("&e▶ Click to change the ranking"));
+        slots[47] = createItem(Material.COMPARATOR, "&b&lRanked by: &f" + getMetricName(metric), lore);
+        
+        // Close button (slot 49)
+        slots[49] = createItem(Material.BARRIER, "&c&l✕ &cClose", new ArrayList<>());
+        
+        // Own rank with the players around it (slot 51)
+        lore = new ArrayList<>();
+        List<Leaderboard.Entry> around = board.getAround(snapshot.getUuid(), 2);
+        if (around.isEmpty()) {
+            lore.add(plugin.getConfigManager().translateColorCodes("&7You are not ranked yet"));
+        } else {
+            for (Leaderboard.Entry entry : around) {
+                String color = entry.getPlayerUUID().equals(snapshot.getUuid()) ? "&a" : "&7";
+                lore.add(plugin.getConfigManager().translateColorCodes("&e#" + entry.getRank() + " " + color
+                    + plugin.getLeaderboardManager().getName(entry.getPlayerUUID()) + " &8- "
+                    + plugin.getLeaderboardManager().formatScore(metric, entry)));
+            }
+            lore.add("");
+            lore.add(plugin.getConfigManager().translateColorCodes("&e▶ Click to go to your page"));
+        }
+        int rank = board.getRank(snapshot.getUuid());
+        slots[51] = createItem(Material.PLAYER_HEAD, "&a&lYour Rank: &f" + (rank > 0 ? "#" + rank : "-"), lore);
+    }
+    
+    /**
+     * Create the item of one ranked player; the top three get a podium block
+     */
+    private ItemStack createEntryItem(Leaderboard.Entry entry, UUID viewer) {
+        Material material;
+        switch (entry.getRank()) {
+            case 1: material = Material.GOLD_BLOCK; break;
+            case 2: material = Material.IRON_BLOCK; break;
+            case 3: material = Material.COPPER_BLOCK; break;
+            default: material = Material.PLAYER_HEAD; break;
+        }
+        
+        LeaderboardManager leaderboards = plugin.getLeaderboardManager();
+        String nameColor = entry.getPlayerUUID().equals(viewer) ? "&a" : "&f";
+        List<String> lore = new ArrayList<>();
+        lore.add(plugin.getConfigManager().translateColorCodes(leaderboards.formatScore(metric, entry)));
+        if (entry.getPlayerUUID().equals(viewer)) {
+            lore.add("");
+            lore.add(plugin.getConfigManager().translateColorCodes("&a&lThis is you!"));
+        }
+        return createItem(material, "&e#" + entry.getRank() + " " + nameColor + leaderboards.getName(entry.getPlayerUUID()), lore);
+    }
+    
+    private ItemStack createItem(Material material, String name, List<String> lore) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            meta.setDisplayName(plugin.getConfigManager().translateColorCodes(name));
+            meta.setLore(lore);
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+    
+    private Leaderboard getBoard() {
+        return plugin.getLeaderboardManager().getLeaderboard(job.getName(), metric);
+    }
+    
+    private static int getTotalPages(Leaderboard board) {
+        return Math.max(1, (board.size() + ObjectivePages.PER_PAGE - 1) / ObjectivePages.PER_PAGE);
+    }
+    
+    private static String getMetricName(Metric metric) {
+        switch (metric) {
+            case MONEY: return "Money Earned";
+            case ACTIONS: return "Actions";
+            default: return "Level";
+        }
+    }
+    
+    /**
+     * Handle inventory clicks with pagination support
+     */
+    @Override
+    public void handleClick(InventoryClickEvent event) {
+        if (!(event.getWhoClicked() instanceof Player)) return;
+        
+        event.setCancelled(true); // Prevent item movement
+        
+        Player clicker = (Player) event.getWhoClicked();
+        if (!clicker.equals(player)) return;
+        
+        switch (event.getSlot()) {
+            case 0: // Previous page
+                if (currentPage > 0) {
+                    currentPage = Math.min(currentPage, getTotalPages(getBoard()) - 1) - 1;
+                    refresh();
+                }
+                break;
+            case 8: // Next page
+                if (currentPage < getTotalPages(getBoard()) - 1) {
+                    currentPage++;
+                    refresh();
+                }
+                break;
+            case 47: // Ranking metric
+                metric = Metric.values()[(metric.ordinal() + 1) % Metric.values().length];
+                currentPage = 0;
+                refresh();
+                break;
+            case 51: // Jump to the player's own page
+                int rank = getBoard().getRank(player.getUniqueId());
+                if (rank > 0) {
+                    currentPage = (rank - 1) / ObjectivePages.PER_PAGE;
+                    refresh();
+                }
+                break;
+            case 45: // Back button
+                if (parentGUI != null) {
+                    parentGUI.open();
+                }
+                break;
+            case 49: // Close button
+                player.closeInventory();
+                break;
+        }
+    }
+}
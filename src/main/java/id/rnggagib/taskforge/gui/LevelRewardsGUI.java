@@ -7,8 +7,6 @@ import java.util.Map;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -21,7 +19,7 @@ import id.rnggagib.taskforge.jobs.JobReward;
 /**
  * GUI dedicated to showing level rewards with dynamic progression
  */
-public class LevelRewardsGUI implements Listener {
+public class LevelRewardsGUI extends BaseGUI {
     
     private final TaskForgePlugin plugin;
     private final Player player;
@@ -38,10 +36,7 @@ public class LevelRewardsGUI implements Listener {
         String title = plugin.getConfigManager().translateColorCodes(
             "&6" + job.getDisplayName() + " &8- &dLevel Rewards");
         
-        this.inventory = Bukkit.createInventory(null, 54, title);
-        
-        // Register event listener
-        Bukkit.getPluginManager().registerEvents(this, plugin);
+        this.inventory = Bukkit.createInventory(this, 54, title);
         
         setupGUI();
     }
@@ -346,12 +341,16 @@ public class LevelRewardsGUI implements Listener {
         player.openInventory(inventory);
     }
     
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+    
     /**
      * Handle inventory clicks
      */
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
+    @Override
+    public void handleClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player)) return;
         
         event.setCancelled(true); // Prevent item movement
@@ -0,0 +1,110 @@
+package id.rnggagib.taskforge.gui;
+
+import java.util.Objects;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+
+/**
+ * GUI whose contents are a view model built off the main thread
+ * The model is one item per slot, built from a PlayerSnapshot on an async task and never changed
+ * afterwards; the main thread only applies it, setting the slots that differ from the shown model
+ */
+public abstract class ModelGUI extends BaseGUI {
+    
+    protected final TaskForgePlugin plugin;
+    protected final Player player;
+    protected final Inventory inventory;
+    
+    // Main thread only
+    private ItemStack[] shown;
+    private int generation;
+    private boolean closed;
+    
+    protected ModelGUI(TaskForgePlugin plugin, Player player, int size, String title) {
+        this.plugin = plugin;
+        this.player = player;
+        this.inventory = Bukkit.createInventory(this, size, title);
+    }
+    
+    /**
+     * Build the item of every slot (null for empty) from a snapshot
+     * Runs asynchronously: read only the snapshot, the config and loaded jobs, never live player data
+     */
+    protected abstract ItemStack[] buildModel(PlayerSnapshot snapshot);
+    
+    /**
+     * Open the GUI for the player
+     * A GUI opened before shows its last model at once and refreshes; a new one opens when its model is ready
+     */
+    public void open() {
+        closed = false;
+        if (shown != null) {
+            player.openInventory(inventory);
+            refresh();
+        } else {
+            refresh(() -> player.openInventory(inventory));
+        }
+    }
+    
+    /**
+     * Rebuild the model from fresh player data and apply the changed slots
+     */
+    protected void refresh() {
+        refresh(null);
+    }
+    
+    private void refresh(Runnable then) {
+        PlayerSnapshot snapshot = PlayerSnapshot.capture(plugin, player);
+        int requested = ++generation;
+        
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            ItemStack[] model;
+            try {
+                model = buildModel(snapshot);
+            } catch (Exception e) {
+                plugin.getLogger().severe("Failed to build GUI for " + snapshot.getName() + ": " + e.getMessage());
+                return;
+            }
+            if (!plugin.isEnabled()) return;
+            
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                // A newer refresh supersedes this one; a closed GUI keeps its model for the next open
+                if (requested != generation || closed || !player.isOnline()) return;
+                
+                apply(model);
+                if (then != null) {
+                    then.run();
+                }
+            });
+        });
+    }
+    
+    /**
+     * Diff a model against the shown one and set only the slots that changed
+     */
+    private void apply(ItemStack[] model) {
+        for (int slot = 0; slot < inventory.getSize(); slot++) {
+            ItemStack item = slot < model.length ? model[slot] : null;
+            ItemStack current = shown != null && slot < shown.length ? shown[slot] : null;
+            if (!Objects.equals(item, current)) {
+                inventory.setItem(slot, item);
+            }
+        }
+        shown = model;
+    }
+    
+    @Override
+    public void handleClose(Player player) {
+        closed = true;
+    }
+    
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
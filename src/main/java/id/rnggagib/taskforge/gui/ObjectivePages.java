@@ -0,0 +1,147 @@
+package id.rnggagib.taskforge.gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.config.ConfigManager;
+import id.rnggagib.taskforge.jobs.Job.ActionType;
+import id.rnggagib.taskforge.jobs.JobObjective;
+import id.rnggagib.taskforge.jobs.ObjectiveCatalog;
+
+/**
+ * Objective items of one catalog, built once and shared by every ObjectivesGUI viewer
+ * A page is just the shared items of its entries; the inventory copies them when they are set
+ */
+final class ObjectivePages {
+    
+    // Display area: slots 10-16, 19-25, 28-34, 37-43 (4 rows, 7 columns each)
+    static final int[] DISPLAY_SLOTS = {
+        10, 11, 12, 13, 14, 15, 16,  // Row 1
+        19, 20, 21, 22, 23, 24, 25,  // Row 2
+        28, 29, 30, 31, 32, 33, 34,  // Row 3
+        37, 38, 39, 40, 41, 42, 43   // Row 4
+    };
+    
+    static final int PER_PAGE = DISPLAY_SLOTS.length;
+    
+    // Main thread only; a reload makes new catalogs, so the old items are dropped with them
+    private static final Map<ObjectiveCatalog, ObjectivePages> CACHE = new WeakHashMap<>();
+    
+    // Item of each catalog entry, by entry index
+    private final ItemStack[] items;
+    
+    private ObjectivePages(ConfigManager config, ObjectiveCatalog catalog) {
+        List<ObjectiveCatalog.Entry> entries = catalog.getEntries();
+        this.items = new ItemStack[entries.size()];
+        for (ObjectiveCatalog.Entry entry : entries) {
+            items[entry.getIndex()] = createObjectiveItem(config, entry);
+        }
+    }
+    
+    /**
+     * Get the shared items of a catalog, building them on first use
+     */
+    static ObjectivePages of(TaskForgePlugin plugin, ObjectiveCatalog catalog) {
+        return CACHE.computeIfAbsent(catalog, key -> new ObjectivePages(plugin.getConfigManager(), key));
+    }
+    
+    /**
+     * Get the number of pages for a list of entries
+     */
+    static int getPageCount(List<ObjectiveCatalog.Entry> entries) {
+        return Math.max(1, (entries.size() + PER_PAGE - 1) / PER_PAGE);
+    }
+    
+    /**
+     * Get the items of one page of a list of entries, one per display slot (null past the end)
+     */
+    ItemStack[] getPage(List<ObjectiveCatalog.Entry> entries, int page) {
+        ItemStack[] pageItems = new ItemStack[PER_PAGE];
+        int start = page * PER_PAGE;
+        int end = Math.min(start + PER_PAGE, entries.size());
+        for (int i = start; i < end; i++) {
+            pageItems[i - start] = items[entries.get(i).getIndex()];
+        }
+        return pageItems;
+    }
+    
+    /**
+     * Create objective item with action type display
+     */
+    private static ItemStack createObjectiveItem(ConfigManager config, ObjectiveCatalog.Entry entry) {
+        ActionType actionType = entry.getActionType();
+        JobObjective objective = entry.getObjective();
+        
+        // Determine material based on target
+        ItemStack item = new ItemStack(getMaterialForTarget(entry.getTarget()));
+        ItemMeta meta = item.getItemMeta();
+        if (meta != null) {
+            String actionIcon = getActionTypeIcon(actionType);
+            meta.setDisplayName(config.translateColorCodes("&e" + entry.getName() + " " + actionIcon));
+            
+            List<String> lore = new ArrayList<>();
+            lore.add(config.translateColorCodes("&7Action: &6" + actionType.name()));
+            lore.add("");
+            lore.add(config.translateColorCodes("&b⭐ Experience: &f" + String.format("%.1f", objective.getExperience())));
+            lore.add(config.translateColorCodes("&a💰 Money: &f" + objective.getMoneyDisplay()));
+            lore.add(config.translateColorCodes("&e🎲 Chance: &f" + String.format("%.1f%%", objective.getChance())));
+            lore.add("");
+            
+            // Add chance explanation
+            if (objective.getChance() >= 80) {
+                lore.add(config.translateColorCodes("&a&l✓ HIGH CHANCE"));
+            } else if (objective.getChance() >= 50) {
+                lore.add(config.translateColorCodes("&e&l⚡ MEDIUM CHANCE"));
+            } else if (objective.getChance() >= 20) {
+                lore.add(config.translateColorCodes("&6&l⚠ LOW CHANCE"));
+            } else {
+                lore.add(config.translateColorCodes("&c&l💀 VERY LOW CHANCE"));
+            }
+            
+            meta.setLore(lore);
+            item.setItemMeta(meta);
+        }
+        return item;
+    }
+    
+    /**
+     * Get action type icon
+     */
+    static String getActionTypeIcon(ActionType actionType) {
+        switch (actionType) {
+            case BREAK: return "&c⛏";
+            case PLACE: return "&e🏗";
+            case KILL: return "&c⚔";
+            case BREED: return "&a🐾";
+            case TAME: return "&6🦴";
+            case FISH: return "&b🎣";
+            case CRAFT: return "&e🔨";
+            case SMELT: return "&6🔥";
+            default: return "&7⭐";
+        }
+    }
+    
+    /**
+     * Get material for target object
+     */
+    private static Material getMaterialForTarget(Object target) {
+        if (target instanceof Material) {
+            return (Material) target;
+        } else if (target instanceof String) {
+            try {
+                return Material.valueOf((String) target);
+            } catch (IllegalArgumentException e) {
+                return Material.PAPER;
+            }
+        } else {
+            return Material.PAPER;
+        }
+    }
+}
@@ -2,105 +2,84 @@ package id.rnggagib.taskforge.gui;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
-import java.lang.reflect.Method;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.inventory.meta.SkullMeta;
-import org.bukkit.plugin.Plugin;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
 import id.rnggagib.taskforge.jobs.Job;
 import id.rnggagib.taskforge.jobs.Job.ActionType;
-import id.rnggagib.taskforge.jobs.JobObjective;
+import id.rnggagib.taskforge.jobs.ObjectiveCatalog;
 
 /**
  * Professional Objectives GUI - Dedicated interface for viewing job objectives
  */
-public class ObjectivesGUI implements Listener {
+public class ObjectivesGUI extends BaseGUI {
     
     private final TaskForgePlugin plugin;
     private final Player player;
     private final Job job;
     private final JobDetailGUI parentGUI;
     private final Inventory inventory;
-    private boolean headDatabaseAvailable = false;
     
-    // Pagination support
-    private List<ObjectiveEntry> allObjectives;
+    // Sorted objectives of the job and their shared items
+    private final ObjectiveCatalog catalog;
+    private final ObjectivePages pages;
+    
+    // Current view: action filter (null for all), name search (null for none) and page
+    private ActionType actionFilter;
+    private String search;
+    private List<ObjectiveCatalog.Entry> view;
     private int currentPage = 0;
-    private final int OBJECTIVES_PER_PAGE = 28; // 4 rows * 7 slots = 28 objectives
     
     public ObjectivesGUI(TaskForgePlugin plugin, Player player, Job job, JobDetailGUI parentGUI) {
+        this(plugin, player, job, parentGUI, null);
+    }
+    
+    /**
+     * Open on the objectives whose name matches a search (null for all)
+     */
+    public ObjectivesGUI(TaskForgePlugin plugin, Player player, Job job, JobDetailGUI parentGUI, String search) {
         this.plugin = plugin;
         this.player = player;
         this.job = job;
         this.parentGUI = parentGUI;
+        this.search = search != null && !search.trim().isEmpty() ? search.trim() : null;
         
-        // Check HeadDatabase availability
-        Plugin headDbPlugin = Bukkit.getPluginManager().getPlugin("HeadDatabase");
-        this.headDatabaseAvailable = headDbPlugin != null && headDbPlugin.isEnabled();
-        
-        // Prepare all objectives for pagination
-        prepareObjectives();
+        ObjectiveCatalog loaded = plugin.getJobManager().getObjectiveCatalog(job.getName());
+        this.catalog = loaded != null ? loaded : new ObjectiveCatalog(job.getObjectives());
+        this.pages = ObjectivePages.of(plugin, catalog);
+        this.view = catalog.query(null, this.search);
         
         String title = plugin.getConfigManager().translateColorCodes(
             "&6" + job.getDisplayName() + " &8- &eObjectives &7(" + (currentPage + 1) + "/" + getTotalPages() + ")");
         
-        this.inventory = Bukkit.createInventory(null, 54, title);
-        
-        // Register event listener
-        Bukkit.getPluginManager().registerEvents(this, plugin);
+        this.inventory = Bukkit.createInventory(this, 54, title);
         
         setupGUI();
     }
     
     /**
-     * Inner class to hold objective data for pagination
-     */
-    private static class ObjectiveEntry {
-        final ActionType actionType;
-        final Object target;
-        final JobObjective objective;
-        
-        ObjectiveEntry(ActionType actionType, Object target, JobObjective objective) {
-            this.actionType = actionType;
-            this.target = target;
-            this.objective = objective;
-        }
-    }
-    
-    /**
-     * Prepare all objectives for pagination
+     * Get total number of pages
      */
-    private void prepareObjectives() {
-        allObjectives = new ArrayList<>();
-        Map<ActionType, Map<Object, JobObjective>> objectives = job.getObjectives();
-        
-        for (ActionType actionType : ActionType.values()) {
-            Map<Object, JobObjective> actionObjectives = objectives.get(actionType);
-            if (actionObjectives == null || actionObjectives.isEmpty()) continue;
-            
-            for (Map.Entry<Object, JobObjective> entry : actionObjectives.entrySet()) {
-                allObjectives.add(new ObjectiveEntry(actionType, entry.getKey(), entry.getValue()));
-            }
-        }
+    private int getTotalPages() {
+        return ObjectivePages.getPageCount(view);
     }
     
     /**
-     * Get total number of pages
+     * Change the action filter or search and go back to the first page
      */
-    private int getTotalPages() {
-        return Math.max(1, (int) Math.ceil((double) allObjectives.size() / OBJECTIVES_PER_PAGE));
+    private void updateView(ActionType actionFilter, String search) {
+        this.actionFilter = actionFilter;
+        this.search = search;
+        this.view = catalog.query(actionFilter, search);
+        this.currentPage = 0;
+        setupGUI();
     }
     
     /**
@@ -154,7 +133,11 @@ public class ObjectivesGUI implements Listener {
             lore.add(plugin.getConfigManager().translateColorCodes("&7Rewards are chance-based - not guaranteed every time"));
             lore.add("");
             lore.add(plugin.getConfigManager().translateColorCodes("&e&lPage: &f" + (currentPage + 1) + " / " + getTotalPages()));
-            lore.add(plugin.getConfigManager().translateColorCodes("&e&lTotal Objectives: &f" + allObjectives.size()));
+            if (actionFilter != null || search != null) {
+                lore.add(plugin.getConfigManager().translateColorCodes("&e&lShowing: &f" + view.size() + " of " + catalog.getEntries().size()));
+            } else {
+                lore.add(plugin.getConfigManager().translateColorCodes("&e&lTotal Objectives: &f" + view.size()));
+            }
             lore.add("");
             lore.add(plugin.getConfigManager().translateColorCodes("&e&lLegend:"));
             lore.add(plugin.getConfigManager().translateColorCodes("&b⭐ Experience &8- Always given when successful"));
@@ -171,117 +154,14 @@ public class ObjectivesGUI implements Listener {
      * Setup objectives display with pagination
      */
     private void setupObjectives() {
-        int startIndex = currentPage * OBJECTIVES_PER_PAGE;
-        int endIndex = Math.min(startIndex + OBJECTIVES_PER_PAGE, allObjectives.size());
-        
-        // Display area: slots 10-16, 19-25, 28-34, 37-43 (4 rows, 7 columns each)
-        int[] displaySlots = {
-            10, 11, 12, 13, 14, 15, 16,  // Row 1
-            19, 20, 21, 22, 23, 24, 25,  // Row 2
-            28, 29, 30, 31, 32, 33, 34,  // Row 3
-            37, 38, 39, 40, 41, 42, 43   // Row 4
-        };
-        
-        int slotIndex = 0;
-        for (int i = startIndex; i < endIndex && slotIndex < displaySlots.length; i++, slotIndex++) {
-            ObjectiveEntry entry = allObjectives.get(i);
-            ItemStack objectiveItem = createObjectiveItem(entry.actionType, entry.target, entry.objective);
-            inventory.setItem(displaySlots[slotIndex], objectiveItem);
-        }
-    }
-    
-    /**
-     * Create objective item with action type display
-     */
-    private ItemStack createObjectiveItem(ActionType actionType, Object target, JobObjective objective) {
-        // Determine material based on target
-        Material material = getMaterialForTarget(target);
-        
-        ItemStack item = new ItemStack(material);
-        ItemMeta meta = item.getItemMeta();
-        if (meta != null) {
-            String targetName = getTargetDisplayName(target);
-            String actionIcon = getActionTypeIcon(actionType);
-            meta.setDisplayName(plugin.getConfigManager().translateColorCodes("&e" + targetName + " " + actionIcon));
-            
-            List<String> lore = new ArrayList<>();
-            lore.add(plugin.getConfigManager().translateColorCodes("&7Action: &6" + actionType.name()));
-            lore.add("");
-            lore.add(plugin.getConfigManager().translateColorCodes("&b⭐ Experience: &f" + String.format("%.1f", objective.getExperience())));
-            lore.add(plugin.getConfigManager().translateColorCodes("&a💰 Money: &f" + objective.getMoneyDisplay()));
-            lore.add(plugin.getConfigManager().translateColorCodes("&e🎲 Chance: &f" + String.format("%.1f%%", objective.getChance())));
-            lore.add("");
-            
-            // Add chance explanation
-            if (objective.getChance() >= 80) {
-                lore.add(plugin.getConfigManager().translateColorCodes("&a&l✓ HIGH CHANCE"));
-            } else if (objective.getChance() >= 50) {
-                lore.add(plugin.getConfigManager().translateColorCodes("&e&l⚡ MEDIUM CHANCE"));
-            } else if (objective.getChance() >= 20) {
-                lore.add(plugin.getConfigManager().translateColorCodes("&6&l⚠ LOW CHANCE"));
-            } else {
-                lore.add(plugin.getConfigManager().translateColorCodes("&c&l💀 VERY LOW CHANCE"));
-            }
-            
-            meta.setLore(lore);
-            item.setItemMeta(meta);
-        }
-        return item;
-    }
-    
-    /**
-     * Get action type icon
-     */
-    private String getActionTypeIcon(ActionType actionType) {
-        switch (actionType) {
-            case BREAK: return "&c⛏";
-            case PLACE: return "&e🏗";
-            case KILL: return "&c⚔";
-            case BREED: return "&a🐾";
-            case TAME: return "&6🦴";
-            case FISH: return "&b🎣";
-            case CRAFT: return "&e🔨";
-            case SMELT: return "&6🔥";
-            default: return "&7⭐";
-        }
-    }
-    
-    /**
-     * Get material for target object
-     */
-    private Material getMaterialForTarget(Object target) {
-        if (target instanceof Material) {
-            return (Material) target;
-        } else if (target instanceof String) {
-            try {
-                return Material.valueOf((String) target);
-            } catch (IllegalArgumentException e) {
-                return Material.PAPER;
+        ItemStack[] pageItems = pages.getPage(view, currentPage);
+        for (int i = 0; i < pageItems.length; i++) {
+            if (pageItems[i] != null) {
+                inventory.setItem(ObjectivePages.DISPLAY_SLOTS[i], pageItems[i]);
             }
-        } else {
-            return Material.PAPER;
         }
     }
     
-    /**
-     * Get display name for target
-     */
-    private String getTargetDisplayName(Object target) {
-        String name = target.toString().replace("_", " ");
-        String[] words = name.split(" ");
-        StringBuilder result = new StringBuilder();
-        
-        for (String word : words) {
-            if (result.length() > 0) result.append(" ");
-            result.append(Character.toUpperCase(word.charAt(0)));
-            if (word.length() > 1) {
-                result.append(word.substring(1).toLowerCase());
-            }
-        }
-        
-        return result.toString();
-    }
-    
     /**
      * Setup navigation with pagination support
      */
@@ -289,8 +169,8 @@ public class ObjectivesGUI implements Listener {
         // Previous page button (slot 0)
         if (currentPage > 0) {
             ItemStack prevItem;
-            if (headDatabaseAvailable) {
-                prevItem = createPlayerHead("hdb:8254"); // Left arrow
+            if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+                prevItem = plugin.getIconCache().getHead("hdb:8254"); // Left arrow
             } else {
                 prevItem = new ItemStack(Material.ARROW);
             }
@@ -311,8 +191,8 @@ public class ObjectivesGUI implements Listener {
         // Next page button (slot 8)
         if (currentPage < getTotalPages() - 1) {
             ItemStack nextItem;
-            if (headDatabaseAvailable) {
-                nextItem = createPlayerHead("hdb:8255"); // Right arrow
+            if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+                nextItem = plugin.getIconCache().getHead("hdb:8255"); // Right arrow
             } else {
                 nextItem = new ItemStack(Material.SPECTRAL_ARROW);
             }
@@ -332,8 +212,8 @@ public class ObjectivesGUI implements Listener {
         
         // Back button (slot 45)
         ItemStack backItem;
-        if (headDatabaseAvailable) {
-            backItem = createPlayerHead("hdb:94736"); // Back arrow
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            backItem = plugin.getIconCache().getHead("hdb:94736"); // Back arrow
         } else {
             backItem = new ItemStack(Material.ARROW);
         }
@@ -354,8 +234,8 @@ public class ObjectivesGUI implements Listener {
         
         // Close button (slot 49)
         ItemStack closeItem;
-        if (headDatabaseAvailable) {
-            closeItem = createPlayerHead("hdb:69025"); // Close X icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            closeItem = plugin.getIconCache().getHead("hdb:69025"); // Close X icon
         } else {
             closeItem = new ItemStack(Material.BARRIER);
         }
@@ -401,8 +281,8 @@ public class ObjectivesGUI implements Listener {
         
         // Level rewards button (slot 53)
         ItemStack rewardsItem;
-        if (headDatabaseAvailable) {
-            rewardsItem = createPlayerHead("hdb:66374"); // Level rewards icon
+        if (plugin.getIconCache().isHeadDatabaseAvailable()) {
+            rewardsItem = plugin.getIconCache().getHead("hdb:66374"); // Level rewards icon
         } else {
             rewardsItem = new ItemStack(Material.CHEST);
         }
@@ -419,14 +299,72 @@ public class ObjectivesGUI implements Listener {
             rewardsItem.setItemMeta(rewardsMeta);
         }
         inventory.setItem(53, rewardsItem);
+        
+        setupFilterButtons();
+    }
+    
+    /**
+     * Setup the action filter (slot 47) and search (slot 51) buttons
+     */
+    private void setupFilterButtons() {
+        ItemStack filterItem = new ItemStack(Material.HOPPER);
+        ItemMeta meta = filterItem.getItemMeta();
+        if (meta != null) {
+            String current = actionFilter == null ? "&fAll actions"
+                : ObjectivePages.getActionTypeIcon(actionFilter) + " &f" + actionFilter.name();
+            meta.setDisplayName(plugin.getConfigManager().translateColorCodes("&b&lFilter: " + current));
+            
+            List<String> lore = new ArrayList<>();
+            lore.add("");
+            for (ActionType actionType : catalog.getActions()) {
+                String marker = actionType == actionFilter ? "&a▶ " : "&8- ";
+                lore.add(plugin.getConfigManager().translateColorCodes(marker + "&7" + actionType.name()
+                    + " &8(" + catalog.query(actionType, null).size() + ")"));
+            }
+            lore.add("");
+            lore.add(plugin.getConfigManager().translateColorCodes("&e▶ Left-click for the next action"));
+            lore.add(plugin.getConfigManager().translateColorCodes("&e▶ Right-click for the previous action"));
+            meta.setLore(lore);
+            filterItem.setItemMeta(meta);
+        }
+        inventory.setItem(47, filterItem);
+        
+        ItemStack searchItem = new ItemStack(Material.NAME_TAG);
+        meta = searchItem.getItemMeta();
+        if (meta != null) {
+            List<String> lore = new ArrayList<>();
+            lore.add("");
+            if (search != null) {
+                meta.setDisplayName(plugin.getConfigManager().translateColorCodes("&d&lSearch: &f" + search));
+                lore.add(plugin.getConfigManager().translateColorCodes("&7Matches: &f" + view.size()));
+                lore.add("");
+                lore.add(plugin.getConfigManager().translateColorCodes("&e▶ Click to clear the search"));
+            } else {
+                meta.setDisplayName(plugin.getConfigManager().translateColorCodes("&d&lSearch"));
+                lore.add(plugin.getConfigManager().translateColorCodes("&7Find objectives by name with"));
+                lore.add(plugin.getConfigManager().translateColorCodes("&e/jobs objectives " + job.getName() + " <name>"));
+            }
+            meta.setLore(lore);
+            searchItem.setItemMeta(meta);
+        }
+        inventory.setItem(51, searchItem);
+    }
+    
+    /**
+     * Get the action filter after (or before) the current one, cycling through "all"
+     */
+    private ActionType cycleActionFilter(boolean forward) {
+        List<ActionType> actions = catalog.getActions();
+        int position = actionFilter == null ? actions.size() : actions.indexOf(actionFilter);
+        int next = Math.floorMod(position + (forward ? 1 : -1), actions.size() + 1);
+        return next == actions.size() ? null : actions.get(next);
     }
     
     /**
      * Handle inventory clicks with pagination support
      */
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (!event.getInventory().equals(inventory)) return;
+    @Override
+    public void handleClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player)) return;
         
         event.setCancelled(true); // Prevent item movement
@@ -449,6 +387,14 @@ public class ObjectivesGUI implements Listener {
                     setupGUI();
                 }
                 break;
+            case 47: // Action filter
+                updateView(cycleActionFilter(!event.isRightClick()), search);
+                break;
+            case 51: // Search
+                if (search != null) {
+                    updateView(actionFilter, null);
+                }
+                break;
             case 45: // Back button
                 player.closeInventory();
                 if (parentGUI != null) {
@@ -472,6 +418,11 @@ public class ObjectivesGUI implements Listener {
         player.openInventory(inventory);
     }
     
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+    
     /**
      * Navigate to a specific page
      */
@@ -481,89 +432,4 @@ public class ObjectivesGUI implements Listener {
             setupGUI();
         }
     }
-    
-    /**
-     * Create a player head from texture value or HeadDatabase ID
-     * Supports both HeadDatabase format (hdb:ID) and texture values
-     */
-    private ItemStack createPlayerHead(String textureOrId) {
-        if (textureOrId == null || textureOrId.isEmpty()) {
-            return new ItemStack(Material.PLAYER_HEAD);
-        }
-        
-        // Check if it's a HeadDatabase ID
-        if (textureOrId.startsWith("hdb:") && headDatabaseAvailable) {
-            try {
-                String headId = textureOrId.substring(4); // Remove "hdb:" prefix
-                return getHeadDatabaseHead(headId);
-            } catch (Exception e) {
-                // Fallback to vanilla player head if HeadDatabase fails
-                return new ItemStack(Material.PLAYER_HEAD);
-            }
-        }
-        
-        // Create vanilla player head with texture
-        ItemStack head = new ItemStack(Material.PLAYER_HEAD);
-        SkullMeta meta = (SkullMeta) head.getItemMeta();
-        
-        if (meta != null) {
-            try {
-                // Try to set texture via player profile (for texture values)
-                UUID randomUuid = UUID.randomUUID();
-                setPlayerHeadTexture(meta, textureOrId, randomUuid);
-            } catch (Exception e) {
-                // If texture setting fails, just return basic player head
-            }
-            
-            head.setItemMeta(meta);
-        }
-        
-        return head;
-    }
-    
-    /**
-     * Get head from HeadDatabase plugin using reflection
-     */
-    private ItemStack getHeadDatabaseHead(String headId) throws Exception {
-        Plugin headDbPlugin = Bukkit.getPluginManager().getPlugin("HeadDatabase");
-        if (headDbPlugin == null) {
-            throw new Exception("HeadDatabase not found");
-        }
-        
-        // Get HeadDatabaseAPI instance
-        Class<?> apiClass = Class.forName("me.arcaniax.hdb.api.HeadDatabaseAPI");
-        Object api = apiClass.getDeclaredConstructor().newInstance();
-        
-        // Call getItemHead(String id) method
-        Method getItemHeadMethod = apiClass.getMethod("getItemHead", String.class);
-        ItemStack head = (ItemStack) getItemHeadMethod.invoke(api, headId);
-        
-        return head != null ? head : new ItemStack(Material.PLAYER_HEAD);
-    }
-    
-    /**
-     * Set player head texture using reflection for compatibility
-     */
-    private void setPlayerHeadTexture(SkullMeta meta, String texture, UUID uuid) throws Exception {
-        // Create GameProfile
-        Class<?> gameProfileClass = Class.forName("com.mojang.authlib.GameProfile");
-        java.lang.reflect.Constructor<?> gameProfileConstructor = gameProfileClass.getConstructor(UUID.class, String.class);
-        Object gameProfile = gameProfileConstructor.newInstance(uuid, "");
-        
-        // Create Property for texture
-        Class<?> propertyClass = Class.forName("com.mojang.authlib.properties.Property");
-        java.lang.reflect.Constructor<?> propertyConstructor = propertyClass.getConstructor(String.class, String.class);
-        Object property = propertyConstructor.newInstance("textures", texture);
-        
-        // Add property to profile
-        Method getPropertiesMethod = gameProfileClass.getMethod("getProperties");
-        Object properties = getPropertiesMethod.invoke(gameProfile);
-        Method putMethod = properties.getClass().getMethod("put", Object.class, Object.class);
-        putMethod.invoke(properties, "textures", property);
-        
-        // Set profile to skull meta using reflection
-        java.lang.reflect.Field profileField = meta.getClass().getDeclaredField("profile");
-        profileField.setAccessible(true);
-        profileField.set(meta, gameProfile);
-    }
 }
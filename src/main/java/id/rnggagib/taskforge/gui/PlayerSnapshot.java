@@ -0,0 +1,103 @@
+package id.rnggagib.taskforge.gui;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.entity.Player;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.managers.PlayerDataManager;
+
+/**
+ * Immutable copy of the player data a GUI shows
+ * Captured on the main thread, then read from the async task that builds the GUI's items
+ */
+public final class PlayerSnapshot {
+    
+    /**
+     * State of one joined job
+     */
+    public static final class JobState {
+        private final int level;
+        private final double experience;
+        private final double progress;
+        private final long joinTimestamp;
+        
+        private JobState(int level, double experience, double progress, long joinTimestamp) {
+            this.level = level;
+            this.experience = experience;
+            this.progress = progress;
+            this.joinTimestamp = joinTimestamp;
+        }
+        
+        public int getLevel() { return level; }
+        public double getExperience() { return experience; }
+        public double getProgress() { return progress; }
+        public long getJoinTimestamp() { return joinTimestamp; }
+    }
+    
+    private final UUID uuid;
+    private final String name;
+    // Keyed by lower-case job name, like the job ids
+    private final Map<String, JobState> jobs;
+    private final boolean salaryEnabled;
+    private final double pendingSalary;
+    
+    private PlayerSnapshot(UUID uuid, String name, Map<String, JobState> jobs, boolean salaryEnabled, double pendingSalary) {
+        this.uuid = uuid;
+        this.name = name;
+        this.jobs = jobs;
+        this.salaryEnabled = salaryEnabled;
+        this.pendingSalary = pendingSalary;
+    }
+    
+    /**
+     * Copy the current data of a player; must be called on the main thread
+     */
+    public static PlayerSnapshot capture(TaskForgePlugin plugin, Player player) {
+        UUID uuid = player.getUniqueId();
+        PlayerDataManager data = plugin.getPlayerDataManager();
+        
+        Map<String, JobState> jobs = new HashMap<>();
+        for (String jobName : data.getPlayerJobs(uuid)) {
+            jobs.put(jobName, new JobState(
+                data.getJobLevel(uuid, jobName),
+                data.getJobExperience(uuid, jobName),
+                data.getLevelProgress(uuid, jobName),
+                data.getJobJoinTimestamp(uuid, jobName)));
+        }
+        
+        boolean salaryEnabled = plugin.getConfigManager().isSalarySystemEnabled();
+        double pendingSalary = salaryEnabled ? plugin.getSalaryManager().getPendingSalary(uuid) : 0.0;
+        
+        return new PlayerSnapshot(uuid, player.getName(), Collections.unmodifiableMap(jobs), salaryEnabled, pendingSalary);
+    }
+    
+    public UUID getUuid() { return uuid; }
+    public String getName() { return name; }
+    public boolean isSalaryEnabled() { return salaryEnabled; }
+    public double getPendingSalary() { return pendingSalary; }
+    
+    /**
+     * Check if the player had joined a job
+     */
+    public boolean hasJob(String jobName) {
+        return jobs.containsKey(jobName.toLowerCase());
+    }
+    
+    /**
+     * Get the state of a joined job, null if the player had not joined it
+     */
+    public JobState getJob(String jobName) {
+        return jobs.get(jobName.toLowerCase());
+    }
+    
+    /**
+     * Get the number of joined jobs
+     */
+    public int getJobCount() {
+        return jobs.size();
+    }
+}
@@ -1,5 +1,6 @@
 package id.rnggagib.taskforge.jobs;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -11,18 +12,35 @@ import org.bukkit.entity.EntityType;
  */
 public class Job {
     
+    // Table dimensions for compiled objective lookups
+    private static final int ACTION_COUNT = ActionType.values().length;
+    private static final int MATERIAL_COUNT = Material.values().length;
+    private static final int ENTITY_COUNT = EntityType.values().length;
+    
     private final String name;
     private final String displayName;
     private final String description;
     private final String playerHeadTexture;
     private final Material itemIcon;
     
+    // Interned job id, assigned by JobManager
+    private int id = -1;
+    
     // Job objectives organized by action type
     private final Map<ActionType, Map<Object, JobObjective>> objectives;
     
     // Level rewards
     private final Map<Integer, JobReward> levelRewards;
     
+    // Job-specific level curve, null to use the global one
+    private LevelCurve levelCurve;
+    
+    // Compiled lookup tables, indexed by [ActionType ordinal][Material/EntityType ordinal]
+    private JobObjective[][] materialTable;
+    private JobObjective[][] entityTable;
+    private Map<ActionType, Map<String, JobObjective>> stringTable;
+    private boolean compiled;
+    
     public Job(String name, String displayName, String description, String playerHeadTexture, Material itemIcon) {
         this.name = name;
         this.displayName = displayName;
@@ -43,6 +61,69 @@ public class Job {
      */
     public void addObjective(ActionType actionType, Object target, JobObjective objective) {
         objectives.get(actionType).put(target, objective);
+        compiled = false;
+    }
+    
+    /**
+     * Compile objectives into dense lookup tables
+     * Called once after loading; string targets naming a material or entity are folded into the tables
+     */
+    public void compileObjectives() {
+        JobObjective[][] materials = new JobObjective[ACTION_COUNT][];
+        JobObjective[][] entities = new JobObjective[ACTION_COUNT][];
+        Map<ActionType, Map<String, JobObjective>> strings = new EnumMap<>(ActionType.class);
+        
+        for (Map.Entry<ActionType, Map<Object, JobObjective>> actionEntry : objectives.entrySet()) {
+            int action = actionEntry.getKey().ordinal();
+            
+            // Typed keys first so they win over string aliases, as the old direct-then-name lookup did
+            for (Map.Entry<Object, JobObjective> entry : actionEntry.getValue().entrySet()) {
+                Object target = entry.getKey();
+                if (target instanceof Material) {
+                    if (materials[action] == null) materials[action] = new JobObjective[MATERIAL_COUNT];
+                    materials[action][((Material) target).ordinal()] = entry.getValue();
+                } else if (target instanceof EntityType) {
+                    if (entities[action] == null) entities[action] = new JobObjective[ENTITY_COUNT];
+                    entities[action][((EntityType) target).ordinal()] = entry.getValue();
+                }
+            }
+            
+            for (Map.Entry<Object, JobObjective> entry : actionEntry.getValue().entrySet()) {
+                if (!(entry.getKey() instanceof String)) continue;
+                
+                String name = (String) entry.getKey();
+                strings.computeIfAbsent(actionEntry.getKey(), k -> new HashMap<>()).put(name, entry.getValue());
+                
+                Material material = Material.getMaterial(name);
+                if (material != null) {
+                    if (materials[action] == null) materials[action] = new JobObjective[MATERIAL_COUNT];
+                    if (materials[action][material.ordinal()] == null) {
+                        materials[action][material.ordinal()] = entry.getValue();
+                    }
+                }
+                
+                EntityType entityType = parseEntityType(name);
+                if (entityType != null) {
+                    if (entities[action] == null) entities[action] = new JobObjective[ENTITY_COUNT];
+                    if (entities[action][entityType.ordinal()] == null) {
+                        entities[action][entityType.ordinal()] = entry.getValue();
+                    }
+                }
+            }
+        }
+        
+        this.materialTable = materials;
+        this.entityTable = entities;
+        this.stringTable = strings;
+        this.compiled = true;
+    }
+    
+    private static EntityType parseEntityType(String name) {
+        try {
+            return EntityType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
     
     /**
@@ -56,26 +137,72 @@ public class Job {
      * Get objective for a specific action and target
      */
     public JobObjective getObjective(ActionType actionType, Object target) {
-        Map<Object, JobObjective> actionObjectives = objectives.get(actionType);
-        if (actionObjectives == null) return null;
-        
-        // Try direct match first
-        JobObjective objective = actionObjectives.get(target);
-        if (objective != null) return objective;
-        
-        // For entity types, try string representation
+        if (target instanceof Material) {
+            return getObjective(actionType, (Material) target);
+        }
         if (target instanceof EntityType) {
-            return actionObjectives.get(((EntityType) target).name());
+            return getObjective(actionType, (EntityType) target);
         }
-        
-        // For materials, try string representation
-        if (target instanceof Material) {
-            return actionObjectives.get(((Material) target).name());
+        if (target instanceof String) {
+            return getObjective(actionType, (String) target);
         }
-        
         return null;
     }
     
+    /**
+     * Get objective for a material target
+     */
+    public JobObjective getObjective(ActionType actionType, Material material) {
+        if (!compiled) compileObjectives();
+        
+        JobObjective[] row = materialTable[actionType.ordinal()];
+        return row != null ? row[material.ordinal()] : null;
+    }
+    
+    /**
+     * Get objective for an entity target
+     */
+    public JobObjective getObjective(ActionType actionType, EntityType entityType) {
+        if (!compiled) compileObjectives();
+        
+        JobObjective[] row = entityTable[actionType.ordinal()];
+        return row != null ? row[entityType.ordinal()] : null;
+    }
+    
+    /**
+     * Get objective for a string target (custom FISH/ENCHANT/BREW/BRUSH targets)
+     */
+    public JobObjective getObjective(ActionType actionType, String target) {
+        if (!compiled) compileObjectives();
+        
+        Map<String, JobObjective> actionObjectives = stringTable.get(actionType);
+        return actionObjectives != null ? actionObjectives.get(target) : null;
+    }
+    
+    /**
+     * Get compiled material objectives for an action, indexed by Material ordinal (null if none)
+     */
+    JobObjective[] getMaterialObjectives(ActionType actionType) {
+        if (!compiled) compileObjectives();
+        return materialTable[actionType.ordinal()];
+    }
+    
+    /**
+     * Get compiled entity objectives for an action, indexed by EntityType ordinal (null if none)
+     */
+    JobObjective[] getEntityObjectives(ActionType actionType) {
+        if (!compiled) compileObjectives();
+        return entityTable[actionType.ordinal()];
+    }
+    
+    /**
+     * Get compiled string objectives for an action (null if none)
+     */
+    Map<String, JobObjective> getStringObjectives(ActionType actionType) {
+        if (!compiled) compileObjectives();
+        return stringTable.get(actionType);
+    }
+    
     /**
      * Get level reward for a specific level
      */
@@ -91,6 +218,7 @@ public class Job {
     }
     
     // Getters
+    public int getId() { return id; }
     public String getName() { return name; }
     public String getDisplayName() { return displayName; }
     public String getDescription() { return description; }
@@ -98,6 +226,10 @@ public class Job {
     public Material getItemIcon() { return itemIcon; }
     public Map<ActionType, Map<Object, JobObjective>> getObjectives() { return objectives; }
     public Map<Integer, JobReward> getLevelRewards() { return levelRewards; }
+    public LevelCurve getLevelCurve() { return levelCurve; }
+    
+    public void setId(int id) { this.id = id; }
+    public void setLevelCurve(LevelCurve levelCurve) { this.levelCurve = levelCurve; }
     
     /**
      * Action types that can trigger job rewards
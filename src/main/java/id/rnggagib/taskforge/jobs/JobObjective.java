@@ -1,6 +1,7 @@
 package id.rnggagib.taskforge.jobs;
 
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents an objective within a job that can be completed for rewards
@@ -71,6 +72,21 @@ public class JobObjective {
         return moneyMin + (random.nextDouble() * (moneyMax - moneyMin));
     }
     
+    /**
+     * Get the summed money of several rewards, each drawn within the range
+     */
+    public double getRandomMoney(int count) {
+        if (moneyMin == moneyMax) {
+            return moneyMin * count;
+        }
+        
+        double total = 0.0;
+        for (int i = 0; i < count; i++) {
+            total += random.nextDouble();
+        }
+        return moneyMin * count + total * (moneyMax - moneyMin);
+    }
+    
     /**
      * Check if this objective uses a money range
      */
@@ -106,6 +122,33 @@ public class JobObjective {
         return Math.random() * 100.0 < chance;
     }
     
+    /**
+     * Roll the chance for several actions at once and return how many trigger
+     * This is an exact binomial draw: the gaps between successes are geometric,
+     * so it costs one random number per success (or per failure when the chance is above 50%)
+     */
+    public int rollTriggers(int count) {
+        if (count <= 0 || chance <= 0.0) return 0;
+        if (chance >= 100.0) return count;
+        if (count == 1) return shouldTrigger() ? 1 : 0;
+        
+        double p = chance / 100.0;
+        boolean countFailures = p > 0.5;
+        double logQ = Math.log(countFailures ? p : 1.0 - p);
+        
+        ThreadLocalRandom rng = ThreadLocalRandom.current();
+        int hits = 0;
+        double position = 0.0;
+        while (true) {
+            // Number of trials up to and including the next hit
+            position += Math.floor(Math.log(1.0 - rng.nextDouble()) / logQ) + 1.0;
+            if (position > count) break;
+            hits++;
+        }
+        
+        return countFailures ? count - hits : hits;
+    }
+    
     @Override
     public String toString() {
         if (hasMoneyRange()) {
@@ -0,0 +1,316 @@
+package id.rnggagib.taskforge.jobs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ranking of players by a score, highest first
+ * An indexable skip list: every link stores how many entries it skips, so the entry at a rank and
+ * the rank of an entry are both found in O(log n), and a page is that plus a walk along the bottom level
+ * Scores compare by primary, then secondary (both descending), then by UUID so equal scores keep a stable order
+ * Methods are synchronized; updates come from the main thread, reads also from GUI builders and placeholders
+ * Two version counters let readers cache what they derived: one for any change, one for changes of the order
+ */
+public class Leaderboard {
+    
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_UP_CHANCE = 0.25;
+    
+    private final Node head = new Node(null, 0, 0, MAX_LEVEL);
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private int level = 1;
+    private int length;
+    
+    // Read without the lock
+    private volatile int version;
+    private volatile int orderVersion;
+    
+    /**
+     * Set a player's score, adding them if needed
+     */
+    public synchronized void update(UUID playerUUID, double primary, double secondary) {
+        Node node = nodes.get(playerUUID);
+        if (node != null) {
+            if (node.primary == primary && node.secondary == secondary) return;
+            
+            // Most changes do not pass a neighbour: keep the node where it is
+            Node next = node.next[0];
+            if ((node.previous == null || node.previous.before(primary, secondary, playerUUID))
+                && (next == null || !next.before(primary, secondary, playerUUID))) {
+                node.primary = primary;
+                node.secondary = secondary;
+                version++;
+                return;
+            }
+            delete(node);
+        }
+        nodes.put(playerUUID, insert(playerUUID, primary, secondary));
+    }
+    
+    /**
+     * Add to a player's score, starting from zero if they are not ranked
+     */
+    public synchronized void add(UUID playerUUID, double primary, double secondary) {
+        Node node = nodes.get(playerUUID);
+        if (node == null) {
+            update(playerUUID, primary, secondary);
+        } else {
+            update(playerUUID, node.primary + primary, node.secondary + secondary);
+        }
+    }
+    
+    /**
+     * Remove a player from the ranking
+     */
+    public synchronized void remove(UUID playerUUID) {
+        Node node = nodes.remove(playerUUID);
+        if (node != null) {
+            delete(node);
+        }
+    }
+    
+    /**
+     * Get a number that changes whenever any score or rank changes
+     */
+    public int getVersion() {
+        return version;
+    }
+    
+    /**
+     * Get a number that changes whenever a rank changes, but not when a score changes in place
+     */
+    public int getOrderVersion() {
+        return orderVersion;
+    }
+    
+    /**
+     * Get the number of ranked players
+     */
+    public synchronized int size() {
+        return length;
+    }
+    
+    /**
+     * Get a player's entry, or null if they are not ranked
+     */
+    public synchronized Entry get(UUID playerUUID) {
+        Node node = nodes.get(playerUUID);
+        return node != null ? new Entry(node.playerUUID, rankOf(node), node.primary, node.secondary) : null;
+    }
+    
+    /**
+     * Get a player's rank (1 is the top), 0 if they are not ranked
+     */
+    public synchronized int getRank(UUID playerUUID) {
+        Node node = nodes.get(playerUUID);
+        return node != null ? rankOf(node) : 0;
+    }
+    
+    /**
+     * Get up to count entries starting at a rank (1 is the top)
+     */
+    public synchronized List<Entry> getRange(int fromRank, int count) {
+        if (fromRank < 1 || fromRank > length || count <= 0) {
+            return Collections.emptyList();
+        }
+        
+        List<Entry> entries = new ArrayList<>(Math.min(count, length - fromRank + 1));
+        Node node = nodeAt(fromRank);
+        for (int rank = fromRank; node != null && entries.size() < count; rank++) {
+            entries.add(new Entry(node.playerUUID, rank, node.primary, node.secondary));
+            node = node.next[0];
+        }
+        return entries;
+    }
+    
+    /**
+     * Get the entries within radius ranks of a player, the player included; empty if they are not ranked
+     */
+    public synchronized List<Entry> getAround(UUID playerUUID, int radius) {
+        int rank = getRank(playerUUID);
+        if (rank == 0) {
+            return Collections.emptyList();
+        }
+        int from = Math.max(1, rank - radius);
+        return getRange(from, rank + radius - from + 1);
+    }
+    
+    private Node insert(UUID playerUUID, double primary, double secondary) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && x.next[i].before(primary, secondary, playerUUID)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                update[i].span[i] = length;
+            }
+            level = nodeLevel;
+        }
+        
+        Node node = new Node(playerUUID, primary, secondary, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            
+            // update[i] skipped span entries; the new node splits that link in two
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        // Links above the new node now skip over one more entry
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        
+        node.previous = update[0] == head ? null : update[0];
+        if (node.next[0] != null) {
+            node.next[0].previous = node;
+        }
+        length++;
+        version++;
+        orderVersion++;
+        return node;
+    }
+    
+    private void delete(Node node) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i] != node
+                   && x.next[i].before(node.primary, node.secondary, node.playerUUID)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+        
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        if (node.next[0] != null) {
+            node.next[0].previous = node.previous;
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        length--;
+        version++;
+        orderVersion++;
+    }
+    
+    /**
+     * 1-based rank of a node in the list
+     */
+    private int rankOf(Node node) {
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && (x.next[i] == node
+                   || x.next[i].before(node.primary, node.secondary, node.playerUUID))) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x == node) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * Node at a 1-based rank
+     */
+    private Node nodeAt(int rank) {
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == rank) {
+                return x;
+            }
+        }
+        return null;
+    }
+    
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextDouble() < LEVEL_UP_CHANCE) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+    
+    private static final class Node {
+        private final UUID playerUUID;
+        private double primary;
+        private double secondary;
+        private final Node[] next;
+        private final int[] span;
+        
+        // Entry ranked just above, null for the first
+        private Node previous;
+        
+        private Node(UUID playerUUID, double primary, double secondary, int level) {
+            this.playerUUID = playerUUID;
+            this.primary = primary;
+            this.secondary = secondary;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+        
+        /**
+         * Check if this node ranks above the given score
+         */
+        private boolean before(double otherPrimary, double otherSecondary, UUID otherUUID) {
+            if (primary != otherPrimary) return primary > otherPrimary;
+            if (secondary != otherSecondary) return secondary > otherSecondary;
+            return playerUUID.compareTo(otherUUID) < 0;
+        }
+    }
+    
+    /**
+     * A player's place in a leaderboard, copied when it was read
+     */
+    public static class Entry {
+        private final UUID playerUUID;
+        private final int rank;
+        private final double primary;
+        private final double secondary;
+        
+        public Entry(UUID playerUUID, int rank, double primary, double secondary) {
+            this.playerUUID = playerUUID;
+            this.rank = rank;
+            this.primary = primary;
+            this.secondary = secondary;
+        }
+        
+        public UUID getPlayerUUID() { return playerUUID; }
+        public int getRank() { return rank; }
+        public double getPrimary() { return primary; }
+        public double getSecondary() { return secondary; }
+    }
+}
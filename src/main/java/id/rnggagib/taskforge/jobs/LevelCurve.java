@@ -0,0 +1,336 @@
+package id.rnggagib.taskforge.jobs;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Precomputed experience curve of a job
+ * The formula is evaluated once per level when the config loads; lookups afterwards are
+ * a binary search over the cumulative table (level from exp) or plain array reads
+ */
+public final class LevelCurve {
+    
+    // Table size used when max_level is 0 (no limit)
+    public static final int UNLIMITED_LEVEL_CAP = 10000;
+    
+    /**
+     * Formula giving the experience needed to go from a level to the next
+     */
+    public enum Type {
+        // base_exp * multiplier ^ (level - 1)
+        EXPONENTIAL,
+        // base_exp + increment * (level - 1)
+        LINEAR,
+        // expression in terms of level
+        CUSTOM
+    }
+    
+    private final Type type;
+    private final double baseExp;
+    private final double multiplier;
+    private final double increment;
+    private final String expression;
+    private final int configuredMaxLevel;
+    
+    // totalExp[i] = experience needed to reach level i + 1 from zero; totalExp[0] = 0
+    private final double[] totalExp;
+    // levelExp[i] = experience needed to go from level i + 1 to level i + 2
+    private final double[] levelExp;
+    
+    private LevelCurve(Type type, double baseExp, double multiplier, double increment, String expression, int maxLevel) {
+        this.type = type;
+        this.baseExp = baseExp;
+        this.multiplier = multiplier;
+        this.increment = increment;
+        this.expression = expression;
+        this.configuredMaxLevel = maxLevel;
+        
+        DoubleUnaryOperator compiled = type == Type.CUSTOM ? Parser.parse(expression) : null;
+        int cap = maxLevel > 0 ? maxLevel : UNLIMITED_LEVEL_CAP;
+        
+        double[] total = new double[cap];
+        double[] costs = new double[cap];
+        int levels = 1;
+        
+        for (int level = 1; level < cap; level++) {
+            double cost;
+            switch (type) {
+                case LINEAR:
+                    cost = baseExp + increment * (level - 1);
+                    break;
+                case CUSTOM:
+                    cost = compiled.applyAsDouble(level);
+                    break;
+                default:
+                    cost = baseExp * Math.pow(multiplier, level - 1);
+                    break;
+            }
+            
+            if (Double.isNaN(cost) || cost <= 0) {
+                throw new IllegalArgumentException("experience for level " + level + " is " + cost + ", must be positive");
+            }
+            
+            double next = total[level - 1] + cost;
+            // Curve grew past what a double can hold - treat the last finite level as the cap
+            if (Double.isInfinite(next)) break;
+            
+            costs[level - 1] = cost;
+            total[level] = next;
+            levels = level + 1;
+        }
+        
+        this.totalExp = levels == cap ? total : Arrays.copyOf(total, levels);
+        this.levelExp = Arrays.copyOf(costs, levels);
+    }
+    
+    /**
+     * Build the global curve from the leveling section of config.yml
+     */
+    public static LevelCurve fromConfig(ConfigurationSection section) {
+        if (section == null) {
+            return new LevelCurve(Type.EXPONENTIAL, 100.0, 1.2, 0.0, null, 100);
+        }
+        return new LevelCurve(
+            readType(section.getString("type", "exponential")),
+            section.getDouble("base_exp", 100.0),
+            section.getDouble("multiplier", 1.2),
+            section.getDouble("increment", 0.0),
+            section.getString("expression"),
+            Math.max(0, section.getInt("max_level", 100)));
+    }
+    
+    /**
+     * Build a job curve from its leveling section, taking missing values from the global curve
+     * Throws IllegalArgumentException for an unknown type, a bad expression or a non-positive step
+     */
+    public static LevelCurve fromConfig(ConfigurationSection section, LevelCurve defaults) {
+        if (section == null) return defaults;
+        
+        return new LevelCurve(
+            section.contains("type") ? readType(section.getString("type")) : defaults.type,
+            section.getDouble("base_exp", defaults.baseExp),
+            section.getDouble("multiplier", defaults.multiplier),
+            section.getDouble("increment", defaults.increment),
+            section.getString("expression", defaults.expression),
+            Math.max(0, section.getInt("max_level", defaults.configuredMaxLevel)));
+    }
+    
+    private static Type readType(String name) {
+        try {
+            return Type.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown curve type '" + name + "'");
+        }
+    }
+    
+    /**
+     * Highest reachable level
+     */
+    public int getMaxLevel() {
+        return totalExp.length;
+    }
+    
+    /**
+     * Level reached with the given total experience
+     */
+    public int getLevel(double experience) {
+        // Last index whose threshold is <= experience
+        int low = 0;
+        int high = totalExp.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (totalExp[mid] <= experience) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low + 1;
+    }
+    
+    /**
+     * Total experience needed to reach a level, clamped to the max level
+     */
+    public double getExperienceForLevel(int level) {
+        if (level <= 1) return 0.0;
+        return totalExp[Math.min(level, totalExp.length) - 1];
+    }
+    
+    /**
+     * Experience needed to go from a level to the next, 0 at max level
+     */
+    public double getExpRequiredForNextLevel(int level) {
+        if (level < 1 || level >= totalExp.length) return 0.0;
+        return levelExp[level - 1];
+    }
+    
+    /**
+     * Progress from a level towards the next (0.0 to 1.0), 1.0 at max level
+     */
+    public double getProgress(int level, double experience) {
+        if (level >= totalExp.length) return 1.0;
+        if (level < 1) return 0.0;
+        
+        double progress = (experience - totalExp[level - 1]) / levelExp[level - 1];
+        return Math.max(0.0, Math.min(1.0, progress));
+    }
+    
+    public Type getType() { return type; }
+    
+    /**
+     * Parser for custom curve expressions over the variable "level", producing a tree of operators
+     * Supports + - * / ^, parentheses, unary minus and the functions sqrt, log, ln, abs, floor, ceil, round
+     */
+    private static final class Parser {
+        private final String source;
+        private int pos;
+        
+        private Parser(String source) {
+            this.source = source;
+        }
+        
+        static DoubleUnaryOperator parse(String source) {
+            if (source == null || source.trim().isEmpty()) {
+                throw new IllegalArgumentException("custom curve needs an expression");
+            }
+            Parser parser = new Parser(source);
+            DoubleUnaryOperator expression = parser.parseSum();
+            parser.skipSpaces();
+            if (parser.pos < source.length()) {
+                throw parser.error("unexpected '" + source.charAt(parser.pos) + "'");
+            }
+            return expression;
+        }
+        
+        DoubleUnaryOperator parseSum() {
+            DoubleUnaryOperator left = parseProduct();
+            while (true) {
+                DoubleUnaryOperator l = left;
+                if (accept('+')) {
+                    DoubleUnaryOperator r = parseProduct();
+                    left = level -> l.applyAsDouble(level) + r.applyAsDouble(level);
+                } else if (accept('-')) {
+                    DoubleUnaryOperator r = parseProduct();
+                    left = level -> l.applyAsDouble(level) - r.applyAsDouble(level);
+                } else {
+                    return left;
+                }
+            }
+        }
+        
+        DoubleUnaryOperator parseProduct() {
+            DoubleUnaryOperator left = parseUnary();
+            while (true) {
+                DoubleUnaryOperator l = left;
+                if (accept('*')) {
+                    DoubleUnaryOperator r = parseUnary();
+                    left = level -> l.applyAsDouble(level) * r.applyAsDouble(level);
+                } else if (accept('/')) {
+                    DoubleUnaryOperator r = parseUnary();
+                    left = level -> l.applyAsDouble(level) / r.applyAsDouble(level);
+                } else {
+                    return left;
+                }
+            }
+        }
+        
+        DoubleUnaryOperator parseUnary() {
+            if (accept('-')) {
+                DoubleUnaryOperator operand = parseUnary();
+                return level -> -operand.applyAsDouble(level);
+            }
+            return parsePower();
+        }
+        
+        DoubleUnaryOperator parsePower() {
+            DoubleUnaryOperator base = parseAtom();
+            if (accept('^')) {
+                // Right-associative, binds tighter than unary minus on its left
+                DoubleUnaryOperator exponent = parseUnary();
+                return level -> Math.pow(base.applyAsDouble(level), exponent.applyAsDouble(level));
+            }
+            return base;
+        }
+        
+        DoubleUnaryOperator parseAtom() {
+            skipSpaces();
+            if (accept('(')) {
+                DoubleUnaryOperator inner = parseSum();
+                expect(')');
+                return inner;
+            }
+            
+            int start = pos;
+            if (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+                while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) pos++;
+                double value;
+                try {
+                    value = Double.parseDouble(source.substring(start, pos));
+                } catch (NumberFormatException e) {
+                    throw error("bad number '" + source.substring(start, pos) + "'");
+                }
+                return level -> value;
+            }
+            
+            while (pos < source.length() && Character.isLetter(source.charAt(pos))) pos++;
+            String name = source.substring(start, pos).toLowerCase();
+            
+            switch (name) {
+                case "level":
+                    return level -> level;
+                case "sqrt":
+                case "log":
+                case "ln":
+                case "abs":
+                case "floor":
+                case "ceil":
+                case "round":
+                    expect('(');
+                    DoubleUnaryOperator argument = parseSum();
+                    expect(')');
+                    return function(name, argument);
+                case "":
+                    throw error(pos < source.length() ? "unexpected '" + source.charAt(pos) + "'" : "unexpected end");
+                default:
+                    throw error("unknown name '" + name + "'");
+            }
+        }
+        
+        private static DoubleUnaryOperator function(String name, DoubleUnaryOperator argument) {
+            switch (name) {
+                case "sqrt": return level -> Math.sqrt(argument.applyAsDouble(level));
+                case "log": return level -> Math.log10(argument.applyAsDouble(level));
+                case "ln": return level -> Math.log(argument.applyAsDouble(level));
+                case "abs": return level -> Math.abs(argument.applyAsDouble(level));
+                case "floor": return level -> Math.floor(argument.applyAsDouble(level));
+                case "ceil": return level -> Math.ceil(argument.applyAsDouble(level));
+                default: return level -> Math.round(argument.applyAsDouble(level));
+            }
+        }
+        
+        void skipSpaces() {
+            while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) pos++;
+        }
+        
+        boolean accept(char c) {
+            skipSpaces();
+            if (pos < source.length() && source.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+        
+        void expect(char c) {
+            if (!accept(c)) {
+                throw error("expected '" + c + "'");
+            }
+        }
+        
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("expression '" + source + "' at " + pos + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package id.rnggagib.taskforge.jobs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import id.rnggagib.taskforge.jobs.Job.ActionType;
+
+/**
+ * Immutable, sorted list of a job's objectives for browsing
+ * Entries are ordered by action, then by reward (experience, then money, highest first), then by name,
+ * so the order is the same on every load; each action is one contiguous range of the list
+ * Name search goes through a sorted index of the words of every name, so a prefix is a binary search
+ */
+public class ObjectiveCatalog {
+    
+    private static final Comparator<Entry> ORDER = Comparator
+        .comparingInt((Entry entry) -> entry.actionType.ordinal())
+        .thenComparing(entry -> entry.objective.getExperience(), Comparator.reverseOrder())
+        .thenComparing(entry -> entry.objective.getMoneyMax(), Comparator.reverseOrder())
+        .thenComparing(entry -> entry.name)
+        .thenComparing(entry -> entry.target.toString());
+    
+    private final List<Entry> entries;
+    
+    // [start, end) of each action's entries, indexed by ActionType ordinal
+    private final int[] actionStart = new int[ActionType.values().length];
+    private final int[] actionEnd = new int[ActionType.values().length];
+    private final List<ActionType> actions;
+    
+    // Every lower-case word of every name, sorted, with the entry index it belongs to
+    private final String[] words;
+    private final int[] wordEntries;
+    
+    public ObjectiveCatalog(Map<ActionType, Map<Object, JobObjective>> objectives) {
+        List<Entry> unsorted = new ArrayList<>();
+        for (Map.Entry<ActionType, Map<Object, JobObjective>> actionEntry : objectives.entrySet()) {
+            for (Map.Entry<Object, JobObjective> objectiveEntry : actionEntry.getValue().entrySet()) {
+                unsorted.add(new Entry(actionEntry.getKey(), objectiveEntry.getKey(), objectiveEntry.getValue(), -1));
+            }
+        }
+        unsorted.sort(ORDER);
+        
+        List<Entry> sorted = new ArrayList<>(unsorted.size());
+        List<ActionType> present = new ArrayList<>();
+        List<String> wordList = new ArrayList<>();
+        List<Integer> wordEntryList = new ArrayList<>();
+        for (int i = 0; i < unsorted.size(); i++) {
+            Entry entry = unsorted.get(i);
+            entry = new Entry(entry.actionType, entry.target, entry.objective, i);
+            sorted.add(entry);
+            
+            int action = entry.actionType.ordinal();
+            if (present.isEmpty() || present.get(present.size() - 1) != entry.actionType) {
+                present.add(entry.actionType);
+                actionStart[action] = i;
+            }
+            actionEnd[action] = i + 1;
+            
+            for (String word : entry.name.toLowerCase(Locale.ROOT).split(" ")) {
+                if (!word.isEmpty()) {
+                    wordList.add(word);
+                    wordEntryList.add(i);
+                }
+            }
+        }
+        
+        // Sort the words, keeping each one's entry index next to it
+        Integer[] order = new Integer[wordList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(wordList::get));
+        
+        this.entries = Collections.unmodifiableList(sorted);
+        this.actions = Collections.unmodifiableList(present);
+        this.words = new String[order.length];
+        this.wordEntries = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            words[i] = wordList.get(order[i]);
+            wordEntries[i] = wordEntryList.get(order[i]);
+        }
+    }
+    
+    /**
+     * Get all entries in catalog order
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+    
+    /**
+     * Get the actions that have objectives, in catalog order
+     */
+    public List<ActionType> getActions() {
+        return actions;
+    }
+    
+    /**
+     * Get the entries of one action (null for all) whose name matches a search (null or empty for all)
+     * Every word of the search must be the start of a word of the name; the catalog order is kept
+     */
+    public List<Entry> query(ActionType actionType, String search) {
+        int start = actionType == null ? 0 : actionStart[actionType.ordinal()];
+        int end = actionType == null ? entries.size() : actionEnd[actionType.ordinal()];
+        
+        String[] terms = normalize(search);
+        if (terms.length == 0) {
+            return entries.subList(start, end);
+        }
+        
+        BitSet matches = null;
+        for (String term : terms) {
+            BitSet termMatches = new BitSet(entries.size());
+            for (int i = lowerBound(term); i < words.length && words[i].startsWith(term); i++) {
+                termMatches.set(wordEntries[i]);
+            }
+            if (matches == null) {
+                matches = termMatches;
+            } else {
+                matches.and(termMatches);
+            }
+        }
+        
+        List<Entry> result = new ArrayList<>();
+        for (int i = matches.nextSetBit(start); i >= 0 && i < end; i = matches.nextSetBit(i + 1)) {
+            result.add(entries.get(i));
+        }
+        return Collections.unmodifiableList(result);
+    }
+    
+    /**
+     * Get up to limit distinct name words starting with a prefix, in alphabetical order
+     */
+    public List<String> completeWord(String prefix, int limit) {
+        String term = prefix.toLowerCase(Locale.ROOT);
+        List<String> result = new ArrayList<>();
+        for (int i = lowerBound(term); i < words.length && words[i].startsWith(term) && result.size() < limit; i++) {
+            if (result.isEmpty() || !result.get(result.size() - 1).equals(words[i])) {
+                result.add(words[i]);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Index of the first word not before term
+     */
+    private int lowerBound(String term) {
+        int index = Arrays.binarySearch(words, term);
+        if (index < 0) {
+            return -index - 1;
+        }
+        // Duplicate words: step back to the first one
+        while (index > 0 && words[index - 1].equals(term)) {
+            index--;
+        }
+        return index;
+    }
+    
+    private static String[] normalize(String search) {
+        if (search == null) return new String[0];
+        
+        String text = search.toLowerCase(Locale.ROOT).replace('_', ' ').trim();
+        return text.isEmpty() ? new String[0] : text.split("\\s+");
+    }
+    
+    /**
+     * Display name of an objective target: "COAL_ORE" becomes "Coal Ore"
+     */
+    public static String getDisplayName(Object target) {
+        String[] parts = target.toString().replace('_', ' ').split(" ");
+        StringBuilder result = new StringBuilder();
+        
+        for (String part : parts) {
+            if (part.isEmpty()) continue;
+            if (result.length() > 0) result.append(' ');
+            result.append(Character.toUpperCase(part.charAt(0)));
+            result.append(part.substring(1).toLowerCase(Locale.ROOT));
+        }
+        
+        return result.toString();
+    }
+    
+    /**
+     * One objective of the catalog
+     */
+    public static class Entry {
+        private final ActionType actionType;
+        private final Object target;
+        private final JobObjective objective;
+        private final String name;
+        private final int index;
+        
+        private Entry(ActionType actionType, Object target, JobObjective objective, int index) {
+            this.actionType = actionType;
+            this.target = target;
+            this.objective = objective;
+            this.name = getDisplayName(target);
+            this.index = index;
+        }
+        
+        public ActionType getActionType() { return actionType; }
+        public Object getTarget() { return target; }
+        public JobObjective getObjective() { return objective; }
+        public String getName() { return name; }
+        public int getIndex() { return index; }
+    }
+}
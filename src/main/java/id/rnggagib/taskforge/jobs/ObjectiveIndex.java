@@ -0,0 +1,167 @@
+package id.rnggagib.taskforge.jobs;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bukkit.Material;
+import org.bukkit.entity.EntityType;
+
+import id.rnggagib.taskforge.jobs.Job.ActionType;
+
+/**
+ * Reverse index from an action and target to every job objective that rewards it
+ * Built once per job load; the bitset prefilter lets listeners skip unrewarded targets with a single check
+ */
+public class ObjectiveIndex {
+    
+    private static final int ACTION_COUNT = ActionType.values().length;
+    
+    // Entries indexed by [ActionType ordinal][Material/EntityType ordinal]
+    private final Entry[][][] materialEntries = new Entry[ACTION_COUNT][][];
+    private final Entry[][][] entityEntries = new Entry[ACTION_COUNT][][];
+    private final Map<ActionType, Map<String, Entry[]>> stringEntries = new EnumMap<>(ActionType.class);
+    
+    // Prefilter - set bits mark materials/entities rewarded by at least one job
+    private final BitSet[] materialFilter = new BitSet[ACTION_COUNT];
+    private final BitSet[] entityFilter = new BitSet[ACTION_COUNT];
+    
+    /**
+     * Build the index from loaded jobs, keyed by their lowercase job names
+     */
+    public ObjectiveIndex(Map<String, Job> jobs) {
+        Map<Integer, List<Entry>> materialLists = new HashMap<>();
+        Map<Integer, List<Entry>> entityLists = new HashMap<>();
+        
+        for (ActionType actionType : ActionType.values()) {
+            int action = actionType.ordinal();
+            materialLists.clear();
+            entityLists.clear();
+            Map<String, List<Entry>> stringLists = new HashMap<>();
+            
+            for (Map.Entry<String, Job> jobEntry : jobs.entrySet()) {
+                Job job = jobEntry.getValue();
+                
+                JobObjective[] materials = job.getMaterialObjectives(actionType);
+                if (materials != null) {
+                    for (int i = 0; i < materials.length; i++) {
+                        if (materials[i] != null) {
+                            materialLists.computeIfAbsent(i, k -> new ArrayList<>())
+                                         .add(new Entry(jobEntry.getKey(), job, materials[i]));
+                        }
+                    }
+                }
+                
+                JobObjective[] entities = job.getEntityObjectives(actionType);
+                if (entities != null) {
+                    for (int i = 0; i < entities.length; i++) {
+                        if (entities[i] != null) {
+                            entityLists.computeIfAbsent(i, k -> new ArrayList<>())
+                                       .add(new Entry(jobEntry.getKey(), job, entities[i]));
+                        }
+                    }
+                }
+                
+                Map<String, JobObjective> strings = job.getStringObjectives(actionType);
+                if (strings != null) {
+                    for (Map.Entry<String, JobObjective> stringEntry : strings.entrySet()) {
+                        stringLists.computeIfAbsent(stringEntry.getKey(), k -> new ArrayList<>())
+                                   .add(new Entry(jobEntry.getKey(), job, stringEntry.getValue()));
+                    }
+                }
+            }
+            
+            if (!materialLists.isEmpty()) {
+                materialEntries[action] = new Entry[Material.values().length][];
+                materialFilter[action] = new BitSet(Material.values().length);
+                for (Map.Entry<Integer, List<Entry>> entry : materialLists.entrySet()) {
+                    materialEntries[action][entry.getKey()] = entry.getValue().toArray(new Entry[0]);
+                    materialFilter[action].set(entry.getKey());
+                }
+            }
+            
+            if (!entityLists.isEmpty()) {
+                entityEntries[action] = new Entry[EntityType.values().length][];
+                entityFilter[action] = new BitSet(EntityType.values().length);
+                for (Map.Entry<Integer, List<Entry>> entry : entityLists.entrySet()) {
+                    entityEntries[action][entry.getKey()] = entry.getValue().toArray(new Entry[0]);
+                    entityFilter[action].set(entry.getKey());
+                }
+            }
+            
+            if (!stringLists.isEmpty()) {
+                Map<String, Entry[]> compiled = new HashMap<>();
+                for (Map.Entry<String, List<Entry>> entry : stringLists.entrySet()) {
+                    compiled.put(entry.getKey(), entry.getValue().toArray(new Entry[0]));
+                }
+                stringEntries.put(actionType, compiled);
+            }
+        }
+    }
+    
+    /**
+     * Check if any job rewards this action on a material
+     */
+    public boolean isRewarded(ActionType actionType, Material material) {
+        BitSet filter = materialFilter[actionType.ordinal()];
+        return filter != null && filter.get(material.ordinal());
+    }
+    
+    /**
+     * Check if any job rewards this action on an entity
+     */
+    public boolean isRewarded(ActionType actionType, EntityType entityType) {
+        BitSet filter = entityFilter[actionType.ordinal()];
+        return filter != null && filter.get(entityType.ordinal());
+    }
+    
+    /**
+     * Get all job objectives rewarding an action on a target, or null if none
+     */
+    public Entry[] getEntries(ActionType actionType, Object target) {
+        if (target instanceof Material) {
+            if (!isRewarded(actionType, (Material) target)) return null;
+            return materialEntries[actionType.ordinal()][((Material) target).ordinal()];
+        }
+        
+        if (target instanceof EntityType) {
+            if (!isRewarded(actionType, (EntityType) target)) return null;
+            return entityEntries[actionType.ordinal()][((EntityType) target).ordinal()];
+        }
+        
+        if (target instanceof String) {
+            Map<String, Entry[]> actionEntries = stringEntries.get(actionType);
+            return actionEntries != null ? actionEntries.get(target) : null;
+        }
+        
+        return null;
+    }
+    
+    /**
+     * A job objective that rewards an indexed action/target
+     */
+    public static class Entry {
+        private final String jobName;
+        private final Job job;
+        private final JobObjective objective;
+        private final int jobId;
+        private final long jobBit;
+        
+        public Entry(String jobName, Job job, JobObjective objective) {
+            this.jobName = jobName;
+            this.job = job;
+            this.objective = objective;
+            this.jobId = job.getId();
+            this.jobBit = PlayerJobs.bit(jobId);
+        }
+        
+        public String getJobName() { return jobName; }
+        public int getJobId() { return jobId; }
+        public long getJobBit() { return jobBit; }
+        public Job getJob() { return job; }
+        public JobObjective getObjective() { return objective; }
+    }
+}
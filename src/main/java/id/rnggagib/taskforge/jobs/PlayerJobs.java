@@ -0,0 +1,109 @@
+package id.rnggagib.taskforge.jobs;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compact job progress of a single player, indexed by interned job id
+ * Joined jobs are a bitmask so membership checks are a single AND
+ * Jobs whose progress changed since the last save are tracked in a second mask
+ * Every progress change also gives the job a new version, so readers can cache values derived from it
+ */
+public class PlayerJobs {
+    
+    // Job ids are bit positions in a long
+    public static final int MAX_JOB_IDS = Long.SIZE;
+    
+    // Versions are unique across all players and loads, so a reloaded player never reuses an old one
+    private static final AtomicLong VERSIONS = new AtomicLong();
+    
+    private long jobMask;
+    private long dirtyMask;
+    private final int[] levels = new int[MAX_JOB_IDS];
+    private final double[] experience = new double[MAX_JOB_IDS];
+    // When each job was last joined, for the leave cooldown; 0 = no record
+    private final long[] joinTimestamps = new long[MAX_JOB_IDS];
+    private final long[] versions = new long[MAX_JOB_IDS];
+    
+    /**
+     * Get bit for a job id
+     */
+    public static long bit(int jobId) {
+        return 1L << jobId;
+    }
+    
+    /**
+     * Add a job with the given progress
+     */
+    public void add(int jobId, int level, double exp) {
+        levels[jobId] = level;
+        experience[jobId] = exp;
+        versions[jobId] = VERSIONS.incrementAndGet();
+        jobMask |= bit(jobId);
+    }
+    
+    /**
+     * Remove a job and clear its progress
+     */
+    public void remove(int jobId) {
+        jobMask &= ~bit(jobId);
+        dirtyMask &= ~bit(jobId);
+        levels[jobId] = 0;
+        experience[jobId] = 0.0;
+        versions[jobId] = VERSIONS.incrementAndGet();
+    }
+    
+    public boolean hasJob(int jobId) {
+        return jobId >= 0 && (jobMask & bit(jobId)) != 0;
+    }
+    
+    /**
+     * Get and clear the mask of jobs changed since the last call
+     */
+    public long takeDirty() {
+        long dirty = dirtyMask & jobMask;
+        dirtyMask = 0L;
+        return dirty;
+    }
+    
+    public boolean isDirty() {
+        return (dirtyMask & jobMask) != 0;
+    }
+    
+    public long getJobMask() { return jobMask; }
+    public int getJobCount() { return Long.bitCount(jobMask); }
+    public int getLevel(int jobId) { return levels[jobId]; }
+    public double getExperience(int jobId) { return experience[jobId]; }
+    public long getVersion(int jobId) { return versions[jobId]; }
+    
+    public void setLevel(int jobId, int level) {
+        levels[jobId] = level;
+        versions[jobId] = VERSIONS.incrementAndGet();
+        dirtyMask |= bit(jobId);
+    }
+    
+    public void setExperience(int jobId, double exp) {
+        experience[jobId] = exp;
+        versions[jobId] = VERSIONS.incrementAndGet();
+        dirtyMask |= bit(jobId);
+    }
+    
+    public long getJoinTimestamp(int jobId) { return joinTimestamps[jobId]; }
+    
+    public void setJoinTimestamp(int jobId, long timestamp) {
+        joinTimestamps[jobId] = timestamp;
+    }
+    
+    /**
+     * Forget join timestamps older than the given time; returns how many were removed
+     */
+    public int pruneJoinTimestamps(long expiredBefore) {
+        int pruned = 0;
+        for (int jobId = 0; jobId < MAX_JOB_IDS; jobId++) {
+            if (joinTimestamps[jobId] != 0 && joinTimestamps[jobId] < expiredBefore) {
+                joinTimestamps[jobId] = 0;
+                pruned++;
+            }
+        }
+        return pruned;
+    }
+}
@@ -0,0 +1,60 @@
+package id.rnggagib.taskforge.listeners;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.inventory.Inventory;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.gui.BaseGUI;
+
+/**
+ * Routes inventory events to the GUI that owns the inventory
+ * One listener for every GUI, instead of one registered listener per opened GUI
+ */
+public class GUIListener implements Listener {
+    
+    private final TaskForgePlugin plugin;
+    
+    public GUIListener(TaskForgePlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onInventoryClick(InventoryClickEvent event) {
+        Inventory top = event.getInventory();
+        if (!(top.getHolder() instanceof BaseGUI)) return;
+        
+        // Nothing moves in or out of a GUI, whichever inventory was clicked
+        event.setCancelled(true);
+        if (!(event.getWhoClicked() instanceof Player)) return;
+        
+        // Buttons only live in the GUI itself, not in the player's inventory below it
+        if (event.getRawSlot() < 0 || event.getRawSlot() >= top.getSize()) return;
+        
+        try {
+            ((BaseGUI) top.getHolder()).handleClick(event);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to handle GUI click: " + e.getMessage());
+        }
+    }
+    
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onInventoryDrag(InventoryDragEvent event) {
+        if (event.getInventory().getHolder() instanceof BaseGUI) {
+            event.setCancelled(true);
+        }
+    }
+    
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (!(event.getInventory().getHolder() instanceof BaseGUI)) return;
+        if (!(event.getPlayer() instanceof Player)) return;
+        
+        ((BaseGUI) event.getInventory().getHolder()).handleClose((Player) event.getPlayer());
+    }
+}
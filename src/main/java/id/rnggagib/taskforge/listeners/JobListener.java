@@ -1,12 +1,7 @@
 package id.rnggagib.taskforge.listeners;
 
-import java.util.Set;
-import java.util.Map;
-import java.util.HashSet;
-import java.util.concurrent.ConcurrentHashMap;
-
-import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.block.Block;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -22,11 +17,17 @@ import org.bukkit.event.inventory.FurnaceExtractEvent;
 import org.bukkit.event.player.PlayerFishEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.WorldSaveEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.inventory.ItemStack;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.antiexploit.PlacedBlockTracker;
 import id.rnggagib.taskforge.jobs.Job.ActionType;
 import id.rnggagib.taskforge.jobs.JobObjective;
+import id.rnggagib.taskforge.jobs.ObjectiveIndex;
 
 /**
  * Listens for job-related events and processes them with anti-exploit protection
@@ -36,184 +37,88 @@ public class JobListener implements Listener {
     private final TaskForgePlugin plugin;
     
     // Anti-exploit tracking - blocks placed by players
-    private final Map<String, Long> placedBlocks = new ConcurrentHashMap<>();
-    
-    // Materials that should be tracked for anti-exploit (mainly farmable blocks)
-    private final Set<Material> trackedMaterials = new HashSet<>();
+    private final PlacedBlockTracker placedBlocks;
     
     public JobListener(TaskForgePlugin plugin) {
         this.plugin = plugin;
-        initializeTrackedMaterials();
-        startCleanupTask();
-    }
-    
-    /**
-     * Get natural time threshold from config (in milliseconds)
-     */
-    private long getNaturalTimeThreshold() {
-        int minutes = plugin.getConfigManager().getConfig().getInt("anti_exploit.natural_time_minutes", 30);
-        return minutes * 60 * 1000L; // Convert to milliseconds
+        this.placedBlocks = plugin.getPlacedBlockTracker();
     }
     
     /**
      * Check if anti-exploit is enabled
      */
     private boolean isAntiExploitEnabled() {
-        return plugin.getConfigManager().getConfig().getBoolean("anti_exploit.enabled", true);
+        return plugin.getConfigManager().getSettings().isAntiExploitEnabled();
     }
     
     /**
      * Check if debug messages are enabled for anti-exploit
      */
     private boolean isAntiExploitDebugEnabled() {
-        return plugin.getConfigManager().getConfig().getBoolean("anti_exploit.debug_messages", false);
-    }
-    
-    /**
-     * Initialize materials that should be tracked for anti-exploit
-     */
-    private void initializeTrackedMaterials() {
-        // Wood/Tree materials
-        trackedMaterials.add(Material.OAK_LOG);
-        trackedMaterials.add(Material.BIRCH_LOG);
-        trackedMaterials.add(Material.SPRUCE_LOG);
-        trackedMaterials.add(Material.JUNGLE_LOG);
-        trackedMaterials.add(Material.ACACIA_LOG);
-        trackedMaterials.add(Material.DARK_OAK_LOG);
-        trackedMaterials.add(Material.MANGROVE_LOG);
-        trackedMaterials.add(Material.CHERRY_LOG);
-        trackedMaterials.add(Material.CRIMSON_STEM);
-        trackedMaterials.add(Material.WARPED_STEM);
-        
-        // Stripped logs
-        trackedMaterials.add(Material.STRIPPED_OAK_LOG);
-        trackedMaterials.add(Material.STRIPPED_BIRCH_LOG);
-        trackedMaterials.add(Material.STRIPPED_SPRUCE_LOG);
-        trackedMaterials.add(Material.STRIPPED_JUNGLE_LOG);
-        trackedMaterials.add(Material.STRIPPED_ACACIA_LOG);
-        trackedMaterials.add(Material.STRIPPED_DARK_OAK_LOG);
-        trackedMaterials.add(Material.STRIPPED_MANGROVE_LOG);
-        trackedMaterials.add(Material.STRIPPED_CHERRY_LOG);
-        trackedMaterials.add(Material.STRIPPED_CRIMSON_STEM);
-        trackedMaterials.add(Material.STRIPPED_WARPED_STEM);
-        
-        // Ores and valuable blocks
-        trackedMaterials.add(Material.COAL_ORE);
-        trackedMaterials.add(Material.IRON_ORE);
-        trackedMaterials.add(Material.GOLD_ORE);
-        trackedMaterials.add(Material.DIAMOND_ORE);
-        trackedMaterials.add(Material.EMERALD_ORE);
-        trackedMaterials.add(Material.LAPIS_ORE);
-        trackedMaterials.add(Material.REDSTONE_ORE);
-        trackedMaterials.add(Material.COPPER_ORE);
-        trackedMaterials.add(Material.DEEPSLATE_COAL_ORE);
-        trackedMaterials.add(Material.DEEPSLATE_IRON_ORE);
-        trackedMaterials.add(Material.DEEPSLATE_GOLD_ORE);
-        trackedMaterials.add(Material.DEEPSLATE_DIAMOND_ORE);
-        trackedMaterials.add(Material.DEEPSLATE_EMERALD_ORE);
-        trackedMaterials.add(Material.DEEPSLATE_LAPIS_ORE);
-        trackedMaterials.add(Material.DEEPSLATE_REDSTONE_ORE);
-        trackedMaterials.add(Material.DEEPSLATE_COPPER_ORE);
-        
-        // Crops (untuk Farmer job)
-        trackedMaterials.add(Material.WHEAT);
-        trackedMaterials.add(Material.CARROTS);
-        trackedMaterials.add(Material.POTATOES);
-        trackedMaterials.add(Material.BEETROOTS);
-        trackedMaterials.add(Material.PUMPKIN);
-        trackedMaterials.add(Material.MELON);
-        trackedMaterials.add(Material.SUGAR_CANE);
-        trackedMaterials.add(Material.BAMBOO);
-        trackedMaterials.add(Material.COCOA);
-        trackedMaterials.add(Material.SWEET_BERRY_BUSH);
-        
-        // Building blocks (for Builder job anti-exploit)
-        trackedMaterials.add(Material.COBBLESTONE);
-        trackedMaterials.add(Material.STONE_BRICKS);
-        trackedMaterials.add(Material.SMOOTH_STONE);
-        trackedMaterials.add(Material.BRICKS);
-        trackedMaterials.add(Material.NETHER_BRICKS);
-        trackedMaterials.add(Material.QUARTZ_BLOCK);
-        trackedMaterials.add(Material.PRISMARINE);
-        trackedMaterials.add(Material.PRISMARINE_BRICKS);
-        trackedMaterials.add(Material.DARK_PRISMARINE);
+        return plugin.getConfigManager().getSettings().isAntiExploitDebug();
     }
     
     /**
-     * Create location key for tracking
+     * Check if placements of a material should be tracked
+     * Only materials some job rewards breaking can be exploited by placing them
      */
-    private String createLocationKey(Location location) {
-        return location.getWorld().getName() + ":" + 
-               location.getBlockX() + ":" + 
-               location.getBlockY() + ":" + 
-               location.getBlockZ();
+    private boolean isTrackedMaterial(Material material) {
+        return plugin.getJobManager().getObjectiveIndex().isRewarded(ActionType.BREAK, material);
     }
     
     /**
      * Check if a block is considered "natural" (not recently placed by player)
      */
-    private boolean isNaturalBlock(Location location) {
+    private boolean isNaturalBlock(Block block) {
         if (!isAntiExploitEnabled()) {
             return true; // Anti-exploit disabled, all blocks are natural
         }
         
-        String locationKey = createLocationKey(location);
-        Long placedTime = placedBlocks.get(locationKey);
+        long placedTime = placedBlocks.getPlacedTime(block);
         
-        if (placedTime == null) {
+        if (placedTime == 0L) {
             // Block not tracked = natural
             return true;
         }
         
-        long currentTime = System.currentTimeMillis();
-        long timeSincePlaced = currentTime - placedTime;
-        long naturalTimeThreshold = getNaturalTimeThreshold();
+        // Stop tracking - the block is being broken either way
+        placedBlocks.remove(block);
         
         // If block was placed more than configured time ago, consider it natural
-        if (timeSincePlaced >= naturalTimeThreshold) {
-            // Remove from tracking since it's now natural
-            placedBlocks.remove(locationKey);
-            return true;
-        }
-        
-        return false;
+        return placedBlocks.isNatural(placedTime, System.currentTimeMillis());
     }
     
-    /**
-     * Start cleanup task to remove old entries
-     */
-    private void startCleanupTask() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!isAntiExploitEnabled()) {
-                    return; // Don't cleanup if anti-exploit is disabled
-                }
-                
-                long currentTime = System.currentTimeMillis();
-                long naturalTimeThreshold = getNaturalTimeThreshold();
-                
-                int removedCount = 0;
-                var iterator = placedBlocks.entrySet().iterator();
-                while (iterator.hasNext()) {
-                    var entry = iterator.next();
-                    if ((currentTime - entry.getValue()) >= naturalTimeThreshold) {
-                        iterator.remove();
-                        removedCount++;
-                    }
-                }
-                
-                if (isAntiExploitDebugEnabled() && removedCount > 0) {
-                    plugin.getLogger().info("[Anti-Exploit] Cleaned up " + removedCount + " old block entries");
-                }
-            }
-        }.runTaskTimerAsynchronously(plugin, 12000L, 12000L); // Run every 10 minutes (12000 ticks)
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        placedBlocks.loadChunk(event.getChunk());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        placedBlocks.unloadChunk(event.getChunk());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldSave(WorldSaveEvent event) {
+        placedBlocks.saveWorld(event.getWorld());
+        plugin.getPlayerDataManager().flushDirtyAsync();
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        placedBlocks.unloadWorld(event.getWorld());
     }
     
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent event) {
         // Load player data when they join
         plugin.getPlayerDataManager().loadPlayerData(event.getPlayer().getUniqueId());
+        
+        // Keep their leaderboard name current
+        plugin.getLeaderboardManager().setName(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+        
+        // Anchor their salary cycle to now
+        plugin.getSalaryManager().onPlayerJoin(event.getPlayer().getUniqueId());
     }
     
     @EventHandler
@@ -221,29 +126,41 @@ public class JobListener implements Listener {
         // Clean up notifications
         plugin.getNotificationManager().onPlayerQuit(event.getPlayer());
         
+        // Stop their salary cycle
+        plugin.getSalaryManager().onPlayerQuit(event.getPlayer().getUniqueId());
+        
+        // Deposit money still waiting in their payment window
+        plugin.getDirectPayManager().flushPlayer(event.getPlayer().getUniqueId());
+        
+        // Write any stats still waiting for the next flush
+        plugin.getStatsManager().flushPlayerAsync(event.getPlayer().getUniqueId());
+        
         // Save and unload player data when they leave
         plugin.getPlayerDataManager().unloadPlayerData(event.getPlayer().getUniqueId());
     }
     
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onBlockBreak(BlockBreakEvent event) {
-        Player player = event.getPlayer();
         Material material = event.getBlock().getType();
-        Location location = event.getBlock().getLocation();
         
-        // Check if this is a tracked material and if it's natural
-        if (trackedMaterials.contains(material)) {
-            if (!isNaturalBlock(location)) {
-                // Block was recently placed by a player, don't give rewards
-                if (isAntiExploitDebugEnabled()) {
-                    player.sendMessage(plugin.getConfigManager().translateColorCodes(
-                        "&7[Anti-Exploit] &cNo reward: Block was recently placed by a player"));
-                }
-                return;
-            } else if (isAntiExploitDebugEnabled()) {
+        // Most broken blocks are not rewarded by any job
+        if (!plugin.getJobManager().getObjectiveIndex().isRewarded(ActionType.BREAK, material)) {
+            return;
+        }
+        
+        Player player = event.getPlayer();
+        
+        // Every rewarded material is tracked, check if it's natural
+        if (!isNaturalBlock(event.getBlock())) {
+            // Block was recently placed by a player, don't give rewards
+            if (isAntiExploitDebugEnabled()) {
                 player.sendMessage(plugin.getConfigManager().translateColorCodes(
-                    "&7[Anti-Exploit] &aReward given: Natural block detected"));
+                    "&7[Anti-Exploit] &cNo reward: Block was recently placed by a player"));
             }
+            return;
+        } else if (isAntiExploitDebugEnabled()) {
+            player.sendMessage(plugin.getConfigManager().translateColorCodes(
+                "&7[Anti-Exploit] &aReward given: Natural block detected"));
         }
         
         processJobAction(player, ActionType.BREAK, material);
@@ -253,15 +170,13 @@ public class JobListener implements Listener {
     public void onBlockPlace(BlockPlaceEvent event) {
         Player player = event.getPlayer();
         Material material = event.getBlockPlaced().getType();
-        Location location = event.getBlockPlaced().getLocation();
         
         // Track placed blocks for anti-exploit
-        if (isAntiExploitEnabled() && trackedMaterials.contains(material)) {
-            String locationKey = createLocationKey(location);
-            placedBlocks.put(locationKey, System.currentTimeMillis());
+        if (isAntiExploitEnabled() && isTrackedMaterial(material)) {
+            placedBlocks.markPlaced(event.getBlockPlaced(), System.currentTimeMillis());
             
             if (isAntiExploitDebugEnabled()) {
-                long naturalTime = getNaturalTimeThreshold() / (60 * 1000); // Convert to minutes
+                long naturalTime = placedBlocks.getNaturalTimeMillis() / (60 * 1000); // Convert to minutes
                 player.sendMessage(plugin.getConfigManager().translateColorCodes(
                     "&7[Anti-Exploit] &eTracking placed block: " + material.name() + 
                     " (becomes natural in " + naturalTime + " minutes)"));
@@ -321,45 +236,96 @@ public class JobListener implements Listener {
     public void onCraftItem(CraftItemEvent event) {
         if (event.getWhoClicked() instanceof Player) {
             Player player = (Player) event.getWhoClicked();
-            Material craftedMaterial = event.getRecipe().getResult().getType();
+            ItemStack result = event.getRecipe().getResult();
             
-            processJobAction(player, ActionType.CRAFT, craftedMaterial);
+            processJobAction(player, ActionType.CRAFT, result.getType(), getCraftedAmount(event, player, result));
         }
     }
     
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onFurnaceExtract(FurnaceExtractEvent event) {
-        Player player = event.getPlayer();
-        Material smeltedMaterial = event.getItemType();
+    /**
+     * Get how many items a craft click produces
+     * Shift-click crafts as many times as the ingredients and the player's inventory allow
+     */
+    private int getCraftedAmount(CraftItemEvent event, Player player, ItemStack result) {
+        int perCraft = Math.max(1, result.getAmount());
+        if (!event.isShiftClick()) {
+            return perCraft;
+        }
+        
+        // Every occupied matrix slot is consumed once per craft
+        int crafts = Integer.MAX_VALUE;
+        for (ItemStack ingredient : event.getInventory().getMatrix()) {
+            if (ingredient != null && ingredient.getType() != Material.AIR) {
+                crafts = Math.min(crafts, ingredient.getAmount());
+            }
+        }
+        if (crafts == Integer.MAX_VALUE) {
+            return perCraft;
+        }
         
-        // Process for each item extracted
-        for (int i = 0; i < event.getItemAmount(); i++) {
-            processJobAction(player, ActionType.SMELT, smeltedMaterial);
+        // Crafting stops once the results no longer fit
+        int space = 0;
+        for (ItemStack slot : player.getInventory().getStorageContents()) {
+            if (slot == null || slot.getType() == Material.AIR) {
+                space += result.getMaxStackSize();
+            } else if (slot.isSimilar(result)) {
+                space += Math.max(0, slot.getMaxStackSize() - slot.getAmount());
+            }
         }
+        
+        return Math.min(crafts, space / perCraft) * perCraft;
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFurnaceExtract(FurnaceExtractEvent event) {
+        // Rewards for every extracted item are rolled and paid in one pass
+        processJobAction(event.getPlayer(), ActionType.SMELT, event.getItemType(), event.getItemAmount());
     }
     
     /**
      * Process a job action for a player
      */
     private void processJobAction(Player player, ActionType actionType, Object target) {
-        Set<String> playerJobs = plugin.getPlayerDataManager().getPlayerJobs(player.getUniqueId());
+        processJobAction(player, actionType, target, 1);
+    }
+    
+    /**
+     * Process the same job action performed several times at once
+     * The chance is rolled for all of them together and the rewards are paid once
+     */
+    private void processJobAction(Player player, ActionType actionType, Object target, int count) {
+        if (count <= 0) {
+            return;
+        }
         
-        if (playerJobs.isEmpty()) {
+        ObjectiveIndex.Entry[] entries = plugin.getJobManager().getObjectiveIndex().getEntries(actionType, target);
+        if (entries == null) {
+            return; // No job rewards this action
+        }
+        
+        long jobMask = plugin.getPlayerDataManager().getJobMask(player.getUniqueId());
+        if (jobMask == 0) {
             return; // Player has no jobs
         }
         
-        // Process each job the player has
-        for (String jobName : playerJobs) {
-            JobObjective objective = plugin.getJobManager().getObjective(jobName, actionType, target);
+        // Process each job rewarding this action that the player has joined
+        for (ObjectiveIndex.Entry entry : entries) {
+            if ((jobMask & entry.getJobBit()) == 0) {
+                continue;
+            }
+            
+            JobObjective objective = entry.getObjective();
+            String jobName = entry.getJobName();
             
-            if (objective != null && objective.shouldTrigger()) {
+            int triggered = objective.rollTriggers(count);
+            if (triggered > 0) {
                 // Give rewards
-                giveJobRewards(player, jobName, objective);
+                giveJobRewards(player, entry.getJobId(), jobName, objective, triggered);
                 
                 // Log action if debug enabled
                 if (plugin.getConfigManager().isActionLoggingEnabled()) {
-                    plugin.getLogger().info(String.format("%s performed %s %s for job %s (exp: %.2f, money: %.2f)", 
-                                                        player.getName(), actionType, target, jobName, 
+                    plugin.getLogger().info(String.format("%s performed %s %s x%d (%d rewarded) for job %s (exp: %.2f, money: %.2f)", 
+                                                        player.getName(), actionType, target, count, triggered, jobName, 
                                                         objective.getExperience(), objective.getMoney()));
                 }
             }
@@ -367,11 +333,11 @@ public class JobListener implements Listener {
     }
     
     /**
-     * Give rewards to player for completing a job objective
+     * Give rewards to player for completing a job objective one or more times
      */
-    private void giveJobRewards(Player player, String jobName, JobObjective objective) {
-        double experience = objective.getExperience();
-        double money = objective.getMoney();
+    private void giveJobRewards(Player player, int jobId, String jobName, JobObjective objective, int times) {
+        double experience = objective.getExperience() * times;
+        double money = objective.getRandomMoney(times);
         
         // Apply boosters to the rewards
         experience = plugin.getBoosterManager().applyBooster(player, "exp", experience);
@@ -379,7 +345,7 @@ public class JobListener implements Listener {
         
         // Add experience (always given if > 0)
         if (experience > 0) {
-            plugin.getPlayerDataManager().addJobExperience(player.getUniqueId(), jobName, experience);
+            plugin.getPlayerDataManager().addJobExperience(player.getUniqueId(), jobId, experience);
         }
         
         // Handle money through salary system or direct payment
@@ -389,29 +355,27 @@ public class JobListener implements Listener {
                 plugin.getSalaryManager().addPendingSalary(player.getUniqueId(), money);
                 
                 // Update statistics with money added to salary
-                plugin.getDatabaseManager().updatePlayerStats(player.getUniqueId(), jobName, money, experience);
+                plugin.getStatsManager().recordActions(player.getUniqueId(), jobName, money, experience, times);
             } else {
-                // Direct payment (salary system disabled)
+                // Direct payment (salary system disabled), coalesced into one deposit per window
                 if (plugin.isEconomyEnabled()) {
-                    plugin.getEconomy().depositPlayer(player, money);
+                    plugin.getDirectPayManager().pay(player, jobName, money);
                     
                     // Update statistics with money given
-                    plugin.getDatabaseManager().updatePlayerStats(player.getUniqueId(), jobName, money, experience);
+                    plugin.getStatsManager().recordActions(player.getUniqueId(), jobName, money, experience, times);
                 } else {
                     // Economy disabled, only update stats with 0 money
-                    plugin.getDatabaseManager().updatePlayerStats(player.getUniqueId(), jobName, 0.0, experience);
+                    plugin.getStatsManager().recordActions(player.getUniqueId(), jobName, 0.0, experience, times);
                 }
             }
         } else {
             // No money reward, update statistics with 0 money
-            plugin.getDatabaseManager().updatePlayerStats(player.getUniqueId(), jobName, 0.0, experience);
+            plugin.getStatsManager().recordActions(player.getUniqueId(), jobName, 0.0, experience, times);
         }
         
         // Send notification using the existing system
         if (experience > 0 || money > 0) {
-            // Create a temporary JobObjective with boosted values for notification display
-            JobObjective boostedObjective = new JobObjective(experience, money, objective.getChance());
-            plugin.getNotificationManager().sendJobRewardNotification(player, jobName, boostedObjective);
+            plugin.getNotificationManager().sendJobRewardNotification(player, jobName, experience, money);
         }
     }
 }
@@ -0,0 +1,180 @@
+package id.rnggagib.taskforge.managers;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.config.MessageTemplate;
+
+/**
+ * Coalesces direct job payments (salary system disabled) into one economy deposit per player per window
+ * The first payment of a player opens their window; everything earned until it closes is deposited together
+ * Main thread only
+ */
+public class DirectPayManager {
+    
+    private final TaskForgePlugin plugin;
+    
+    // Open payment windows per player
+    private final Map<UUID, CoalescedPayment> pendingPayments = new HashMap<>();
+    
+    // Windows by close tick; entries already flushed on quit are skipped
+    private final Queue<CoalescedPayment> closingOrder =
+        new PriorityQueue<>(Comparator.comparingLong(CoalescedPayment::getCloseTick));
+    
+    // Task that closes due windows every tick
+    private BukkitTask flushTask;
+    private long currentTick;
+    
+    // Metrics
+    private long paymentsCoalesced;
+    private long depositsMade;
+    
+    public DirectPayManager(TaskForgePlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Start closing payment windows
+     */
+    public void initialize() {
+        flushTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                currentTick++;
+                flushDue();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
+    }
+    
+    /**
+     * Deposit everything still pending (for plugin shutdown)
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        
+        for (CoalescedPayment payment : closingOrder) {
+            flushPlayer(payment.getPlayerUUID());
+        }
+        closingOrder.clear();
+    }
+    
+    /**
+     * Pay a job reward, coalesced with the player's other payments in the current window
+     */
+    public void pay(Player player, String jobName, double amount) {
+        if (amount <= 0 || !plugin.isEconomyEnabled()) return;
+        
+        long windowTicks = plugin.getConfigManager().getSettings().getDirectPayWindowTicks();
+        if (windowTicks <= 0) {
+            // Coalescing disabled
+            deposit(player, jobName, amount);
+            return;
+        }
+        
+        UUID playerUUID = player.getUniqueId();
+        CoalescedPayment payment = pendingPayments.get(playerUUID);
+        if (payment == null) {
+            payment = new CoalescedPayment(playerUUID, currentTick + windowTicks, jobName);
+            pendingPayments.put(playerUUID, payment);
+            closingOrder.add(payment);
+        }
+        payment.add(jobName, amount);
+        paymentsCoalesced++;
+    }
+    
+    /**
+     * Deposit a player's pending payment now (player quit)
+     */
+    public void flushPlayer(UUID playerUUID) {
+        CoalescedPayment payment = pendingPayments.remove(playerUUID);
+        if (payment == null) return;
+        
+        Player player = Bukkit.getPlayer(playerUUID);
+        if (player != null) {
+            deposit(player, payment.getJobName(), payment.getAmount());
+        } else if (plugin.isEconomyEnabled()) {
+            plugin.getEconomy().depositPlayer(Bukkit.getOfflinePlayer(playerUUID), payment.getAmount());
+            depositsMade++;
+        }
+    }
+    
+    /**
+     * Get number of players with an open payment window
+     */
+    public int getPendingCount() {
+        return pendingPayments.size();
+    }
+    
+    public long getPaymentsCoalesced() { return paymentsCoalesced; }
+    public long getDepositsMade() { return depositsMade; }
+    
+    /**
+     * Close every window whose time is up
+     * The window length can change on reload, so windows are ordered by close tick rather than by opening
+     */
+    private void flushDue() {
+        while (!closingOrder.isEmpty() && closingOrder.peek().getCloseTick() <= currentTick) {
+            CoalescedPayment payment = closingOrder.poll();
+            if (pendingPayments.get(payment.getPlayerUUID()) == payment) {
+                flushPlayer(payment.getPlayerUUID());
+            }
+        }
+    }
+    
+    private void deposit(Player player, String jobName, double amount) {
+        plugin.getEconomy().depositPlayer(player, amount);
+        depositsMade++;
+        
+        // Chat notifications announce what was actually deposited; bossbars already accumulate per job
+        if (plugin.getConfigManager().getSettings().isChatNotifications()) {
+            StringBuilder formatted = new StringBuilder(16).append(plugin.getConfigManager().getCurrencySymbol());
+            MessageTemplate.appendFixed(formatted, amount, 2);
+            // Payments from several jobs in one window name no job
+            player.sendMessage(jobName != null
+                    ? plugin.getConfigManager().getMessage(player, "job_money_earned", "amount", formatted.toString(), "job", jobName)
+                    : plugin.getConfigManager().getMessage(player, "job_money_earned_total", "amount", formatted.toString()));
+        }
+    }
+    
+    /**
+     * Money earned by one player within one window
+     */
+    private static class CoalescedPayment {
+        private final UUID playerUUID;
+        private final long closeTick;
+        private String jobName;
+        private double amount;
+        
+        CoalescedPayment(UUID playerUUID, long closeTick, String jobName) {
+            this.playerUUID = playerUUID;
+            this.closeTick = closeTick;
+            this.jobName = jobName;
+        }
+        
+        void add(String job, double money) {
+            // Payments from several jobs are announced without a job name
+            if (jobName != null && !jobName.equals(job)) {
+                jobName = null;
+            }
+            amount += money;
+        }
+        
+        UUID getPlayerUUID() { return playerUUID; }
+        long getCloseTick() { return closeTick; }
+        String getJobName() { return jobName; }
+        double getAmount() { return amount; }
+    }
+}
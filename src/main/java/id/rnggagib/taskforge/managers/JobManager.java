@@ -1,10 +1,14 @@
 package id.rnggagib.taskforge.managers;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Logger;
 
 import org.bukkit.Material;
@@ -19,6 +23,10 @@ import id.rnggagib.taskforge.jobs.Job.ActionType;
 import id.rnggagib.taskforge.jobs.JobObjective;
 import id.rnggagib.taskforge.jobs.JobReward;
 import id.rnggagib.taskforge.jobs.JobReward.RewardType;
+import id.rnggagib.taskforge.jobs.LevelCurve;
+import id.rnggagib.taskforge.jobs.ObjectiveCatalog;
+import id.rnggagib.taskforge.jobs.ObjectiveIndex;
+import id.rnggagib.taskforge.jobs.PlayerJobs;
 
 /**
  * Manages all jobs and their configuration
@@ -27,12 +35,17 @@ public class JobManager {
     
     private final TaskForgePlugin plugin;
     private final Logger logger;
-    private final Map<String, Job> jobs;
+    // Jobs and everything derived from them, built off to the side and published as a whole on every load;
+    // GUI models and placeholders read it off the main thread while a reload runs
+    private volatile JobSet jobSet = new JobSet(Collections.emptyMap(), Collections.emptyMap(), 0);
+    
+    // Interned job names - append only so ids held by player data stay valid across reloads
+    private final Map<String, Integer> jobIds = new ConcurrentHashMap<>();
+    private final List<String> jobIdNames = new CopyOnWriteArrayList<>();
     
     public JobManager(TaskForgePlugin plugin) {
         this.plugin = plugin;
         this.logger = plugin.getLogger();
-        this.jobs = new HashMap<>();
     }
     
     /**
@@ -40,7 +53,7 @@ public class JobManager {
      * Supports both separate files (new method) and single jobs.yml (legacy)
      */
     public void loadJobsFromConfig() {
-        jobs.clear();
+        Map<String, Job> jobs = new HashMap<>();
         
         // Check if jobs_index.yml exists and use_separate_files is enabled
         File jobsIndexFile = new File(plugin.getDataFolder(), "jobs_index.yml");
@@ -53,20 +66,84 @@ public class JobManager {
             
             if (useSeparateFiles) {
                 logger.info("Loading jobs from separate files...");
-                loadJobsFromSeparateFiles(jobsIndexConfig, debugLoading);
-                return;
+                loadJobsFromSeparateFiles(jobs, jobsIndexConfig, debugLoading);
             }
         }
         
         // Fall back to legacy single file method
-        logger.info("Loading jobs from single jobs.yml file...");
-        loadJobsFromSingleFile();
+        if (!useSeparateFiles) {
+            logger.info("Loading jobs from single jobs.yml file...");
+            loadJobsFromSingleFile(jobs);
+        }
+        
+        compileJobs(jobs);
+    }
+    
+    /**
+     * Compile objective lookup tables for the loaded jobs, build the reverse index and publish them together
+     */
+    private void compileJobs(Map<String, Job> jobs) {
+        Map<String, ObjectiveCatalog> catalogs = new HashMap<>();
+        Iterator<Map.Entry<String, Job>> iterator = jobs.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Job> entry = iterator.next();
+            int jobId = internJobName(entry.getKey());
+            if (jobId < 0) {
+                logger.severe("Job '" + entry.getKey() + "' not loaded: more than " + PlayerJobs.MAX_JOB_IDS + " job names in use");
+                iterator.remove();
+                continue;
+            }
+            
+            Job job = entry.getValue();
+            job.setId(jobId);
+            job.compileObjectives();
+            catalogs.put(entry.getKey(), new ObjectiveCatalog(job.getObjectives()));
+        }
+        
+        jobSet = new JobSet(Collections.unmodifiableMap(jobs), catalogs, jobSet.generation + 1);
+    }
+    
+    /**
+     * Get the id for a job name, assigning a new one if needed
+     * Returns -1 when all ids are taken
+     */
+    public synchronized int internJobName(String jobName) {
+        String key = jobName.toLowerCase();
+        Integer existing = jobIds.get(key);
+        if (existing != null) return existing;
+        
+        if (jobIdNames.size() >= PlayerJobs.MAX_JOB_IDS) {
+            return -1;
+        }
+        
+        int jobId = jobIdNames.size();
+        jobIdNames.add(key);
+        jobIds.put(key, jobId);
+        return jobId;
+    }
+    
+    /**
+     * Get the interned id for a job name, or -1 if unknown
+     */
+    public int getJobId(String jobName) {
+        Integer jobId = jobIds.get(jobName);
+        if (jobId == null) {
+            jobId = jobIds.get(jobName.toLowerCase());
+        }
+        return jobId != null ? jobId : -1;
+    }
+    
+    /**
+     * Get the job name for an interned id
+     */
+    public String getJobNameById(int jobId) {
+        return jobId >= 0 && jobId < jobIdNames.size() ? jobIdNames.get(jobId) : null;
     }
     
     /**
      * Load jobs from separate files (new method)
      */
-    private void loadJobsFromSeparateFiles(FileConfiguration jobsIndexConfig, boolean debugLoading) {
+    private void loadJobsFromSeparateFiles(Map<String, Job> jobs, FileConfiguration jobsIndexConfig, boolean debugLoading) {
         List<String> jobFileNames = jobsIndexConfig.getStringList("jobs");
         if (jobFileNames.isEmpty()) {
             logger.warning("No job files specified in jobs_index.yml!");
@@ -116,7 +193,7 @@ public class JobManager {
     /**
      * Load jobs from single jobs.yml file (legacy method)
      */
-    private void loadJobsFromSingleFile() {
+    private void loadJobsFromSingleFile(Map<String, Job> jobs) {
         FileConfiguration jobsConfig = plugin.getConfigManager().getJobsConfig();
         ConfigurationSection jobsSection = jobsConfig.getConfigurationSection("jobs");
         
@@ -167,6 +244,9 @@ public class JobManager {
         // Load level rewards
         loadLevelRewards(job, jobConfig.getConfigurationSection("level_rewards"));
         
+        // Load job-specific level curve
+        loadLevelCurve(job, jobConfig.getConfigurationSection("leveling"));
+        
         return job;
     }
     
@@ -198,9 +278,25 @@ public class JobManager {
         // Load level rewards
         loadLevelRewards(job, jobSection.getConfigurationSection("level_rewards"));
         
+        // Load job-specific level curve
+        loadLevelCurve(job, jobSection.getConfigurationSection("leveling"));
+        
         return job;
     }
     
+    /**
+     * Compile a job's own level curve, missing values fall back to the global leveling section
+     */
+    private void loadLevelCurve(Job job, ConfigurationSection levelingSection) {
+        if (levelingSection == null) return;
+        
+        try {
+            job.setLevelCurve(LevelCurve.fromConfig(levelingSection, plugin.getConfigManager().getSettings().getLevelCurve()));
+        } catch (IllegalArgumentException e) {
+            logger.warning("Invalid leveling for job " + job.getName() + ", using the global curve: " + e.getMessage());
+        }
+    }
+    
     /**
      * Load objectives for a job
      */
@@ -362,35 +458,35 @@ public class JobManager {
      * Get a job by name (case-insensitive)
      */
     public Job getJob(String jobName) {
-        return jobs.get(jobName.toLowerCase());
+        return jobSet.jobs.get(jobName.toLowerCase());
     }
     
     /**
      * Get all available jobs
      */
     public Map<String, Job> getAllJobs() {
-        return new HashMap<>(jobs);
+        return new HashMap<>(jobSet.jobs);
     }
     
     /**
      * Get all job names
      */
     public Set<String> getJobNames() {
-        return jobs.keySet();
+        return jobSet.jobs.keySet();
     }
     
     /**
      * Check if a job exists
      */
     public boolean jobExists(String jobName) {
-        return jobs.containsKey(jobName.toLowerCase());
+        return jobSet.jobs.containsKey(jobName.toLowerCase());
     }
     
     /**
      * Get the number of loaded jobs
      */
     public int getJobCount() {
-        return jobs.size();
+        return jobSet.jobs.size();
     }
     
     /**
@@ -402,4 +498,43 @@ public class JobManager {
         
         return job.getObjective(actionType, target);
     }
+    
+    /**
+     * Get the reverse index of job objectives by action and target
+     */
+    public ObjectiveIndex getObjectiveIndex() {
+        return jobSet.index;
+    }
+    
+    /**
+     * Get a number that changes every time the jobs are loaded
+     */
+    public int getLoadGeneration() {
+        return jobSet.generation;
+    }
+    
+    /**
+     * Get the sorted objective list of a job, or null if the job does not exist
+     */
+    public ObjectiveCatalog getObjectiveCatalog(String jobName) {
+        return jobSet.catalogs.get(jobName.toLowerCase());
+    }
+    
+    /**
+     * One load of the jobs with the lookup structures built from it, never changed once published
+     */
+    private static final class JobSet {
+        private final Map<String, Job> jobs;
+        private final ObjectiveIndex index;
+        private final Map<String, ObjectiveCatalog> catalogs;
+        // Bumped on every load, so state derived from the job set knows when to rebuild
+        private final int generation;
+        
+        private JobSet(Map<String, Job> jobs, Map<String, ObjectiveCatalog> catalogs, int generation) {
+            this.jobs = jobs;
+            this.index = new ObjectiveIndex(jobs);
+            this.catalogs = catalogs;
+            this.generation = generation;
+        }
+    }
 }
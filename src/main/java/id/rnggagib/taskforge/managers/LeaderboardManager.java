@@ -0,0 +1,263 @@
+package id.rnggagib.taskforge.managers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.database.DatabaseManager.PlayerJobData;
+import id.rnggagib.taskforge.database.DatabaseManager.PlayerStatsDelta;
+import id.rnggagib.taskforge.jobs.Leaderboard;
+
+/**
+ * In-memory leaderboards of every job, plus overall boards summed across jobs
+ * Seeded once from the database in the background, then kept current by the progress and stat
+ * changes the plugin already makes on the main thread, so rank queries never touch the database
+ */
+public class LeaderboardManager {
+    
+    /**
+     * What a leaderboard ranks by
+     */
+    public enum Metric {
+        LEVEL,   // level, then experience
+        MONEY,   // money earned
+        ACTIONS  // actions completed
+    }
+    
+    private final TaskForgePlugin plugin;
+    
+    // Boards of each job by lower-case job name, indexed by Metric ordinal
+    private final Map<String, Leaderboard[]> jobBoards = new ConcurrentHashMap<>();
+    // Totals across all jobs, indexed by Metric ordinal
+    private final Leaderboard[] overallBoards = createBoards();
+    
+    // Last known name of every ranked player
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    
+    // Stat changes made while the seed was loading, replayed on top of it (main thread only)
+    private List<StatsChange> seedBacklog = new ArrayList<>();
+    private volatile boolean loaded;
+    
+    public LeaderboardManager(TaskForgePlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Load every player's progress and stats in the background and build the boards from them
+     */
+    public void initialize() {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            long start = System.currentTimeMillis();
+            // Both reads are queued before waiting, so with read connections they run side by side
+            CompletableFuture<Map<UUID, List<PlayerJobData>>> progressRead = plugin.getDatabaseManager().loadAllJobProgress();
+            CompletableFuture<Map<UUID, Map<String, PlayerStatsDelta>>> statsRead = plugin.getDatabaseManager().loadAllPlayerStats();
+            Map<UUID, List<PlayerJobData>> progress = progressRead.join();
+            Map<UUID, Map<String, PlayerStatsDelta>> stats = statsRead.join();
+            
+            // Name lookups may read the server's user cache, so resolve them here
+            Map<UUID, String> seedNames = new ConcurrentHashMap<>();
+            for (UUID playerUUID : progress.keySet()) {
+                OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerUUID);
+                if (offlinePlayer.getName() != null) {
+                    seedNames.put(playerUUID, offlinePlayer.getName());
+                }
+            }
+            
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                // Names first, so nothing reading the seeded boards sees a player without one
+                seedNames.forEach(names::putIfAbsent);
+                seed(progress, stats);
+                plugin.getLogger().info("Leaderboards loaded for " + progress.size() + " players in "
+                    + (System.currentTimeMillis() - start) + "ms");
+            });
+        });
+    }
+    
+    /**
+     * Build the boards from the loaded rows, then apply what changed while they were loading
+     */
+    private void seed(Map<UUID, List<PlayerJobData>> progress, Map<UUID, Map<String, PlayerStatsDelta>> stats) {
+        for (Map.Entry<UUID, List<PlayerJobData>> entry : progress.entrySet()) {
+            for (PlayerJobData data : entry.getValue()) {
+                updateProgress(entry.getKey(), data.getJobName(), data.getLevel(), data.getExperience());
+            }
+        }
+        for (Map.Entry<UUID, Map<String, PlayerStatsDelta>> entry : stats.entrySet()) {
+            for (Map.Entry<String, PlayerStatsDelta> jobEntry : entry.getValue().entrySet()) {
+                addStats(entry.getKey(), jobEntry.getKey(), jobEntry.getValue().getMoneyEarned(),
+                         jobEntry.getValue().getActionsCompleted());
+            }
+        }
+        
+        // Online players' cached progress is newer than the rows that were read
+        PlayerDataManager data = plugin.getPlayerDataManager();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            UUID playerUUID = player.getUniqueId();
+            names.put(playerUUID, player.getName());
+            if (!data.isLoaded(playerUUID)) continue;
+            
+            Set<String> joined = data.getPlayerJobs(playerUUID);
+            for (String jobName : new ArrayList<>(jobBoards.keySet())) {
+                if (!joined.contains(jobName)) {
+                    removeJob(playerUUID, jobName);
+                }
+            }
+            for (String jobName : joined) {
+                updateProgress(playerUUID, jobName, data.getJobLevel(playerUUID, jobName),
+                               data.getJobExperience(playerUUID, jobName));
+            }
+        }
+        
+        for (StatsChange change : seedBacklog) {
+            addStats(change.playerUUID, change.jobName, change.money, change.actions);
+        }
+        seedBacklog = null;
+        loaded = true;
+    }
+    
+    /**
+     * Check if the boards have been seeded from the database
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    /**
+     * Record a player's current name, shown on the boards
+     */
+    public void setName(UUID playerUUID, String name) {
+        names.put(playerUUID, name);
+    }
+    
+    /**
+     * Get a ranked player's last known name
+     */
+    public String getName(UUID playerUUID) {
+        String name = names.get(playerUUID);
+        return name != null ? name : playerUUID.toString().substring(0, 8);
+    }
+    
+    /**
+     * Set a player's level and experience in a job (main thread)
+     */
+    public void updateProgress(UUID playerUUID, String jobName, int level, double experience) {
+        Leaderboard board = getBoards(jobName)[Metric.LEVEL.ordinal()];
+        Leaderboard.Entry previous = board.get(playerUUID);
+        board.update(playerUUID, level, experience);
+        
+        // Overall level is the sum over jobs, so move it by the difference
+        double levelChange = previous != null ? level - previous.getPrimary() : level;
+        double expChange = previous != null ? experience - previous.getSecondary() : experience;
+        if (levelChange != 0 || expChange != 0) {
+            overallBoards[Metric.LEVEL.ordinal()].add(playerUUID, levelChange, expChange);
+        }
+    }
+    
+    /**
+     * Add earned money and completed actions to a player's job stats (main thread)
+     */
+    public void recordStats(UUID playerUUID, String jobName, double money, int actions) {
+        if (!loaded) {
+            seedBacklog.add(new StatsChange(playerUUID, jobName, money, actions));
+            return;
+        }
+        addStats(playerUUID, jobName, money, actions);
+    }
+    
+    private void addStats(UUID playerUUID, String jobName, double money, int actions) {
+        Leaderboard[] boards = getBoards(jobName);
+        if (money != 0) {
+            boards[Metric.MONEY.ordinal()].add(playerUUID, money, 0);
+            overallBoards[Metric.MONEY.ordinal()].add(playerUUID, money, 0);
+        }
+        if (actions != 0) {
+            boards[Metric.ACTIONS.ordinal()].add(playerUUID, actions, 0);
+            overallBoards[Metric.ACTIONS.ordinal()].add(playerUUID, actions, 0);
+        }
+    }
+    
+    /**
+     * Remove a player from a job's boards after they left it; their stats for it are deleted too (main thread)
+     */
+    public void removeJob(UUID playerUUID, String jobName) {
+        Leaderboard[] boards = jobBoards.get(jobName.toLowerCase());
+        if (boards == null) return;
+        
+        for (Metric metric : Metric.values()) {
+            Leaderboard.Entry previous = boards[metric.ordinal()].get(playerUUID);
+            if (previous == null) continue;
+            
+            boards[metric.ordinal()].remove(playerUUID);
+            Leaderboard overall = overallBoards[metric.ordinal()];
+            overall.add(playerUUID, -previous.getPrimary(), -previous.getSecondary());
+            if (!isRankedInAnyJob(playerUUID, metric)) {
+                overall.remove(playerUUID);
+            }
+        }
+    }
+    
+    private boolean isRankedInAnyJob(UUID playerUUID, Metric metric) {
+        for (Leaderboard[] boards : jobBoards.values()) {
+            if (boards[metric.ordinal()].getRank(playerUUID) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Format an entry's score for display, with color codes
+     */
+    public String formatScore(Metric metric, Leaderboard.Entry entry) {
+        switch (metric) {
+            case MONEY: return String.format("&a$%,.2f", entry.getPrimary());
+            case ACTIONS: return String.format("&b%,d actions", (long) entry.getPrimary());
+            default: return String.format("&eLv.%d &8(&b%,.1f EXP&8)", (long) entry.getPrimary(), entry.getSecondary());
+        }
+    }
+    
+    /**
+     * Get the board of a job, or the overall board if jobName is null
+     */
+    public Leaderboard getLeaderboard(String jobName, Metric metric) {
+        return jobName == null ? overallBoards[metric.ordinal()] : getBoards(jobName)[metric.ordinal()];
+    }
+    
+    private Leaderboard[] getBoards(String jobName) {
+        return jobBoards.computeIfAbsent(jobName.toLowerCase(), key -> createBoards());
+    }
+    
+    private static Leaderboard[] createBoards() {
+        Leaderboard[] boards = new Leaderboard[Metric.values().length];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = new Leaderboard();
+        }
+        return boards;
+    }
+    
+    /**
+     * Stat change waiting for the seed
+     */
+    private static class StatsChange {
+        private final UUID playerUUID;
+        private final String jobName;
+        private final double money;
+        private final int actions;
+        
+        private StatsChange(UUID playerUUID, String jobName, double money, int actions) {
+            this.playerUUID = playerUUID;
+            this.jobName = jobName;
+            this.money = money;
+            this.actions = actions;
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package id.rnggagib.taskforge.managers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -13,58 +18,85 @@ import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
-import id.rnggagib.taskforge.jobs.JobObjective;
+import id.rnggagib.taskforge.config.MessageTemplate;
+import id.rnggagib.taskforge.config.Settings;
 
 /**
  * Manages job reward notifications (chat and bossbar)
- * Implements anti-spam for bossbar notifications
+ * Implements anti-spam for bossbar notifications: rewards are accumulated per player and job
+ * A single repeating task drives every deadline (showing accumulated rewards, hiding bossbars)
+ * through a timing wheel, so the number of scheduler tasks does not grow with activity
+ * Each player has one bossbar, created on first use and afterwards only retitled and shown or hidden
  */
 public class NotificationManager {
     
+    // Wheel size in ticks; later deadlines are parked in the last slot and rescheduled when it comes round
+    private static final int WHEEL_SIZE = 128;
+    
+    // Share of the remaining distance a level progress bar moves per tick
+    private static final double ANIMATION_STEP = 0.25;
+    
     private final TaskForgePlugin plugin;
     
-    // Bossbar management
-    private final Map<UUID, BossBar> playerBossBars = new ConcurrentHashMap<>();
-    private final Map<UUID, BukkitTask> bossBarTasks = new ConcurrentHashMap<>();
+    // Reused for every notification text; only touched on the main thread
+    private final StringBuilder text = new StringBuilder(128);
+    
+    // Notification state per online player
+    private final Map<UUID, PlayerNotifications> states = new ConcurrentHashMap<>();
+    
+    // Timing wheel of player states, by the tick of their earliest deadline
+    @SuppressWarnings("unchecked")
+    private final List<PlayerNotifications>[] wheel = new List[WHEEL_SIZE];
+    private long currentTick;
     
-    // Reward accumulation for anti-spam
-    private final Map<UUID, AccumulatedRewards> pendingRewards = new ConcurrentHashMap<>();
-    private final Map<UUID, BukkitTask> rewardTasks = new ConcurrentHashMap<>();
+    // Bossbars moving towards their level progress
+    private final List<PlayerNotifications> animating = new ArrayList<>();
+    
+    // The one task that drives all notification deadlines
+    private BukkitTask tickTask;
     
     public NotificationManager(TaskForgePlugin plugin) {
         this.plugin = plugin;
     }
     
     /**
-     * Get accumulation time from config in milliseconds
+     * Start the notification tick task
      */
-    private long getAccumulationTimeMs() {
-        int seconds = plugin.getConfigManager().getConfig().getInt("notifications.bossbar.accumulation_time", 2);
-        return seconds * 1000L;
+    public void initialize() {
+        tickTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }.runTaskTimer(plugin, 1L, 1L);
     }
     
     /**
-     * Get bossbar display time from config in milliseconds
+     * Get accumulation time from config in ticks
      */
-    private long getBossBarDisplayTimeMs() {
-        int seconds = plugin.getConfigManager().getConfig().getInt("notifications.bossbar.display_time", 3);
-        return seconds * 1000L;
+    private long getAccumulationTicks() {
+        return plugin.getConfigManager().getSettings().getAccumulationTimeMs() / 50; // Convert ms to ticks (20 ticks = 1 second)
     }
     
     /**
-     * Send job reward notification to player
+     * Get bossbar display time from config in ticks
      */
-    public void sendJobRewardNotification(Player player, String jobName, JobObjective objective) {
-        double experience = objective.getExperience();
-        double money = objective.getRandomMoney();
-        
+    private long getBossBarDisplayTicks() {
+        return plugin.getConfigManager().getSettings().getBossBarDisplayTimeMs() / 50; // Convert ms to ticks
+    }
+    
+    /**
+     * Send job reward notification to player for the given (boosted) rewards
+     */
+    public void sendJobRewardNotification(Player player, String jobName, double experience, double money) {
         // Check if salary system is enabled to modify the money display
         boolean salaryEnabled = plugin.getSalaryManager().isSalarySystemEnabled();
         
-        String notificationType = plugin.getConfigManager().getConfig().getString("notifications.type", "bossbar");
-        
-        if ("chat".equalsIgnoreCase(notificationType)) {
-            sendChatNotification(player, jobName, experience, money, salaryEnabled);
+        if (plugin.getConfigManager().getSettings().isChatNotifications()) {
+            // Direct payments are announced by DirectPayManager once per deposit
+            if (salaryEnabled) {
+                sendChatNotification(player, jobName, experience, money, salaryEnabled);
+            }
         } else {
             sendBossBarNotification(player, jobName, experience, money, salaryEnabled);
         }
@@ -75,113 +107,186 @@ public class NotificationManager {
      */
     private void sendChatNotification(Player player, String jobName, double experience, double money, boolean salaryEnabled) {
         String currencySymbol = plugin.getConfigManager().getCurrencySymbol();
-        String moneyText = currencySymbol + String.format("%.2f", money);
-
-        String message;
+        
+        // Color codes are written already translated
+        text.setLength(0);
         if (salaryEnabled) {
-            // FIX: Translate color codes before sending!
-            message = plugin.getConfigManager().translateColorCodes(
-                "&e" + player.getName() + " &ahas &e" + moneyText + "&a pending."
-            );
+            text.append("§e").append(player.getName()).append(" §ahas §e").append(currencySymbol);
+            MessageTemplate.appendFixed(text, money, 2).append("§a pending.");
         } else {
-            message = plugin.getConfigManager().translateColorCodes(
-                "&a+" + moneyText + " &7(" + jobName + ")"
-            );
+            text.append("§a+").append(currencySymbol);
+            MessageTemplate.appendFixed(text, money, 2).append(" §7(").append(jobName).append(')');
         }
-        player.sendMessage(message);
+        player.sendMessage(text.toString());
     }
     
     /**
      * Send bossbar notification with anti-spam (accumulate rewards)
+     * Every reward pushes the display back by the accumulation time, as before
      */
     private void sendBossBarNotification(Player player, String jobName, double experience, double money, boolean salaryEnabled) {
-        UUID playerUUID = player.getUniqueId();
+        PlayerNotifications state = getState(player);
         
-        // Cancel existing task if any
-        BukkitTask existingTask = rewardTasks.get(playerUUID);
-        if (existingTask != null) {
-            existingTask.cancel();
-        }
+        // Accumulate rewards per job
+        state.rewardsByJob.computeIfAbsent(jobName, k -> new AccumulatedRewards()).addReward(experience, money);
+        state.salaryEnabled = salaryEnabled;
+        state.lastJobName = jobName;
         
-        // Accumulate rewards
-        AccumulatedRewards accumulated = pendingRewards.computeIfAbsent(playerUUID, 
-            k -> new AccumulatedRewards());
-        accumulated.addReward(experience, money);
-        accumulated.setSalaryEnabled(salaryEnabled);
+        state.flushTick = currentTick + Math.max(1, getAccumulationTicks());
+        schedule(state, state.flushTick);
+    }
+    
+    /**
+     * Display bossbar with the accumulated rewards of every job
+     */
+    private void displayAccumulatedRewards(PlayerNotifications state) {
+        Map<String, AccumulatedRewards> rewards = state.rewardsByJob;
+        if (rewards.isEmpty()) return;
         
-        // Schedule task to display accumulated rewards
-        BukkitTask task = new BukkitRunnable() {
-            @Override
-            public void run() {
-                AccumulatedRewards rewards = pendingRewards.remove(playerUUID);
-                if (rewards != null) {
-                    displayBossBar(player, jobName, rewards.totalExperience, rewards.totalMoney, rewards.isSalaryEnabled);
-                }
-                rewardTasks.remove(playerUUID);
-            }
-        }.runTaskLater(plugin, getAccumulationTimeMs() / 50); // Convert ms to ticks (20 ticks = 1 second)
+        Settings settings = plugin.getConfigManager().getSettings();
+        String currencySymbol = settings.getCurrencySymbol();
+        text.setLength(0);
+        for (Map.Entry<String, AccumulatedRewards> entry : rewards.entrySet()) {
+            appendRewards(entry.getKey(), entry.getValue(), currencySymbol, state.salaryEnabled);
+        }
+        rewards.clear();
+        
+        if (text.length() == 0) {
+            return; // No rewards to show
+        }
         
-        rewardTasks.put(playerUUID, task);
+        // Level mode shows the progress of the job rewarded last
+        double progress = settings.isBossBarLevelProgress()
+            ? plugin.getPlayerDataManager().getLevelProgress(state.player.getUniqueId(), state.lastJobName)
+            : 1.0;
+        showBossBar(state, text.toString(), progress, settings.isBossBarLevelProgress());
     }
     
     /**
-     * Display bossbar with rewards
+     * Append one job's accumulated rewards to the bossbar text, nothing if there is nothing to show
+     * Color codes are written already translated
      */
-    private void displayBossBar(Player player, String jobName, double experience, double money, boolean salaryEnabled) {
-        UUID playerUUID = player.getUniqueId();
+    private void appendRewards(String jobName, AccumulatedRewards rewards, String currencySymbol, boolean salaryEnabled) {
+        double experience = rewards.totalExperience;
+        double money = rewards.totalMoney;
+        if (experience <= 0) return;
         
-        // Remove existing bossbar if any
-        removeBossBar(player);
-        
-        // Create message
-        String message;
-        if (experience > 0 && money > 0) {
-            String currencySymbol = plugin.getConfigManager().getCurrencySymbol();
-            String moneyText = currencySymbol + String.format("%.2f", money);
+        if (text.length() > 0) {
+            text.append(" §8| ");
+        }
+        text.append("§a+§f");
+        MessageTemplate.appendFixed(text, experience, 1).append(" §aEXP §7");
+        if (money > 0) {
+            text.append("| §e+").append(currencySymbol);
+            MessageTemplate.appendFixed(text, money, 2);
             if (salaryEnabled) {
-                moneyText += " (pending)";
+                text.append(" (pending)");
             }
-            message = plugin.getConfigManager().translateColorCodes(
-                "&a+&f" + String.format("%.1f", experience) + " &aEXP &7| &e+" + moneyText + " &7(&6" + jobName + "&7)");
-        } else if (experience > 0) {
-            message = plugin.getConfigManager().translateColorCodes(
-                "&a+&f" + String.format("%.1f", experience) + " &aEXP &7(&6" + jobName + "&7)");
-        } else {
-            return; // No rewards to show
+            text.append(" §7");
         }
+        text.append("(§6").append(jobName).append("§7)");
+    }
+    
+    /**
+     * Show the player's bossbar with a new title and schedule it to hide
+     * The bar is created once per player; later notifications only update it
+     */
+    private void showBossBar(PlayerNotifications state, String message, double progress, boolean animate) {
+        BarColor color = plugin.getConfigManager().getSettings().getBossBarColor();
+        BossBar bossBar = state.bossBar;
         
-        // Create bossbar
-        BossBar bossBar = Bukkit.createBossBar(message, BarColor.GREEN, BarStyle.SOLID);
-        bossBar.setProgress(1.0);
-        bossBar.addPlayer(player);
-        
-        playerBossBars.put(playerUUID, bossBar);
+        if (bossBar == null) {
+            bossBar = Bukkit.createBossBar(message, color, BarStyle.SOLID);
+            bossBar.addPlayer(state.player);
+            state.bossBar = bossBar;
+            state.displayedProgress = animate ? 0.0 : progress;
+            bossBar.setProgress(state.displayedProgress);
+        } else {
+            if (!message.equals(bossBar.getTitle())) {
+                bossBar.setTitle(message);
+            }
+            if (bossBar.getColor() != color) {
+                bossBar.setColor(color);
+            }
+            if (!bossBar.isVisible()) {
+                // Animate a reappearing bar from empty
+                state.displayedProgress = animate ? 0.0 : progress;
+                bossBar.setProgress(state.displayedProgress);
+            } else if (!animate) {
+                state.displayedProgress = progress;
+                bossBar.setProgress(progress);
+            }
+        }
+        bossBar.setVisible(true);
         
-        // Schedule removal
-        BukkitTask removeTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                removeBossBar(player);
+        state.targetProgress = Math.max(0.0, Math.min(1.0, progress));
+        if (animate) {
+            // Wrapped past a level up - restart from empty
+            if (state.targetProgress < state.displayedProgress) {
+                state.displayedProgress = 0.0;
+                bossBar.setProgress(0.0);
             }
-        }.runTaskLater(plugin, getBossBarDisplayTimeMs() / 50); // Convert ms to ticks
+            if (!state.animating && state.displayedProgress != state.targetProgress) {
+                state.animating = true;
+                animating.add(state);
+            }
+        }
         
-        bossBarTasks.put(playerUUID, removeTask);
+        state.hideTick = currentTick + Math.max(1, getBossBarDisplayTicks());
+        schedule(state, state.hideTick);
+    }
+    
+    private void hideBossBar(PlayerNotifications state) {
+        if (state.bossBar != null && state.bossBar.isVisible()) {
+            state.bossBar.setVisible(false);
+        }
+        state.hideTick = -1;
+    }
+    
+    /**
+     * Detach and drop the player's bossbar
+     */
+    private void destroyBossBar(PlayerNotifications state) {
+        if (state.bossBar != null) {
+            state.bossBar.removeAll();
+            state.bossBar = null;
+        }
+        state.hideTick = -1;
+    }
+    
+    /**
+     * Move animating bars a step towards their target progress
+     */
+    private void animate() {
+        Iterator<PlayerNotifications> iterator = animating.iterator();
+        while (iterator.hasNext()) {
+            PlayerNotifications state = iterator.next();
+            BossBar bossBar = state.bossBar;
+            if (bossBar == null || !bossBar.isVisible()) {
+                state.animating = false;
+                iterator.remove();
+                continue;
+            }
+            
+            double remaining = state.targetProgress - state.displayedProgress;
+            if (Math.abs(remaining) < 0.005) {
+                state.displayedProgress = state.targetProgress;
+                state.animating = false;
+                iterator.remove();
+            } else {
+                state.displayedProgress += remaining * ANIMATION_STEP;
+            }
+            bossBar.setProgress(state.displayedProgress);
+        }
     }
     
     /**
      * Remove bossbar for player
      */
     public void removeBossBar(Player player) {
-        UUID playerUUID = player.getUniqueId();
-        
-        BossBar bossBar = playerBossBars.remove(playerUUID);
-        if (bossBar != null) {
-            bossBar.removeAll();
-        }
-        
-        BukkitTask task = bossBarTasks.remove(playerUUID);
-        if (task != null) {
-            task.cancel();
+        PlayerNotifications state = states.get(player.getUniqueId());
+        if (state != null) {
+            hideBossBar(state);
         }
     }
     
@@ -189,14 +294,10 @@ public class NotificationManager {
      * Clean up when player leaves
      */
     public void onPlayerQuit(Player player) {
-        UUID playerUUID = player.getUniqueId();
-        
-        removeBossBar(player);
-        pendingRewards.remove(playerUUID);
-        
-        BukkitTask rewardTask = rewardTasks.remove(playerUUID);
-        if (rewardTask != null) {
-            rewardTask.cancel();
+        PlayerNotifications state = states.remove(player.getUniqueId());
+        if (state != null) {
+            // Entries left in the wheel are skipped once the state is gone
+            destroyBossBar(state);
         }
     }
     
@@ -204,18 +305,120 @@ public class NotificationManager {
      * Clean up all bossbars (for plugin shutdown)
      */
     public void shutdown() {
-        // Cancel all tasks
-        rewardTasks.values().forEach(BukkitTask::cancel);
-        bossBarTasks.values().forEach(BukkitTask::cancel);
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
         
         // Remove all bossbars
-        playerBossBars.values().forEach(BossBar::removeAll);
+        for (PlayerNotifications state : states.values()) {
+            destroyBossBar(state);
+        }
+        
+        // Clear state
+        states.clear();
+        animating.clear();
+        Arrays.fill(wheel, null);
+    }
+    
+    /**
+     * Get number of players with notification state (for admin info)
+     */
+    public int getTrackedPlayerCount() {
+        return states.size();
+    }
+    
+    private PlayerNotifications getState(Player player) {
+        PlayerNotifications state = states.get(player.getUniqueId());
+        if (state == null || state.player != player) {
+            if (state != null) {
+                destroyBossBar(state);
+            }
+            state = new PlayerNotifications(player);
+            states.put(player.getUniqueId(), state);
+        }
+        return state;
+    }
+    
+    /**
+     * Put a state in the wheel at a deadline, unless it is already due at or before it
+     * A state moved to an earlier tick leaves its old entry behind; that entry is skipped when it comes round
+     */
+    private void schedule(PlayerNotifications state, long dueTick) {
+        if (state.wheelTick >= 0 && state.wheelTick <= dueTick) return;
+        
+        long tick = Math.min(dueTick, currentTick + WHEEL_SIZE - 1);
+        int index = (int) (tick % WHEEL_SIZE);
+        if (wheel[index] == null) {
+            wheel[index] = new ArrayList<>();
+        }
+        wheel[index].add(state);
+        state.wheelTick = tick;
+    }
+    
+    /**
+     * Advance one tick and handle every deadline in its slot
+     */
+    private void tick() {
+        currentTick++;
+        
+        if (!animating.isEmpty()) {
+            animate();
+        }
+        
+        int index = (int) (currentTick % WHEEL_SIZE);
+        List<PlayerNotifications> due = wheel[index];
+        if (due == null) return;
+        wheel[index] = null;
+        
+        for (PlayerNotifications state : due) {
+            // Skip entries superseded by an earlier deadline or left by a player who quit
+            if (state.wheelTick != currentTick || states.get(state.player.getUniqueId()) != state) continue;
+            state.wheelTick = -1;
+            
+            if (state.flushTick >= 0 && state.flushTick <= currentTick) {
+                state.flushTick = -1;
+                displayAccumulatedRewards(state);
+            }
+            if (state.hideTick >= 0 && state.hideTick <= currentTick) {
+                hideBossBar(state);
+            }
+            
+            // Deadlines moved later since this entry was scheduled, or still beyond the wheel
+            if (state.flushTick >= 0) {
+                schedule(state, state.flushTick);
+            }
+            if (state.hideTick >= 0) {
+                schedule(state, state.hideTick);
+            }
+        }
+    }
+    
+    /**
+     * Notification state of one player: rewards waiting to be shown and the current bossbar
+     */
+    private static class PlayerNotifications {
+        final Player player;
+        final Map<String, AccumulatedRewards> rewardsByJob = new LinkedHashMap<>();
+        boolean salaryEnabled;
+        String lastJobName;
         
-        // Clear maps
-        rewardTasks.clear();
-        bossBarTasks.clear();
-        playerBossBars.clear();
-        pendingRewards.clear();
+        // Pooled bossbar, null until the first notification
+        BossBar bossBar;
+        double displayedProgress;
+        double targetProgress;
+        boolean animating;
+        
+        // Deadlines as ticks, -1 when not set
+        long flushTick = -1;
+        long hideTick = -1;
+        
+        // Tick of this state's entry in the wheel, -1 when not in it
+        long wheelTick = -1;
+        
+        PlayerNotifications(Player player) {
+            this.player = player;
+        }
     }
     
     /**
@@ -224,25 +427,18 @@ public class NotificationManager {
     private static class AccumulatedRewards {
         double totalExperience = 0.0;
         double totalMoney = 0.0;
-        boolean isSalaryEnabled = false;
         
         void addReward(double experience, double money) {
             this.totalExperience += experience;
             this.totalMoney += money;
         }
-        
-        void setSalaryEnabled(boolean salaryEnabled) {
-            this.isSalaryEnabled = salaryEnabled;
-        }
     }
 
     /**
      * Send reward notification to player with a simple message
      */
     public void sendRewardNotification(Player player, String rewardMessage) {
-        String notificationType = plugin.getConfigManager().getConfig().getString("notifications.type", "bossbar");
-        
-        if ("chat".equalsIgnoreCase(notificationType)) {
+        if (plugin.getConfigManager().getSettings().isChatNotifications()) {
             sendSimpleChatNotification(player, rewardMessage);
         } else {
             sendSimpleBossBarNotification(player, rewardMessage);
@@ -269,11 +465,6 @@ public class NotificationManager {
      * Send simple bossbar notification
      */
     private void sendSimpleBossBarNotification(Player player, String rewardMessage) {
-        UUID playerUUID = player.getUniqueId();
-        
-        // Remove existing bossbar if any
-        removeBossBar(player);
-        
         // Create message - check if message already has color codes
         String message;
         if (rewardMessage.contains("&")) {
@@ -284,22 +475,7 @@ public class NotificationManager {
             message = plugin.getConfigManager().translateColorCodes("&a" + rewardMessage);
         }
         
-        // Create bossbar
-        BossBar bossBar = Bukkit.createBossBar(message, BarColor.GREEN, BarStyle.SOLID);
-        bossBar.setProgress(1.0);
-        bossBar.addPlayer(player);
-        
-        playerBossBars.put(playerUUID, bossBar);
-        
-        // Schedule removal
-        BukkitTask removeTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                removeBossBar(player);
-            }
-        }.runTaskLater(plugin, getBossBarDisplayTimeMs() / 50); // Convert ms to ticks
-        
-        bossBarTasks.put(playerUUID, removeTask);
+        showBossBar(getState(player), message, 1.0, false);
     }
     
     /**
@@ -1,30 +1,53 @@
 package id.rnggagib.taskforge.managers;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
 import id.rnggagib.taskforge.database.DatabaseManager.PlayerJobData;
 import id.rnggagib.taskforge.jobs.Job;
 import id.rnggagib.taskforge.jobs.JobReward;
+import id.rnggagib.taskforge.jobs.LevelCurve;
+import id.rnggagib.taskforge.jobs.PlayerJobs;
 
 /**
  * Manages player data, including job progress and statistics
+ * Progress changes only mark the job dirty; dirty jobs are snapshotted on the main thread
+ * and written behind in batches on an interval, on quit, on world save and on shutdown
  */
 public class PlayerDataManager {
     
     private final TaskForgePlugin plugin;
     private final Logger logger;
     
-    // Cache of player job data
-    private final Map<UUID, Map<String, PlayerJobData>> playerJobData;
+    // Cache of player job data, indexed by interned job id
+    private final Map<UUID, PlayerJobs> playerJobData;
+    
+    // Players with progress changed since the last snapshot
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+    
+    // Task for periodic progress flushes
+    private BukkitTask flushTask;
+    
+    // Flush metrics
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile int lastFlushRows;
     
     public PlayerDataManager(TaskForgePlugin plugin) {
         this.plugin = plugin;
@@ -32,61 +55,110 @@ public class PlayerDataManager {
         this.playerJobData = new ConcurrentHashMap<>();
     }
     
+    /**
+     * Start the periodic progress flush task
+     */
+    public void initialize() {
+        int intervalSeconds = plugin.getConfigManager().getSettings().getProgressFlushIntervalSeconds();
+        long intervalTicks = intervalSeconds * 20L;
+        
+        // Snapshot on the main thread where progress is mutated, write asynchronously
+        flushTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                flushDirtyAsync();
+            }
+        }.runTaskTimer(plugin, intervalTicks, intervalTicks);
+        
+        logger.info("Progress flush task started with " + intervalSeconds + " second interval");
+    }
+    
     /**
      * Load player data when they join the server
+     * The rows are applied on the main thread, and only while the player is still online
      */
     public void loadPlayerData(UUID playerUUID) {
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            Map<String, PlayerJobData> jobData = plugin.getDatabaseManager().loadPlayerJobData(playerUUID);
-            playerJobData.put(playerUUID, jobData);
-            
-            if (plugin.getConfigManager().isDebugEnabled()) {
-                logger.info("Loaded data for player " + playerUUID + " with " + jobData.size() + " jobs");
+        plugin.getDatabaseManager().loadPlayerJobData(playerUUID).thenAcceptBoth(
+                plugin.getDatabaseManager().loadJobJoinTimestamps(playerUUID), (jobData, joinTimestamps) -> {
+            if (!plugin.isEnabled()) {
+                return;
             }
+            Bukkit.getScheduler().runTask(plugin, () -> applyLoaded(playerUUID, jobData, joinTimestamps));
         });
     }
     
     /**
-     * Save player data when they leave the server
+     * Merge loaded rows into the cache; jobs changed in memory before the load finished are newer
      */
-    public void savePlayerData(UUID playerUUID) {
-        Map<String, PlayerJobData> jobData = playerJobData.get(playerUUID);
-        if (jobData == null) return;
-        
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            for (PlayerJobData data : jobData.values()) {
-                plugin.getDatabaseManager().savePlayerJobData(
-                    playerUUID, 
-                    data.getJobName(), 
-                    data.getLevel(), 
-                    data.getExperience()
-                );
+    private void applyLoaded(UUID playerUUID, Map<String, PlayerJobData> jobData, Map<String, Long> joinTimestamps) {
+        Player player = Bukkit.getPlayer(playerUUID);
+        if (player == null || !player.isOnline()) {
+            return; // Left before the load finished - nothing to cache
+        }
+        
+        PlayerJobs jobs = new PlayerJobs();
+        for (PlayerJobData data : jobData.values()) {
+            // Only configured jobs have ids; rows of renamed or removed jobs stay in the database untouched
+            int jobId = plugin.getJobManager().jobExists(data.getJobName())
+                    ? plugin.getJobManager().getJobId(data.getJobName()) : -1;
+            if (jobId < 0) {
+                logger.warning("Skipping job " + data.getJobName() + " for " + playerUUID + ": not a configured job");
+                continue;
             }
-            
-            if (plugin.getConfigManager().isDebugEnabled()) {
-                logger.info("Saved data for player " + playerUUID);
+            jobs.add(jobId, data.getLevel(), data.getExperience());
+        }
+        for (Map.Entry<String, Long> entry : joinTimestamps.entrySet()) {
+            int jobId = plugin.getJobManager().getJobId(entry.getKey());
+            if (jobId >= 0 && jobs.hasJob(jobId)) {
+                jobs.setJoinTimestamp(jobId, entry.getValue());
             }
-        });
+        }
+        PlayerJobs current = playerJobData.putIfAbsent(playerUUID, jobs);
+        if (current != null) {
+            long mask = jobs.getJobMask() & ~current.getJobMask();
+            while (mask != 0) {
+                int jobId = Long.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+                current.add(jobId, jobs.getLevel(jobId), jobs.getExperience(jobId));
+                current.setJoinTimestamp(jobId, jobs.getJoinTimestamp(jobId));
+            }
+        }
+        
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            logger.info("Loaded data for player " + playerUUID + " with " + jobData.size() + " jobs");
+        }
     }
     
     /**
-     * Save all player data (for plugin shutdown)
+     * Write a player's unsaved progress asynchronously
      */
-    public void saveAllPlayerData() {
-        logger.info("Saving all player data...");
+    public void savePlayerData(UUID playerUUID) {
+        if (!dirtyPlayers.remove(playerUUID)) return;
         
-        for (UUID playerUUID : playerJobData.keySet()) {
-            savePlayerData(playerUUID);
+        Map<UUID, List<PlayerJobData>> snapshot = new HashMap<>();
+        snapshotPlayer(playerUUID, snapshot);
+        enqueueWrite(snapshot);
+    }
+    
+    /**
+     * Write unsaved progress of every player asynchronously (interval and world save)
+     */
+    public void flushDirtyAsync() {
+        enqueueWrite(snapshotDirty());
+    }
+    
+    /**
+     * Save all player data on the calling thread (for plugin shutdown)
+     */
+    public void saveAllPlayerData() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
         }
         
-        // Wait a bit for async tasks to complete
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        int rows = enqueueWrite(snapshotDirty()).join();
         
-        logger.info("All player data saved.");
+        logger.info("All player data saved (" + rows + " rows).");
     }
     
     /**
@@ -97,20 +169,130 @@ public class PlayerDataManager {
         playerJobData.remove(playerUUID);
     }
     
+    /**
+     * Get number of players with progress waiting for the next flush
+     */
+    public int getDirtyPlayerCount() {
+        return dirtyPlayers.size();
+    }
+    
+    public long getFlushCount() { return flushCount.get(); }
+    public long getRowsWritten() { return rowsWritten.get(); }
+    public int getLastFlushRows() { return lastFlushRows; }
+    
+    /**
+     * Copy dirty jobs of all dirty players and clear their flags
+     */
+    private Map<UUID, List<PlayerJobData>> snapshotDirty() {
+        Map<UUID, List<PlayerJobData>> snapshot = new HashMap<>();
+        
+        Iterator<UUID> iterator = dirtyPlayers.iterator();
+        while (iterator.hasNext()) {
+            UUID playerUUID = iterator.next();
+            iterator.remove();
+            snapshotPlayer(playerUUID, snapshot);
+        }
+        
+        return snapshot;
+    }
+    
+    private void snapshotPlayer(UUID playerUUID, Map<UUID, List<PlayerJobData>> snapshot) {
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        if (jobs == null) return;
+        
+        long mask = jobs.takeDirty();
+        if (mask == 0) return;
+        
+        List<PlayerJobData> rows = new ArrayList<>(Long.bitCount(mask));
+        while (mask != 0) {
+            int jobId = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            rows.add(new PlayerJobData(plugin.getJobManager().getJobNameById(jobId), 
+                                       jobs.getLevel(jobId), jobs.getExperience(jobId)));
+        }
+        snapshot.put(playerUUID, rows);
+    }
+    
+    /**
+     * Queue a snapshot on the database thread right away (main thread)
+     * Queued in the same order as job joins and leaves, so a snapshot taken before a leave
+     * cannot land after a rejoin and bring back the old progress
+     */
+    private CompletableFuture<Integer> enqueueWrite(Map<UUID, List<PlayerJobData>> snapshot) {
+        if (snapshot.isEmpty()) return CompletableFuture.completedFuture(0);
+        
+        int players = snapshot.size();
+        return plugin.getDatabaseManager().flushPlayerJobData(snapshot).thenApply(rows -> {
+            flushCount.incrementAndGet();
+            rowsWritten.addAndGet(rows);
+            lastFlushRows = rows;
+            
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                logger.info("Flushed " + rows + " job progress rows for " + players + " players");
+            }
+            return rows;
+        });
+    }
+    
     /**
      * Check if player has joined a specific job
      */
     public boolean hasJob(UUID playerUUID, String jobName) {
-        Map<String, PlayerJobData> jobData = playerJobData.get(playerUUID);
-        return jobData != null && jobData.containsKey(jobName.toLowerCase());
+        return hasJob(playerUUID, plugin.getJobManager().getJobId(jobName));
+    }
+    
+    /**
+     * Check if a player's job data has been loaded
+     */
+    public boolean isLoaded(UUID playerUUID) {
+        return playerJobData.containsKey(playerUUID);
+    }
+    
+    /**
+     * Check if player has joined a job by id
+     */
+    public boolean hasJob(UUID playerUUID, int jobId) {
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        return jobs != null && jobs.hasJob(jobId);
+    }
+    
+    /**
+     * Get the version of a player's progress in a job, -1 if they have not joined it
+     * The version changes whenever the level or experience does
+     */
+    public long getJobVersion(UUID playerUUID, int jobId) {
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        return jobs != null && jobs.hasJob(jobId) ? jobs.getVersion(jobId) : -1;
+    }
+    
+    /**
+     * Get bitmask of the player's job ids (0 if not loaded)
+     */
+    public long getJobMask(UUID playerUUID) {
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        return jobs != null ? jobs.getJobMask() : 0L;
+    }
+    
+    /**
+     * Get number of jobs the player has joined
+     */
+    public int getJobCount(UUID playerUUID) {
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        return jobs != null ? jobs.getJobCount() : 0;
     }
     
     /**
      * Get player's jobs
      */
     public Set<String> getPlayerJobs(UUID playerUUID) {
-        Map<String, PlayerJobData> jobData = playerJobData.get(playerUUID);
-        return jobData != null ? jobData.keySet() : new HashMap<String, PlayerJobData>().keySet();
+        Set<String> jobNames = new LinkedHashSet<>();
+        long mask = getJobMask(playerUUID);
+        while (mask != 0) {
+            int jobId = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            jobNames.add(plugin.getJobManager().getJobNameById(jobId));
+        }
+        return jobNames;
     }
     
     /**
@@ -123,24 +305,24 @@ public class PlayerDataManager {
         }
         
         // Check if already has job
-        if (hasJob(playerUUID, jobName)) {
+        int jobId = plugin.getJobManager().getJobId(jobName);
+        if (jobId < 0 || hasJob(playerUUID, jobId)) {
             return false;
         }
         
         // Check max jobs limit
         int maxJobs = plugin.getConfigManager().getMaxJobs();
-        if (getPlayerJobs(playerUUID).size() >= maxJobs) {
+        if (getJobCount(playerUUID) >= maxJobs) {
             return false;
         }
         
         // Add to database
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            plugin.getDatabaseManager().addPlayerJob(playerUUID, jobName);
-        });
+        String storedName = plugin.getJobManager().getJobNameById(jobId);
+        plugin.getDatabaseManager().addPlayerJob(playerUUID, storedName);
         
         // Add to cache
-        Map<String, PlayerJobData> jobData = playerJobData.computeIfAbsent(playerUUID, k -> new HashMap<>());
-        jobData.put(jobName.toLowerCase(), new PlayerJobData(jobName, 1, 0.0));
+        playerJobData.computeIfAbsent(playerUUID, k -> new PlayerJobs()).add(jobId, 1, 0.0);
+        plugin.getLeaderboardManager().updateProgress(playerUUID, storedName, 1, 0.0);
         
         return true;
     }
@@ -149,24 +331,78 @@ public class PlayerDataManager {
      * Leave a job
      */
     public boolean leaveJob(UUID playerUUID, String jobName) {
-        if (!hasJob(playerUUID, jobName)) {
+        int jobId = plugin.getJobManager().getJobId(jobName);
+        if (!hasJob(playerUUID, jobId)) {
             return false;
         }
         
         // Remove from database
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            plugin.getDatabaseManager().removePlayerJob(playerUUID, jobName);
-        });
+        String storedName = plugin.getJobManager().getJobNameById(jobId);
+        plugin.getDatabaseManager().removePlayerJob(playerUUID, storedName);
         
         // Remove from cache
-        Map<String, PlayerJobData> jobData = playerJobData.get(playerUUID);
-        if (jobData != null) {
-            jobData.remove(jobName.toLowerCase());
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        if (jobs != null) {
+            jobs.remove(jobId);
         }
+        plugin.getLeaderboardManager().removeJob(playerUUID, storedName);
         
         return true;
     }
     
+    /**
+     * Get when a player last joined a job, 0 if there is no record
+     * Read from memory only; records are loaded with the player's job data
+     */
+    public long getJobJoinTimestamp(UUID playerUUID, String jobName) {
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        int jobId = plugin.getJobManager().getJobId(jobName);
+        return jobs != null && jobId >= 0 ? jobs.getJoinTimestamp(jobId) : 0;
+    }
+    
+    /**
+     * Record that a player joined a job now, for the leave cooldown
+     */
+    public void recordJobJoin(UUID playerUUID, String jobName) {
+        long now = System.currentTimeMillis();
+        int jobId = plugin.getJobManager().getJobId(jobName);
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        if (jobs != null && jobId >= 0) {
+            jobs.setJoinTimestamp(jobId, now);
+        }
+        
+        plugin.getDatabaseManager().recordJobJoin(playerUUID, jobName, now);
+    }
+    
+    /**
+     * Remove a player's join record of a job, ending its leave cooldown
+     */
+    public void removeJobCooldown(UUID playerUUID, String jobName) {
+        int jobId = plugin.getJobManager().getJobId(jobName);
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        if (jobs != null && jobId >= 0) {
+            jobs.setJoinTimestamp(jobId, 0);
+        }
+        
+        plugin.getDatabaseManager().removeJobCooldown(playerUUID, jobName);
+    }
+    
+    /**
+     * Drop expired join records from memory and then from the database
+     */
+    public void cleanupExpiredCooldowns(long cooldownDuration) {
+        long expiredBefore = System.currentTimeMillis() - cooldownDuration;
+        int pruned = 0;
+        for (PlayerJobs jobs : playerJobData.values()) {
+            pruned += jobs.pruneJoinTimestamps(expiredBefore);
+        }
+        if (pruned > 0 && plugin.getConfigManager().isDebugEnabled()) {
+            logger.info("Pruned " + pruned + " expired job cooldowns from memory");
+        }
+        
+        plugin.getDatabaseManager().cleanupExpiredCooldowns(cooldownDuration);
+    }
+    
     /**
      * Remove a job (alias for leaveJob for consistency)
      */
@@ -185,128 +421,121 @@ public class PlayerDataManager {
      * Get player's level in a job
      */
     public int getJobLevel(UUID playerUUID, String jobName) {
-        Map<String, PlayerJobData> jobData = playerJobData.get(playerUUID);
-        if (jobData == null) return 0;
-        
-        PlayerJobData data = jobData.get(jobName.toLowerCase());
-        return data != null ? data.getLevel() : 0;
+        return getJobLevel(playerUUID, plugin.getJobManager().getJobId(jobName));
+    }
+    
+    /**
+     * Get player's level in a job by id
+     */
+    public int getJobLevel(UUID playerUUID, int jobId) {
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        return jobs != null && jobs.hasJob(jobId) ? jobs.getLevel(jobId) : 0;
     }
     
     /**
      * Get player's experience in a job
      */
     public double getJobExperience(UUID playerUUID, String jobName) {
-        Map<String, PlayerJobData> jobData = playerJobData.get(playerUUID);
-        if (jobData == null) return 0.0;
-        
-        PlayerJobData data = jobData.get(jobName.toLowerCase());
-        return data != null ? data.getExperience() : 0.0;
+        return getJobExperience(playerUUID, plugin.getJobManager().getJobId(jobName));
+    }
+    
+    /**
+     * Get player's experience in a job by id
+     */
+    public double getJobExperience(UUID playerUUID, int jobId) {
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        return jobs != null && jobs.hasJob(jobId) ? jobs.getExperience(jobId) : 0.0;
     }
     
     /**
      * Add experience to a job and handle leveling
      */
     public void addJobExperience(UUID playerUUID, String jobName, double experience) {
-        Map<String, PlayerJobData> jobData = playerJobData.get(playerUUID);
-        if (jobData == null) return;
-        
-        PlayerJobData data = jobData.get(jobName.toLowerCase());
-        if (data == null) return;
+        addJobExperience(playerUUID, plugin.getJobManager().getJobId(jobName), experience);
+    }
+    
+    /**
+     * Add experience to a job by id and handle leveling
+     */
+    public void addJobExperience(UUID playerUUID, int jobId, double experience) {
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        if (jobs == null || !jobs.hasJob(jobId)) return;
         
-        double currentExp = data.getExperience();
-        int currentLevel = data.getLevel();
+        String jobName = plugin.getJobManager().getJobNameById(jobId);
+        double currentExp = jobs.getExperience(jobId);
+        int currentLevel = jobs.getLevel(jobId);
         
         // Add experience
         double newExp = currentExp + experience;
-        data.setExperience(newExp);
+        jobs.setExperience(jobId, newExp);
         
         // Check for level up
-        int newLevel = calculateLevelFromExp(newExp);
+        int newLevel = getLevelCurve(jobName).getLevel(newExp);
         if (newLevel > currentLevel) {
-            data.setLevel(newLevel);
+            jobs.setLevel(jobId, newLevel);
             handleLevelUp(playerUUID, jobName, currentLevel, newLevel);
         }
+        plugin.getLeaderboardManager().updateProgress(playerUUID, jobName, Math.max(currentLevel, newLevel), newExp);
         
-        // Save to database
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            plugin.getDatabaseManager().savePlayerJobData(playerUUID, jobName, data.getLevel(), data.getExperience());
-        });
+        // Written by the next flush
+        dirtyPlayers.add(playerUUID);
     }
     
     /**
-     * Calculate level from total experience
+     * Get the level curve of a job, or the global curve if the job has none of its own
      */
-    public int calculateLevelFromExp(double totalExp) {
-        double baseExp = plugin.getConfigManager().getBaseExp();
-        double multiplier = plugin.getConfigManager().getLevelingMultiplier();
-        int maxLevel = plugin.getConfigManager().getMaxLevel();
-        
-        int level = 1;
-        double expRequired = baseExp;
-        double expUsed = 0;
-        
-        while (expUsed + expRequired <= totalExp && level < maxLevel) {
-            expUsed += expRequired;
-            level++;
-            expRequired *= multiplier;
+    public LevelCurve getLevelCurve(String jobName) {
+        Job job = jobName != null ? plugin.getJobManager().getJob(jobName) : null;
+        if (job != null && job.getLevelCurve() != null) {
+            return job.getLevelCurve();
         }
-        
-        return level;
+        return plugin.getConfigManager().getSettings().getLevelCurve();
     }
     
     /**
-     * Calculate experience required for next level
+     * Calculate level from total experience on the global curve
+     */
+    public int calculateLevelFromExp(double totalExp) {
+        return plugin.getConfigManager().getSettings().getLevelCurve().getLevel(totalExp);
+    }
+    
+    /**
+     * Calculate experience required for next level on the global curve
      */
     public double getExpRequiredForNextLevel(int currentLevel) {
-        if (currentLevel >= plugin.getConfigManager().getMaxLevel()) {
-            return 0; // Max level reached
-        }
-        
-        double baseExp = plugin.getConfigManager().getBaseExp();
-        double multiplier = plugin.getConfigManager().getLevelingMultiplier();
-        
-        return baseExp * Math.pow(multiplier, currentLevel - 1);
+        return plugin.getConfigManager().getSettings().getLevelCurve().getExpRequiredForNextLevel(currentLevel);
+    }
+    
+    /**
+     * Calculate experience required for next level of a job
+     */
+    public double getExpRequiredForNextLevel(String jobName, int currentLevel) {
+        return getLevelCurve(jobName).getExpRequiredForNextLevel(currentLevel);
     }
     
     /**
-     * Calculate total experience required to reach a specific level
+     * Calculate total experience required to reach a specific level on the global curve
      */
     public double getExperienceForLevel(int targetLevel) {
-        if (targetLevel <= 1) return 0.0;
-        
-        double totalExp = 0;
-        double baseExp = plugin.getConfigManager().getBaseExp();
-        double multiplier = plugin.getConfigManager().getLevelingMultiplier();
-        
-        for (int i = 1; i < targetLevel; i++) {
-            totalExp += baseExp * Math.pow(multiplier, i - 1);
-        }
-        
-        return totalExp;
+        return plugin.getConfigManager().getSettings().getLevelCurve().getExperienceForLevel(targetLevel);
+    }
+    
+    /**
+     * Calculate total experience required to reach a specific level of a job
+     */
+    public double getExperienceForLevel(String jobName, int targetLevel) {
+        return getLevelCurve(jobName).getExperienceForLevel(targetLevel);
     }
     
     /**
      * Get experience progress to next level (0.0 to 1.0)
      */
     public double getLevelProgress(UUID playerUUID, String jobName) {
-        int level = getJobLevel(playerUUID, jobName);
-        double currentExp = getJobExperience(playerUUID, jobName);
-        
-        // Calculate exp used for current level
-        double expForCurrentLevel = 0;
-        double baseExp = plugin.getConfigManager().getBaseExp();
-        double multiplier = plugin.getConfigManager().getLevelingMultiplier();
-        
-        for (int i = 1; i < level; i++) {
-            expForCurrentLevel += baseExp * Math.pow(multiplier, i - 1);
-        }
-        
-        double expInCurrentLevel = currentExp - expForCurrentLevel;
-        double expRequiredForNextLevel = getExpRequiredForNextLevel(level);
-        
-        if (expRequiredForNextLevel <= 0) return 1.0; // Max level
+        int jobId = plugin.getJobManager().getJobId(jobName);
+        PlayerJobs jobs = playerJobData.get(playerUUID);
+        if (jobs == null || !jobs.hasJob(jobId)) return 0.0;
         
-        return Math.min(1.0, expInCurrentLevel / expRequiredForNextLevel);
+        return getLevelCurve(jobName).getProgress(jobs.getLevel(jobId), jobs.getExperience(jobId));
     }
     
     /**
@@ -317,7 +546,7 @@ public class PlayerDataManager {
         if (player == null) return;
         
         // Send level up message
-        String message = plugin.getConfigManager().getPrefixedMessage("job_levelup", 
+        String message = plugin.getConfigManager().getPrefixedMessage(player, "job_levelup", 
                                                                      "job", jobName, 
                                                                      "level", String.valueOf(newLevel));
         player.sendMessage(message);
@@ -1,19 +1,33 @@
 package id.rnggagib.taskforge.managers;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.config.MessageTemplate;
+import id.rnggagib.taskforge.config.Settings;
+import id.rnggagib.taskforge.database.SalaryLedger;
 
 /**
  * Manages accumulated salary payments for job rewards
  * Pays out accumulated earnings at configurable intervals instead of instant payments
+ * Each online player is paid on their own cycle, anchored to the tick they joined, so payouts
+ * are spread over the whole interval instead of landing in one tick
+ * Credits and payouts are journaled through the SalaryLedger; the database is only written by its compactions
  */
 public class SalaryManager {
     
@@ -25,6 +39,24 @@ public class SalaryManager {
     // Task for periodic salary payouts
     private BukkitTask payoutTask;
     
+    // Online players by the tick of the payout interval at which they are paid
+    private final List<Set<UUID>> payoutSlots = new ArrayList<>();
+    private final Map<UUID, Integer> playerSlots = new HashMap<>();
+    private int currentSlot;
+    
+    // Offline players waiting for a Vault offline deposit
+    private final Queue<UUID> offlinePayoutQueue = new ArrayDeque<>();
+    
+    // Payouts made in the current cycle, logged when it completes
+    private int cyclePayouts;
+    private double cyclePaidOut;
+    
+    // Task for periodic ledger compaction
+    private BukkitTask compactTask;
+    
+    // Crash-safe journal of credits and payouts, null while the salary system is disabled
+    private SalaryLedger ledger;
+    
     public SalaryManager(TaskForgePlugin plugin) {
         this.plugin = plugin;
     }
@@ -38,15 +70,27 @@ public class SalaryManager {
             return;
         }
         
-        // Load pending salaries from database
+        // Load pending salaries from database and replay the journal
         loadPendingSalaries();
         
         // Start periodic payout task
         startPayoutTask();
         
+        // Start periodic ledger compaction
+        startCompactTask();
+        
         plugin.getLogger().info("Salary system initialized with " + getPayoutIntervalMinutes() + " minute payout interval");
     }
     
+    /**
+     * Start the salary system if a reload enabled it after it started disabled
+     */
+    public void reloadSettings() {
+        if (ledger == null && isSalarySystemEnabled()) {
+            initialize();
+        }
+    }
+    
     /**
      * Shutdown the salary manager
      */
@@ -57,8 +101,16 @@ public class SalaryManager {
             payoutTask = null;
         }
         
-        // Save all pending salaries to database
-        savePendingSalaries();
+        if (compactTask != null) {
+            compactTask.cancel();
+            compactTask = null;
+        }
+        
+        if (ledger == null) return;
+        
+        // Write the journal and compact it into the database
+        ledger.shutdown();
+        ledger = null;
         
         plugin.getLogger().info("Salary system shutdown - all pending salaries saved");
     }
@@ -85,11 +137,17 @@ public class SalaryManager {
         
         if (amount <= 0) return;
         
+        if (ledger == null) {
+            // Enabled without going through reloadSettings - open the journal now rather than lose the credit
+            plugin.getLogger().warning("Salary credit for " + playerUUID + " arrived before the salary system started, starting it now");
+            initialize();
+        }
+        
         // Add to pending salary
         pendingSalaries.merge(playerUUID, amount, Double::sum);
         
-        // Save to database for persistence
-        plugin.getDatabaseManager().savePendingSalary(playerUUID, pendingSalaries.get(playerUUID));
+        // Journal for persistence
+        ledger.credit(playerUUID, amount);
         
         if (plugin.getConfigManager().isDebugEnabled()) {
             plugin.getLogger().info("Added $" + String.format("%.2f", amount) + 
@@ -110,28 +168,28 @@ public class SalaryManager {
      */
     private void clearPendingSalary(UUID playerUUID) {
         pendingSalaries.remove(playerUUID);
-        plugin.getDatabaseManager().deletePendingSalary(playerUUID);
+        ledger.clear(playerUUID);
     }
     
     /**
      * Check if salary system is enabled
      */
     public boolean isSalarySystemEnabled() {
-        return plugin.getConfigManager().getConfig().getBoolean("salary_system.enabled", true);
+        return plugin.getConfigManager().getSettings().isSalaryEnabled();
     }
     
     /**
      * Get payout interval in minutes
      */
     private int getPayoutIntervalMinutes() {
-        return plugin.getConfigManager().getConfig().getInt("salary_system.payout_interval_minutes", 5);
+        return plugin.getConfigManager().getSettings().getSalaryPayoutIntervalMinutes();
     }
     
     /**
      * Check if salary notifications are enabled
      */
     private boolean isSalaryNotificationsEnabled() {
-        return plugin.getConfigManager().getConfig().getBoolean("salary_system.notifications", true);
+        return plugin.getConfigManager().getSettings().isSalaryNotifications();
     }
     
     /**
@@ -139,82 +197,210 @@ public class SalaryManager {
      */
     private void startPayoutTask() {
         int intervalMinutes = getPayoutIntervalMinutes();
-        long intervalTicks = intervalMinutes * 60 * 20L; // Convert minutes to ticks
+        int intervalTicks = Math.max(1, intervalMinutes) * 60 * 20; // Convert minutes to ticks
+        
+        for (int i = 0; i < intervalTicks; i++) {
+            payoutSlots.add(null);
+        }
+        
+        // Players already online (plugin reload) are spread over the interval by UUID
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            assignSlot(player.getUniqueId(), Math.floorMod(player.getUniqueId().hashCode(), intervalTicks));
+        }
         
         payoutTask = new BukkitRunnable() {
             @Override
             public void run() {
-                processAllPayouts();
+                processPayoutTick();
             }
-        }.runTaskTimer(plugin, intervalTicks, intervalTicks);
+        }.runTaskTimer(plugin, 1L, 1L);
         
         plugin.getLogger().info("Salary payout task started with " + intervalMinutes + " minute interval");
     }
     
     /**
-     * Process payouts for all players with pending salaries
+     * Start a player's payout cycle, first payout one interval after joining
      */
-    private void processAllPayouts() {
-        if (pendingSalaries.isEmpty()) {
-            return;
+    public void onPlayerJoin(UUID playerUUID) {
+        if (payoutSlots.isEmpty()) return;
+        assignSlot(playerUUID, currentSlot);
+    }
+    
+    /**
+     * Stop a player's payout cycle, their pending salary waits for the next join or offline payout
+     */
+    public void onPlayerQuit(UUID playerUUID) {
+        Integer slot = playerSlots.remove(playerUUID);
+        if (slot == null) return;
+        
+        Set<UUID> members = payoutSlots.get(slot);
+        members.remove(playerUUID);
+        if (members.isEmpty()) {
+            payoutSlots.set(slot, null);
         }
+    }
+    
+    /**
+     * Get ticks until a player's next payout, or -1 if they have no payout cycle
+     */
+    public int getTicksUntilPayout(UUID playerUUID) {
+        Integer slot = playerSlots.get(playerUUID);
+        if (slot == null) return -1;
         
-        int payoutsProcessed = 0;
-        double totalPaidOut = 0.0;
+        int ticks = Math.floorMod(slot - currentSlot, payoutSlots.size());
+        return ticks == 0 ? payoutSlots.size() : ticks;
+    }
+    
+    /**
+     * Get number of offline players waiting for an offline payout
+     */
+    public int getOfflinePayoutQueueSize() {
+        return offlinePayoutQueue.size();
+    }
+    
+    private void assignSlot(UUID playerUUID, int slot) {
+        onPlayerQuit(playerUUID);
         
-        // Process each player's pending salary
-        for (Map.Entry<UUID, Double> entry : pendingSalaries.entrySet()) {
-            UUID playerUUID = entry.getKey();
-            double amount = entry.getValue();
-            
-            if (amount <= 0) continue;
+        Set<UUID> members = payoutSlots.get(slot);
+        if (members == null) {
+            members = new LinkedHashSet<>();
+            payoutSlots.set(slot, members);
+        }
+        members.add(playerUUID);
+        playerSlots.put(playerUUID, slot);
+    }
+    
+    /**
+     * Start periodic ledger compaction task
+     */
+    private void startCompactTask() {
+        long intervalTicks = plugin.getConfigManager().getSettings().getSalaryLedgerCompactIntervalSeconds() * 20L;
+        
+        compactTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                ledger.compactAsync();
+            }
+        }.runTaskTimer(plugin, intervalTicks, intervalTicks);
+    }
+    
+    /**
+     * Advance the payout cycle by one tick: pay the players anchored to this tick and a batch of offline players
+     */
+    private void processPayoutTick() {
+        currentSlot = (currentSlot + 1) % payoutSlots.size();
+        
+        if (currentSlot == 0) {
+            completeCycle();
+        }
+        
+        Set<UUID> members = payoutSlots.get(currentSlot);
+        if (members != null) {
+            for (UUID playerUUID : members) {
+                Player player = Bukkit.getPlayer(playerUUID);
+                if (player != null && player.isOnline()) {
+                    payOnlinePlayer(player);
+                }
+            }
+        }
+        
+        int offlineBudget = plugin.getConfigManager().getSettings().getSalaryOfflinePayoutsPerTick();
+        while (offlineBudget > 0 && !offlinePayoutQueue.isEmpty()) {
+            UUID playerUUID = offlinePayoutQueue.poll();
+            if (!playerSlots.containsKey(playerUUID)) {
+                payOfflinePlayer(playerUUID);
+                offlineBudget--;
+            }
+        }
+    }
+    
+    /**
+     * Log the finished cycle, settle it in the database and queue offline payouts for the next one
+     */
+    private void completeCycle() {
+        if (cyclePayouts > 0) {
+            plugin.getLogger().info("Processed " + cyclePayouts + " salary payouts totaling $" + 
+                String.format("%.2f", cyclePaidOut));
             
-            Player player = Bukkit.getPlayer(playerUUID);
-            if (player != null && player.isOnline()) {
-                // Player is online, pay them
-                if (plugin.isEconomyEnabled()) {
-                    plugin.getEconomy().depositPlayer(player, amount);
-                    
-                    // Send salary notification
-                    if (isSalaryNotificationsEnabled()) {
-                        sendSalaryNotification(player, amount);
-                    }
-                    
-                    payoutsProcessed++;
-                    totalPaidOut += amount;
-                    
-                    if (plugin.getConfigManager().isDebugEnabled()) {
-                        plugin.getLogger().info("Paid salary of $" + String.format("%.2f", amount) + 
-                            " to " + player.getName());
-                    }
+            // Settle the payouts in the database
+            ledger.compactAsync();
+        }
+        cyclePayouts = 0;
+        cyclePaidOut = 0.0;
+        
+        if (plugin.getConfigManager().getSettings().isSalaryOfflinePayouts() && plugin.isEconomyEnabled() 
+                && offlinePayoutQueue.isEmpty()) {
+            for (Map.Entry<UUID, Double> entry : pendingSalaries.entrySet()) {
+                if (entry.getValue() > 0 && !playerSlots.containsKey(entry.getKey())) {
+                    offlinePayoutQueue.add(entry.getKey());
                 }
-                
-                // Clear the pending salary
-                clearPendingSalary(playerUUID);
             }
-            // If player is offline, keep their pending salary for next payout
         }
+    }
+    
+    /**
+     * Pay an online player's pending salary
+     */
+    private void payOnlinePlayer(Player player) {
+        UUID playerUUID = player.getUniqueId();
+        Double amount = pendingSalaries.get(playerUUID);
+        if (amount == null || amount <= 0) return;
         
-        if (payoutsProcessed > 0) {
-            plugin.getLogger().info("Processed " + payoutsProcessed + " salary payouts totaling $" + 
-                String.format("%.2f", totalPaidOut));
+        if (plugin.isEconomyEnabled()) {
+            plugin.getEconomy().depositPlayer(player, amount);
+            
+            // Send salary notification
+            if (isSalaryNotificationsEnabled()) {
+                sendSalaryNotification(player, amount);
+            }
+            
+            cyclePayouts++;
+            cyclePaidOut += amount;
+            
+            if (plugin.getConfigManager().isDebugEnabled()) {
+                plugin.getLogger().info("Paid salary of $" + String.format("%.2f", amount) + 
+                    " to " + player.getName());
+            }
         }
+        
+        // Clear the pending salary
+        clearPendingSalary(playerUUID);
+    }
+    
+    /**
+     * Pay an offline player's pending salary through Vault's offline deposit
+     */
+    private void payOfflinePlayer(UUID playerUUID) {
+        Double amount = pendingSalaries.get(playerUUID);
+        if (amount == null || amount <= 0 || !plugin.isEconomyEnabled()) return;
+        
+        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerUUID);
+        if (!plugin.getEconomy().depositPlayer(offlinePlayer, amount).transactionSuccess()) {
+            // Keep it pending for the next cycle or join
+            return;
+        }
+        
+        cyclePayouts++;
+        cyclePaidOut += amount;
+        
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Paid offline salary of $" + String.format("%.2f", amount) + 
+                " to " + playerUUID);
+        }
+        
+        clearPendingSalary(playerUUID);
     }
     
     /**
      * Send salary notification to player
      */
     private void sendSalaryNotification(Player player, double amount) {
-        String currencySymbol = plugin.getConfigManager().getCurrencySymbol();
-        String salaryMessage = plugin.getConfigManager().getConfig().getString("salary_system.payout_message", 
-            "&a💰 Salary Payout: &e%amount%");
-
-        // Replace placeholders
-        salaryMessage = salaryMessage.replace("%amount%", currencySymbol + String.format("%.2f", amount));
-        // FIX: Translate color codes before sending!
-        salaryMessage = plugin.getConfigManager().translateColorCodes(salaryMessage);
+        Settings settings = plugin.getConfigManager().getSettings();
+        StringBuilder amountText = new StringBuilder(16).append(settings.getCurrencySymbol());
+        MessageTemplate.appendFixed(amountText, amount, 2);
+        String salaryMessage = settings.getSalaryPayoutMessage().render("amount", amountText.toString());
 
-        String notificationType = plugin.getConfigManager().getConfig().getString("salary_system.notification_type", "chat");
+        String notificationType = settings.getSalaryNotificationType();
         if ("bossbar".equalsIgnoreCase(notificationType)) {
             plugin.getNotificationManager().sendBossbarNotification(player, salaryMessage);
         } else {
@@ -223,10 +409,11 @@ public class SalaryManager {
     }
     
     /**
-     * Load pending salaries from database
+     * Load pending salaries from database, including credits recovered from the journal
      */
     private void loadPendingSalaries() {
-        Map<UUID, Double> loadedSalaries = plugin.getDatabaseManager().loadAllPendingSalaries();
+        ledger = new SalaryLedger(plugin.getDataFolder(), plugin.getDatabaseManager(), plugin.getLogger());
+        Map<UUID, Double> loadedSalaries = ledger.open();
         pendingSalaries.putAll(loadedSalaries);
         
         if (!loadedSalaries.isEmpty()) {
@@ -234,15 +421,6 @@ public class SalaryManager {
         }
     }
     
-    /**
-     * Save all pending salaries to database
-     */
-    private void savePendingSalaries() {
-        for (Map.Entry<UUID, Double> entry : pendingSalaries.entrySet()) {
-            plugin.getDatabaseManager().savePendingSalary(entry.getKey(), entry.getValue());
-        }
-    }
-    
     /**
      * Force payout for a specific player (admin command)
      */
@@ -267,6 +445,7 @@ public class SalaryManager {
             
             // Clear pending salary
             clearPendingSalary(playerUUID);
+            ledger.compactAsync();
             
             plugin.getLogger().info("Force paid salary of $" + String.format("%.2f", pendingAmount) + 
                 " to " + player.getName());
@@ -283,6 +462,13 @@ public class SalaryManager {
         return pendingSalaries.values().stream().mapToDouble(Double::doubleValue).sum();
     }
     
+    /**
+     * Get the salary journal, null while the salary system is disabled
+     */
+    public SalaryLedger getLedger() {
+        return ledger;
+    }
+    
     /**
      * Get number of players with pending salaries
      */
@@ -0,0 +1,157 @@
+package id.rnggagib.taskforge.managers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.database.DatabaseManager.PlayerStatsDelta;
+
+/**
+ * Accumulates player job statistics in memory and writes them to the database in batches
+ * Keeps JDBC work off the reward path - deltas are flushed asynchronously on an interval, on quit and on shutdown
+ */
+public class StatsManager {
+    
+    private final TaskForgePlugin plugin;
+    
+    // Pending stat deltas per player/job, drained by the flush task
+    private final Map<StatsKey, PlayerStatsDelta> pendingStats = new ConcurrentHashMap<>();
+    
+    // Task for periodic stat flushes
+    private BukkitTask flushTask;
+    
+    public StatsManager(TaskForgePlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Initialize the stats manager and start the periodic flush task
+     */
+    public void initialize() {
+        int intervalSeconds = plugin.getConfigManager().getStatsFlushIntervalSeconds();
+        long intervalTicks = intervalSeconds * 20L;
+        
+        flushTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                flushAll();
+            }
+        }.runTaskTimerAsynchronously(plugin, intervalTicks, intervalTicks);
+        
+        plugin.getLogger().info("Stats flush task started with " + intervalSeconds + " second interval");
+    }
+    
+    /**
+     * Shutdown the stats manager and write all pending stats synchronously
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        
+        int rows = flushAll();
+        plugin.getLogger().info("Stats system shutdown - flushed " + rows + " pending stat rows");
+    }
+    
+    /**
+     * Record a completed job action (no database access)
+     */
+    public void recordAction(UUID playerUUID, String jobName, double moneyEarned, double expEarned) {
+        recordActions(playerUUID, jobName, moneyEarned, expEarned, 1);
+    }
+    
+    /**
+     * Record several completed job actions with their summed rewards (no database access)
+     */
+    public void recordActions(UUID playerUUID, String jobName, double moneyEarned, double expEarned, int actions) {
+        pendingStats.merge(new StatsKey(playerUUID, jobName),
+                           new PlayerStatsDelta(moneyEarned, expEarned, actions),
+                           PlayerStatsDelta::add);
+        plugin.getLeaderboardManager().recordStats(playerUUID, jobName, moneyEarned, actions);
+    }
+    
+    /**
+     * Flush a single player's pending stats asynchronously (used on quit)
+     */
+    public void flushPlayerAsync(UUID playerUUID) {
+        Map<UUID, Map<String, PlayerStatsDelta>> batch = drain(playerUUID);
+        if (batch.isEmpty()) return;
+        
+        plugin.getDatabaseManager().flushPlayerStats(batch);
+    }
+    
+    /**
+     * Flush all pending stats, waiting for the write on the calling thread
+     */
+    public int flushAll() {
+        Map<UUID, Map<String, PlayerStatsDelta>> batch = drain(null);
+        if (batch.isEmpty()) return 0;
+        
+        int rows = plugin.getDatabaseManager().flushPlayerStats(batch).join();
+        
+        if (plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Flushed " + rows + " stat rows for " + batch.size() + " players");
+        }
+        
+        return rows;
+    }
+    
+    /**
+     * Get number of player/job entries waiting to be flushed
+     */
+    public int getPendingCount() {
+        return pendingStats.size();
+    }
+    
+    /**
+     * Remove pending deltas (all players, or one player if given) and group them by player
+     */
+    private Map<UUID, Map<String, PlayerStatsDelta>> drain(UUID onlyPlayer) {
+        Map<UUID, Map<String, PlayerStatsDelta>> batch = new HashMap<>();
+        
+        for (StatsKey key : pendingStats.keySet()) {
+            if (onlyPlayer != null && !onlyPlayer.equals(key.playerUUID)) continue;
+            
+            // remove() hands over the delta atomically, later merges start a fresh entry
+            PlayerStatsDelta delta = pendingStats.remove(key);
+            if (delta != null) {
+                batch.computeIfAbsent(key.playerUUID, k -> new HashMap<>()).put(key.jobName, delta);
+            }
+        }
+        
+        return batch;
+    }
+    
+    /**
+     * Key for pending stats of a player in a job
+     */
+    private static final class StatsKey {
+        private final UUID playerUUID;
+        private final String jobName;
+        
+        private StatsKey(UUID playerUUID, String jobName) {
+            this.playerUUID = playerUUID;
+            this.jobName = jobName;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StatsKey)) return false;
+            StatsKey other = (StatsKey) o;
+            return playerUUID.equals(other.playerUUID) && jobName.equals(other.jobName);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerUUID, jobName);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package id.rnggagib.taskforge.placeholders;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.jobs.Leaderboard;
+import id.rnggagib.taskforge.jobs.PlayerJobs;
+import id.rnggagib.taskforge.managers.PlayerDataManager;
+
+/**
+ * Rendered placeholder values of each player, reused until the data behind them changes
+ * Job values are stamped with the job's progress version and the job load generation, as a reload
+ * can change the level curve, and ranks with the leaderboard's order version; a stale stamp drops
+ * the values, which are then rendered again on the next request
+ * Requests may come from any thread; two threads rendering the same value at once is harmless
+ */
+final class PlayerValueCache {
+    
+    /**
+     * Per-player values of a job
+     */
+    enum Field {
+        LEVEL,
+        EXP,
+        EXP_REQUIRED,
+        PROGRESS,
+        PROGRESS_BAR
+    }
+    
+    private static final int BAR_LENGTH = 20;
+    // Bar for every number of filled cells, 0 to BAR_LENGTH
+    private static final String[] PROGRESS_BARS = createProgressBars();
+    
+    // Rank slot of the overall board, after the job ids
+    static final int OVERALL_SLOT = PlayerJobs.MAX_JOB_IDS;
+    
+    private static final int MIN_SWEEP_THRESHOLD = 64;
+    
+    private final TaskForgePlugin plugin;
+    private final Map<UUID, PlayerValues> players = new ConcurrentHashMap<>();
+    // Players whose data is unloaded are dropped when the cache grows past this
+    private volatile int sweepThreshold = MIN_SWEEP_THRESHOLD;
+    
+    PlayerValueCache(TaskForgePlugin plugin) {
+        this.plugin = plugin;
+    }
+    
+    /**
+     * Get a player's value of a job field, "0" if they have not joined the job
+     */
+    String getJobValue(UUID playerUUID, int jobId, String jobName, Field field) {
+        // Read the version before the data, so a change made meanwhile leaves a stale stamp, not a stale value
+        long version = plugin.getPlayerDataManager().getJobVersion(playerUUID, jobId);
+        if (version < 0) {
+            return "0";
+        }
+        int generation = plugin.getJobManager().getLoadGeneration();
+        
+        PlayerValues values = getPlayerValues(playerUUID);
+        JobValues job = values.jobs[jobId];
+        if (job == null || job.version != version || job.generation != generation) {
+            job = new JobValues(version, generation);
+            values.jobs[jobId] = job;
+        }
+        
+        String value = job.values[field.ordinal()];
+        if (value == null) {
+            value = render(playerUUID, jobName, field);
+            job.values[field.ordinal()] = value;
+        }
+        return value;
+    }
+    
+    /**
+     * Get a player's rank on a board, "0" if they are not ranked
+     */
+    String getRank(UUID playerUUID, int slot, Leaderboard board) {
+        int version = board.getOrderVersion();
+        PlayerValues values = getPlayerValues(playerUUID);
+        RankValue rank = values.ranks[slot];
+        if (rank == null || rank.version != version) {
+            rank = new RankValue(version, String.valueOf(board.getRank(playerUUID)));
+            values.ranks[slot] = rank;
+        }
+        return rank.value;
+    }
+    
+    private PlayerValues getPlayerValues(UUID playerUUID) {
+        PlayerValues values = players.get(playerUUID);
+        if (values == null) {
+            if (players.size() >= sweepThreshold) {
+                sweep();
+            }
+            values = players.computeIfAbsent(playerUUID, k -> new PlayerValues());
+        }
+        return values;
+    }
+    
+    /**
+     * Drop the values of players whose data is no longer loaded
+     */
+    private void sweep() {
+        PlayerDataManager data = plugin.getPlayerDataManager();
+        players.keySet().removeIf(playerUUID -> !data.isLoaded(playerUUID));
+        sweepThreshold = Math.max(MIN_SWEEP_THRESHOLD, players.size() * 2);
+    }
+    
+    private String render(UUID playerUUID, String jobName, Field field) {
+        PlayerDataManager data = plugin.getPlayerDataManager();
+        switch (field) {
+            case LEVEL:
+                return String.valueOf(data.getJobLevel(playerUUID, jobName));
+            case EXP:
+                return String.format("%.1f", data.getJobExperience(playerUUID, jobName));
+            case EXP_REQUIRED:
+                return String.format("%.1f", data.getExpRequiredForNextLevel(jobName, data.getJobLevel(playerUUID, jobName)));
+            case PROGRESS:
+                return String.format("%.1f", data.getLevelProgress(playerUUID, jobName) * 100);
+            case PROGRESS_BAR:
+                int filled = (int) (data.getLevelProgress(playerUUID, jobName) * BAR_LENGTH);
+                return PROGRESS_BARS[Math.max(0, Math.min(BAR_LENGTH, filled))];
+            default:
+                return "";
+        }
+    }
+    
+    private static String[] createProgressBars() {
+        String[] bars = new String[BAR_LENGTH + 1];
+        for (int filled = 0; filled <= BAR_LENGTH; filled++) {
+            StringBuilder bar = new StringBuilder(BAR_LENGTH);
+            for (int i = 0; i < BAR_LENGTH; i++) {
+                bar.append(i < filled ? '■' : '□');
+            }
+            bars[filled] = bar.toString();
+        }
+        return bars;
+    }
+    
+    /**
+     * Cached values of one player, by job id
+     */
+    private static final class PlayerValues {
+        private final JobValues[] jobs = new JobValues[PlayerJobs.MAX_JOB_IDS];
+        // Job ranks by job id, then the overall rank
+        private final RankValue[] ranks = new RankValue[PlayerJobs.MAX_JOB_IDS + 1];
+    }
+    
+    /**
+     * Rendered fields of one job at one progress version and job load, filled as they are requested
+     */
+    private static final class JobValues {
+        private final long version;
+        private final int generation;
+        private final String[] values = new String[Field.values().length];
+        
+        private JobValues(long version, int generation) {
+            this.version = version;
+            this.generation = generation;
+        }
+    }
+    
+    /**
+     * Rendered rank at one leaderboard order version
+     */
+    private static final class RankValue {
+        private final int version;
+        private final String value;
+        
+        private RankValue(int version, String value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
@@ -1,19 +1,38 @@
 package id.rnggagib.taskforge.placeholders;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.bukkit.OfflinePlayer;
 
 import id.rnggagib.taskforge.TaskForgePlugin;
+import id.rnggagib.taskforge.jobs.Job;
+import id.rnggagib.taskforge.jobs.Leaderboard;
+import id.rnggagib.taskforge.managers.LeaderboardManager.Metric;
+import id.rnggagib.taskforge.placeholders.PlayerValueCache.Field;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 
 /**
  * PlaceholderAPI expansion for TaskForge
+ * Each params string is parsed once into a resolver, kept until the jobs are reloaded;
+ * resolvers serve per-player values from a PlayerValueCache and board values from their own cache
  */
 public class TaskForgePlaceholderExpansion extends PlaceholderExpansion {
     
+    // Params come from server configs, but cap the cache in case something generates them
+    private static final int MAX_RESOLVERS = 4096;
+    private static final Resolver EMPTY = player -> "";
+    
     private final TaskForgePlugin plugin;
+    private final PlayerValueCache values;
+    
+    private final Map<String, Resolver> resolvers = new ConcurrentHashMap<>();
+    private volatile int resolverGeneration = -1;
     
     public TaskForgePlaceholderExpansion(TaskForgePlugin plugin) {
         this.plugin = plugin;
+        this.values = new PlayerValueCache(plugin);
     }
     
     @Override
@@ -38,77 +57,172 @@ public class TaskForgePlaceholderExpansion extends PlaceholderExpansion {
     
     @Override
     public String onRequest(OfflinePlayer player, String params) {
-        if (player == null) {
-            return "";
+        return getResolver(params).resolve(player);
+    }
+    
+    /**
+     * Get the resolver of a params string, parsing it on first use
+     */
+    private Resolver getResolver(String params) {
+        // Resolvers hold job ids and names, so a reload starts over
+        int generation = plugin.getJobManager().getLoadGeneration();
+        if (generation != resolverGeneration) {
+            resolvers.clear();
+            resolverGeneration = generation;
         }
         
-        // Split parameters
-        String[] args = params.split("_");
-        
-        if (args.length < 2) {
-            return "";
+        Resolver resolver = resolvers.get(params);
+        if (resolver == null) {
+            resolver = parse(params);
+            if (resolvers.size() < MAX_RESOLVERS) {
+                resolvers.put(params, resolver);
+            }
         }
+        return resolver;
+    }
+    
+    /**
+     * Parse params: "<job>_<field>" for a job, or "rank" / "top_<N>_<name|level>" for the overall board
+     * The job is the longest job name the params start with, so job names may contain underscores
+     */
+    private Resolver parse(String params) {
+        String lower = params.toLowerCase();
         
-        String jobName = args[0];
-        String type = args[1];
-        
-        // Check if job exists
-        if (!plugin.getJobManager().jobExists(jobName)) {
-            return "";
+        String jobName = null;
+        for (String name : plugin.getJobManager().getJobNames()) {
+            if (lower.startsWith(name + "_") && (jobName == null || name.length() > jobName.length())) {
+                jobName = name;
+            }
+        }
+        if (jobName == null) {
+            return parseBoardField(null, PlayerValueCache.OVERALL_SLOT, lower);
         }
         
-        // Check if player has the job
-        if (!plugin.getPlayerDataManager().hasJob(player.getUniqueId(), jobName)) {
-            return "0";
+        Job job = plugin.getJobManager().getJob(jobName);
+        int jobId = plugin.getJobManager().getJobId(jobName);
+        if (job == null || jobId < 0) {
+            return EMPTY;
         }
         
-        switch (type.toLowerCase()) {
+        String field = lower.substring(jobName.length() + 1);
+        switch (field) {
             case "level":
-                return String.valueOf(plugin.getPlayerDataManager().getJobLevel(player.getUniqueId(), jobName));
-                
+                return jobField(jobId, jobName, Field.LEVEL);
+            
             case "exp":
             case "experience":
-                double exp = plugin.getPlayerDataManager().getJobExperience(player.getUniqueId(), jobName);
-                return String.format("%.1f", exp);
-                
+                return jobField(jobId, jobName, Field.EXP);
+            
             case "exprequired":
             case "exp_required":
-                int level = plugin.getPlayerDataManager().getJobLevel(player.getUniqueId(), jobName);
-                double required = plugin.getPlayerDataManager().getExpRequiredForNextLevel(level);
-                return String.format("%.1f", required);
-                
+                return jobField(jobId, jobName, Field.EXP_REQUIRED);
+            
             case "progress":
-                double progress = plugin.getPlayerDataManager().getLevelProgress(player.getUniqueId(), jobName);
-                return String.format("%.1f", progress * 100);
-                
+                return jobField(jobId, jobName, Field.PROGRESS);
+            
             case "progressbar":
             case "progress_bar":
-                double progressBar = plugin.getPlayerDataManager().getLevelProgress(player.getUniqueId(), jobName);
-                return createProgressBar(progressBar, 20);
-                
+                return jobField(jobId, jobName, Field.PROGRESS_BAR);
+            
             case "name":
-                return plugin.getJobManager().getJob(jobName).getDisplayName();
-                
+                String displayName = job.getDisplayName();
+                return player -> displayName;
+            
             default:
-                return "";
+                return parseBoardField(jobName, jobId, field);
+        }
+    }
+    
+    private Resolver jobField(int jobId, String jobName, Field field) {
+        return player -> player != null ? values.getJobValue(player.getUniqueId(), jobId, jobName, field) : "";
+    }
+    
+    /**
+     * Parse a leaderboard field of a job's level board, or of the overall board if jobName is null
+     */
+    private Resolver parseBoardField(String jobName, int slot, String field) {
+        if ("rank".equals(field)) {
+            return player -> {
+                if (player == null) return "";
+                Leaderboard board = plugin.getLeaderboardManager().getLeaderboard(jobName, Metric.LEVEL);
+                return values.getRank(player.getUniqueId(), slot, board);
+            };
+        }
+        
+        // top_<N>_name or top_<N>_level
+        int separator = field.lastIndexOf('_');
+        if (!field.startsWith("top_") || separator <= "top_".length()) {
+            return EMPTY;
         }
+        String position = field.substring("top_".length(), separator);
+        String value = field.substring(separator + 1);
+        if (!position.matches("\\d{1,6}") || !("name".equals(value) || "level".equals(value))) {
+            return EMPTY;
+        }
+        int rank = Integer.parseInt(position);
+        if (rank < 1) {
+            return EMPTY;
+        }
+        return new TopResolver(jobName, rank, "name".equals(value));
+    }
+    
+    /**
+     * Resolves a value from params, for a player that may be null
+     */
+    private interface Resolver {
+        String resolve(OfflinePlayer player);
     }
     
     /**
-     * Create a progress bar for placeholders
+     * Name or level at one rank of a board, rendered again only when the board changes
      */
-    private String createProgressBar(double progress, int length) {
-        int filled = (int) (progress * length);
-        StringBuilder bar = new StringBuilder();
+    private final class TopResolver implements Resolver {
+        private final String jobName;
+        private final int rank;
+        private final boolean name;
+        
+        // Last rendered value, with the board version it was rendered at
+        private volatile Rendered rendered;
+        
+        private TopResolver(String jobName, int rank, boolean name) {
+            this.jobName = jobName;
+            this.rank = rank;
+            this.name = name;
+        }
+        
+        @Override
+        public String resolve(OfflinePlayer player) {
+            Leaderboard board = plugin.getLeaderboardManager().getLeaderboard(jobName, Metric.LEVEL);
+            // A name only moves when the order does; a level changes with any update
+            int version = name ? board.getOrderVersion() : board.getVersion();
+            
+            Rendered current = rendered;
+            if (current == null || current.version != version) {
+                current = new Rendered(version, render(board));
+                rendered = current;
+            }
+            return current.value;
+        }
         
-        for (int i = 0; i < length; i++) {
-            if (i < filled) {
-                bar.append("■");
-            } else {
-                bar.append("□");
+        private String render(Leaderboard board) {
+            List<Leaderboard.Entry> entries = board.getRange(rank, 1);
+            if (entries.isEmpty()) {
+                return name ? "-" : "0";
             }
+            
+            Leaderboard.Entry entry = entries.get(0);
+            return name ? plugin.getLeaderboardManager().getName(entry.getPlayerUUID())
+                        : String.valueOf((long) entry.getPrimary());
         }
+    }
+    
+    private static final class Rendered {
+        private final int version;
+        private final String value;
         
-        return bar.toString();
+        private Rendered(int version, String value) {
+            this.version = version;
+            this.value = value;
+        }
     }
 }
@@ -0,0 +1,154 @@
+package id.rnggagib.taskforge.antiexploit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+/**
+ * Compares the heap cost per placed-block marker of the chunk shards against the
+ * ConcurrentHashMap<String, Long> keyed by "world:x:y:z" they replaced
+ * The measured comparison samples the heap and only runs with: mvn test -Pbenchmarks -Dtest=PlacedBlockMemoryTest
+ */
+public class PlacedBlockMemoryTest {
+    
+    private static final int ENTRIES = 262_144;
+    // Average markers per chunk; the markers are spread over a square of ENTRIES / density chunks
+    private static final int[] DENSITIES = {1, 4, 16, 64, 256};
+    // Below this density the 16-slot minimum of a shard outweighs the per-entry savings
+    private static final int BREAK_EVEN_DENSITY = 4;
+    private static final long SEED = 42L;
+    
+    // Keeps the measured structure reachable while the heap is sampled
+    private static volatile Object retained;
+    
+    @Test
+    public void shardEstimateIsBelowStringKeyedMap() {
+        for (int density : DENSITIES) {
+            if (density < BREAK_EVEN_DENSITY) continue;
+            
+            int side = (int) Math.sqrt(ENTRIES / density);
+            long shardBytes = 0;
+            for (ChunkShard shard : fillShards(ENTRIES, side).values()) {
+                shardBytes += shard.estimateMemoryBytes() + PlacedBlockTracker.SHARD_MAP_ENTRY_BYTES;
+            }
+            long mapBytes = 0;
+            for (String key : fillLegacyMap(ENTRIES, side).keySet()) {
+                mapBytes += legacyEntryBytes(key);
+            }
+            assertTrue("shards should be smaller at " + density + " markers per chunk", shardBytes < mapBytes);
+        }
+    }
+    
+    @Test
+    public void shardsUseLessMemoryThanStringKeyedMap() {
+        assumeTrue("heap measurement, enable with -Pbenchmarks", Boolean.getBoolean("taskforge.benchmarks"));
+        for (int density : DENSITIES) {
+            int side = (int) Math.sqrt(ENTRIES / density);
+            double shardBytes = measure(() -> fillShards(ENTRIES, side)) / (double) ENTRIES;
+            double mapBytes = measure(() -> fillLegacyMap(ENTRIES, side)) / (double) ENTRIES;
+            
+            System.out.println(String.format("%,d entries, %3d per chunk: chunk shards %.1f bytes/entry, string-keyed map %.1f bytes/entry (%.1fx)",
+                                             ENTRIES, density, shardBytes, mapBytes, mapBytes / shardBytes));
+            if (density >= BREAK_EVEN_DENSITY) {
+                assertTrue("shards should be smaller at " + density + " markers per chunk", shardBytes < mapBytes);
+            }
+        }
+    }
+    
+    @Test
+    public void shardsHoldTheSameMarkersAsTheMap() {
+        Map<Long, ChunkShard> shards = fillShards(10_000, 16);
+        Map<String, Long> legacy = fillLegacyMap(10_000, 16);
+        
+        int shardEntries = 0;
+        for (ChunkShard shard : shards.values()) {
+            shardEntries += shard.size();
+        }
+        assertEquals(legacy.size(), shardEntries);
+        
+        Random random = new Random(SEED);
+        for (int i = 0; i < 10_000; i++) {
+            int x = nextCoordinate(random, 16);
+            int y = random.nextInt(384) - 64;
+            int z = nextCoordinate(random, 16);
+            ChunkShard shard = shards.get(PlacedBlockTracker.chunkKey(x >> 4, z >> 4));
+            assertEquals((long) legacy.get("world:" + x + ":" + y + ":" + z), shard.get(ChunkShard.pack(x, y, z)));
+        }
+    }
+    
+    private static Map<Long, ChunkShard> fillShards(int entries, int side) {
+        Map<Long, ChunkShard> shards = new HashMap<>();
+        Random random = new Random(SEED);
+        for (int i = 0; i < entries; i++) {
+            int x = nextCoordinate(random, side);
+            int y = random.nextInt(384) - 64;
+            int z = nextCoordinate(random, side);
+            shards.computeIfAbsent(PlacedBlockTracker.chunkKey(x >> 4, z >> 4), k -> new ChunkShard())
+                  .put(ChunkShard.pack(x, y, z), 1_000_000L + i);
+        }
+        return shards;
+    }
+    
+    private static Map<String, Long> fillLegacyMap(int entries, int side) {
+        Map<String, Long> placedBlocks = new ConcurrentHashMap<>();
+        Random random = new Random(SEED);
+        for (int i = 0; i < entries; i++) {
+            int x = nextCoordinate(random, side);
+            int y = random.nextInt(384) - 64;
+            int z = nextCoordinate(random, side);
+            placedBlocks.put("world:" + x + ":" + y + ":" + z, 1_000_000L + i);
+        }
+        return placedBlocks;
+    }
+    
+    /**
+     * Lower bound of one string-keyed map entry on a 64-bit JVM with compressed oops: the node,
+     * the String and its Latin-1 byte array, and the boxed Long, without the table itself
+     */
+    private static long legacyEntryBytes(String key) {
+        long bytes = 16 + ((key.length() + 7) & ~7);
+        return 32 + 24 + bytes + 16;
+    }
+    
+    /**
+     * Block coordinate within a square of side chunks centered on spawn
+     */
+    private static int nextCoordinate(Random random, int side) {
+        return random.nextInt(side * 16) - side * 8;
+    }
+    
+    /**
+     * Retained heap of the structure built by the supplier, from used heap after full collections
+     */
+    private static long measure(Supplier<Object> build) {
+        long before = usedMemory();
+        retained = build.get();
+        long after = usedMemory();
+        retained = null;
+        return after - before;
+    }
+    
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // Collect until the figure settles, collectors may need several rounds
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
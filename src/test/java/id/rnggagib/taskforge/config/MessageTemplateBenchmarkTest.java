@@ -0,0 +1,101 @@
+package id.rnggagib.taskforge.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Compares rendering a compiled MessageTemplate against the String.replace path it replaced,
+ * and appendFixed against String.format for reward amounts
+ * Timings are printed, not asserted, and only taken with: mvn test -Pbenchmarks -Dtest=MessageTemplateBenchmarkTest
+ */
+public class MessageTemplateBenchmarkTest {
+    
+    // job_money_earned from the default config.yml
+    private static final String RAW = "&a+%amount% &7(%job%)";
+    private static final String[] PLACEHOLDERS = {"amount", "$12.50", "job", "Miner"};
+    
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final int OPS_PER_ROUND = 1_000_000;
+    
+    // Consumes results so the measured work cannot be optimized away
+    private static volatile int sink;
+    
+    @Test
+    public void templateMatchesLegacyReplace() {
+        MessageTemplate template = MessageTemplate.compile(RAW);
+        assertEquals(legacyRender(RAW, PLACEHOLDERS), template.render(PLACEHOLDERS));
+        assertEquals(legacyRender("&7100% done, %missing%", PLACEHOLDERS),
+                     MessageTemplate.compile("&7100% done, %missing%").render(PLACEHOLDERS));
+    }
+    
+    @Test
+    public void appendFixedMatchesStringFormat() {
+        double[] values = {0.0, 0.145, 1.005, 12.5, -3.456, 99999.995, 1234567.891};
+        for (double value : values) {
+            for (int decimals = 0; decimals <= 3; decimals++) {
+                assertEquals(String.format("%." + decimals + "f", value),
+                             MessageTemplate.appendFixed(new StringBuilder(), value, decimals).toString());
+            }
+        }
+    }
+    
+    @Test
+    public void compareRenderPaths() {
+        assumeTrue("timing run, enable with -Pbenchmarks", Boolean.getBoolean("taskforge.benchmarks"));
+        MessageTemplate template = MessageTemplate.compile(RAW);
+        StringBuilder out = new StringBuilder();
+        
+        double legacy = measure(() -> sink += legacyRender(RAW, PLACEHOLDERS).length());
+        double compiled = measure(() -> sink += template.render(PLACEHOLDERS).length());
+        double format = measure(() -> sink += String.format("%.2f", 1234.5678).length());
+        double fixed = measure(() -> {
+            out.setLength(0);
+            sink += MessageTemplate.appendFixed(out, 1234.5678, 2).length();
+        });
+        
+        System.out.println(String.format("String.replace path: %.1f ns/op, compiled template: %.1f ns/op (%.1fx)",
+                                         legacy, compiled, legacy / compiled));
+        System.out.println(String.format("String.format(\"%%.2f\"): %.1f ns/op, appendFixed: %.1f ns/op (%.1fx)",
+                                         format, fixed, format / fixed));
+    }
+    
+    /**
+     * The rendering getMessage did before templates: translate color codes, then one replace per placeholder
+     */
+    private static String legacyRender(String raw, String... placeholders) {
+        String message = raw.replace('&', '§');
+        for (int i = 0; i < placeholders.length; i += 2) {
+            if (i + 1 < placeholders.length) {
+                message = message.replace("%" + placeholders[i] + "%", placeholders[i + 1]);
+            }
+        }
+        return message;
+    }
+    
+    /**
+     * Median time per operation over the measured rounds, in nanoseconds
+     */
+    private static double measure(Runnable op) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < OPS_PER_ROUND; i++) {
+                op.run();
+            }
+        }
+        
+        double[] nanosPerOp = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < OPS_PER_ROUND; i++) {
+                op.run();
+            }
+            nanosPerOp[round] = (System.nanoTime() - start) / (double) OPS_PER_ROUND;
+        }
+        Arrays.sort(nanosPerOp);
+        return nanosPerOp[ROUNDS / 2];
+    }
+}